@@ -0,0 +1,17 @@
+package com.securebank.account.config;
+
+import com.securebank.common.tracing.TracingClientInterceptor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class AppConfig {
+
+    @Bean
+    public RestTemplate restTemplate(TracingClientInterceptor tracingClientInterceptor) {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(tracingClientInterceptor);
+        return restTemplate;
+    }
+}
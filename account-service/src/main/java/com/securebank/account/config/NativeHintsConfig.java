@@ -0,0 +1,36 @@
+package com.securebank.account.config;
+
+import com.securebank.account.dto.AccountResponse;
+import com.securebank.account.dto.BulkAccountResult;
+import com.securebank.account.dto.CreateAccountRequest;
+import com.securebank.account.entity.Account;
+import com.securebank.account.entity.AccountStatus;
+import com.securebank.common.aot.CommonRuntimeHints;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Native-image hints for account-service: reflective access to the JPA entities and
+ * Jackson binding for the request and response DTOs. Only read when building a native
+ * image ({@code -Pnative}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.EntityHints.class)
+@RegisterReflectionForBinding({
+        AccountResponse.class,
+        BulkAccountResult.class,
+        CreateAccountRequest.class
+})
+public class NativeHintsConfig {
+
+    static class EntityHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            CommonRuntimeHints.registerEntities(hints, Account.class, AccountStatus.class);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.securebank.account.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.account.dto.AccountResponse;
+import com.securebank.account.dto.CreateAccountRequest;
+import com.securebank.account.repository.AccountRepository;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.warmup.WarmupTask;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Warm-up tasks for account-service, run by {@code WarmupRunner} before readiness. The
+ * lookups use random keys, so they compile Hibernate's plans without matching rows.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WarmupConfig {
+
+    @Bean
+    public WarmupTask accountLookupWarmup(AccountRepository accountRepository) {
+        UUID userId = UUID.randomUUID();
+        return WarmupTask.of("account-lookup", 200, () -> {
+            accountRepository.findByUserId(userId);
+            accountRepository.findByAccountNumber("SB0000000000");
+        });
+    }
+
+    @Bean
+    public WarmupTask accountJsonWarmup(ObjectMapper objectMapper) throws JsonProcessingException {
+        UUID userId = UUID.randomUUID();
+        List<AccountResponse> accounts = List.of(new AccountResponse(UUID.randomUUID(), userId, "SB0000000018",
+                new BigDecimal("100.00"), "ACTIVE", LocalDateTime.now()));
+        byte[] create = objectMapper.writeValueAsBytes(new CreateAccountRequest(userId));
+        return WarmupTask.of("account-json", 2000, () -> {
+            objectMapper.readValue(create, CreateAccountRequest.class);
+            objectMapper.writeValueAsBytes(ApiResponse.success("Accounts retrieved", accounts));
+        });
+    }
+}
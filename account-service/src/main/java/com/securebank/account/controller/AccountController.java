@@ -1,15 +1,29 @@
 package com.securebank.account.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.securebank.account.dto.AccountResponse;
+import com.securebank.account.dto.BulkAccountResult;
 import com.securebank.account.dto.CreateAccountRequest;
 import com.securebank.account.service.AccountService;
+import com.securebank.account.service.BulkAccountService;
+import com.securebank.common.dto.AccountStatusChange;
 import com.securebank.common.dto.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,9 +32,15 @@ import java.util.UUID;
 public class AccountController {
 
     private final AccountService accountService;
+    private final BulkAccountService bulkAccountService;
+    private final ObjectMapper objectMapper;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService,
+                             BulkAccountService bulkAccountService,
+                             ObjectMapper objectMapper) {
         this.accountService = accountService;
+        this.bulkAccountService = bulkAccountService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -31,6 +51,35 @@ public class AccountController {
                 .body(ApiResponse.success("Account created successfully", account));
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> createAccountsBulk(
+            @RequestBody List<CreateAccountRequest> requests) {
+        return streamBulkResults(requests.iterator());
+    }
+
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> createAccountsBulkStream(HttpServletRequest request)
+            throws IOException {
+        MappingIterator<CreateAccountRequest> requests = objectMapper.readerFor(CreateAccountRequest.class)
+                .readValues(request.getInputStream());
+        return streamBulkResults(requests);
+    }
+
+    @GetMapping("/status-feed")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    public ResponseEntity<ApiResponse<List<AccountStatusChange>>> getStatusFeed(
+            @RequestParam(defaultValue = "1970-01-01T00:00:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "00000000-0000-0000-0000-000000000000") UUID afterId,
+            @RequestParam(defaultValue = "500") int limit) {
+        List<AccountStatusChange> changes = accountService.getStatusChanges(since, afterId, Math.min(limit, 5000));
+        return ResponseEntity.ok(ApiResponse.success("Account status changes retrieved", changes));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<AccountResponse>> getAccount(@PathVariable UUID id) {
         AccountResponse account = accountService.getAccount(id);
@@ -56,4 +105,19 @@ public class AccountController {
         AccountResponse account = accountService.unfreezeAccount(id);
         return ResponseEntity.ok(ApiResponse.success("Account unfrozen successfully", account));
     }
+
+    private ResponseEntity<StreamingResponseBody> streamBulkResults(Iterator<CreateAccountRequest> requests) {
+        ObjectWriter writer = objectMapper.writerFor(BulkAccountResult.class);
+        StreamingResponseBody body = out -> bulkAccountService.openAccounts(requests, result -> {
+            try {
+                out.write(writer.writeValueAsBytes(result));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
 }
@@ -0,0 +1,48 @@
+package com.securebank.account.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkAccountResult {
+
+    private int index;
+    private boolean success;
+    private UUID userId;
+    private UUID accountId;
+    private String accountNumber;
+    private String error;
+
+    public BulkAccountResult() {}
+
+    public BulkAccountResult(int index, boolean success, UUID userId, UUID accountId,
+                             String accountNumber, String error) {
+        this.index = index;
+        this.success = success;
+        this.userId = userId;
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.error = error;
+    }
+
+    public static BulkAccountResult created(int index, UUID userId, UUID accountId, String accountNumber) {
+        return new BulkAccountResult(index, true, userId, accountId, accountNumber, null);
+    }
+
+    public static BulkAccountResult failed(int index, UUID userId, String error) {
+        return new BulkAccountResult(index, false, userId, null, null, error);
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
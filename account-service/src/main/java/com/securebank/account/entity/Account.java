@@ -22,10 +22,16 @@ public class Account {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    @Column(name = "balance_version", nullable = false, columnDefinition = "bigint default 0")
+    private long balanceVersion;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
     private AccountStatus status = AccountStatus.ACTIVE;
 
+    @Column(name = "status_version", nullable = false, columnDefinition = "bigint default 0")
+    private long statusVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -60,8 +66,12 @@ public class Account {
     public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public long getBalanceVersion() { return balanceVersion; }
+    public void setBalanceVersion(long balanceVersion) { this.balanceVersion = balanceVersion; }
     public AccountStatus getStatus() { return status; }
     public void setStatus(AccountStatus status) { this.status = status; }
+    public long getStatusVersion() { return statusVersion; }
+    public void setStatusVersion(long statusVersion) { this.statusVersion = statusVersion; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
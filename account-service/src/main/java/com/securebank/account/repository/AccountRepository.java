@@ -1,9 +1,15 @@
 package com.securebank.account.repository;
 
 import com.securebank.account.entity.Account;
+import com.securebank.account.entity.AccountStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,5 +18,29 @@ import java.util.UUID;
 public interface AccountRepository extends JpaRepository<Account, UUID> {
     List<Account> findByUserId(UUID userId);
     Optional<Account> findByAccountNumber(String accountNumber);
-    boolean existsByAccountNumber(String accountNumber);
+
+    /**
+     * Keyset page of accounts changed after the (updatedAt, id) cursor, oldest first.
+     */
+    @Query("SELECT a FROM Account a WHERE a.updatedAt > :since OR (a.updatedAt = :since AND a.id > :afterId) "
+            + "ORDER BY a.updatedAt, a.id")
+    List<Account> findChangedAfter(@Param("since") LocalDateTime since,
+                                   @Param("afterId") UUID afterId,
+                                   Pageable pageable);
+
+    /**
+     * Sets the status and bumps its version in one statement, so concurrent freezes and
+     * unfreezes each get a distinct version in the status feed.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Account a SET a.status = :status, a.statusVersion = a.statusVersion + 1, a.updatedAt = :now "
+            + "WHERE a.id = :id")
+    int updateStatus(@Param("id") UUID id, @Param("status") AccountStatus status, @Param("now") LocalDateTime now);
+
+    /** As {@link #updateStatus}, but only while the account is still in {@code expected}. */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Account a SET a.status = :status, a.statusVersion = a.statusVersion + 1, a.updatedAt = :now "
+            + "WHERE a.id = :id AND a.status = :expected")
+    int updateStatusFrom(@Param("id") UUID id, @Param("expected") AccountStatus expected,
+                         @Param("status") AccountStatus status, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,178 @@
+package com.securebank.account.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out account numbers from blocks reserved on a database sequence.
+ * <p>
+ * The sequence steps by the block size ({@code INCREMENT BY}), so each value it returns
+ * is the first serial of a block of that many reserved for this instance, and numbers
+ * are unique across instances without an existence check. The block size is read from
+ * the sequence itself, so it cannot drift from what other instances use.
+ * Serials are scrambled with a keyed Feistel permutation (so consecutive accounts do
+ * not get guessable neighbours) and suffixed with a Luhn check digit, keeping the
+ * {@code SB} + 10 digit format. The sequence is created by the schema migrations.
+ * <p>
+ * Guarded by a {@link ReentrantLock} rather than {@code synchronized}: reserving a block
+ * is a database round trip, and a virtual thread blocking inside a monitor would pin
+ * its carrier thread for the duration.
+ */
+@Component
+public class AccountNumberGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountNumberGenerator.class);
+
+    static final String SEQUENCE_NAME = "account_number_block_seq";
+
+    private static final String PREFIX = "SB";
+    private static final long SERIAL_SPACE = 1_000_000_000L; // 9 digits + 1 check digit
+    private static final int HALF_BITS = 15;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    private static final int FEISTEL_ROUNDS = 4;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextBlockSql;
+    private final String blockSizeSql;
+    private final long scrambleKey;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private long blockSize;
+    private long nextSerial;
+    private long blockEnd;
+
+    public AccountNumberGenerator(JdbcTemplate jdbcTemplate,
+                                  @Value("${account.number.next-block-sql:SELECT nextval('" + SEQUENCE_NAME + "')}") String nextBlockSql,
+                                  @Value("${account.number.block-size-sql:SELECT increment_by FROM pg_sequences WHERE sequencename = '" + SEQUENCE_NAME + "'}") String blockSizeSql,
+                                  @Value("${account.number.scramble-key:7349271849327117}") long scrambleKey) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextBlockSql = nextBlockSql;
+        this.blockSizeSql = blockSizeSql;
+        this.scrambleKey = scrambleKey;
+    }
+
+    public String next() {
+        lock.lock();
+        try {
+            if (nextSerial >= blockEnd) {
+                reserveBlock();
+            }
+            return format(nextSerial++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<String> next(int count) {
+        lock.lock();
+        try {
+            List<String> accountNumbers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                accountNumbers.add(next());
+            }
+            return accountNumbers;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void reserveBlock() {
+        if (blockSize == 0) {
+            Long increment = jdbcTemplate.queryForObject(blockSizeSql, Long.class);
+            if (increment == null || increment <= 0) {
+                throw new IllegalStateException("Account number sequence must have a positive increment, got "
+                        + increment);
+            }
+            blockSize = increment;
+        }
+        Long start = jdbcTemplate.queryForObject(nextBlockSql, Long.class);
+        if (start == null) {
+            throw new IllegalStateException("Account number sequence returned no value");
+        }
+        if (start % blockSize != 0) {
+            throw new IllegalStateException("Account number block " + start
+                    + " is not a multiple of the sequence increment " + blockSize);
+        }
+        if (start + blockSize > SERIAL_SPACE) {
+            throw new IllegalStateException("Account number space exhausted at serial " + start);
+        }
+        nextSerial = start;
+        blockEnd = start + blockSize;
+        log.debug("Reserved account number block [{}, {})", start, blockEnd);
+    }
+
+    String format(long serial) {
+        long payload = scramble(serial);
+        return PREFIX + String.format("%09d", payload) + luhnCheckDigit(payload);
+    }
+
+    /**
+     * Bijection on [0, SERIAL_SPACE): a 30-bit Feistel network with cycle walking
+     * until the result falls back inside the 9-digit range.
+     */
+    long scramble(long serial) {
+        long value = serial;
+        do {
+            value = feistel(value);
+        } while (value >= SERIAL_SPACE);
+        return value;
+    }
+
+    private long feistel(long value) {
+        long left = (value >>> HALF_BITS) & HALF_MASK;
+        long right = value & HALF_MASK;
+        for (int round = 0; round < FEISTEL_ROUNDS; round++) {
+            long mixed = left ^ roundFunction(right, round);
+            left = right;
+            right = mixed;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private long roundFunction(long half, int round) {
+        long x = half * 0x9E3779B97F4A7C15L + scrambleKey + round * 0xBF58476D1CE4E5B9L;
+        x ^= x >>> 31;
+        x *= 0x94D049BB133111EBL;
+        x ^= x >>> 29;
+        return x & HALF_MASK;
+    }
+
+    static int luhnCheckDigit(long payload) {
+        int sum = 0;
+        boolean doubleDigit = true;
+        for (long rest = payload, i = 0; i < 9; i++, rest /= 10) {
+            int digit = (int) (rest % 10);
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return (10 - sum % 10) % 10;
+    }
+
+    static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != PREFIX.length() + 10
+                || !accountNumber.startsWith(PREFIX)) {
+            return false;
+        }
+        String digits = accountNumber.substring(PREFIX.length());
+        for (int i = 0; i < digits.length(); i++) {
+            if (!Character.isDigit(digits.charAt(i))) {
+                return false;
+            }
+        }
+        long payload = Long.parseLong(digits.substring(0, 9));
+        return luhnCheckDigit(payload) == digits.charAt(9) - '0';
+    }
+}
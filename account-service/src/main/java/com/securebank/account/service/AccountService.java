@@ -5,15 +5,17 @@ import com.securebank.account.dto.CreateAccountRequest;
 import com.securebank.account.entity.Account;
 import com.securebank.account.entity.AccountStatus;
 import com.securebank.account.repository.AccountRepository;
+import com.securebank.common.dto.AccountStatusChange;
 import com.securebank.common.exception.AccountFrozenException;
 import com.securebank.common.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Random;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,16 +25,19 @@ public class AccountService {
     private static final Logger log = LoggerFactory.getLogger(AccountService.class);
 
     private final AccountRepository accountRepository;
+    private final AccountNumberGenerator accountNumberGenerator;
 
-    public AccountService(AccountRepository accountRepository) {
+    public AccountService(AccountRepository accountRepository,
+                          AccountNumberGenerator accountNumberGenerator) {
         this.accountRepository = accountRepository;
+        this.accountNumberGenerator = accountNumberGenerator;
     }
 
     @Transactional
     public AccountResponse createAccount(CreateAccountRequest request) {
         log.info("Creating account for user: {}", request.getUserId());
 
-        String accountNumber = generateAccountNumber();
+        String accountNumber = accountNumberGenerator.next();
         Account account = new Account(request.getUserId(), accountNumber);
         Account savedAccount = accountRepository.save(account);
 
@@ -58,9 +63,10 @@ public class AccountService {
     @Transactional
     public AccountResponse freezeAccount(UUID accountId) {
         log.info("Freezing account: {}", accountId);
-        Account account = findAccountById(accountId);
-        account.setStatus(AccountStatus.FROZEN);
-        Account updatedAccount = accountRepository.save(account);
+        if (accountRepository.updateStatus(accountId, AccountStatus.FROZEN, LocalDateTime.now()) == 0) {
+            throw new ResourceNotFoundException("Account not found: " + accountId);
+        }
+        Account updatedAccount = findAccountById(accountId);
         log.info("Account frozen: {}", accountId);
         return mapToResponse(updatedAccount);
     }
@@ -68,32 +74,40 @@ public class AccountService {
     @Transactional
     public AccountResponse unfreezeAccount(UUID accountId) {
         log.info("Unfreezing account: {}", accountId);
-        Account account = findAccountById(accountId);
+        int updated = accountRepository.updateStatusFrom(accountId, AccountStatus.FROZEN, AccountStatus.ACTIVE,
+                LocalDateTime.now());
+        Account updatedAccount = findAccountById(accountId);
 
-        if (account.getStatus() != AccountStatus.FROZEN) {
+        if (updated == 0) {
             throw new AccountFrozenException("Account is not frozen: " + accountId);
         }
 
-        account.setStatus(AccountStatus.ACTIVE);
-        Account updatedAccount = accountRepository.save(account);
         log.info("Account unfrozen: {}", accountId);
         return mapToResponse(updatedAccount);
     }
 
+    /**
+     * Status feed consumed by transaction-service: current state of every account
+     * changed after the given (updatedAt, id) cursor.
+     */
+    @Transactional(readOnly = true)
+    public List<AccountStatusChange> getStatusChanges(LocalDateTime since, UUID afterId, int limit) {
+        return accountRepository.findChangedAfter(since, afterId, PageRequest.of(0, limit)).stream()
+                .map(account -> new AccountStatusChange(
+                        account.getId(),
+                        account.getUserId(),
+                        account.getAccountNumber(),
+                        account.getStatus().name(),
+                        account.getStatusVersion(),
+                        account.getUpdatedAt()))
+                .collect(Collectors.toList());
+    }
+
     private Account findAccountById(UUID accountId) {
         return accountRepository.findById(accountId)
                 .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountId));
     }
 
-    private String generateAccountNumber() {
-        Random random = new Random();
-        String accountNumber;
-        do {
-            accountNumber = String.format("SB%010d", Math.abs(random.nextLong() % 10000000000L));
-        } while (accountRepository.existsByAccountNumber(accountNumber));
-        return accountNumber;
-    }
-
     private AccountResponse mapToResponse(Account account) {
         return new AccountResponse(
                 account.getId(),
@@ -0,0 +1,184 @@
+package com.securebank.account.service;
+
+import com.securebank.common.dto.AccountBalanceChange;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.security.JwtUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Projects ledger balances from transaction-service into this service's accounts table.
+ * <p>
+ * Pulls transaction-service's keyset-paged balance feed and applies each page as one
+ * JDBC batch. The update only wins when the incoming {@code balance_version} is newer
+ * than the stored one, so duplicate and late deliveries are no-ops. Polls re-read from
+ * {@code overlap-ms} before the last cursor; every {@code resync-interval-ms} a poll
+ * re-reads the whole feed instead, picking up changes committed later than the overlap.
+ * Replication lag is published as {@code balance.projection.lag}: time since the start of
+ * the last poll that read the feed to its end, so an idle but caught-up projection stays
+ * near the poll interval while failing or backlogged polls make it grow.
+ */
+@Component
+@ConditionalOnProperty(name = "transaction.balance.feed.enabled", havingValue = "true")
+public class BalanceProjectionSyncer {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceProjectionSyncer.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE accounts SET balance = ?, balance_version = ? WHERE id = ? AND balance_version < ?";
+
+    private static final UUID SERVICE_ID = UUID.nameUUIDFromBytes("account-service".getBytes(StandardCharsets.UTF_8));
+    private static final UUID NIL_ID = new UUID(0, 0);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final ParameterizedTypeReference<ApiResponse<List<AccountBalanceChange>>> FEED_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RestTemplate restTemplate;
+    private final JwtUtil jwtUtil;
+    private final String feedUrl;
+    private final int pageSize;
+    private final long overlapMs;
+    private final long resyncIntervalMs;
+    private final Counter appliedCounter;
+    private final Counter staleCounter;
+
+    private LocalDateTime cursor = EPOCH;
+    private long lastFullResync;
+    private volatile long caughtUpAt;
+
+    public BalanceProjectionSyncer(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   RestTemplate restTemplate,
+                                   JwtUtil jwtUtil,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${transaction.service.url}") String transactionServiceUrl,
+                                   @Value("${transaction.balance.feed.page-size:1000}") int pageSize,
+                                   @Value("${transaction.balance.feed.overlap-ms:2000}") long overlapMs,
+                                   @Value("${transaction.balance.feed.resync-interval-ms:3600000}") long resyncIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.restTemplate = restTemplate;
+        this.jwtUtil = jwtUtil;
+        this.feedUrl = transactionServiceUrl + "/balance-feed";
+        this.pageSize = pageSize;
+        this.overlapMs = overlapMs;
+        this.resyncIntervalMs = resyncIntervalMs;
+        this.appliedCounter = Counter.builder("balance.projection.applied")
+                .description("Balance updates applied from transaction-service")
+                .register(meterRegistry);
+        this.staleCounter = Counter.builder("balance.projection.stale")
+                .description("Balance updates ignored because a newer version was already applied")
+                .register(meterRegistry);
+        Gauge.builder("balance.projection.lag", this, BalanceProjectionSyncer::lagSeconds)
+                .description("Seconds since the start of the last poll that caught up with the balance feed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${transaction.balance.feed.poll-interval-ms:1000}")
+    public void sync() {
+        long pollStarted = System.currentTimeMillis();
+        boolean fullResync = cursor.equals(EPOCH) || pollStarted - lastFullResync >= resyncIntervalMs;
+        try {
+            LocalDateTime since = fullResync ? EPOCH : cursor.minus(Duration.ofMillis(overlapMs));
+            UUID afterId = NIL_ID;
+            List<AccountBalanceChange> page;
+            do {
+                page = fetchPage(since, afterId);
+                if (page.isEmpty()) {
+                    break;
+                }
+                applyBatch(page);
+
+                AccountBalanceChange last = page.get(page.size() - 1);
+                since = last.getUpdatedAt();
+                afterId = last.getAccountId();
+                if (since.isAfter(cursor)) {
+                    cursor = since;
+                }
+            } while (page.size() == pageSize);
+            if (fullResync) {
+                lastFullResync = pollStarted;
+            }
+            caughtUpAt = pollStarted;
+        } catch (RestClientException ex) {
+            log.warn("Balance feed unavailable: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Applies one page in a single transaction and JDBC batch.
+     *
+     * @return number of rows whose balance was updated
+     */
+    int applyBatch(List<AccountBalanceChange> changes) {
+        int[][] counts = transactionTemplate.execute(status ->
+                jdbcTemplate.batchUpdate(UPDATE_SQL, changes, changes.size(), (ps, change) -> {
+                    ps.setBigDecimal(1, change.getBalance());
+                    ps.setLong(2, change.getBalanceVersion());
+                    ps.setObject(3, change.getAccountId());
+                    ps.setLong(4, change.getBalanceVersion());
+                }));
+
+        int applied = 0;
+        if (counts != null) {
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    if (count > 0) {
+                        applied++;
+                    }
+                }
+            }
+        }
+        appliedCounter.increment(applied);
+        staleCounter.increment(changes.size() - applied);
+        log.debug("Applied {} of {} balance updates", applied, changes.size());
+        return applied;
+    }
+
+    double lagSeconds() {
+        long caughtUp = caughtUpAt;
+        return caughtUp == 0 ? Double.NaN : (System.currentTimeMillis() - caughtUp) / 1000.0;
+    }
+
+    private List<AccountBalanceChange> fetchPage(LocalDateTime since, UUID afterId) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(feedUrl)
+                .queryParam("since", since)
+                .queryParam("afterId", afterId)
+                .queryParam("limit", pageSize)
+                .build()
+                .toUri();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(SERVICE_ID, "account-service", "SERVICE"));
+
+        ApiResponse<List<AccountBalanceChange>> response =
+                restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), FEED_TYPE).getBody();
+        return response != null && response.getData() != null ? response.getData() : List.of();
+    }
+}
@@ -0,0 +1,188 @@
+package com.securebank.account.service;
+
+import com.securebank.account.dto.BulkAccountResult;
+import com.securebank.account.dto.CreateAccountRequest;
+import com.securebank.account.entity.AccountStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Opens accounts in bulk for corporate onboarding.
+ * <p>
+ * Requests are consumed lazily and inserted in chunks, each chunk in its own
+ * transaction using a single JDBC batch. Account numbers come from the block
+ * allocator, so a chunk is a pure insert workload with no per-row lookups. When a
+ * chunk's batch fails, its rows are retried one by one, so only the rows that really
+ * fail are reported as failed, each with its own cause.
+ */
+@Service
+public class BulkAccountService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkAccountService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO accounts (id, user_id, account_number, balance, status, status_version, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final int chunkSize;
+
+    public BulkAccountService(JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              AccountNumberGenerator accountNumberGenerator,
+                              @Value("${account.bulk.chunk-size:1000}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("account.bulk.chunk-size must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.accountNumberGenerator = accountNumberGenerator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Opens one account per request, reporting each outcome to {@code results} in
+     * request order. A failed row is reported with its cause and does not stop the run.
+     *
+     * @return number of accounts created
+     */
+    public int openAccounts(Iterator<CreateAccountRequest> requests, Consumer<BulkAccountResult> results) {
+        List<PendingAccount> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        int created = 0;
+
+        while (requests.hasNext()) {
+            CreateAccountRequest request = requests.next();
+            chunk.add(new PendingAccount(index++, request != null ? request.getUserId() : null));
+            if (chunk.size() >= chunkSize) {
+                created += flush(chunk, results);
+            }
+        }
+        created += flush(chunk, results);
+
+        log.info("Bulk account opening finished: {} of {} accounts created", created, index);
+        return created;
+    }
+
+    private int flush(List<PendingAccount> chunk, Consumer<BulkAccountResult> results) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        List<PendingAccount> valid = new ArrayList<>(chunk.size());
+        for (PendingAccount account : chunk) {
+            if (account.userId != null) {
+                valid.add(account);
+            }
+        }
+
+        if (!valid.isEmpty()) {
+            insert(valid);
+        }
+        int created = 0;
+        for (PendingAccount account : chunk) {
+            if (account.userId == null) {
+                results.accept(BulkAccountResult.failed(account.index, null, "userId: User ID is required"));
+            } else if (account.error == null) {
+                results.accept(BulkAccountResult.created(
+                        account.index, account.userId, account.id, account.accountNumber));
+                created++;
+            } else {
+                results.accept(BulkAccountResult.failed(account.index, account.userId, account.error));
+            }
+        }
+
+        chunk.clear();
+        return created;
+    }
+
+    private void insert(List<PendingAccount> accounts) {
+        List<String> accountNumbers = accountNumberGenerator.next(accounts.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < accounts.size(); i++) {
+            PendingAccount account = accounts.get(i);
+            account.id = UUID.randomUUID();
+            account.accountNumber = accountNumbers.get(i);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, accounts, accounts.size(),
+                            (ps, account) -> bind(ps, account, now)));
+        } catch (DataAccessException ex) {
+            log.warn("Bulk insert of {} accounts failed, retrying row by row: {}", accounts.size(), ex.getMessage());
+            insertEach(accounts, now);
+        }
+    }
+
+    /**
+     * Inserts each account in its own transaction, recording why a row failed. Stops at
+     * the first failure that is not about the row itself (the database is unavailable,
+     * say) and reports it for the rest of the rows.
+     */
+    private void insertEach(List<PendingAccount> accounts, Timestamp now) {
+        String failure = null;
+        for (PendingAccount account : accounts) {
+            if (failure != null) {
+                account.error = failure;
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, account, now)));
+            } catch (DataIntegrityViolationException ex) {
+                account.error = ex instanceof DuplicateKeyException
+                        ? "Account number already in use"
+                        : "Account could not be created: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            } catch (DataAccessException ex) {
+                failure = "Account could not be created: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                account.error = failure;
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, PendingAccount account, Timestamp now) throws SQLException {
+        ps.setObject(1, account.id);
+        ps.setObject(2, account.userId);
+        ps.setString(3, account.accountNumber);
+        ps.setBigDecimal(4, BigDecimal.ZERO);
+        ps.setString(5, AccountStatus.ACTIVE.name());
+        ps.setTimestamp(6, now);
+        ps.setTimestamp(7, now);
+    }
+
+    private static final class PendingAccount {
+        private final int index;
+        private final UUID userId;
+        private UUID id;
+        private String accountNumber;
+        private String error;
+
+        private PendingAccount(int index, UUID userId) {
+            this.index = index;
+            this.userId = userId;
+        }
+    }
+}
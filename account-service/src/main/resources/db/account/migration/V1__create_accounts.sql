@@ -0,0 +1,15 @@
+-- Baseline: the schema ddl-auto=update created. Existing databases are baselined at
+-- version 1 (spring.flyway.baseline-on-migrate) and skip this script, so anything added
+-- since goes in a later version.
+CREATE TABLE IF NOT EXISTS accounts (
+    id              UUID           NOT NULL,
+    user_id         UUID           NOT NULL,
+    account_number  VARCHAR(20)    NOT NULL,
+    balance         NUMERIC(15, 2) NOT NULL,
+    status          VARCHAR(20)    NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT accounts_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_account_number UNIQUE (account_number),
+    CONSTRAINT accounts_status_check CHECK (status IN ('ACTIVE', 'FROZEN'))
+);
@@ -0,0 +1,6 @@
+-- GET /api/v1/accounts/user/{userId}: AccountRepository.findByUserId
+CREATE INDEX IF NOT EXISTS idx_accounts_user_id ON accounts (user_id);
+
+-- Status feed keyset (AccountRepository.findChangedAfter): WHERE updated_at > ? OR
+-- (updated_at = ? AND id > ?) ORDER BY updated_at, id
+CREATE INDEX IF NOT EXISTS idx_accounts_updated_at_id ON accounts (updated_at, id);
@@ -0,0 +1,9 @@
+-- Versions the status and balance feeds compare against (AccountStatusSyncer in
+-- transaction-service, BalanceProjectionSyncer). Existing rows start at 0.
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS balance_version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS status_version BIGINT DEFAULT 0 NOT NULL;
+
+-- Account number blocks (AccountNumberGenerator): each nextval is the first serial of a
+-- block and INCREMENT BY is the block size. To change the block size, ALTER SEQUENCE ...
+-- INCREMENT BY n RESTART WITH a multiple of n above the last value, with every instance stopped.
+CREATE SEQUENCE IF NOT EXISTS account_number_block_seq START WITH 1000 INCREMENT BY 1000;
@@ -0,0 +1,68 @@
+package com.securebank.account.migration;
+
+import com.securebank.account.service.AccountNumberGenerator;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the service against a database in the state ddl-auto=update left it (see
+ * {@code db/ddl-auto-accounts.sql}), so Flyway baselines it at V1, runs the later
+ * migrations and Hibernate validates the result.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:schemamigration;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+                + "INIT=RUNSCRIPT FROM 'classpath:db/ddl-auto-accounts.sql'",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/account/migration",
+        "spring.flyway.baseline-on-migrate=true",
+        "spring.flyway.baseline-version=1"
+})
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccountNumberGenerator accountNumberGenerator;
+
+    @Test
+    @DisplayName("Migrate - ddl-auto schema baselined at V1 and upgraded by the later versions")
+    void migrate_ShouldUpgradeBaselinedSchema() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertEquals(MigrationState.BASELINE, applied[0].getState());
+        assertEquals("1", applied[0].getVersion().getVersion());
+        assertEquals(List.of("2", "3"), Arrays.stream(applied).skip(1).map(m -> m.getVersion().getVersion()).toList());
+        assertTrue(Arrays.stream(applied).skip(1).allMatch(m -> m.getState() == MigrationState.SUCCESS));
+    }
+
+    @Test
+    @DisplayName("Migrate - existing accounts get version 0 and numbers come from 1000-serial blocks")
+    void migrate_ShouldKeepExistingAccounts() {
+        Map<String, Object> existing = jdbcTemplate.queryForMap(
+                "SELECT balance_version, status_version FROM accounts WHERE account_number = 'SB1234567897'");
+        Long increment = jdbcTemplate.queryForObject("SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES "
+                + "WHERE SEQUENCE_NAME = 'ACCOUNT_NUMBER_BLOCK_SEQ'", Long.class);
+
+        assertEquals(0L, ((Number) existing.get("BALANCE_VERSION")).longValue());
+        assertEquals(0L, ((Number) existing.get("STATUS_VERSION")).longValue());
+        assertEquals(1000L, increment);
+        assertTrue(accountNumberGenerator.next().matches("SB\\d{10}"));
+    }
+}
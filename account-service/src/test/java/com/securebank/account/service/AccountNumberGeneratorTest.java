@@ -0,0 +1,128 @@
+package com.securebank.account.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountNumberGeneratorTest {
+
+    private static final String NEXT_BLOCK_SQL = "SELECT NEXT VALUE FOR account_number_block_seq";
+    private static final String BLOCK_SIZE_SQL =
+            "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ACCOUNT_NUMBER_BLOCK_SEQ'";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AccountNumberGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new AccountNumberGenerator(jdbcTemplate, NEXT_BLOCK_SQL, BLOCK_SIZE_SQL, 42L);
+    }
+
+    @Test
+    @DisplayName("Next - one sequence call per block")
+    void next_ShouldReserveOneBlockPerBlockSize() {
+        when(jdbcTemplate.queryForObject(eq(BLOCK_SIZE_SQL), eq(Long.class))).thenReturn(100L);
+        when(jdbcTemplate.queryForObject(eq(NEXT_BLOCK_SQL), eq(Long.class))).thenReturn(100L, 200L, 300L);
+
+        for (int i = 0; i < 250; i++) {
+            generator.next();
+        }
+
+        verify(jdbcTemplate, times(3)).queryForObject(eq(NEXT_BLOCK_SQL), eq(Long.class));
+        verify(jdbcTemplate, times(1)).queryForObject(eq(BLOCK_SIZE_SQL), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Next - numbers are unique and Luhn-valid")
+    void next_ShouldReturnUniqueValidNumbers() {
+        when(jdbcTemplate.queryForObject(eq(BLOCK_SIZE_SQL), eq(Long.class))).thenReturn(100L);
+        when(jdbcTemplate.queryForObject(eq(NEXT_BLOCK_SQL), eq(Long.class))).thenReturn(100L, 200L, 300L, 400L, 500L);
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            String accountNumber = generator.next();
+            assertTrue(accountNumber.matches("SB\\d{10}"), accountNumber);
+            assertTrue(AccountNumberGenerator.isValid(accountNumber), accountNumber);
+            assertTrue(seen.add(accountNumber), "Duplicate account number " + accountNumber);
+        }
+    }
+
+    @Test
+    @DisplayName("Scramble - consecutive serials are not adjacent")
+    void scramble_ShouldNotPreserveOrder() {
+        long first = generator.scramble(1000);
+        long second = generator.scramble(1001);
+
+        assertNotEquals(first + 1, second);
+        assertTrue(first < 1_000_000_000L && second < 1_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("Is valid - rejects a mistyped digit")
+    void isValid_ShouldRejectSingleDigitError() {
+        String accountNumber = generator.format(12345);
+        char last = accountNumber.charAt(accountNumber.length() - 1);
+        String mistyped = accountNumber.substring(0, accountNumber.length() - 1) + (char) ('0' + (last - '0' + 1) % 10);
+
+        assertTrue(AccountNumberGenerator.isValid(accountNumber));
+        assertFalse(AccountNumberGenerator.isValid(mistyped));
+    }
+
+    @Test
+    @DisplayName("Next - exhausted number space throws exception")
+    void next_ShouldThrowException_WhenSpaceExhausted() {
+        when(jdbcTemplate.queryForObject(eq(BLOCK_SIZE_SQL), eq(Long.class))).thenReturn(100L);
+        when(jdbcTemplate.queryForObject(eq(NEXT_BLOCK_SQL), eq(Long.class))).thenReturn(1_000_000_000L);
+
+        assertThrows(IllegalStateException.class, () -> generator.next());
+    }
+
+    @Test
+    @DisplayName("Next - block off the sequence increment throws exception")
+    void next_ShouldThrowException_WhenBlockNotAligned() {
+        when(jdbcTemplate.queryForObject(eq(BLOCK_SIZE_SQL), eq(Long.class))).thenReturn(100L);
+        when(jdbcTemplate.queryForObject(eq(NEXT_BLOCK_SQL), eq(Long.class))).thenReturn(150L);
+
+        assertThrows(IllegalStateException.class, () -> generator.next());
+    }
+
+    @Test
+    @DisplayName("Next - block size taken from the sequence increment")
+    void next_ShouldUseSequenceIncrementAsBlockSize() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true).build();
+        try {
+            JdbcTemplate h2 = new JdbcTemplate(database);
+            h2.execute("CREATE SEQUENCE account_number_block_seq START WITH 50 INCREMENT BY 50");
+            AccountNumberGenerator first = new AccountNumberGenerator(h2, NEXT_BLOCK_SQL, BLOCK_SIZE_SQL, 42L);
+            AccountNumberGenerator second = new AccountNumberGenerator(h2, NEXT_BLOCK_SQL, BLOCK_SIZE_SQL, 42L);
+
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < 120; i++) {
+                assertTrue(seen.add(first.next()));
+                assertTrue(seen.add(second.next()));
+            }
+
+            assertEquals(50 + 6 * 50, h2.queryForObject(NEXT_BLOCK_SQL, Long.class));
+        } finally {
+            database.shutdown();
+        }
+    }
+}
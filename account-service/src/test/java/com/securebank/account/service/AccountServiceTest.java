@@ -5,6 +5,7 @@ import com.securebank.account.dto.CreateAccountRequest;
 import com.securebank.account.entity.Account;
 import com.securebank.account.entity.AccountStatus;
 import com.securebank.account.repository.AccountRepository;
+import com.securebank.common.dto.AccountStatusChange;
 import com.securebank.common.exception.AccountFrozenException;
 import com.securebank.common.exception.ResourceNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -31,6 +33,9 @@ class AccountServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
     @InjectMocks
     private AccountService accountService;
 
@@ -54,7 +59,7 @@ class AccountServiceTest {
     void createAccount_ShouldReturnNewAccount() {
         CreateAccountRequest request = new CreateAccountRequest(testUserId);
 
-        when(accountRepository.existsByAccountNumber(anyString())).thenReturn(false);
+        when(accountNumberGenerator.next()).thenReturn("SB0000000001");
         when(accountRepository.save(any(Account.class))).thenReturn(testAccount);
 
         AccountResponse response = accountService.createAccount(request);
@@ -63,6 +68,7 @@ class AccountServiceTest {
         assertEquals(testUserId, response.getUserId());
         assertEquals("SB0000000001", response.getAccountNumber());
         verify(accountRepository).save(any(Account.class));
+        verify(accountRepository, never()).findByAccountNumber(anyString());
     }
 
     @Test
@@ -100,29 +106,39 @@ class AccountServiceTest {
     @Test
     @DisplayName("Freeze account - success")
     void freezeAccount_ShouldSetStatusFrozen() {
+        when(accountRepository.updateStatus(eq(testAccountId), eq(AccountStatus.FROZEN), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    testAccount.setStatus(AccountStatus.FROZEN);
+                    testAccount.setStatusVersion(testAccount.getStatusVersion() + 1);
+                    return 1;
+                });
         when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> {
-            Account saved = invocation.getArgument(0);
-            saved.setCreatedAt(testAccount.getCreatedAt());
-            return saved;
-        });
 
         AccountResponse response = accountService.freezeAccount(testAccountId);
 
         assertEquals("FROZEN", response.getStatus());
-        verify(accountRepository).save(any(Account.class));
+        assertEquals(1, testAccount.getStatusVersion());
+        verify(accountRepository, never()).save(any(Account.class));
+    }
+
+    @Test
+    @DisplayName("Freeze account - unknown account throws exception")
+    void freezeAccount_ShouldThrowNotFound_WhenAccountMissing() {
+        when(accountRepository.updateStatus(eq(testAccountId), eq(AccountStatus.FROZEN), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> accountService.freezeAccount(testAccountId));
     }
 
     @Test
     @DisplayName("Unfreeze account - success")
     void unfreezeAccount_ShouldSetStatusActive() {
-        testAccount.setStatus(AccountStatus.FROZEN);
+        when(accountRepository.updateStatusFrom(eq(testAccountId), eq(AccountStatus.FROZEN), eq(AccountStatus.ACTIVE),
+                any(LocalDateTime.class))).thenAnswer(invocation -> {
+                    testAccount.setStatus(AccountStatus.ACTIVE);
+                    return 1;
+                });
         when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
-        when(accountRepository.save(any(Account.class))).thenAnswer(invocation -> {
-            Account saved = invocation.getArgument(0);
-            saved.setCreatedAt(testAccount.getCreatedAt());
-            return saved;
-        });
 
         AccountResponse response = accountService.unfreezeAccount(testAccountId);
 
@@ -133,8 +149,29 @@ class AccountServiceTest {
     @DisplayName("Unfreeze account - not frozen throws exception")
     void unfreezeAccount_ShouldThrowException_WhenNotFrozen() {
         testAccount.setStatus(AccountStatus.ACTIVE);
+        when(accountRepository.updateStatusFrom(eq(testAccountId), eq(AccountStatus.FROZEN), eq(AccountStatus.ACTIVE),
+                any(LocalDateTime.class))).thenReturn(0);
         when(accountRepository.findById(testAccountId)).thenReturn(Optional.of(testAccount));
 
         assertThrows(AccountFrozenException.class, () -> accountService.unfreezeAccount(testAccountId));
     }
+
+    @Test
+    @DisplayName("Get status changes - maps current status and version")
+    void getStatusChanges_ShouldReturnFeedEntries() {
+        testAccount.setStatus(AccountStatus.FROZEN);
+        testAccount.setStatusVersion(3);
+        testAccount.setUpdatedAt(LocalDateTime.now());
+        LocalDateTime since = LocalDateTime.of(1970, 1, 1, 0, 0);
+        UUID afterId = new UUID(0, 0);
+        when(accountRepository.findChangedAfter(eq(since), eq(afterId), any(Pageable.class)))
+                .thenReturn(List.of(testAccount));
+
+        List<AccountStatusChange> changes = accountService.getStatusChanges(since, afterId, 500);
+
+        assertEquals(1, changes.size());
+        assertEquals(testAccountId, changes.get(0).getAccountId());
+        assertEquals("FROZEN", changes.get(0).getStatus());
+        assertEquals(3, changes.get(0).getStatusVersion());
+    }
 }
@@ -0,0 +1,117 @@
+package com.securebank.account.service;
+
+import com.securebank.common.dto.AccountBalanceChange;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.security.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceProjectionSyncerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private RestTemplate restTemplate;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BalanceProjectionSyncer syncer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        syncer = new BalanceProjectionSyncer(jdbcTemplate, transactionManager, restTemplate, jwtUtil,
+                meterRegistry, "http://localhost:8083/api/v1/transactions", 1000, 2000, 3_600_000);
+    }
+
+    @Test
+    @DisplayName("Apply batch - counts applied and stale updates")
+    void applyBatch_ShouldCountStaleUpdates() {
+        List<AccountBalanceChange> changes = List.of(
+                new AccountBalanceChange(UUID.randomUUID(), BigDecimal.valueOf(100.00), 3, LocalDateTime.now()),
+                new AccountBalanceChange(UUID.randomUUID(), BigDecimal.valueOf(50.00), 1, LocalDateTime.now()),
+                new AccountBalanceChange(UUID.randomUUID(), BigDecimal.valueOf(75.00), 7, LocalDateTime.now()));
+        when(jdbcTemplate.batchUpdate(anyString(), eq(changes), eq(3), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 0, 1}});
+
+        int applied = syncer.applyBatch(changes);
+
+        assertEquals(2, applied);
+        assertEquals(2.0, meterRegistry.get("balance.projection.applied").counter().count());
+        assertEquals(1.0, meterRegistry.get("balance.projection.stale").counter().count());
+    }
+
+    @Test
+    @DisplayName("Lag gauge - measured from the last poll that drained the feed, not from the last change")
+    void lagGauge_ShouldStayLow_WhenCaughtUpAndIdle() {
+        when(jwtUtil.generateToken(any(), anyString(), anyString())).thenReturn("token");
+        AccountBalanceChange old = new AccountBalanceChange(UUID.randomUUID(), BigDecimal.valueOf(10.00), 1,
+                LocalDateTime.now().minusHours(8));
+        doReturn(ResponseEntity.ok(new ApiResponse<>(true, null, List.of(old))))
+                .doThrow(new ResourceAccessException("connection refused"))
+                .when(restTemplate).exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class));
+
+        assertTrue(Double.isNaN(meterRegistry.get("balance.projection.lag").gauge().value()));
+        syncer.sync();
+        double caughtUp = meterRegistry.get("balance.projection.lag").gauge().value();
+        syncer.sync();
+        double afterFailure = meterRegistry.get("balance.projection.lag").gauge().value();
+
+        assertTrue(caughtUp >= 0 && caughtUp < 5, "lag " + caughtUp);
+        assertTrue(afterFailure >= caughtUp, "lag " + afterFailure);
+    }
+
+    @Test
+    @DisplayName("Sync - full resync from the start of the feed once the interval has passed")
+    void sync_ShouldReadWholeFeed_WhenResyncDue() {
+        syncer = new BalanceProjectionSyncer(jdbcTemplate, transactionManager, restTemplate, jwtUtil,
+                new SimpleMeterRegistry(), "http://localhost:8083/api/v1/transactions", 1000, 2000, 0);
+        when(jwtUtil.generateToken(any(), anyString(), anyString())).thenReturn("token");
+        AccountBalanceChange change = new AccountBalanceChange(UUID.randomUUID(), BigDecimal.valueOf(10.00), 1,
+                LocalDateTime.now());
+        doReturn(ResponseEntity.ok(new ApiResponse<>(true, null, List.of(change))))
+                .when(restTemplate).exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class));
+
+        syncer.sync();
+        syncer.sync();
+
+        ArgumentCaptor<URI> uris = ArgumentCaptor.forClass(URI.class);
+        verify(restTemplate, times(2)).exchange(uris.capture(), eq(HttpMethod.GET), any(HttpEntity.class),
+                any(ParameterizedTypeReference.class));
+        assertTrue(uris.getAllValues().stream().allMatch(uri -> uri.getQuery().contains("since=1970-01-01T00:00")));
+    }
+}
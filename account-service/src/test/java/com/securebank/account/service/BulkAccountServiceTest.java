@@ -0,0 +1,123 @@
+package com.securebank.account.service;
+
+import com.securebank.account.dto.BulkAccountResult;
+import com.securebank.account.dto.CreateAccountRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkAccountServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private AccountNumberGenerator accountNumberGenerator;
+
+    private BulkAccountService bulkAccountService;
+
+    @BeforeEach
+    void setUp() {
+        bulkAccountService = new BulkAccountService(jdbcTemplate, transactionManager, accountNumberGenerator, 2);
+    }
+
+    @Test
+    @DisplayName("Open accounts - inserts in chunks and reports every item in order")
+    void openAccounts_ShouldBatchInChunks() {
+        List<CreateAccountRequest> requests = List.of(
+                new CreateAccountRequest(UUID.randomUUID()),
+                new CreateAccountRequest(UUID.randomUUID()),
+                new CreateAccountRequest(null),
+                new CreateAccountRequest(UUID.randomUUID()),
+                new CreateAccountRequest(UUID.randomUUID()));
+        when(accountNumberGenerator.next(anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(0);
+            List<String> numbers = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                numbers.add("SB" + UUID.randomUUID().toString().substring(0, 10));
+            }
+            return numbers;
+        });
+
+        List<BulkAccountResult> results = new ArrayList<>();
+        int created = bulkAccountService.openAccounts(requests.iterator(), results::add);
+
+        assertEquals(4, created);
+        assertEquals(5, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertFalse(results.get(2).isSuccess());
+        assertTrue(results.get(4).isSuccess());
+        assertNotNull(results.get(4).getAccountNumber());
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    @DisplayName("Open accounts - failed chunk retried row by row, only the bad row reported with its cause")
+    void openAccounts_ShouldRetryRowByRow_WhenBatchFails() {
+        List<CreateAccountRequest> requests = List.of(
+                new CreateAccountRequest(UUID.randomUUID()),
+                new CreateAccountRequest(UUID.randomUUID()));
+        when(accountNumberGenerator.next(2)).thenReturn(List.of("SB0000000018", "SB0000000026"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DuplicateKeyException("duplicate key"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DuplicateKeyException("duplicate key"));
+
+        List<BulkAccountResult> results = new ArrayList<>();
+        int created = bulkAccountService.openAccounts(requests.iterator(), results::add);
+
+        assertEquals(1, created);
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("SB0000000018", results.get(0).getAccountNumber());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("Account number already in use", results.get(1).getError());
+    }
+
+    @Test
+    @DisplayName("Open accounts - row retries stop once the database is unavailable")
+    void openAccounts_ShouldStopRetrying_WhenDatabaseUnavailable() {
+        List<CreateAccountRequest> requests = List.of(
+                new CreateAccountRequest(UUID.randomUUID()),
+                new CreateAccountRequest(UUID.randomUUID()));
+        when(accountNumberGenerator.next(2)).thenReturn(List.of("SB0000000018", "SB0000000026"));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        List<BulkAccountResult> results = new ArrayList<>();
+        int created = bulkAccountService.openAccounts(requests.iterator(), results::add);
+
+        assertEquals(0, created);
+        verify(jdbcTemplate, times(1)).update(anyString(), any(PreparedStatementSetter.class));
+        assertTrue(results.stream().allMatch(result ->
+                "Account could not be created: connection refused".equals(result.getError())));
+    }
+}
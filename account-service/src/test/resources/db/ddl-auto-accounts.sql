@@ -0,0 +1,16 @@
+-- accounts as ddl-auto=update created it before Flyway, with one existing account
+create table if not exists accounts (
+    balance numeric(15,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6),
+    id uuid not null,
+    user_id uuid not null,
+    account_number varchar(20) not null unique,
+    status varchar(20) not null check (status in ('ACTIVE','FROZEN')),
+    primary key (id)
+);
+
+merge into accounts (balance, created_at, updated_at, id, user_id, account_number, status)
+    key (id)
+    values (250.00, timestamp '2024-06-01 09:00:00', null, '6f1c2a9e-0d4b-4c3e-9a57-3b8e1f0c2d41',
+            '0b7e4d2c-5a19-4f86-b3c0-8e2d6a1f4c97', 'SB1234567897', 'ACTIVE');
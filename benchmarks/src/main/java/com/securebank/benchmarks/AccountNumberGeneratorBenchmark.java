@@ -0,0 +1,53 @@
+package com.securebank.benchmarks;
+
+import com.securebank.account.service.AccountNumberGenerator;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account number allocation against an H2 sequence. With the default block size one
+ * sequence round trip is amortised over a thousand numbers; {@code blockSize=1}
+ * shows the cost of a round trip per account.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountNumberGeneratorBenchmark {
+
+    @Param({"1", "1000"})
+    private int blockSize;
+
+    private AccountNumberGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS account_number_block_seq START WITH " + blockSize
+                + " INCREMENT BY " + blockSize);
+        generator = new AccountNumberGenerator(jdbcTemplate,
+                "SELECT NEXT VALUE FOR account_number_block_seq",
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'ACCOUNT_NUMBER_BLOCK_SEQ'",
+                7349271849327117L);
+    }
+
+    @Benchmark
+    public String next() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public List<String> nextBulk() {
+        return generator.next(100);
+    }
+}
@@ -0,0 +1,104 @@
+package com.securebank.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.account.dto.AccountResponse;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.transaction.dto.TransactionResponse;
+import com.securebank.transaction.entity.Transaction;
+import com.securebank.transaction.entity.TransactionType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and Jackson serialization of {@link ApiResponse} bodies, using
+ * an ObjectMapper configured the way Spring Boot configures the services' one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ApiResponseBenchmark {
+
+    @Param({"50"})
+    private int historySize;
+
+    private ObjectMapper objectMapper;
+    private List<Transaction> history;
+    private ApiResponse<TransactionResponse> single;
+    private ApiResponse<List<TransactionResponse>> page;
+    private ApiResponse<List<AccountResponse>> accounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        UUID accountId = UUID.randomUUID();
+        history = new ArrayList<>(historySize);
+        for (int i = 0; i < historySize; i++) {
+            Transaction txn = new Transaction(accountId, UUID.randomUUID(), TransactionType.TRANSFER,
+                    new BigDecimal("125.50"), new BigDecimal("10250.75"), "Transfer to SB0000000018");
+            txn.setId(UUID.randomUUID());
+            txn.setCreatedAt(LocalDateTime.now());
+            history.add(txn);
+        }
+        single = ApiResponse.success("Deposit successful", map(history.get(0)));
+        page = ApiResponse.success("Transaction history retrieved", mapAll());
+
+        List<AccountResponse> accountList = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            accountList.add(new AccountResponse(UUID.randomUUID(), UUID.randomUUID(), "SB0000000018",
+                    new BigDecimal("10250.75"), "ACTIVE", LocalDateTime.now()));
+        }
+        accounts = ApiResponse.success("Accounts retrieved successfully", accountList);
+    }
+
+    @Benchmark
+    public List<TransactionResponse> mapHistory() {
+        return mapAll();
+    }
+
+    @Benchmark
+    public byte[] serializeSingleTransaction() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] serializeHistory() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeHistory() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Transaction history retrieved", mapAll()));
+    }
+
+    @Benchmark
+    public byte[] serializeAccounts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(accounts);
+    }
+
+    private List<TransactionResponse> mapAll() {
+        List<TransactionResponse> responses = new ArrayList<>(history.size());
+        for (Transaction txn : history) {
+            responses.add(map(txn));
+        }
+        return responses;
+    }
+
+    private static TransactionResponse map(Transaction txn) {
+        return new TransactionResponse(
+                txn.getId(), txn.getAccountId(), txn.getTargetAccountId(),
+                txn.getType().name(), txn.getAmount(), txn.getBalanceAfter(),
+                txn.getDescription(), txn.getCreatedAt()
+        );
+    }
+}
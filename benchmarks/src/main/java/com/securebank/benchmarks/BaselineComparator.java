@@ -0,0 +1,103 @@
+package com.securebank.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against a baseline produced by an earlier run.
+ * Throughput scores regress when they drop; time-per-operation scores regress when they rise.
+ */
+public class BaselineComparator {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final double threshold;
+
+    public BaselineComparator(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /**
+     * Prints a per-benchmark comparison and returns {@code true} if any benchmark
+     * regressed by more than the threshold. When {@code updateBaseline} is set, the
+     * result becomes the new baseline instead.
+     *
+     * @throws IllegalStateException if there is no baseline to compare against
+     */
+    public boolean compare(Path result, Path baseline, boolean updateBaseline) throws IOException {
+        if (updateBaseline) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline recorded at " + baseline);
+            return false;
+        }
+        requireBaseline(baseline);
+
+        Map<String, Score> current = read(result);
+        Map<String, Score> previous = read(baseline);
+        boolean regressed = false;
+
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Score> entry : new TreeMap<>(current).entrySet()) {
+            Score now = entry.getValue();
+            Score before = previous.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.value, "new");
+                continue;
+            }
+            double change = (now.value - before.value) / before.value;
+            double worsening = now.higherIsBetter ? -change : change;
+            boolean isRegression = worsening > threshold;
+            regressed |= isRegression;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.value, now.value,
+                    change * 100, isRegression ? "  REGRESSION" : "");
+        }
+        return regressed;
+    }
+
+    /**
+     * Fails unless {@code baseline} exists, so a run without one is not mistaken for a
+     * pass and does not silently record itself as the reference.
+     */
+    public static void requireBaseline(Path baseline) {
+        if (!Files.exists(baseline)) {
+            throw new IllegalStateException("No benchmark baseline at " + baseline
+                    + "; record one on the reference machine with -Djmh.updateBaseline=true and commit it");
+        }
+    }
+
+    private Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : objectMapper.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText())
+                    .append(" [").append(run.path("mode").asText()).append(']');
+            JsonNode params = run.path("params");
+            for (Iterator<Map.Entry<String, JsonNode>> it = params.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(metric.path("score").asDouble(),
+                    "thrpt".equals(run.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    private static final class Score {
+        private final double value;
+        private final boolean higherIsBetter;
+
+        private Score(double value, boolean higherIsBetter) {
+            this.value = value;
+            this.higherIsBetter = higherIsBetter;
+        }
+    }
+}
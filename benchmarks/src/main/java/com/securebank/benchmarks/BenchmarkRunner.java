@@ -0,0 +1,48 @@
+package com.securebank.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Runs the JMH suites, writes machine-readable JSON results and compares them to the
+ * committed baseline.
+ * <p>
+ * Arguments: include regex, result file, baseline file, allowed regression (fraction),
+ * and optionally {@code true} to overwrite the baseline with this run.
+ * Exits with status 1 when any benchmark regressed beyond the allowed fraction, and
+ * fails before running anything when there is no baseline and none is being recorded.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String includes = args.length > 0 ? args[0] : ".*";
+        Path result = Path.of(args.length > 1 ? args[1] : "target/jmh-result.json");
+        Path baseline = Path.of(args.length > 2 ? args[2] : "baseline/jmh-baseline.json");
+        double threshold = args.length > 3 ? Double.parseDouble(args[3]) : 0.10;
+        boolean updateBaseline = args.length > 4 && Boolean.parseBoolean(args[4]);
+        if (!updateBaseline) {
+            BaselineComparator.requireBaseline(baseline);
+        }
+
+        Options options = new OptionsBuilder()
+                .include(includes)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+        new Runner(options).run();
+
+        BaselineComparator comparator = new BaselineComparator(threshold);
+        boolean regressed = comparator.compare(result, baseline, updateBaseline);
+        if (regressed) {
+            System.exit(1);
+        }
+    }
+}
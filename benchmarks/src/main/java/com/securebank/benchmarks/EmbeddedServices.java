@@ -0,0 +1,40 @@
+package com.securebank.benchmarks;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+
+/**
+ * Boots a service's Spring context against a private in-memory H2 database,
+ * with background replication feeds switched off.
+ */
+final class EmbeddedServices {
+
+    static final String JWT_SECRET = "BenchmarkSecretKeyForJwtTokensThatIsLongEnoughForHMACSHA256";
+
+    private EmbeddedServices() {}
+
+    static ConfigurableApplicationContext start(Class<?> application, String... extraProperties) {
+        String database = "bench-" + UUID.randomUUID();
+        return new SpringApplicationBuilder(application)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "logging.level.com.securebank=WARN",
+                        "jwt.secret=" + JWT_SECRET,
+                        "account.status.feed.enabled=false",
+                        "transaction.balance.feed.enabled=false",
+                        "account.number.next-block-sql=SELECT NEXT VALUE FOR account_number_block_seq",
+                        "account.number.block-size-sql=SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES "
+                                + "WHERE SEQUENCE_NAME = 'ACCOUNT_NUMBER_BLOCK_SEQ'")
+                .properties(extraProperties)
+                .run();
+    }
+}
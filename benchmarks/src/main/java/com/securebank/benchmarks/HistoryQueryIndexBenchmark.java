@@ -0,0 +1,202 @@
+package com.securebank.benchmarks;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transaction history and audit trail queries on large tables, with the schema from
+ * the services' own migrations: V1 only ({@code indexed=false}, as ddl-auto created it)
+ * and V1 plus the V2 index migrations ({@code indexed=true}). Rows are loaded before V2
+ * runs, as when the migration is applied to an existing database.
+ * <p>
+ * Runs against in-memory H2 by default. Set {@code -Dbench.jdbcUrl=jdbc:postgresql://...}
+ * (user and password in the URL) to use a scratch PostgreSQL database instead. Its
+ * schema is wiped at the start of every trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class HistoryQueryIndexBenchmark {
+
+    private static final String HISTORY_SQL =
+            "SELECT id, account_id, target_account_id, type, amount, balance_after, description, created_at "
+                    + "FROM transactions WHERE account_id = ? ORDER BY created_at DESC";
+    private static final String AUDIT_BY_ACCOUNT_SQL =
+            "SELECT id, event_type, account_id, user_id, message, created_at "
+                    + "FROM audit_logs WHERE account_id = ? ORDER BY created_at DESC";
+    private static final String AUDIT_BY_USER_SQL =
+            "SELECT id, event_type, account_id, user_id, message, created_at "
+                    + "FROM audit_logs WHERE user_id = ? ORDER BY created_at DESC";
+    private static final String[] TRANSACTION_TYPES = {"DEPOSIT", "WITHDRAWAL", "TRANSFER"};
+    private static final int BATCH_SIZE = 5000;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"200"})
+    private int rowsPerKey;
+
+    private DataSource dataSource;
+    private List<UUID> accountIds;
+    private List<UUID> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String jdbcUrl = System.getProperty("bench.jdbcUrl", "");
+        if (jdbcUrl.isBlank()) {
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:history-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+            dataSource = h2;
+        } else {
+            dataSource = new DriverManagerDataSource(jdbcUrl);
+        }
+
+        Flyway transactions = flyway("transaction", "1");
+        transactions.clean();
+        transactions.migrate();
+        flyway("notification", "1").migrate();
+
+        SplittableRandom random = new SplittableRandom(42);
+        accountIds = ids(Math.max(1, rows / rowsPerKey));
+        userIds = ids(Math.max(1, accountIds.size() / 2));
+        loadTransactions(random);
+        loadAuditLogs(random);
+
+        if (indexed) {
+            flyway("transaction", "latest").migrate();
+            flyway("notification", "latest").migrate();
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Benchmark
+    public int transactionHistory(Blackhole blackhole) throws SQLException {
+        return query(HISTORY_SQL, pick(accountIds), 8, blackhole);
+    }
+
+    @Benchmark
+    public int auditByAccount(Blackhole blackhole) throws SQLException {
+        return query(AUDIT_BY_ACCOUNT_SQL, pick(accountIds), 6, blackhole);
+    }
+
+    @Benchmark
+    public int auditByUser(Blackhole blackhole) throws SQLException {
+        return query(AUDIT_BY_USER_SQL, pick(userIds), 6, blackhole);
+    }
+
+    private int query(String sql, UUID key, int columns, Blackhole blackhole) throws SQLException {
+        int count = 0;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setObject(1, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    for (int column = 1; column <= columns; column++) {
+                        blackhole.consume(resultSet.getObject(column));
+                    }
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private Flyway flyway(String service, String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/" + service + "/migration")
+                .table("flyway_history_" + service)
+                .target(target)
+                .cleanDisabled(false)
+                .load();
+    }
+
+    private void loadTransactions(SplittableRandom random) throws SQLException {
+        LocalDateTime start = LocalDateTime.now().minusDays(730);
+        insert("INSERT INTO transactions (id, account_id, target_account_id, type, amount, balance_after, "
+                + "description, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", statement -> {
+            String type = TRANSACTION_TYPES[random.nextInt(TRANSACTION_TYPES.length)];
+            statement.setObject(1, UUID.randomUUID());
+            statement.setObject(2, accountIds.get(random.nextInt(accountIds.size())));
+            statement.setObject(3, "TRANSFER".equals(type) ? accountIds.get(random.nextInt(accountIds.size())) : null);
+            statement.setString(4, type);
+            statement.setBigDecimal(5, BigDecimal.valueOf(random.nextInt(1, 1_000_000), 2));
+            statement.setBigDecimal(6, BigDecimal.valueOf(random.nextInt(0, 100_000_000), 2));
+            statement.setString(7, "benchmark " + type.toLowerCase());
+            statement.setTimestamp(8, Timestamp.valueOf(start.plusSeconds(random.nextLong(730L * 86_400))));
+        });
+    }
+
+    private void loadAuditLogs(SplittableRandom random) throws SQLException {
+        LocalDateTime start = LocalDateTime.now().minusDays(730);
+        insert("INSERT INTO audit_logs (id, event_type, account_id, user_id, message, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", statement -> {
+            String type = TRANSACTION_TYPES[random.nextInt(TRANSACTION_TYPES.length)];
+            statement.setObject(1, UUID.randomUUID());
+            statement.setString(2, type);
+            statement.setObject(3, accountIds.get(random.nextInt(accountIds.size())));
+            statement.setObject(4, userIds.get(random.nextInt(userIds.size())));
+            statement.setString(5, "benchmark " + type.toLowerCase() + " event");
+            statement.setTimestamp(6, Timestamp.valueOf(start.plusSeconds(random.nextLong(730L * 86_400))));
+        });
+    }
+
+    private void insert(String sql, RowBinder binder) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (int row = 1; row <= rows; row++) {
+                binder.bind(statement);
+                statement.addBatch();
+                if (row % BATCH_SIZE == 0 || row == rows) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    private static UUID pick(List<UUID> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
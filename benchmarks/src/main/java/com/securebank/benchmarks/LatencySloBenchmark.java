@@ -0,0 +1,58 @@
+package com.securebank.benchmarks;
+
+import com.securebank.common.latency.LatencySloInterceptor;
+import com.securebank.common.latency.LatencySloTracker;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link LatencySloInterceptor}: {@code preHandle} plus
+ * {@code afterCompletion} for a controller method, single-threaded and with eight
+ * threads recording into the same method. The budget is 100 ns per request in both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatencySloBenchmark {
+
+    private LatencySloInterceptor interceptor;
+    private HandlerMethod handler;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        LatencySloTracker tracker = new LatencySloTracker(new MockEnvironment(), 60, 250, 0.99, 4);
+        interceptor = new LatencySloInterceptor(tracker);
+        handler = new HandlerMethod(new BenchController(), BenchController.class.getMethod("transfer"));
+        request = new MockHttpServletRequest("POST", "/api/v1/transactions/transfer");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void recordRequest() {
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordRequestContended() {
+        interceptor.preHandle(request, response, handler);
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    @RestController
+    public static class BenchController {
+        public void transfer() {}
+    }
+}
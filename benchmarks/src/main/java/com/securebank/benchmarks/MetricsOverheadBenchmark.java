@@ -0,0 +1,93 @@
+package com.securebank.benchmarks;
+
+import com.securebank.common.metrics.BankingMetrics;
+import com.securebank.transaction.TransactionServiceApplication;
+import com.securebank.transaction.dto.DepositRequest;
+import com.securebank.transaction.dto.TransactionResponse;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the common metrics layer: a deposit through TransactionService (commit timer,
+ * repository timers, business counters) and the per-request meter updates in isolation,
+ * each with all meters enabled and with {@code management.metrics.enable.all=false}.
+ * The difference between the two {@code metrics} values is the instrumentation overhead.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    @Param({"enabled", "disabled"})
+    private String metrics;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private BankingMetrics bankingMetrics;
+    private Timer requestTimer;
+    private UUID[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedServices.start(TransactionServiceApplication.class,
+                "management.metrics.enable.all=" + "enabled".equals(metrics));
+        transactionService = context.getBean(TransactionService.class);
+        bankingMetrics = context.getBean(BankingMetrics.class);
+        requestTimer = Timer.builder("http.server.requests")
+                .tag("method", "POST")
+                .tag("uri", "/api/v1/transactions/deposit")
+                .tag("status", "201")
+                .tag("outcome", "SUCCESS")
+                .tag("exception", "none")
+                .register(context.getBean(MeterRegistry.class));
+
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        List<Account> seeded = new ArrayList<>();
+        accountIds = new UUID[1000];
+        for (int i = 0; i < accountIds.length; i++) {
+            Account account = new Account();
+            account.setId(UUID.randomUUID());
+            account.setAccountNumber(String.format("SB%010d", i));
+            account.setUserId(UUID.randomUUID());
+            seeded.add(account);
+            accountIds[i] = account.getId();
+        }
+        accountRepository.saveAll(seeded);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionResponse deposit() {
+        UUID accountId = accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+        return transactionService.deposit(new DepositRequest(accountId, BigDecimal.ONE, "bench"));
+    }
+
+    @Benchmark
+    public void requestTimer() {
+        requestTimer.record(1_500_000, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void bankingCounter() {
+        bankingMetrics.deposit(BigDecimal.TEN);
+    }
+}
@@ -0,0 +1,76 @@
+package com.securebank.benchmarks;
+
+import com.securebank.common.tracing.SpanExporter;
+import com.securebank.common.tracing.SpanProcessor;
+import com.securebank.common.tracing.TraceContextFilter;
+import com.securebank.common.tracing.Tracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link TraceContextFilter} at 0%, 1% and 100% head sampling, for
+ * a request that starts a trace and one that continues an unsampled caller's trace,
+ * against the same request through an empty filter chain. Sampled spans go through the
+ * real export queue to a discarding exporter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TracingOverheadBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+    private static final SpanExporter DISCARDING = (serviceName, spans) -> { };
+
+    @Param({"0", "0.01", "1"})
+    private double sampleRate;
+
+    private SpanProcessor processor;
+    private TraceContextFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        processor = new SpanProcessor(DISCARDING, new SimpleMeterRegistry(), "benchmark", 65_536, 512, 100);
+        processor.start();
+        filter = new TraceContextFilter(new Tracer(processor, sampleRate));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        processor.stop();
+    }
+
+    @Benchmark
+    public Object baseline() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions/deposit");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        NO_OP_CHAIN.doFilter(request, response);
+        return response;
+    }
+
+    @Benchmark
+    public Object rootRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions/deposit");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+
+    @Benchmark
+    public Object unsampledParentRequest() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions/deposit");
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+}
@@ -0,0 +1,88 @@
+package com.securebank.benchmarks;
+
+import com.securebank.transaction.TransactionServiceApplication;
+import com.securebank.transaction.dto.DepositRequest;
+import com.securebank.transaction.dto.TransactionResponse;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.dto.WithdrawRequest;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deposit, withdraw and transfer through the real TransactionService, repositories and
+ * Hibernate against embedded H2. Accounts are picked uniformly, so with many accounts
+ * the numbers reflect the uncontended path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionServiceBenchmark {
+
+    @Param({"1000"})
+    private int accounts;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private UUID[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedServices.start(TransactionServiceApplication.class);
+        transactionService = context.getBean(TransactionService.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+
+        List<Account> seeded = new ArrayList<>(accounts);
+        accountIds = new UUID[accounts];
+        for (int i = 0; i < accounts; i++) {
+            Account account = new Account();
+            account.setId(UUID.randomUUID());
+            account.setAccountNumber(String.format("SB%010d", i));
+            account.setUserId(UUID.randomUUID());
+            account.setBalance(new BigDecimal("1000000000.00"));
+            seeded.add(account);
+            accountIds[i] = account.getId();
+        }
+        accountRepository.saveAll(seeded);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionResponse deposit() {
+        return transactionService.deposit(new DepositRequest(randomAccount(), BigDecimal.ONE, "bench"));
+    }
+
+    @Benchmark
+    public TransactionResponse withdraw() {
+        return transactionService.withdraw(new WithdrawRequest(randomAccount(), BigDecimal.ONE, "bench"));
+    }
+
+    @Benchmark
+    public TransactionResponse transfer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(accountIds.length);
+        int to = (from + 1 + random.nextInt(accountIds.length - 1)) % accountIds.length;
+        return transactionService.transfer(
+                new TransferRequest(accountIds[from], accountIds[to], BigDecimal.ONE, "bench"));
+    }
+
+    private UUID randomAccount() {
+        return accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+    }
+}
@@ -0,0 +1,28 @@
+package com.securebank.common.aot;
+
+import com.securebank.common.dto.AccountBalanceChange;
+import com.securebank.common.dto.AccountStatusChange;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.dto.ErrorResponse;
+import com.securebank.common.dto.LatencySloReport;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Registers {@link CommonRuntimeHints} and Jackson binding hints for the shared DTOs.
+ * {@code ApiResponse} is generic, so the payload types behind it are not visible from
+ * controller signatures alone; each service registers its own DTOs the same way. Only
+ * read when building a native image.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(CommonRuntimeHints.class)
+@RegisterReflectionForBinding({
+        ApiResponse.class,
+        ErrorResponse.class,
+        AccountBalanceChange.class,
+        AccountStatusChange.class,
+        LatencySloReport.class
+})
+public class CommonNativeHintsConfig {
+}
@@ -0,0 +1,35 @@
+package com.securebank.common.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Current ledger balance of one account as published on transaction-service's balance feed.
+ * {@code balanceVersion} increases by one on every balance change of that account.
+ */
+public class AccountBalanceChange {
+
+    private UUID accountId;
+    private BigDecimal balance;
+    private long balanceVersion;
+    private LocalDateTime updatedAt;
+
+    public AccountBalanceChange() {}
+
+    public AccountBalanceChange(UUID accountId, BigDecimal balance, long balanceVersion, LocalDateTime updatedAt) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.balanceVersion = balanceVersion;
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public long getBalanceVersion() { return balanceVersion; }
+    public void setBalanceVersion(long balanceVersion) { this.balanceVersion = balanceVersion; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
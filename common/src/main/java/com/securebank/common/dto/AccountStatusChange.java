@@ -0,0 +1,43 @@
+package com.securebank.common.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Current status of one account as published on account-service's status feed.
+ * {@code statusVersion} increases by one on every freeze/unfreeze of that account.
+ */
+public class AccountStatusChange {
+
+    private UUID accountId;
+    private UUID userId;
+    private String accountNumber;
+    private String status;
+    private long statusVersion;
+    private LocalDateTime updatedAt;
+
+    public AccountStatusChange() {}
+
+    public AccountStatusChange(UUID accountId, UUID userId, String accountNumber, String status,
+                               long statusVersion, LocalDateTime updatedAt) {
+        this.accountId = accountId;
+        this.userId = userId;
+        this.accountNumber = accountNumber;
+        this.status = status;
+        this.statusVersion = statusVersion;
+        this.updatedAt = updatedAt;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public long getStatusVersion() { return statusVersion; }
+    public void setStatusVersion(long statusVersion) { this.statusVersion = statusVersion; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,90 @@
+package com.securebank.common.dto;
+
+import java.util.List;
+
+/**
+ * Rolling latency of every controller method of one service, with the SLO burn rate per
+ * window. A burn rate above 1.0 means the method is slow often enough to exhaust its
+ * error budget before the end of the SLO period.
+ */
+public class LatencySloReport {
+
+    private double objective;
+    private int slotSeconds;
+    private List<MethodSlo> methods;
+
+    public LatencySloReport() {}
+
+    public LatencySloReport(double objective, int slotSeconds, List<MethodSlo> methods) {
+        this.objective = objective;
+        this.slotSeconds = slotSeconds;
+        this.methods = methods;
+    }
+
+    public double getObjective() { return objective; }
+    public void setObjective(double objective) { this.objective = objective; }
+    public int getSlotSeconds() { return slotSeconds; }
+    public void setSlotSeconds(int slotSeconds) { this.slotSeconds = slotSeconds; }
+    public List<MethodSlo> getMethods() { return methods; }
+    public void setMethods(List<MethodSlo> methods) { this.methods = methods; }
+
+    public static class MethodSlo {
+
+        private String method;
+        private long thresholdMs;
+        private List<Window> windows;
+
+        public MethodSlo() {}
+
+        public MethodSlo(String method, long thresholdMs, List<Window> windows) {
+            this.method = method;
+            this.thresholdMs = thresholdMs;
+            this.windows = windows;
+        }
+
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        public long getThresholdMs() { return thresholdMs; }
+        public void setThresholdMs(long thresholdMs) { this.thresholdMs = thresholdMs; }
+        public List<Window> getWindows() { return windows; }
+        public void setWindows(List<Window> windows) { this.windows = windows; }
+    }
+
+    public static class Window {
+
+        private int minutes;
+        private long coveredSeconds;
+        private long count;
+        private double p50Ms;
+        private double p90Ms;
+        private double p99Ms;
+        private double p999Ms;
+        private double maxMs;
+        private long slowCount;
+        private double slowFraction;
+        private double burnRate;
+
+        public int getMinutes() { return minutes; }
+        public void setMinutes(int minutes) { this.minutes = minutes; }
+        public long getCoveredSeconds() { return coveredSeconds; }
+        public void setCoveredSeconds(long coveredSeconds) { this.coveredSeconds = coveredSeconds; }
+        public long getCount() { return count; }
+        public void setCount(long count) { this.count = count; }
+        public double getP50Ms() { return p50Ms; }
+        public void setP50Ms(double p50Ms) { this.p50Ms = p50Ms; }
+        public double getP90Ms() { return p90Ms; }
+        public void setP90Ms(double p90Ms) { this.p90Ms = p90Ms; }
+        public double getP99Ms() { return p99Ms; }
+        public void setP99Ms(double p99Ms) { this.p99Ms = p99Ms; }
+        public double getP999Ms() { return p999Ms; }
+        public void setP999Ms(double p999Ms) { this.p999Ms = p999Ms; }
+        public double getMaxMs() { return maxMs; }
+        public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+        public long getSlowCount() { return slowCount; }
+        public void setSlowCount(long slowCount) { this.slowCount = slowCount; }
+        public double getSlowFraction() { return slowFraction; }
+        public void setSlowFraction(double slowFraction) { this.slowFraction = slowFraction; }
+        public double getBurnRate() { return burnRate; }
+        public void setBurnRate(double burnRate) { this.burnRate = burnRate; }
+    }
+}
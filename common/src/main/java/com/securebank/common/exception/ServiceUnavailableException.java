@@ -0,0 +1,11 @@
+package com.securebank.common.exception;
+
+/**
+ * The request could not be served right now but will succeed on retry, for example
+ * while the account it touches is being moved between shards.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,74 @@
+package com.securebank.common.jdbc;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Thread-bound read-your-writes session. While a session is open,
+ * {@link ReplicaRoutingDataSource} records the primary's WAL position after every
+ * committed write in it and only routes read-only transactions to replicas that have
+ * replayed up to the latest one.
+ * <p>
+ * {@link ReadYourWritesFilter} opens one session per HTTP request. The session starts
+ * at the position the client echoes back in the {@value #HEADER} header, so a write made
+ * in one request is also visible to the next request, whichever instance serves it.
+ */
+public final class ReadYourWrites {
+
+    /** Request and response header carrying the primary's WAL position after the last write. */
+    public static final String HEADER = "X-Read-After";
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    private ReadYourWrites() {}
+
+    /**
+     * Opens a session on this thread; must be paired with {@link #close()}.
+     *
+     * @param readAfterPosition write position carried over from an earlier request, or {@code 0}
+     * @param onWrite called with the position after each write made in the session
+     */
+    public static void open(long readAfterPosition, LongConsumer onWrite) {
+        CURRENT.set(new Session(readAfterPosition, onWrite));
+    }
+
+    public static boolean isOpen() {
+        return CURRENT.get() != null;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /** WAL position the current session's reads must observe, or {@code 0}. */
+    public static long readAfter() {
+        Session session = CURRENT.get();
+        return session != null ? session.readAfterPosition : 0;
+    }
+
+    static void recordWrite(long position) {
+        Session session = CURRENT.get();
+        if (session != null && position > session.readAfterPosition) {
+            session.readAfterPosition = position;
+            session.onWrite.accept(position);
+        }
+    }
+
+    /** A write whose position is unknown: the rest of the session reads from the primary. */
+    static void recordUnknownWrite() {
+        Session session = CURRENT.get();
+        if (session != null) {
+            session.readAfterPosition = Long.MAX_VALUE;
+        }
+    }
+
+    private static final class Session {
+
+        private final LongConsumer onWrite;
+        private long readAfterPosition;
+
+        private Session(long readAfterPosition, LongConsumer onWrite) {
+            this.readAfterPosition = readAfterPosition;
+            this.onWrite = onWrite;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.securebank.common.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link ReadYourWrites} session per request. The session starts from the
+ * request's {@value ReadYourWrites#HEADER} header. When the request commits a write,
+ * the filter returns the primary's WAL position after it in the same header, and the
+ * client echoes that value back on its next requests. A position the primary has not
+ * reached only keeps that client's reads on the primary.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ReadYourWrites.open(readAfter(request.getHeader(ReadYourWrites.HEADER)), position -> {
+            if (!response.isCommitted()) {
+                response.setHeader(ReadYourWrites.HEADER, Long.toString(position));
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.close();
+        }
+    }
+
+    static long readAfter(String header) {
+        if (header == null || header.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(header.trim()));
+        } catch (NumberFormatException ex) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.securebank.common.jdbc;
+
+import javax.sql.DataSource;
+
+/**
+ * A read replica, its last measured replication lag and the WAL position it had replayed
+ * at that check. {@link ReplicaLagMonitor} updates the measurement;
+ * {@link ReplicaRoutingDataSource} routes to the replica by {@link #name()}.
+ */
+public final class Replica {
+
+    static final long UNKNOWN = -1;
+
+    private final String name;
+    private final DataSource dataSource;
+
+    private volatile long lagMillis = UNKNOWN;
+    private volatile long replayedPosition = UNKNOWN;
+    private volatile long measuredAtMillis;
+
+    Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public DataSource dataSource() {
+        return dataSource;
+    }
+
+    /** Last measured lag, or {@code -1} when the replica has not answered the last check. */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    public long measuredAtMillis() {
+        return measuredAtMillis;
+    }
+
+    /** WAL position (bytes) the replica had replayed at the last successful check. */
+    long replayedPosition() {
+        return replayedPosition;
+    }
+
+    void measured(long lagMillis, long replayedPosition, long measuredAtMillis) {
+        this.measuredAtMillis = measuredAtMillis;
+        this.replayedPosition = replayedPosition;
+        this.lagMillis = lagMillis;
+    }
+
+    void unreachable(long measuredAtMillis) {
+        this.measuredAtMillis = measuredAtMillis;
+        this.lagMillis = UNKNOWN;
+    }
+}
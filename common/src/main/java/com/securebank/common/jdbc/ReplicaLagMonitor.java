@@ -0,0 +1,184 @@
+package com.securebank.common.jdbc;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Measures each replica's replication lag every {@code checkIntervalMillis} and picks
+ * the replica for a read-only transaction.
+ * <p>
+ * A check first reads the primary's WAL position with {@code positionQuery}, then asks
+ * each replica with {@code replayQuery} for the WAL position it has replayed and the
+ * milliseconds since the last transaction it replayed was committed. A replica that has
+ * replayed the primary's position lags by 0; otherwise by the time since its last
+ * replayed commit, or an unknown lag if it has replayed none yet. Checks are stamped
+ * with the time before they start.
+ * <p>
+ * A replica is eligible while its last check succeeded, is no older than three check
+ * intervals, and reported at most {@code maxLagMillis}. With a read-your-writes position
+ * it must also have replayed up to that position. Eligible replicas take turns; when
+ * none is eligible the read falls back to the primary and is counted in
+ * {@code db.replica.fallbacks}.
+ */
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    /** PostgreSQL primary: current WAL position in bytes. */
+    public static final String POSTGRES_POSITION_QUERY = "SELECT pg_current_wal_lsn() - '0/0'::pg_lsn";
+
+    /**
+     * PostgreSQL standby: replayed WAL position in bytes, milliseconds since the last
+     * replayed commit (null before the first one).
+     */
+    public static final String POSTGRES_REPLAY_QUERY =
+            "SELECT COALESCE(pg_last_wal_replay_lsn() - '0/0'::pg_lsn, -1), "
+                    + "EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String positionQuery;
+    private final String replayQuery;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private final LongSupplier clock;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    private ScheduledExecutorService checker;
+
+    public ReplicaLagMonitor(DataSource primary, List<Replica> replicas, String positionQuery, String replayQuery,
+                             long maxLagMillis, long checkIntervalMillis, LongSupplier clock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.positionQuery = positionQuery;
+        this.replayQuery = replayQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.clock = clock;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /** The WAL position of {@code connection}'s database, which must be the primary. */
+    public long position(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(positionQuery)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    /** Checks every replica once, then keeps checking on a daemon thread. */
+    public void start() {
+        refresh();
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::refresh, checkIntervalMillis, checkIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+
+    void refresh() {
+        long checkedAt = clock.getAsLong();
+        long primaryPosition;
+        try (Connection connection = primary.getConnection()) {
+            primaryPosition = position(connection);
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Primary WAL position check failed, judging replica lag by replay time only: {}",
+                    ex.getMessage());
+            primaryPosition = Long.MAX_VALUE;
+        }
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource().getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(replayQuery)) {
+                resultSet.next();
+                long replayed = resultSet.getLong(1);
+                double sinceReplayMillis = resultSet.getDouble(2);
+                long lag = replayed >= primaryPosition ? 0
+                        : resultSet.wasNull() ? Replica.UNKNOWN : Math.max(0, Math.round(sinceReplayMillis));
+                replica.measured(lag, replayed, checkedAt);
+            } catch (SQLException | RuntimeException ex) {
+                if (replica.lagMillis() != Replica.UNKNOWN) {
+                    log.warn("Replica {} lag check failed, routing its reads to the primary: {}",
+                            replica.name(), ex.getMessage());
+                }
+                replica.unreachable(checkedAt);
+            }
+        }
+    }
+
+    /**
+     * Returns the replica to read from, or {@code null} to read from the primary.
+     *
+     * @param readAfterPosition primary WAL position of the caller's last committed write, or {@code 0}
+     */
+    public Replica select(long readAfterPosition) {
+        long now = clock.getAsLong();
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (eligible(replica, now, readAfterPosition)) {
+                replicaReads.increment();
+                return replica;
+            }
+        }
+        fallbacks.increment();
+        return null;
+    }
+
+    private boolean eligible(Replica replica, long now, long readAfterPosition) {
+        long lag = replica.lagMillis();
+        return lag != Replica.UNKNOWN
+                && lag <= maxLagMillis
+                && now - replica.measuredAtMillis() <= 3 * checkIntervalMillis
+                && replica.replayedPosition() >= readAfterPosition;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, Replica::lagMillis)
+                    .description("Last measured replication lag, -1 when the check failed or the lag is unknown")
+                    .baseUnit("milliseconds")
+                    .tag("replica", replica.name())
+                    .register(registry);
+        }
+        FunctionCounter.builder("db.replica.reads", replicaReads, LongAdder::sum)
+                .description("Read-only transactions routed to a replica")
+                .register(registry);
+        FunctionCounter.builder("db.replica.fallbacks", fallbacks, LongAdder::sum)
+                .description("Read-only transactions routed to the primary because no replica was eligible")
+                .register(registry);
+    }
+}
@@ -0,0 +1,115 @@
+package com.securebank.common.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Routes connections for {@code @Transactional(readOnly = true)} to a replica chosen
+ * by {@link ReplicaLagMonitor}, and everything else to the primary.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this data
+ * source must sit behind a {@code LazyConnectionDataSourceProxy}, which defers the
+ * physical connection to the first statement. With {@code readYourWrites}, every commit
+ * on the primary made while a {@link ReadYourWrites} session is open is followed by a
+ * query for the primary's WAL position on the same connection, which is then at or past
+ * the commit. The position is recorded in the session, and later reads in it only go
+ * to replicas that have replayed up to it.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor monitor;
+    private final boolean readYourWrites;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaLagMonitor monitor, boolean readYourWrites) {
+        this.monitor = monitor;
+        this.readYourWrites = readYourWrites;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : monitor.replicas()) {
+            targets.put(replica.name(), replica.dataSource());
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return recordingCommits(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return recordingCommits(super.getConnection(username, password));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = monitor.select(readYourWrites ? ReadYourWrites.readAfter() : 0);
+            return replica != null ? replica.name() : PRIMARY;
+        }
+        return PRIMARY;
+    }
+
+    private Connection recordingCommits(Connection connection) {
+        if (!readYourWrites || !ReadYourWrites.isOpen()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(ReplicaRoutingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new CommitRecordingHandler(connection));
+    }
+
+    private void recordCommit(Connection connection) {
+        try {
+            long position = monitor.position(connection);
+            connection.commit();
+            ReadYourWrites.recordWrite(position);
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("WAL position after commit unavailable, keeping this request's reads on the primary: {}",
+                    ex.getMessage());
+            ReadYourWrites.recordUnknownWrite();
+        }
+    }
+
+    private final class CommitRecordingHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private CommitRecordingHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            if ("commit".equals(method.getName())) {
+                recordCommit(target);
+            }
+            return result;
+        }
+    }
+}
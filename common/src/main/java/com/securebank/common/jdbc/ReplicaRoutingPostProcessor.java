@@ -0,0 +1,126 @@
+package com.securebank.common.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts the read replicas in {@code replica.urls} behind the service's
+ * {@code dataSource} bean: the bean is replaced by a {@link LazyConnectionDataSourceProxy}
+ * over a {@link ReplicaRoutingDataSource}. Replica pools use the primary's credentials
+ * unless {@code replica.username} / {@code replica.password} are set, and take pool
+ * settings from {@code replica.hikari.*}.
+ * <p>
+ * Runs before {@link StatementCountingPostProcessor}, so statements on replica
+ * connections are counted too. Only active with {@code replica.enabled}.
+ */
+@Component
+@ConditionalOnProperty(name = "replica.enabled", havingValue = "true")
+public class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered, MeterBinder, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingPostProcessor.class);
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final Environment environment;
+    private final List<String> urls;
+    private final String username;
+    private final String password;
+    private final long maxLagMillis;
+    private final long checkIntervalMillis;
+    private final String positionQuery;
+    private final String replayQuery;
+    private final boolean readYourWrites;
+
+    private ReplicaLagMonitor monitor;
+
+    public ReplicaRoutingPostProcessor(Environment environment,
+                                       @Value("${replica.urls}") List<String> urls,
+                                       @Value("${replica.username:${spring.datasource.username:}}") String username,
+                                       @Value("${replica.password:${spring.datasource.password:}}") String password,
+                                       @Value("${replica.max-lag-ms:1000}") long maxLagMillis,
+                                       @Value("${replica.lag-check-interval-ms:500}") long checkIntervalMillis,
+                                       @Value("${replica.position-query:" + ReplicaLagMonitor.POSTGRES_POSITION_QUERY + "}") String positionQuery,
+                                       @Value("${replica.replay-query:" + ReplicaLagMonitor.POSTGRES_REPLAY_QUERY + "}") String replayQuery,
+                                       @Value("${replica.read-your-writes:true}") boolean readYourWrites) {
+        if (urls.isEmpty() || urls.stream().allMatch(String::isBlank)) {
+            throw new IllegalArgumentException("replica.enabled=true requires replica.urls");
+        }
+        this.environment = environment;
+        this.urls = urls;
+        this.username = username;
+        this.password = password;
+        this.maxLagMillis = maxLagMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+        this.positionQuery = positionQuery;
+        this.replayQuery = replayQuery;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource primary) || monitor != null) {
+            return bean;
+        }
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url(url.trim())
+                    .username(username)
+                    .password(password)
+                    .build();
+            Binder.get(environment).bind("replica.hikari", Bindable.ofInstance(dataSource));
+            replicas.add(new Replica("replica-" + replicas.size(), dataSource));
+        }
+        monitor = new ReplicaLagMonitor(primary, replicas, positionQuery, replayQuery, maxLagMillis,
+                checkIntervalMillis, System::currentTimeMillis);
+        monitor.start();
+        log.info("Routing read-only transactions to {} replica(s), max lag {} ms, read-your-writes {}",
+                replicas.size(), maxLagMillis, readYourWrites ? "on" : "off");
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, monitor, readYourWrites));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (monitor != null) {
+            monitor.bindTo(registry);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (monitor == null) {
+            return;
+        }
+        monitor.stop();
+        for (Replica replica : monitor.replicas()) {
+            if (replica.dataSource() instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.securebank.common.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements, batch rows and database time of every HTTP request.
+ * <p>
+ * Publishes {@code db.request.statements}, {@code db.request.batched.rows} and
+ * {@code db.request.time} per endpoint, and logs a warning when a request exceeds
+ * {@code sql.statement-budget}. With {@code sql.debug-header=true} the counts are also
+ * returned in an {@code X-SQL-Statements} header, as of the moment the response was
+ * committed.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    static final String HEADER = "X-SQL-Statements";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+    private final boolean debugHeader;
+
+    public SqlStatementFilter(MeterRegistry meterRegistry,
+                              @Value("${sql.statement-budget:20}") int statementBudget,
+                              @Value("${sql.debug-header:false}") boolean debugHeader) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+        this.debugHeader = debugHeader;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        StatementStats stats = StatementTracker.begin();
+        HttpServletResponse target = debugHeader ? new StatsHeaderResponse(response, stats) : response;
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            StatementTracker.end(stats);
+            if (!response.isCommitted() && debugHeader) {
+                response.setHeader(HEADER, stats.toString());
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, StatementStats stats) {
+        if (stats.statements() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("db.request.statements")
+                .description("SQL statements issued per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.statements());
+        if (stats.batchedRows() > 0) {
+            DistributionSummary.builder("db.request.batched.rows")
+                    .description("Rows sent in JDBC batches per HTTP request")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .record(stats.batchedRows());
+        }
+        Timer.builder("db.request.time")
+                .description("Time spent executing SQL per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.dbNanos(), TimeUnit.NANOSECONDS);
+
+        if (statementBudget > 0 && stats.statements() > statementBudget) {
+            Counter.builder("db.request.budget.exceeded")
+                    .description("Requests that issued more SQL statements than sql.statement-budget")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} issued {} SQL statements, budget is {}: {}",
+                    method, uri, stats.statements(), statementBudget, stats);
+        }
+    }
+
+    private static final class StatsHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final StatementStats stats;
+
+        private StatsHeaderResponse(HttpServletResponse response, StatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(HEADER, stats.toString());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.securebank.common.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Wraps connections handed out while a {@link StatementTracker} scope is open so that
+ * every statement they create reports into the scope. Extends
+ * {@link DelegatingDataSource}, which Spring Boot unwraps for pool metrics and health.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        if (!StatementTracker.isActive()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementCountingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                        new Class<?>[] {method.getReturnType()}, new StatementHandler(statement));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private int pendingBatch;
+
+        private StatementHandler(Statement target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "addBatch" -> pendingBatch++;
+                case "clearBatch" -> pendingBatch = 0;
+                case "executeQuery", "executeUpdate", "executeLargeUpdate", "execute",
+                        "executeBatch", "executeLargeBatch" -> {
+                    return timed(name, method, args);
+                }
+                default -> {
+                }
+            }
+            return StatementCountingDataSource.invoke(target, method, args);
+        }
+
+        private Object timed(String name, Method method, Object[] args) throws Throwable {
+            long start = System.nanoTime();
+            try {
+                return StatementCountingDataSource.invoke(target, method, args);
+            } finally {
+                long nanos = System.nanoTime() - start;
+                StatementStats stats = StatementTracker.current();
+                if (stats != null) {
+                    switch (name) {
+                        case "executeQuery" -> stats.query(nanos);
+                        case "executeUpdate", "executeLargeUpdate" -> stats.update(nanos);
+                        case "execute" -> stats.other(nanos);
+                        default -> stats.batch(pendingBatch, nanos);
+                    }
+                }
+                if (name.endsWith("Batch")) {
+                    pendingBatch = 0;
+                }
+            }
+        }
+    }
+}
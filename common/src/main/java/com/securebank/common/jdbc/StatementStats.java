@@ -0,0 +1,103 @@
+package com.securebank.common.jdbc;
+
+/**
+ * SQL statements issued on one thread while a {@link StatementTracker} scope was open.
+ * <p>
+ * Every round trip counts as one statement: each {@code executeQuery},
+ * {@code executeUpdate} or {@code execute} call, and each {@code executeBatch} however
+ * many rows it carries. Nested scopes also count into their enclosing scope.
+ */
+public final class StatementStats {
+
+    private final StatementStats parent;
+
+    private int queries;
+    private int updates;
+    private int others;
+    private int batches;
+    private long batchedRows;
+    private int maxBatchSize;
+    private long dbNanos;
+
+    StatementStats(StatementStats parent) {
+        this.parent = parent;
+    }
+
+    StatementStats parent() {
+        return parent;
+    }
+
+    void query(long nanos) {
+        for (StatementStats s = this; s != null; s = s.parent) {
+            s.queries++;
+            s.dbNanos += nanos;
+        }
+    }
+
+    void update(long nanos) {
+        for (StatementStats s = this; s != null; s = s.parent) {
+            s.updates++;
+            s.dbNanos += nanos;
+        }
+    }
+
+    void other(long nanos) {
+        for (StatementStats s = this; s != null; s = s.parent) {
+            s.others++;
+            s.dbNanos += nanos;
+        }
+    }
+
+    void batch(int rows, long nanos) {
+        for (StatementStats s = this; s != null; s = s.parent) {
+            s.batches++;
+            s.batchedRows += rows;
+            s.maxBatchSize = Math.max(s.maxBatchSize, rows);
+            s.dbNanos += nanos;
+        }
+    }
+
+    public int statements() {
+        return queries + updates + others + batches;
+    }
+
+    public int queries() {
+        return queries;
+    }
+
+    public int updates() {
+        return updates;
+    }
+
+    public int batches() {
+        return batches;
+    }
+
+    public long batchedRows() {
+        return batchedRows;
+    }
+
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long dbNanos() {
+        return dbNanos;
+    }
+
+    /**
+     * Throws {@link AssertionError} unless exactly {@code expected} statements were issued.
+     */
+    public StatementStats assertStatements(int expected) {
+        if (statements() != expected) {
+            throw new AssertionError("Expected " + expected + " SQL statements but was " + statements() + ": " + this);
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("statements=%d; queries=%d; updates=%d; batches=%d; batched-rows=%d; db-ms=%.2f",
+                statements(), queries, updates, batches, batchedRows, dbNanos / 1e6);
+    }
+}
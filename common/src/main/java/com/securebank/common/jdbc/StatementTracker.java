@@ -0,0 +1,70 @@
+package com.securebank.common.jdbc;
+
+import java.util.function.Supplier;
+
+/**
+ * Thread-bound scopes for SQL statement accounting.
+ * <p>
+ * {@link SqlStatementFilter} opens one scope per HTTP request. Tests can measure a
+ * single service call against a real database:
+ * <pre>
+ * StatementTracker.measure(() -&gt; transactionService.transfer(request)).assertStatements(6);
+ * </pre>
+ * Only connections obtained while a scope is open are instrumented, so background
+ * work outside requests runs on unwrapped connections.
+ */
+public final class StatementTracker {
+
+    private static final ThreadLocal<StatementStats> CURRENT = new ThreadLocal<>();
+
+    private StatementTracker() {}
+
+    /** Opens a scope on this thread; must be paired with {@link #end(StatementStats)}. */
+    public static StatementStats begin() {
+        StatementStats stats = new StatementStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end(StatementStats stats) {
+        if (stats.parent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.parent());
+        }
+    }
+
+    public static StatementStats measure(Runnable action) {
+        StatementStats stats = begin();
+        try {
+            action.run();
+        } finally {
+            end(stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Runs the action and fails with {@link AssertionError} unless it issued exactly
+     * {@code expected} statements.
+     */
+    public static <T> T assertStatements(int expected, Supplier<T> action) {
+        StatementStats stats = begin();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            end(stats);
+        }
+        stats.assertStatements(expected);
+        return result;
+    }
+
+    static StatementStats current() {
+        return CURRENT.get();
+    }
+
+    static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.securebank.common.latency;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class LatencySloConfig implements WebMvcConfigurer {
+
+    private final LatencySloTracker tracker;
+
+    public LatencySloConfig(LatencySloTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new LatencySloInterceptor(tracker));
+    }
+}
@@ -0,0 +1,26 @@
+package com.securebank.common.latency;
+
+import com.securebank.common.dto.LatencySloReport;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/slo}: per controller method p50/p90/p99/p99.9/max latency and
+ * SLO burn rate over the last 1, 5 and 15 minutes.
+ */
+@Component
+@Endpoint(id = "slo")
+public class LatencySloEndpoint {
+
+    private final LatencySloTracker tracker;
+
+    public LatencySloEndpoint(LatencySloTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public LatencySloReport report() {
+        return tracker.report();
+    }
+}
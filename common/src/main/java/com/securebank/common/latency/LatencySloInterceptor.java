@@ -0,0 +1,50 @@
+package com.securebank.common.latency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Times each controller invocation, from handler dispatch to completion of the
+ * response body, into the {@link LatencySloTracker}.
+ * <p>
+ * The per-request cost is two {@code System.nanoTime()} calls, one map lookup and one
+ * wait-free histogram increment; the start time lives in a thread-local slot rather
+ * than a request attribute so nothing is allocated.
+ */
+public class LatencySloInterceptor implements HandlerInterceptor {
+
+    private static final ThreadLocal<long[]> STARTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final LatencySloTracker tracker;
+
+    public LatencySloInterceptor(LatencySloTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            STARTED.get()[0] = System.nanoTime();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        long[] started = STARTED.get();
+        if (started[0] == 0) {
+            return;
+        }
+        MethodLatency latency = tracker.lookup(handlerMethod);
+        if (latency != null) {
+            latency.record(System.nanoTime() - started[0]);
+        }
+        started[0] = 0;
+    }
+}
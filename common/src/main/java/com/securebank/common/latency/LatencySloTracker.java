@@ -0,0 +1,134 @@
+package com.securebank.common.latency;
+
+import com.securebank.common.dto.LatencySloReport;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rolling per-controller-method latency and SLO burn rate over 1, 5 and 15 minutes.
+ * <p>
+ * Every method of a {@code @Controller}/{@code @RestController} bean gets a
+ * {@link MethodLatency} the first time it handles a request. A daemon thread closes an
+ * interval every {@code slo.latency.slot-seconds}; windows are merged from the completed
+ * intervals, so a window lags real time by at most one slot.
+ * <p>
+ * The SLO for a method is "at least {@code slo.latency.objective} of requests finish
+ * within the threshold". The threshold defaults to {@code slo.latency.default-threshold-ms}
+ * and can be overridden per method with
+ * {@code slo.latency.threshold-ms.<Controller>.<method>}. Burn rate is the observed
+ * slow fraction divided by the error budget {@code 1 - objective}: 1.0 spends the budget
+ * exactly over the SLO period, 14.4 over one hour exhausts a 30-day budget in two days.
+ */
+@Component
+public class LatencySloTracker {
+
+    static final int[] WINDOW_MINUTES = {1, 5, 15};
+
+    private static final MethodLatency IGNORED = new MethodLatency("ignored", 0, 1, 1, 0);
+
+    private final Environment environment;
+    private final int slotSeconds;
+    private final int slotCount;
+    private final long defaultThresholdMs;
+    private final double objective;
+    private final int stripes;
+    private final ConcurrentMap<Method, MethodLatency> byMethod = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService rotator;
+
+    public LatencySloTracker(Environment environment,
+                             @Value("${slo.latency.slot-seconds:60}") int slotSeconds,
+                             @Value("${slo.latency.default-threshold-ms:250}") long defaultThresholdMs,
+                             @Value("${slo.latency.objective:0.99}") double objective,
+                             @Value("${slo.latency.stripes:4}") int stripes) {
+        if (slotSeconds <= 0 || 60 % slotSeconds != 0) {
+            throw new IllegalArgumentException("slo.latency.slot-seconds must divide 60: " + slotSeconds);
+        }
+        if (objective <= 0 || objective >= 1) {
+            throw new IllegalArgumentException("slo.latency.objective must be between 0 and 1: " + objective);
+        }
+        this.environment = environment;
+        this.slotSeconds = slotSeconds;
+        this.slotCount = WINDOW_MINUTES[WINDOW_MINUTES.length - 1] * 60 / slotSeconds;
+        this.defaultThresholdMs = defaultThresholdMs;
+        this.objective = objective;
+        this.stripes = stripes;
+    }
+
+    @PostConstruct
+    void start() {
+        rotator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "latency-slo-rotator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rotator.scheduleAtFixedRate(this::rotate, slotSeconds, slotSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        rotator.shutdownNow();
+    }
+
+    public LatencySloReport report() {
+        List<MethodLatency> methods = new ArrayList<>(byMethod.values());
+        methods.removeIf(latency -> latency == IGNORED);
+        methods.sort(Comparator.comparing(MethodLatency::name));
+
+        List<LatencySloReport.MethodSlo> reports = new ArrayList<>(methods.size());
+        for (MethodLatency latency : methods) {
+            List<LatencySloReport.Window> windows = new ArrayList<>(WINDOW_MINUTES.length);
+            for (int minutes : WINDOW_MINUTES) {
+                windows.add(latency.window(minutes, minutes * 60 / slotSeconds, objective));
+            }
+            reports.add(new LatencySloReport.MethodSlo(latency.name(), latency.thresholdMillis(), windows));
+        }
+        return new LatencySloReport(objective, slotSeconds, reports);
+    }
+
+    /**
+     * Returns the latency of a controller handler method, or {@code null} for handlers
+     * that are not controller methods (actuator operations, error handling).
+     */
+    MethodLatency lookup(HandlerMethod handlerMethod) {
+        MethodLatency latency = byMethod.get(handlerMethod.getMethod());
+        if (latency == null) {
+            latency = byMethod.computeIfAbsent(handlerMethod.getMethod(), method -> create(handlerMethod));
+        }
+        return latency == IGNORED ? null : latency;
+    }
+
+    void rotate() {
+        long now = System.currentTimeMillis();
+        for (MethodLatency latency : byMethod.values()) {
+            if (latency != IGNORED) {
+                latency.rotate(now);
+            }
+        }
+    }
+
+    private MethodLatency create(HandlerMethod handlerMethod) {
+        if (!AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), Controller.class)) {
+            return IGNORED;
+        }
+        String name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        long thresholdMs = environment.getProperty("slo.latency.threshold-ms." + name, Long.class, defaultThresholdMs);
+        return new MethodLatency(name, thresholdMs, stripes, slotCount, System.currentTimeMillis());
+    }
+}
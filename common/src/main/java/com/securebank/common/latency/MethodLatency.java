@@ -0,0 +1,128 @@
+package com.securebank.common.latency;
+
+import com.securebank.common.dto.LatencySloReport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one controller method: a few striped interval recorders on the request
+ * path and a ring of completed slots that the reporting windows are merged from.
+ * <p>
+ * Values are kept in microseconds at two significant digits (1% precision) up to one
+ * minute, which keeps each histogram around 20 KB. Writers pick a stripe by thread id,
+ * so concurrent requests do not contend on the recorder's phaser counter; rotation
+ * drains every stripe into the next slot.
+ */
+final class MethodLatency {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String name;
+    private final long thresholdMicros;
+    private final Recorder[] stripes;
+    private final Histogram[] recycled;
+    private final int stripeMask;
+    private final Histogram[] slots;
+    private final long[] slotStarted;
+    private final long[] slotEnded;
+
+    private int newest = -1;
+    private long lastRotation;
+
+    MethodLatency(String name, long thresholdMillis, int stripeCount, int slotCount, long nowMillis) {
+        int stripesPow2 = Integer.highestOneBit(Math.max(1, stripeCount));
+        this.name = name;
+        this.thresholdMicros = TimeUnit.MILLISECONDS.toMicros(thresholdMillis);
+        this.stripes = new Recorder[stripesPow2];
+        this.recycled = new Histogram[stripesPow2];
+        this.stripeMask = stripesPow2 - 1;
+        for (int i = 0; i < stripesPow2; i++) {
+            stripes[i] = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        }
+        this.slots = new Histogram[slotCount];
+        this.slotStarted = new long[slotCount];
+        this.slotEnded = new long[slotCount];
+        this.lastRotation = nowMillis;
+    }
+
+    void record(long nanos) {
+        stripes[(int) Thread.currentThread().threadId() & stripeMask]
+                .recordValue(Math.min(nanos / 1000, HIGHEST_TRACKABLE_MICROS));
+    }
+
+    /**
+     * Closes the current interval: drains every stripe into the oldest slot, which
+     * becomes the newest.
+     */
+    synchronized void rotate(long nowMillis) {
+        int next = (newest + 1) % slots.length;
+        Histogram slot = slots[next];
+        if (slot == null) {
+            slot = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            slots[next] = slot;
+        } else {
+            slot.reset();
+        }
+        for (int i = 0; i < stripes.length; i++) {
+            Histogram interval = stripes[i].getIntervalHistogram(recycled[i]);
+            slot.add(interval);
+            recycled[i] = interval;
+        }
+        slotStarted[next] = lastRotation;
+        slotEnded[next] = nowMillis;
+        lastRotation = nowMillis;
+        newest = next;
+    }
+
+    /**
+     * Merges the newest {@code slotSpan} completed slots and summarises them against
+     * the method's threshold.
+     */
+    synchronized LatencySloReport.Window window(int minutes, int slotSpan, double objective) {
+        Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        long coveredMillis = 0;
+        for (int i = 0; i < Math.min(slotSpan, slots.length) && newest >= 0; i++) {
+            int index = Math.floorMod(newest - i, slots.length);
+            if (slots[index] == null) {
+                break;
+            }
+            merged.add(slots[index]);
+            coveredMillis += slotEnded[index] - slotStarted[index];
+        }
+
+        LatencySloReport.Window window = new LatencySloReport.Window();
+        long count = merged.getTotalCount();
+        window.setMinutes(minutes);
+        window.setCoveredSeconds(coveredMillis / 1000);
+        window.setCount(count);
+        if (count == 0) {
+            return window;
+        }
+        long slow = count - merged.getCountBetweenValues(0, thresholdMicros);
+        double slowFraction = (double) slow / count;
+        window.setP50Ms(millis(merged.getValueAtPercentile(50)));
+        window.setP90Ms(millis(merged.getValueAtPercentile(90)));
+        window.setP99Ms(millis(merged.getValueAtPercentile(99)));
+        window.setP999Ms(millis(merged.getValueAtPercentile(99.9)));
+        window.setMaxMs(millis(merged.getMaxValue()));
+        window.setSlowCount(slow);
+        window.setSlowFraction(slowFraction);
+        window.setBurnRate(slowFraction / (1 - objective));
+        return window;
+    }
+
+    String name() {
+        return name;
+    }
+
+    long thresholdMillis() {
+        return TimeUnit.MICROSECONDS.toMillis(thresholdMicros);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,73 @@
+package com.securebank.common.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Business counters: completed money movements by type and amount, and requests
+ * rejected for insufficient balance or a frozen account.
+ * <p>
+ * Meters are registered once up front, so recording is a lock-free increment with no
+ * registry lookup on the request path.
+ */
+@Component
+public class BankingMetrics {
+
+    private final DistributionSummary deposits;
+    private final DistributionSummary withdrawals;
+    private final DistributionSummary transfers;
+    private final DistributionSummary captures;
+    private final Counter insufficientBalance;
+    private final Counter accountFrozen;
+
+    public BankingMetrics(MeterRegistry meterRegistry) {
+        this.deposits = amount(meterRegistry, "deposit");
+        this.withdrawals = amount(meterRegistry, "withdrawal");
+        this.transfers = amount(meterRegistry, "transfer");
+        this.captures = amount(meterRegistry, "capture");
+        this.insufficientBalance = rejection(meterRegistry, "insufficient_balance");
+        this.accountFrozen = rejection(meterRegistry, "account_frozen");
+    }
+
+    public void deposit(BigDecimal amount) {
+        deposits.record(amount.doubleValue());
+    }
+
+    public void withdrawal(BigDecimal amount) {
+        withdrawals.record(amount.doubleValue());
+    }
+
+    public void transfer(BigDecimal amount) {
+        transfers.record(amount.doubleValue());
+    }
+
+    public void capture(BigDecimal amount) {
+        captures.record(amount.doubleValue());
+    }
+
+    public void insufficientBalance() {
+        insufficientBalance.increment();
+    }
+
+    public void accountFrozen() {
+        accountFrozen.increment();
+    }
+
+    private static DistributionSummary amount(MeterRegistry meterRegistry, String type) {
+        return DistributionSummary.builder("banking.transactions.amount")
+                .description("Amounts moved by completed transactions")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static Counter rejection(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("banking.transactions.rejected")
+                .description("Transactions rejected by business rules")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+package com.securebank.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times transaction commits as {@code db.transaction.commit}, tagged with the outcome.
+ * <p>
+ * Spring Boot registers {@link TransactionExecutionListener} beans with the
+ * auto-configured transaction manager, so every service that scans common gets this
+ * without further wiring. Only the commit itself is measured, from the manager's
+ * {@code beforeCommit} to {@code afterCommit}, which is where WAL flushes show up.
+ */
+@Component
+public class CommitTimer implements TransactionExecutionListener {
+
+    static final String METRIC = "db.transaction.commit";
+
+    private static final ThreadLocal<long[]> STARTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Timer committed;
+    private final Timer failed;
+
+    public CommitTimer(MeterRegistry meterRegistry) {
+        this.committed = timer(meterRegistry, "committed");
+        this.failed = timer(meterRegistry, "failed");
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        STARTED.get()[0] = System.nanoTime();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        long[] started = STARTED.get();
+        if (started[0] == 0) {
+            return;
+        }
+        (commitFailure == null ? committed : failed).record(System.nanoTime() - started[0], TimeUnit.NANOSECONDS);
+        started[0] = 0;
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(METRIC)
+                .description("Time spent committing database transactions")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
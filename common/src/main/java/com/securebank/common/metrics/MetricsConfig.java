@@ -0,0 +1,60 @@
+package com.securebank.common.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Metrics shared by every service.
+ * <p>
+ * Spring Boot already times HTTP requests ({@code http.server.requests}), repository
+ * calls ({@code spring.data.repository.invocations}, which includes
+ * {@code findByIdWithLock} and therefore row-lock wait) and the Hikari pool
+ * ({@code hikaricp.connections.*}). This configuration tags them with the service name
+ * and gives the latency timers fixed SLO buckets, so Prometheus can compute
+ * "fraction of requests under X" and histogram quantiles across instances without
+ * client-side percentiles.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final Map<String, double[]> SLO_MILLIS = Map.of(
+            "http.server.requests", new double[] {5, 10, 25, 50, 100, 250, 500, 1000, 2500},
+            "spring.data.repository.invocations", new double[] {1, 5, 10, 25, 50, 100, 250, 1000},
+            "hikaricp.connections.acquire", new double[] {1, 5, 10, 25, 50, 100, 250, 1000},
+            CommitTimer.METRIC, new double[] {1, 2, 5, 10, 25, 50, 100, 250});
+
+    @Bean
+    public MeterRegistryCustomizer<MeterRegistry> serviceTag(
+            @Value("${spring.application.name:unknown}") String applicationName) {
+        return registry -> registry.config().commonTags("application", applicationName);
+    }
+
+    @Bean
+    public MeterFilter sloBuckets() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                double[] millis = SLO_MILLIS.get(id.getName());
+                if (millis == null) {
+                    return config;
+                }
+                double[] nanos = new double[millis.length];
+                for (int i = 0; i < millis.length; i++) {
+                    nanos[i] = millis[i] * 1_000_000;
+                }
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(nanos)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
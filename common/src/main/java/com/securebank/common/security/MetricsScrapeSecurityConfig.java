@@ -0,0 +1,58 @@
+package com.securebank.common.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+/**
+ * HTTP Basic for {@code /actuator/prometheus}, ahead of each service's JWT filter chain.
+ * <p>
+ * Scrapers authenticate as {@code management.prometheus.scrape.username} with
+ * {@code management.prometheus.scrape.password} and get the {@code METRICS} role, which
+ * grants nothing else. With no password configured the endpoint refuses every request.
+ */
+@Configuration
+public class MetricsScrapeSecurityConfig {
+
+    static final String SCRAPE_PATH = "/actuator/prometheus";
+
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsScrapeFilterChain(
+            HttpSecurity http,
+            @Value("${management.prometheus.scrape.username:prometheus}") String username,
+            @Value("${management.prometheus.scrape.password:}") String password) throws Exception {
+        http
+                .securityMatcher(AntPathRequestMatcher.antMatcher(SCRAPE_PATH))
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(basic -> {});
+
+        if (password.isEmpty()) {
+            http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+            return http.build();
+        }
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(encoder);
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                .password(encoder.encode(password))
+                .roles("METRICS")
+                .build()));
+        http
+                .authenticationManager(new ProviderManager(provider))
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("METRICS"));
+        return http.build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.securebank.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * POSTs each batch as a Zipkin v2 JSON array to a local collector, e.g. a Zipkin or
+ * OpenTelemetry collector with the Zipkin receiver at
+ * {@code http://localhost:9411/api/v2/spans}.
+ */
+public class CollectorSpanExporter implements SpanExporter {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+    private final URI collectorUri;
+
+    public CollectorSpanExporter(URI collectorUri) {
+        this.collectorUri = collectorUri;
+    }
+
+    @Override
+    public void export(String serviceName, List<Span> spans) throws IOException {
+        List<Map<String, Object>> body = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            body.add(ZipkinSpans.toJson(serviceName, span));
+        }
+        HttpRequest request = HttpRequest.newBuilder(collectorUri)
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("Collector returned HTTP " + response.statusCode());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while exporting spans", ex);
+        }
+    }
+}
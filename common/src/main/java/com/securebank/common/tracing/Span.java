@@ -0,0 +1,105 @@
+package com.securebank.common.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One timed operation within a trace. Created by {@link Tracer}, which makes it the
+ * current span on this thread until {@link #end()} restores the previous one.
+ * <p>
+ * Unsampled spans still carry ids so downstream calls join the same trace, but they
+ * ignore tags and are never exported.
+ */
+public final class Span implements AutoCloseable {
+
+    public enum Kind { SERVER, CLIENT }
+
+    private final Tracer tracer;
+    private final TraceContext context;
+    private final long parentSpanId;
+    private final TraceContext previous;
+    private final Kind kind;
+    private final long startEpochMicros;
+    private final long startNanos;
+    private String name;
+    private Map<String, String> tags;
+    private long durationNanos = -1;
+
+    Span(Tracer tracer, TraceContext context, long parentSpanId, TraceContext previous, String name, Kind kind) {
+        this.tracer = tracer;
+        this.context = context;
+        this.parentSpanId = parentSpanId;
+        this.previous = previous;
+        this.name = name;
+        this.kind = kind;
+        this.startNanos = System.nanoTime();
+        this.startEpochMicros = context.isSampled() ? System.currentTimeMillis() * 1000 : 0;
+    }
+
+    public TraceContext context() {
+        return context;
+    }
+
+    public Span tag(String key, String value) {
+        if (context.isSampled() && value != null) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+        }
+        return this;
+    }
+
+    public Span tag(String key, int value) {
+        return context.isSampled() ? tag(key, Integer.toString(value)) : this;
+    }
+
+    /**
+     * Ends the span, restores the previous current span and queues the span for export
+     * if it was sampled. Ending twice has no effect.
+     */
+    public void end() {
+        if (durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        tracer.finish(this, previous);
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Replaces the name, for server spans whose route is only known once the handler
+     * has been mapped.
+     */
+    void rename(String name) {
+        this.name = name;
+    }
+
+    public Kind kind() {
+        return kind;
+    }
+
+    public String parentSpanId() {
+        return parentSpanId == 0 ? null : TraceContext.hex(parentSpanId);
+    }
+
+    public long startEpochMicros() {
+        return startEpochMicros;
+    }
+
+    public long durationMicros() {
+        return Math.max(1, durationNanos / 1000);
+    }
+
+    public Map<String, String> tags() {
+        return tags == null ? Map.of() : tags;
+    }
+}
@@ -0,0 +1,18 @@
+package com.securebank.common.tracing;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination for finished, sampled spans. Called from the {@link SpanProcessor}
+ * thread only, never on the request path.
+ */
+public interface SpanExporter {
+
+    SpanExporter NONE = (serviceName, spans) -> { };
+
+    void export(String serviceName, List<Span> spans) throws IOException;
+
+    default void close() throws IOException {
+    }
+}
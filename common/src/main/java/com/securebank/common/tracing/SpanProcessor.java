@@ -0,0 +1,125 @@
+package com.securebank.common.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands finished spans from request threads to the {@link SpanExporter} on a single
+ * background thread. The queue is bounded; when the exporter falls behind, new spans
+ * are dropped and counted as {@code tracing.spans.dropped} rather than slowing requests.
+ */
+@Component
+public class SpanProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(SpanProcessor.class);
+
+    private final SpanExporter exporter;
+    private final String serviceName;
+    private final BlockingQueue<Span> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final Counter exported;
+    private final Counter dropped;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public SpanProcessor(SpanExporter exporter,
+                         MeterRegistry meterRegistry,
+                         @Value("${spring.application.name:unknown}") String serviceName,
+                         @Value("${tracing.queue-size:2048}") int queueSize,
+                         @Value("${tracing.batch-size:256}") int batchSize,
+                         @Value("${tracing.flush-interval-ms:1000}") long flushIntervalMs) {
+        this.exporter = exporter;
+        this.serviceName = serviceName;
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.exported = Counter.builder("tracing.spans.exported")
+                .description("Sampled spans handed to the span exporter")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("tracing.spans.dropped")
+                .description("Sampled spans dropped because the export queue was full or the export failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (exporter == SpanExporter.NONE) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "span-exporter");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        drain();
+        try {
+            exporter.close();
+        } catch (IOException ex) {
+            log.warn("Closing span exporter failed: {}", ex.getMessage());
+        }
+    }
+
+    void offer(Span span) {
+        if (exporter != SpanExporter.NONE && !queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            try {
+                Span first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<Span> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    export(batch);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        List<Span> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            export(batch);
+            batch.clear();
+        }
+    }
+
+    private void export(List<Span> batch) {
+        try {
+            exporter.export(serviceName, batch);
+            exported.increment(batch.size());
+        } catch (IOException | RuntimeException ex) {
+            dropped.increment(batch.size());
+            log.warn("Exporting {} spans failed: {}", batch.size(), ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.securebank.common.tracing;
+
+/**
+ * Identity of one span as carried in the W3C {@code traceparent} header:
+ * {@code 00-<32 hex trace id>-<16 hex span id>-<2 hex flags>}. Only the sampled flag
+ * is interpreted; {@code tracestate} is passed through untouched.
+ */
+public final class TraceContext {
+
+    static final String TRACEPARENT = "traceparent";
+    static final String TRACESTATE = "tracestate";
+
+    private static final int HEADER_LENGTH = 55;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long traceIdHigh;
+    private final long traceIdLow;
+    private final long spanId;
+    private final boolean sampled;
+    private final String traceState;
+
+    TraceContext(long traceIdHigh, long traceIdLow, long spanId, boolean sampled, String traceState) {
+        this.traceIdHigh = traceIdHigh;
+        this.traceIdLow = traceIdLow;
+        this.spanId = spanId;
+        this.sampled = sampled;
+        this.traceState = traceState;
+    }
+
+    /**
+     * Parses a {@code traceparent} header, returning {@code null} when it is missing or
+     * malformed so the caller starts a new trace. Future versions are read by their
+     * version-00 prefix, as the spec requires.
+     */
+    public static TraceContext parse(String traceparent, String traceState) {
+        if (traceparent == null || traceparent.length() < HEADER_LENGTH
+                || traceparent.charAt(2) != '-' || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        if (traceparent.startsWith("ff") || (traceparent.startsWith("00") && traceparent.length() != HEADER_LENGTH)) {
+            return null;
+        }
+        try {
+            parseHex(traceparent, 0, 2);
+            long high = parseHex(traceparent, 3, 19);
+            long low = parseHex(traceparent, 19, 35);
+            long spanId = parseHex(traceparent, 36, 52);
+            long flags = parseHex(traceparent, 53, 55);
+            if ((high == 0 && low == 0) || spanId == 0) {
+                return null;
+            }
+            return new TraceContext(high, low, spanId, (flags & 1) == 1, traceState);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    public String traceparent() {
+        char[] out = new char[HEADER_LENGTH];
+        out[0] = '0';
+        out[1] = '0';
+        out[2] = '-';
+        writeHex(out, 3, traceIdHigh);
+        writeHex(out, 19, traceIdLow);
+        out[35] = '-';
+        writeHex(out, 36, spanId);
+        out[52] = '-';
+        out[53] = '0';
+        out[54] = sampled ? '1' : '0';
+        return new String(out);
+    }
+
+    public String traceId() {
+        char[] out = new char[32];
+        writeHex(out, 0, traceIdHigh);
+        writeHex(out, 16, traceIdLow);
+        return new String(out);
+    }
+
+    public String spanId() {
+        return hex(spanId);
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String traceState() {
+        return traceState;
+    }
+
+    long traceIdHigh() {
+        return traceIdHigh;
+    }
+
+    long traceIdLow() {
+        return traceIdLow;
+    }
+
+    long spanIdValue() {
+        return spanId;
+    }
+
+    static String hex(long value) {
+        char[] out = new char[16];
+        writeHex(out, 0, value);
+        return new String(out);
+    }
+
+    private static void writeHex(char[] out, int offset, long value) {
+        for (int i = 15; i >= 0; i--) {
+            out[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static long parseHex(String text, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else {
+                throw new NumberFormatException("Invalid traceparent: " + text);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+package com.securebank.common.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a server span around the whole filter chain, including Spring Security and
+ * {@code JwtAuthFilter}, continuing the caller's trace from the {@code traceparent} and
+ * {@code tracestate} headers. Sampled spans are named and tagged with the matched route
+ * and the response status once the chain returns.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TraceContextFilter extends OncePerRequestFilter {
+
+    private final Tracer tracer;
+
+    public TraceContextFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Span span = tracer.startServer(request.getMethod(),
+                request.getHeader(TraceContext.TRACEPARENT), request.getHeader(TraceContext.TRACESTATE));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (span.context().isSampled()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                String route = pattern != null ? pattern.toString() : request.getRequestURI();
+                span.rename(request.getMethod() + " " + route);
+                span.tag("http.method", request.getMethod())
+                        .tag("http.route", route)
+                        .tag("http.status_code", response.getStatus());
+            }
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.securebank.common.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts spans and tracks the current one per thread.
+ * <p>
+ * Sampling is decided once, at the head of the trace: a request without a valid
+ * {@code traceparent} starts a new trace that is sampled with probability
+ * {@code tracing.sample-rate}, and every later hop follows the sampled flag it receives.
+ * Unsampled requests cost two ids and a thread-local write; nothing is timestamped,
+ * tagged or exported.
+ */
+@Component
+public class Tracer {
+
+    private final ThreadLocal<TraceContext> current = new ThreadLocal<>();
+
+    private final SpanProcessor processor;
+    private final long sampleThreshold;
+
+    public Tracer(SpanProcessor processor,
+                  @Value("${tracing.sample-rate:0.01}") double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("tracing.sample-rate must be between 0 and 1: " + sampleRate);
+        }
+        this.processor = processor;
+        this.sampleThreshold = sampleRate >= 1 ? Long.MAX_VALUE : (long) (sampleRate * Long.MAX_VALUE);
+    }
+
+    /**
+     * Starts a server span for an inbound request, joining the caller's trace when the
+     * headers carry one.
+     */
+    public Span startServer(String name, String traceparent, String traceState) {
+        TraceContext parent = TraceContext.parse(traceparent, traceState);
+        return parent != null ? start(name, Span.Kind.SERVER, parent) : startRoot(name, Span.Kind.SERVER);
+    }
+
+    /**
+     * Starts a client span for an outbound call, as a child of the current span or as a
+     * new root when there is none (scheduled jobs).
+     */
+    public Span startClient(String name) {
+        TraceContext parent = current.get();
+        return parent != null ? start(name, Span.Kind.CLIENT, parent) : startRoot(name, Span.Kind.CLIENT);
+    }
+
+    public TraceContext currentContext() {
+        return current.get();
+    }
+
+    void finish(Span span, TraceContext previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+        if (span.context().isSampled()) {
+            processor.offer(span);
+        }
+    }
+
+    private Span start(String name, Span.Kind kind, TraceContext parent) {
+        TraceContext context = new TraceContext(parent.traceIdHigh(), parent.traceIdLow(), nextId(),
+                parent.isSampled(), parent.traceState());
+        return begin(name, kind, context, parent.spanIdValue());
+    }
+
+    private Span startRoot(String name, Span.Kind kind) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = nextId();
+        boolean sampled = (low >>> 1) < sampleThreshold;
+        return begin(name, kind, new TraceContext(high, low, nextId(), sampled, null), 0);
+    }
+
+    private Span begin(String name, Span.Kind kind, TraceContext context, long parentSpanId) {
+        TraceContext previous = current.get();
+        current.set(context);
+        return new Span(this, context, parentSpanId, previous, name, kind);
+    }
+
+    private static long nextId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+}
@@ -0,0 +1,44 @@
+package com.securebank.common.tracing;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Wraps each outbound {@code RestTemplate} call in a client span and propagates it in
+ * the {@code traceparent} / {@code tracestate} headers, so the callee's server span
+ * becomes its child.
+ */
+@Component
+public class TracingClientInterceptor implements ClientHttpRequestInterceptor {
+
+    private final Tracer tracer;
+
+    public TracingClientInterceptor(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        Span span = tracer.startClient(request.getMethod().name() + " " + request.getURI().getPath());
+        request.getHeaders().set(TraceContext.TRACEPARENT, span.context().traceparent());
+        if (span.context().traceState() != null) {
+            request.getHeaders().set(TraceContext.TRACESTATE, span.context().traceState());
+        }
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            span.tag("http.status_code", response.getStatusCode().value());
+            return response;
+        } catch (IOException ex) {
+            span.tag("error", ex.getClass().getSimpleName());
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+}
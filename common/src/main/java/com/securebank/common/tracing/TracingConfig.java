@@ -0,0 +1,32 @@
+package com.securebank.common.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+
+/**
+ * Selects the span exporter with {@code tracing.exporter}: {@code none} (default; ids
+ * are still propagated), {@code file} (JSON lines at {@code tracing.file}) or
+ * {@code collector} (HTTP POST to {@code tracing.collector-url}). The exporter is closed
+ * by {@link SpanProcessor} after the last spans are flushed.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean(destroyMethod = "")
+    public SpanExporter spanExporter(@Value("${tracing.exporter:none}") String exporter,
+                                     @Value("${tracing.file:traces/${spring.application.name:unknown}.jsonl}") String file,
+                                     @Value("${tracing.collector-url:http://localhost:9411/api/v2/spans}") String collectorUrl)
+            throws IOException {
+        return switch (exporter) {
+            case "none" -> SpanExporter.NONE;
+            case "file" -> new FileSpanExporter(Path.of(file));
+            case "collector" -> new CollectorSpanExporter(URI.create(collectorUrl));
+            default -> throw new IllegalArgumentException("Unknown tracing.exporter: " + exporter);
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package com.securebank.common.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Zipkin v2 JSON shape of a span, shared by the file and collector exporters so a span
+ * file can be replayed into any Zipkin-compatible collector unchanged.
+ */
+final class ZipkinSpans {
+
+    private ZipkinSpans() {
+    }
+
+    static Map<String, Object> toJson(String serviceName, Span span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("traceId", span.context().traceId());
+        json.put("id", span.context().spanId());
+        if (span.parentSpanId() != null) {
+            json.put("parentId", span.parentSpanId());
+        }
+        json.put("name", span.name());
+        json.put("kind", span.kind().name());
+        json.put("timestamp", span.startEpochMicros());
+        json.put("duration", span.durationMicros());
+        json.put("localEndpoint", Map.of("serviceName", serviceName));
+        if (!span.tags().isEmpty()) {
+            json.put("tags", span.tags());
+        }
+        return json;
+    }
+}
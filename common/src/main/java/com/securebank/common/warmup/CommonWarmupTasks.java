@@ -0,0 +1,42 @@
+package com.securebank.common.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.dto.ErrorResponse;
+import com.securebank.common.security.JwtUtil;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.UUID;
+
+/**
+ * Warm-up tasks shared by every service: JWT issue and parse as done by
+ * {@code JwtAuthFilter}, and Jackson serialization of the {@code ApiResponse} and
+ * {@code ErrorResponse} envelopes. Service-specific payloads are warmed in each service's
+ * {@code WarmupConfig}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class CommonWarmupTasks {
+
+    static final int CHEAP_ITERATIONS = 2000;
+
+    @Bean
+    public WarmupTask jwtWarmup(JwtUtil jwtUtil) {
+        String token = jwtUtil.generateToken(UUID.randomUUID(), "warmup@securebank.com", "CUSTOMER");
+        return WarmupTask.of("jwt", CHEAP_ITERATIONS, () -> {
+            if (jwtUtil.isTokenValid(token)) {
+                jwtUtil.extractUserId(token);
+                jwtUtil.extractRole(token);
+            }
+        });
+    }
+
+    @Bean
+    public WarmupTask envelopeJsonWarmup(ObjectMapper objectMapper) {
+        ErrorResponse error = new ErrorResponse(404, "Not Found", "Account not found", "/api/v1/warmup");
+        return WarmupTask.of("json-envelope", CHEAP_ITERATIONS, () -> {
+            objectMapper.writeValueAsBytes(ApiResponse.success("warm-up", error));
+            objectMapper.writeValueAsBytes(error);
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.securebank.common.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@link WarmupTask} bean once the context is up and before the service
+ * reports ready.
+ * <p>
+ * Spring Boot moves readiness to {@code ACCEPTING_TRAFFIC} only after all application
+ * runners have returned. Running the tasks here keeps {@code /actuator/health/readiness}
+ * at {@code OUT_OF_SERVICE} until the JWT, Jackson, Hibernate and BCrypt code paths have
+ * been loaded and run through the JIT's first tiers. A load balancer that routes on
+ * readiness then never sends the first customer requests to a cold JVM. The phase is
+ * capped at {@code warmup.max-duration-ms}. A failing task is logged and skipped, so
+ * warm-up can never hold a healthy instance out of service.
+ * <p>
+ * With {@code warmup.exit-after=true} the application exits after warm-up. The AppCDS
+ * training run uses this so that the archive also covers the classes the hot paths load.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private final ObjectProvider<WarmupTask> tasks;
+    private final ConfigurableApplicationContext context;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxDurationMillis;
+    private final boolean exitAfter;
+
+    private volatile long warmupMillis = -1;
+
+    public WarmupRunner(ObjectProvider<WarmupTask> tasks,
+                        ConfigurableApplicationContext context,
+                        MeterRegistry meterRegistry,
+                        @Value("${warmup.enabled:false}") boolean enabled,
+                        @Value("${warmup.max-duration-ms:20000}") long maxDurationMillis,
+                        @Value("${warmup.exit-after:false}") boolean exitAfter) {
+        this.tasks = tasks;
+        this.context = context;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxDurationMillis = maxDurationMillis;
+        this.exitAfter = exitAfter;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled || exitAfter) {
+            AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+            warmupMillis = warmUp(tasks.orderedStream().toList());
+        }
+        if (exitAfter) {
+            log.info("warmup.exit-after is set, exiting");
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    long warmUp(List<WarmupTask> warmupTasks) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxDurationMillis);
+        StringJoiner summary = new StringJoiner(", ");
+        for (WarmupTask task : warmupTasks) {
+            long taskStart = System.nanoTime();
+            int completed = 0;
+            try {
+                while (completed < task.iterations() && System.nanoTime() < deadline) {
+                    task.run();
+                    completed++;
+                }
+            } catch (Exception ex) {
+                log.warn("Warm-up task {} failed after {} iterations: {}", task.name(), completed, ex.toString());
+            }
+            long taskNanos = System.nanoTime() - taskStart;
+            Timer.builder("warmup.task.duration")
+                    .description("Time spent in each warm-up task before readiness")
+                    .tag("task", task.name())
+                    .register(meterRegistry)
+                    .record(taskNanos, TimeUnit.NANOSECONDS);
+            summary.add(task.name() + " " + completed + "x " + TimeUnit.NANOSECONDS.toMillis(taskNanos) + "ms");
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (System.nanoTime() >= deadline) {
+            log.warn("Warm-up stopped at warmup.max-duration-ms={}", maxDurationMillis);
+        }
+        log.info("Warm-up finished in {} ms: {}", elapsedMillis, summary);
+        return elapsedMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logTimeToReady() {
+        log.info("Ready {} ms after JVM start (warm-up {} ms)",
+                ManagementFactory.getRuntimeMXBean().getUptime(), warmupMillis < 0 ? 0 : warmupMillis);
+    }
+}
@@ -0,0 +1,39 @@
+package com.securebank.common.warmup;
+
+/**
+ * One hot path exercised by {@link WarmupRunner} before the service reports ready.
+ * {@link #run()} is called up to {@link #iterations()} times; it must be side-effect
+ * free, since it runs against the live database and caches.
+ */
+public interface WarmupTask {
+
+    String name();
+
+    int iterations();
+
+    void run() throws Exception;
+
+    static WarmupTask of(String name, int iterations, Action action) {
+        return new WarmupTask() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int iterations() {
+                return iterations;
+            }
+
+            @Override
+            public void run() throws Exception {
+                action.run();
+            }
+        };
+    }
+
+    @FunctionalInterface
+    interface Action {
+        void run() throws Exception;
+    }
+}
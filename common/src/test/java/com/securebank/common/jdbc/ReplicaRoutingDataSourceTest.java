@@ -0,0 +1,202 @@
+package com.securebank.common.jdbc;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MS = 1000;
+    private static final long CHECK_INTERVAL_MS = 500;
+
+    private final AtomicLong clock = new AtomicLong(10_000);
+    private JdbcTemplate primaryAdmin;
+    private JdbcTemplate replicaAdmin;
+    private ReplicaLagMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource primary = database("primary");
+        JdbcDataSource replica = database("replica");
+        primaryAdmin = new JdbcTemplate(primary);
+        primaryAdmin.execute("CREATE TABLE wal (position BIGINT)");
+        primaryAdmin.update("INSERT INTO wal VALUES (100)");
+        replicaAdmin = new JdbcTemplate(replica);
+        replicaAdmin.execute("CREATE TABLE replay (position BIGINT, since_commit_ms BIGINT)");
+        replicaAdmin.update("INSERT INTO replay VALUES (100, 0)");
+
+        monitor = new ReplicaLagMonitor(primary, List.of(new Replica("replica-0", replica)),
+                "SELECT position FROM wal", "SELECT position, since_commit_ms FROM replay",
+                MAX_LAG_MS, CHECK_INTERVAL_MS, clock::get);
+        monitor.refresh();
+
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, monitor, true));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.close();
+    }
+
+    @Test
+    @DisplayName("Routing - read-only transactions go to an up-to-date replica")
+    void readOnly_ShouldUseReplica_WhenLagBelowThreshold() {
+        assertEquals("replica", readNode());
+    }
+
+    @Test
+    @DisplayName("Routing - read-write transactions go to the primary")
+    void readWrite_ShouldUsePrimary() {
+        assertEquals("primary", readWrite.execute(status -> node()));
+    }
+
+    @Test
+    @DisplayName("Routing - lagging replica falls back to the primary")
+    void readOnly_ShouldUsePrimary_WhenReplicaLagsBeyondThreshold() {
+        replicaAdmin.update("UPDATE replay SET position = 90, since_commit_ms = ?", MAX_LAG_MS + 1);
+        monitor.refresh();
+
+        assertEquals(MAX_LAG_MS + 1, monitor.replicas().get(0).lagMillis());
+        assertEquals("primary", readNode());
+    }
+
+    @Test
+    @DisplayName("Routing - replica behind the primary's WAL after an idle spell not counted as caught up")
+    void readOnly_ShouldUsePrimary_WhenReplicaHasNotReceivedPrimaryWal() {
+        replicaAdmin.update("UPDATE replay SET since_commit_ms = ?", 3_600_000);
+        monitor.refresh();
+        assertEquals(0, monitor.replicas().get(0).lagMillis());
+
+        primaryAdmin.update("UPDATE wal SET position = 110");
+        monitor.refresh();
+
+        assertEquals(3_600_000, monitor.replicas().get(0).lagMillis());
+        assertEquals("primary", readNode());
+    }
+
+    @Test
+    @DisplayName("Routing - replica that has replayed no commit yet falls back to the primary")
+    void readOnly_ShouldUsePrimary_WhenReplayTimeUnknown() {
+        primaryAdmin.update("UPDATE wal SET position = 110");
+        replicaAdmin.update("UPDATE replay SET since_commit_ms = NULL");
+        monitor.refresh();
+
+        assertEquals(-1, monitor.replicas().get(0).lagMillis());
+        assertEquals("primary", readNode());
+    }
+
+    @Test
+    @DisplayName("Routing - failed lag check falls back to the primary")
+    void readOnly_ShouldUsePrimary_WhenLagCheckFails() {
+        replicaAdmin.execute("DROP TABLE replay");
+        monitor.refresh();
+
+        assertEquals(-1, monitor.replicas().get(0).lagMillis());
+        assertEquals("primary", readNode());
+    }
+
+    @Test
+    @DisplayName("Routing - stale lag measurement falls back to the primary")
+    void readOnly_ShouldUsePrimary_WhenMeasurementStale() {
+        clock.addAndGet(3 * CHECK_INTERVAL_MS + 1);
+
+        assertEquals("primary", readNode());
+    }
+
+    @Test
+    @DisplayName("Read-your-writes - reads stay on the primary until the replica replays the write")
+    void readOnly_ShouldUsePrimary_UntilReplicaReplaysWrite() {
+        List<Long> reported = new ArrayList<>();
+        ReadYourWrites.open(0, reported::add);
+
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            jdbcTemplate.update("UPDATE wal SET position = 150");
+        });
+        assertEquals(List.of(150L), reported);
+        assertEquals("primary", readNode());
+
+        replicaAdmin.update("UPDATE replay SET position = 149");
+        monitor.refresh();
+        assertEquals("primary", readNode());
+
+        replicaAdmin.update("UPDATE replay SET position = 150");
+        monitor.refresh();
+        assertEquals("replica", readNode());
+    }
+
+    @Test
+    @DisplayName("Read-your-writes - write position carried over from an earlier request")
+    void readOnly_ShouldUsePrimary_WhenSessionStartsAfterReplica() {
+        ReadYourWrites.open(101, position -> {});
+
+        assertEquals("primary", readNode());
+    }
+
+    @Test
+    @DisplayName("Read-your-writes - reads stay on the primary when the write position is unavailable")
+    void readOnly_ShouldUsePrimary_WhenWritePositionUnavailable() {
+        List<Long> reported = new ArrayList<>();
+        ReadYourWrites.open(0, reported::add);
+        primaryAdmin.execute("DROP TABLE wal");
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET name = name"));
+
+        assertTrue(reported.isEmpty());
+        assertEquals("primary", readNode());
+    }
+
+    @Test
+    @DisplayName("Read-your-writes - rolled back writes are not recorded")
+    void readWrite_ShouldNotRecordWrite_WhenRolledBack() {
+        List<Long> reported = new ArrayList<>();
+        ReadYourWrites.open(0, reported::add);
+
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE node SET name = name");
+            status.setRollbackOnly();
+        });
+
+        assertTrue(reported.isEmpty());
+        assertEquals(0, ReadYourWrites.readAfter());
+    }
+
+    private String readNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static JdbcDataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate admin = new JdbcTemplate(dataSource);
+        admin.execute("CREATE TABLE node (name VARCHAR(20))");
+        admin.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,133 @@
+package com.securebank.common.latency;
+
+import com.securebank.common.dto.LatencySloReport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencySloTrackerTest {
+
+    private LatencySloTracker tracker;
+    private HandlerMethod transfer;
+    private HandlerMethod history;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("slo.latency.threshold-ms.SampleController.transfer", "500");
+        tracker = new LatencySloTracker(environment, 60, 100, 0.99, 4);
+        SampleController controller = new SampleController();
+        transfer = new HandlerMethod(controller, SampleController.class.getMethod("transfer"));
+        history = new HandlerMethod(controller, SampleController.class.getMethod("history"));
+    }
+
+    @Test
+    @DisplayName("Report - percentiles and burn rate from completed slots")
+    void report_ShouldComputePercentilesAndBurnRate() {
+        MethodLatency latency = tracker.lookup(history);
+        for (int i = 0; i < 980; i++) {
+            latency.record(10_000_000L);
+        }
+        for (int i = 0; i < 20; i++) {
+            latency.record(400_000_000L);
+        }
+        tracker.rotate();
+
+        LatencySloReport.MethodSlo slo = methodSlo(tracker.report(), "SampleController.history");
+        LatencySloReport.Window oneMinute = slo.getWindows().get(0);
+        assertEquals(100, slo.getThresholdMs());
+        assertEquals(1000, oneMinute.getCount());
+        assertEquals(10.0, oneMinute.getP50Ms(), 0.1);
+        assertEquals(400.0, oneMinute.getP99Ms(), 4.0);
+        assertEquals(400.0, oneMinute.getMaxMs(), 4.0);
+        assertEquals(20, oneMinute.getSlowCount());
+        assertEquals(2.0, oneMinute.getBurnRate(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Report - windows merge only the newest slots")
+    void report_ShouldMergeSlotsPerWindow() {
+        MethodLatency latency = tracker.lookup(history);
+        latency.record(1_000_000L);
+        tracker.rotate();
+        latency.record(1_000_000L);
+        latency.record(1_000_000L);
+        tracker.rotate();
+
+        List<LatencySloReport.Window> windows = methodSlo(tracker.report(), "SampleController.history").getWindows();
+        assertEquals(List.of(1, 5, 15), windows.stream().map(LatencySloReport.Window::getMinutes).toList());
+        assertEquals(2, windows.get(0).getCount());
+        assertEquals(3, windows.get(1).getCount());
+        assertEquals(3, windows.get(2).getCount());
+    }
+
+    @Test
+    @DisplayName("Report - per-method threshold override applies")
+    void report_ShouldUseMethodThreshold_WhenConfigured() {
+        tracker.lookup(transfer).record(400_000_000L);
+        tracker.rotate();
+
+        LatencySloReport.MethodSlo slo = methodSlo(tracker.report(), "SampleController.transfer");
+        assertEquals(500, slo.getThresholdMs());
+        assertEquals(0, slo.getWindows().get(0).getSlowCount());
+    }
+
+    @Test
+    @DisplayName("Lookup - non-controller handlers are not tracked")
+    void lookup_ShouldIgnoreNonControllerHandlers() throws NoSuchMethodException {
+        HandlerMethod operation = new HandlerMethod(new NotAController(), NotAController.class.getMethod("handle"));
+
+        assertNull(tracker.lookup(operation));
+        assertTrue(tracker.report().getMethods().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Interceptor - records one sample per completed request")
+    void interceptor_ShouldRecordCompletedRequest() {
+        LatencySloInterceptor interceptor = new LatencySloInterceptor(tracker);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/transfer");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, transfer));
+        interceptor.afterCompletion(request, response, transfer, null);
+        interceptor.afterCompletion(request, response, transfer, null);
+        tracker.rotate();
+
+        assertEquals(1, methodSlo(tracker.report(), "SampleController.transfer").getWindows().get(0).getCount());
+    }
+
+    @Test
+    @DisplayName("Constructor - rejects objective of 100%")
+    void constructor_ShouldRejectObjectiveOfOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new LatencySloTracker(new MockEnvironment(), 60, 100, 1.0, 4));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LatencySloTracker(new MockEnvironment(), 7, 100, 0.99, 4));
+    }
+
+    private static LatencySloReport.MethodSlo methodSlo(LatencySloReport report, String method) {
+        return report.getMethods().stream()
+                .filter(slo -> slo.getMethod().equals(method))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @RestController
+    static class SampleController {
+        public void transfer() {}
+        public void history() {}
+    }
+
+    static class NotAController {
+        public void handle() {}
+    }
+}
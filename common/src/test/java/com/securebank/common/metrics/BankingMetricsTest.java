@@ -0,0 +1,68 @@
+package com.securebank.common.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BankingMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private BankingMetrics bankingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        meterRegistry.config().meterFilter(new MetricsConfig().sloBuckets());
+        bankingMetrics = new BankingMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Banking metrics - amounts recorded per transaction type")
+    void deposit_ShouldRecordCountAndTotal() {
+        bankingMetrics.deposit(new BigDecimal("100.50"));
+        bankingMetrics.deposit(new BigDecimal("49.50"));
+        bankingMetrics.transfer(new BigDecimal("10.00"));
+
+        DistributionSummary deposits = meterRegistry.get("banking.transactions.amount").tag("type", "deposit").summary();
+        assertEquals(2, deposits.count());
+        assertEquals(150.0, deposits.totalAmount(), 1e-9);
+        assertEquals(1, meterRegistry.get("banking.transactions.amount").tag("type", "transfer").summary().count());
+        assertEquals(0, meterRegistry.get("banking.transactions.amount").tag("type", "withdrawal").summary().count());
+    }
+
+    @Test
+    @DisplayName("Banking metrics - rejections counted by reason")
+    void rejections_ShouldBeCountedByReason() {
+        bankingMetrics.insufficientBalance();
+        bankingMetrics.insufficientBalance();
+        bankingMetrics.accountFrozen();
+
+        assertEquals(2, meterRegistry.get("banking.transactions.rejected")
+                .tag("reason", "insufficient_balance").counter().count());
+        assertEquals(1, meterRegistry.get("banking.transactions.rejected")
+                .tag("reason", "account_frozen").counter().count());
+    }
+
+    @Test
+    @DisplayName("Commit timer - SLO buckets applied")
+    void commitTimer_ShouldHaveSloBuckets() {
+        new CommitTimer(meterRegistry);
+        Timer timer = meterRegistry.get(CommitTimer.METRIC).tag("outcome", "committed").timer();
+        timer.record(3, TimeUnit.MILLISECONDS);
+
+        CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+        assertEquals(8, buckets.length);
+        assertEquals(0, buckets[1].count());
+        assertEquals(1, buckets[2].count());
+    }
+}
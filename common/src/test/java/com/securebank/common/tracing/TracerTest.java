@@ -0,0 +1,113 @@
+package com.securebank.common.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracerTest {
+
+    private static final String PARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    private final List<Span> exported = new CopyOnWriteArrayList<>();
+    private SpanProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        SpanExporter capturing = (serviceName, spans) -> exported.addAll(spans);
+        processor = new SpanProcessor(capturing, new SimpleMeterRegistry(), "test-service", 16, 8, 10);
+    }
+
+    @Test
+    @DisplayName("Start server - joins the caller's trace and sampling decision")
+    void startServer_ShouldJoinParentTrace() {
+        Tracer tracer = new Tracer(processor, 0.0);
+
+        Span span = tracer.startServer("GET", PARENT, "vendor=1");
+
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", span.context().traceId());
+        assertEquals("00f067aa0ba902b7", span.parentSpanId());
+        assertNotEquals("00f067aa0ba902b7", span.context().spanId());
+        assertTrue(span.context().isSampled());
+        assertEquals("vendor=1", span.context().traceState());
+        span.end();
+    }
+
+    @Test
+    @DisplayName("Start server - new root follows the configured sample rate")
+    void startServer_ShouldSampleRoot_ByRate() {
+        Span never = new Tracer(processor, 0.0).startServer("GET", null, null);
+        never.end();
+        Span always = new Tracer(processor, 1.0).startServer("GET", "garbage", null);
+        always.end();
+
+        assertFalse(never.context().isSampled());
+        assertNull(never.parentSpanId());
+        assertTrue(always.context().isSampled());
+    }
+
+    @Test
+    @DisplayName("Start client - child of the current span, previous restored on end")
+    void startClient_ShouldNestUnderCurrentSpan() {
+        Tracer tracer = new Tracer(processor, 1.0);
+        Span server = tracer.startServer("GET", null, null);
+
+        Span client = tracer.startClient("GET /status-feed");
+        assertEquals(server.context().traceId(), client.context().traceId());
+        assertEquals(server.context().spanId(), client.parentSpanId());
+        client.end();
+
+        assertSame(server.context(), tracer.currentContext());
+        server.end();
+        assertNull(tracer.currentContext());
+    }
+
+    @Test
+    @DisplayName("Filter - sampled request span exported with status tag")
+    void filter_ShouldExportSampledServerSpan() throws Exception {
+        processor.start();
+        TraceContextFilter filter = new TraceContextFilter(new Tracer(processor, 0.0));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/transactions/deposit");
+        request.addHeader("traceparent", PARENT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> ((MockHttpServletResponse) res).setStatus(201));
+        processor.stop();
+
+        assertEquals(1, exported.size());
+        Span span = exported.get(0);
+        assertEquals("POST /api/v1/transactions/deposit", span.name());
+        assertEquals(Span.Kind.SERVER, span.kind());
+        assertEquals("201", span.tags().get("http.status_code"));
+    }
+
+    @Test
+    @DisplayName("Client interceptor - propagates traceparent of the client span")
+    void clientInterceptor_ShouldSetTraceparentHeader() throws Exception {
+        Tracer tracer = new Tracer(processor, 1.0);
+        TracingClientInterceptor interceptor = new TracingClientInterceptor(tracer);
+        Span server = tracer.startServer("GET", PARENT, null);
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/feed"));
+
+        interceptor.intercept(request, new byte[0], (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK));
+        server.end();
+
+        TraceContext sent = TraceContext.parse(request.getHeaders().getFirst("traceparent"), null);
+        assertNotNull(sent);
+        assertEquals(server.context().traceId(), sent.traceId());
+        assertNotEquals(server.context().spanId(), sent.spanId());
+        assertTrue(sent.isSampled());
+    }
+}
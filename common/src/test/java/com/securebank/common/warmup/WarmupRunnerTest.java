@@ -0,0 +1,82 @@
+package com.securebank.common.warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class WarmupRunnerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private WarmupRunner runner(boolean enabled, long maxDurationMillis) {
+        return new WarmupRunner(mock(ObjectProvider.class), mock(ConfigurableApplicationContext.class),
+                meterRegistry, enabled, maxDurationMillis, false);
+    }
+
+    @Test
+    @DisplayName("Warm-up - each task runs its iteration count")
+    void warmUp_ShouldRunEachTaskForItsIterations() {
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+
+        runner(true, 10_000).warmUp(List.of(
+                WarmupTask.of("first", 50, first::incrementAndGet),
+                WarmupTask.of("second", 5, second::incrementAndGet)));
+
+        assertEquals(50, first.get());
+        assertEquals(5, second.get());
+        assertEquals(1, meterRegistry.get("warmup.task.duration").tag("task", "first").timer().count());
+    }
+
+    @Test
+    @DisplayName("Warm-up - failing task is skipped, later tasks still run")
+    void warmUp_ShouldContinue_WhenTaskFails() {
+        AtomicInteger after = new AtomicInteger();
+
+        runner(true, 10_000).warmUp(List.of(
+                WarmupTask.of("broken", 100, () -> {
+                    throw new IllegalStateException("database unavailable");
+                }),
+                WarmupTask.of("after", 3, after::incrementAndGet)));
+
+        assertEquals(3, after.get());
+    }
+
+    @Test
+    @DisplayName("Warm-up - stops at the duration cap")
+    void warmUp_ShouldStop_WhenMaxDurationReached() {
+        AtomicInteger runs = new AtomicInteger();
+
+        long elapsed = runner(true, 50).warmUp(List.of(
+                WarmupTask.of("slow", Integer.MAX_VALUE, () -> {
+                    runs.incrementAndGet();
+                    Thread.sleep(5);
+                })));
+
+        assertTrue(elapsed < 1000);
+        assertTrue(runs.get() < 100);
+    }
+
+    @Test
+    @DisplayName("Warm-up - disabled runner does nothing")
+    void run_ShouldSkipTasks_WhenDisabled() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<WarmupTask> tasks = mock(ObjectProvider.class);
+        WarmupRunner runner = new WarmupRunner(tasks, mock(ConfigurableApplicationContext.class),
+                meterRegistry, false, 10_000, false);
+
+        runner.run(new DefaultApplicationArguments());
+
+        verifyNoInteractions(tasks);
+    }
+}
@@ -0,0 +1,33 @@
+package com.securebank.loadtest;
+
+/**
+ * Endpoints exercised by {@link JourneyLoadGenerator}, each tagged with the service
+ * that serves it so latencies can be reported per endpoint and per service.
+ */
+enum Endpoint {
+
+    REGISTER("user-service", "POST /api/v1/auth/register"),
+    LOGIN("user-service", "POST /api/v1/auth/login"),
+    CREATE_ACCOUNT("account-service", "POST /api/v1/accounts"),
+    DEPOSIT("transaction-service", "POST /api/v1/transactions/deposit"),
+    TRANSFER("transaction-service", "POST /api/v1/transactions/transfer"),
+    HISTORY("transaction-service", "GET /api/v1/transactions/account/{accountId}"),
+    AUDIT_LOG("notification-service", "POST /api/v1/notifications/log"),
+    AUDIT_READ("notification-service", "GET /api/v1/notifications/account/{accountId}");
+
+    private final String service;
+    private final String route;
+
+    Endpoint(String service, String route) {
+        this.service = service;
+        this.route = route;
+    }
+
+    String service() {
+        return service;
+    }
+
+    String route() {
+        return route;
+    }
+}
@@ -0,0 +1,41 @@
+package com.securebank.loadtest;
+
+import com.securebank.common.exception.AccountFrozenException;
+import com.securebank.common.exception.InsufficientBalanceException;
+
+import java.sql.SQLException;
+
+/**
+ * Buckets a failed operation by its root cause, using SQLSTATE for database errors
+ * so PostgreSQL and H2 are reported the same way.
+ */
+enum FailureKind {
+    DEADLOCK,
+    SERIALIZATION_FAILURE,
+    LOCK_TIMEOUT,
+    BUSINESS_REJECTION,
+    OTHER;
+
+    static FailureKind classify(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InsufficientBalanceException || cause instanceof AccountFrozenException) {
+                return BUSINESS_REJECTION;
+            }
+            if (cause instanceof SQLException sql && sql.getSQLState() != null) {
+                switch (sql.getSQLState()) {
+                    case "40P01":
+                        return DEADLOCK;
+                    case "40001":
+                        // H2 reports deadlocks as 40001 with its own error code
+                        return sql.getErrorCode() == 40001 ? DEADLOCK : SERIALIZATION_FAILURE;
+                    case "55P03":
+                    case "HYT00":
+                        return LOCK_TIMEOUT;
+                    default:
+                        break;
+                }
+            }
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,37 @@
+package com.securebank.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code key=value} command-line options with typed defaults.
+ */
+final class HarnessOptions {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    HarnessOptions(String[] args) {
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            String key = arg.startsWith("--") ? arg.substring(2, eq) : arg.substring(0, eq);
+            values.put(key, arg.substring(eq + 1));
+        }
+    }
+
+    String string(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int integer(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    double decimal(String key, double defaultValue) {
+        String value = values.get(key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+}
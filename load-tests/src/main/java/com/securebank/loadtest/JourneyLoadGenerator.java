@@ -0,0 +1,165 @@
+package com.securebank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.account.AccountServiceApplication;
+import com.securebank.notification.NotificationServiceApplication;
+import com.securebank.transaction.TransactionServiceApplication;
+import com.securebank.user.UserServiceApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Boots user-, account-, transaction- and notification-service in-process, each on a
+ * random port with its own embedded database, and drives them with {@link UserJourney}s
+ * arriving at a fixed rate.
+ * <p>
+ * The load is an open model: journeys are started on schedule whether or not earlier
+ * ones have finished, and journey latency is measured from the scheduled start, so a
+ * saturated system shows up as growing latency instead of a silently lower request rate.
+ * <p>
+ * Options ({@code key=value}): {@code rate} (journeys per second), {@code arrival}
+ * ({@code poisson} or {@code uniform}), {@code durationSeconds}, {@code warmupSeconds},
+ * {@code workers} (maximum concurrent journeys), {@code poolSize} (connections per
+ * service), {@code intervalSeconds}, {@code replicationTimeoutMs}, {@code report}.
+ */
+public final class JourneyLoadGenerator {
+
+    private final double rate;
+    private final boolean poisson;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int workers;
+    private final int poolSize;
+    private final int intervalSeconds;
+    private final long replicationTimeoutMs;
+    private final Path reportDirectory;
+
+    private JourneyLoadGenerator(HarnessOptions options) {
+        rate = options.decimal("rate", 20);
+        poisson = !"uniform".equals(options.string("arrival", "poisson"));
+        durationSeconds = options.integer("durationSeconds", 60);
+        warmupSeconds = options.integer("warmupSeconds", 10);
+        workers = options.integer("workers", 200);
+        poolSize = options.integer("poolSize", 20);
+        intervalSeconds = options.integer("intervalSeconds", 5);
+        replicationTimeoutMs = options.integer("replicationTimeoutMs", 10_000);
+        reportDirectory = Path.of(options.string("report", "target/journey-report"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new JourneyLoadGenerator(new HarnessOptions(args)).run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        Deque<ConfigurableApplicationContext> contexts = new ArrayDeque<>();
+        try {
+            UserJourney.Urls urls = startServices(contexts);
+            LatencyReport report = new LatencyReport(reportDirectory);
+            drive(urls, report);
+
+            Map<String, Object> parameters = new LinkedHashMap<>();
+            parameters.put("rate", rate);
+            parameters.put("arrival", poisson ? "poisson" : "uniform");
+            parameters.put("durationSeconds", durationSeconds);
+            parameters.put("workers", workers);
+            parameters.put("poolSize", poolSize);
+            report.write(parameters, durationSeconds);
+        } finally {
+            while (!contexts.isEmpty()) {
+                contexts.pop().close();
+            }
+        }
+    }
+
+    /**
+     * account-service and transaction-service poll each other's feeds, so their ports
+     * are reserved before either starts.
+     */
+    private UserJourney.Urls startServices(Deque<ConfigurableApplicationContext> contexts) {
+        int accountPort = ServiceLauncher.freePort();
+        int transactionPort = ServiceLauncher.freePort();
+        String accountUrl = "http://localhost:" + accountPort;
+        String transactionUrl = "http://localhost:" + transactionPort;
+
+        long started = System.nanoTime();
+        ConfigurableApplicationContext notification = ServiceLauncher.start(
+                NotificationServiceApplication.class, null, poolSize, List.of());
+        contexts.push(notification);
+        ConfigurableApplicationContext user = ServiceLauncher.start(
+                UserServiceApplication.class, null, poolSize, List.of());
+        contexts.push(user);
+        contexts.push(ServiceLauncher.start(AccountServiceApplication.class, null, poolSize, List.of(
+                "server.port=" + accountPort,
+                "transaction.service.url=" + transactionUrl + "/api/v1/transactions",
+                "transaction.balance.feed.enabled=true",
+                "transaction.balance.feed.poll-interval-ms=1000")));
+        contexts.push(ServiceLauncher.start(TransactionServiceApplication.class, null, poolSize, List.of(
+                "server.port=" + transactionPort,
+                "account.service.url=" + accountUrl + "/api/v1/accounts",
+                "account.status.feed.enabled=true",
+                "account.status.feed.poll-interval-ms=100")));
+        System.out.printf("Started 4 services in %.1fs%n", (System.nanoTime() - started) / 1e9);
+
+        return new UserJourney.Urls(
+                "http://localhost:" + ServiceLauncher.port(user),
+                accountUrl,
+                transactionUrl,
+                "http://localhost:" + ServiceLauncher.port(notification));
+    }
+
+    private void drive(UserJourney.Urls urls, LatencyReport report) throws InterruptedException {
+        ServiceClient client = new ServiceClient(new ObjectMapper(), report);
+        UserJourney.Peers peers = new UserJourney.Peers(10_000);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor();
+
+        long start = System.nanoTime();
+        long warmupEnd = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ticker.scheduleAtFixedRate(() -> report.interval(System.nanoTime() >= warmupEnd),
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+
+        double meanGapNanos = 1e9 / rate;
+        double next = start;
+        boolean measuring = warmupSeconds == 0;
+        while (next < end) {
+            long intended = (long) next;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && intended >= warmupEnd) {
+                report.interval(false);
+                report.reset();
+                measuring = true;
+            }
+            executor.execute(new UserJourney(client, report, urls, peers, replicationTimeoutMs, intended));
+            next += poisson ? -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos : meanGapNanos;
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+            System.err.printf("%d journeys still queued after the run; latencies under-report saturation%n",
+                    executor.getQueue().size());
+            executor.shutdownNow();
+        }
+        ticker.shutdown();
+        ticker.awaitTermination(intervalSeconds, TimeUnit.SECONDS);
+        report.interval(true);
+    }
+}
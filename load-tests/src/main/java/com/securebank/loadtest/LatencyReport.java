@@ -0,0 +1,173 @@
+package com.securebank.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency and outcome bookkeeping for {@link JourneyLoadGenerator}.
+ * <p>
+ * Each endpoint records into its own HdrHistogram {@link Recorder}. Every reporting
+ * interval the recorders are swapped, the interval histograms are appended to one
+ * {@code .hlog} file per endpoint and folded into the run totals; at the end a
+ * percentile distribution is written per endpoint, per service and for whole journeys.
+ */
+final class LatencyReport {
+
+    static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static final String JOURNEY = "journey";
+    private static final String REPLICATION = "replication";
+
+    private final Path directory;
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Histogram> totals = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, HistogramLogWriter> logs = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Map<Integer, LongAdder>> statuses = new EnumMap<>(Endpoint.class);
+    private final Recorder journeyRecorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Histogram journeyTotal = new Histogram(MAX_LATENCY_NANOS, 3);
+    private final Recorder replicationRecorder = new Recorder(MAX_LATENCY_NANOS, 3);
+    private final Histogram replicationTotal = new Histogram(MAX_LATENCY_NANOS, 3);
+    private final LongAdder journeysCompleted = new LongAdder();
+    private final LongAdder journeysFailed = new LongAdder();
+    private final long startedAt = System.currentTimeMillis();
+    private long lastIntervalAt = startedAt;
+
+    LatencyReport(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(MAX_LATENCY_NANOS, 3));
+            totals.put(endpoint, new Histogram(MAX_LATENCY_NANOS, 3));
+            statuses.put(endpoint, new ConcurrentHashMap<>());
+            HistogramLogWriter writer = new HistogramLogWriter(directory.resolve(fileName(endpoint) + ".hlog").toFile());
+            writer.outputLogFormatVersion();
+            writer.outputStartTime(startedAt);
+            writer.setBaseTime(startedAt);
+            writer.outputLegend();
+            logs.put(endpoint, writer);
+        }
+    }
+
+    void record(Endpoint endpoint, long nanos, int status) {
+        recorders.get(endpoint).recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+        statuses.get(endpoint).computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /** Records a whole journey, measured from its intended start so queueing delay counts. */
+    void journey(long nanosSinceIntendedStart, boolean completed) {
+        journeyRecorder.recordValue(Math.min(nanosSinceIntendedStart, MAX_LATENCY_NANOS));
+        (completed ? journeysCompleted : journeysFailed).increment();
+    }
+
+    /** Records how long a new account took to become usable in transaction-service. */
+    void replication(long nanos) {
+        replicationRecorder.recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+    }
+
+    /**
+     * Swaps the recorders, logs the interval and prints a one-line summary.
+     *
+     * @param keep whether to fold the interval into the run totals (false during warm-up)
+     */
+    synchronized void interval(boolean keep) {
+        long requests = 0;
+        Histogram intervalAll = new Histogram(MAX_LATENCY_NANOS, 3);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram interval = recorders.get(endpoint).getIntervalHistogram();
+            requests += interval.getTotalCount();
+            intervalAll.add(interval);
+            if (keep) {
+                totals.get(endpoint).add(interval);
+                logs.get(endpoint).outputIntervalHistogram(interval);
+            }
+        }
+        Histogram journeys = journeyRecorder.getIntervalHistogram();
+        Histogram replication = replicationRecorder.getIntervalHistogram();
+        if (keep) {
+            journeyTotal.add(journeys);
+            replicationTotal.add(replication);
+        }
+        long now = System.currentTimeMillis();
+        double seconds = Math.max(1, now - lastIntervalAt) / 1000.0;
+        lastIntervalAt = now;
+        System.out.printf("%s journeys=%d requests=%d (%.0f/s) request p99=%.1fms journey p99=%.1fms%n",
+                keep ? "[run]   " : "[warmup]", journeys.getTotalCount(), requests, requests / seconds,
+                intervalAll.getValueAtPercentile(99) / 1e6, journeys.getValueAtPercentile(99) / 1e6);
+    }
+
+    /** Discards everything recorded so far except the log headers. */
+    synchronized void reset() {
+        journeysCompleted.reset();
+        journeysFailed.reset();
+        statuses.values().forEach(Map::clear);
+    }
+
+    synchronized void write(Map<String, Object> parameters, double seconds) throws IOException {
+        logs.values().forEach(HistogramLogWriter::close);
+
+        Map<String, Histogram> services = new TreeMap<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            services.computeIfAbsent(endpoint.service(), s -> new Histogram(MAX_LATENCY_NANOS, 3))
+                    .add(totals.get(endpoint));
+            writeDistribution(fileName(endpoint), totals.get(endpoint));
+        }
+        services.forEach(this::writeDistribution);
+        writeDistribution(JOURNEY, journeyTotal);
+        writeDistribution(REPLICATION, replicationTotal);
+
+        try (PrintStream out = new PrintStream(directory.resolve("summary.txt").toFile())) {
+            for (PrintStream target : new PrintStream[] {System.out, out}) {
+                target.println();
+                parameters.forEach((key, value) -> target.printf("%s=%s%n", key, value));
+                target.printf("journeys: %d completed, %d failed, %.1f/s over %.0fs%n",
+                        journeysCompleted.sum(), journeysFailed.sum(), journeysCompleted.sum() / seconds, seconds);
+                target.printf("%n%-52s %8s %9s %9s %9s %9s %9s  %s%n",
+                        "endpoint", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "status codes");
+                for (Endpoint endpoint : Endpoint.values()) {
+                    row(target, endpoint.route(), totals.get(endpoint), seconds, statusCounts(endpoint));
+                }
+                target.println();
+                services.forEach((service, histogram) -> row(target, service, histogram, seconds, ""));
+                row(target, JOURNEY, journeyTotal, seconds, "");
+                row(target, REPLICATION, replicationTotal, seconds, "");
+            }
+        }
+        System.out.println("Reports written to " + directory.toAbsolutePath());
+    }
+
+    private void writeDistribution(String name, Histogram histogram) {
+        try (PrintStream out = new PrintStream(directory.resolve(name + ".hgrm").toFile())) {
+            histogram.outputPercentileDistribution(out, 1e6);
+        } catch (FileNotFoundException ex) {
+            throw new IllegalStateException("Cannot write report " + name, ex);
+        }
+    }
+
+    private Map<Integer, Long> statusCounts(Endpoint endpoint) {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.get(endpoint).forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    private static void row(PrintStream out, String name, Histogram h, double seconds, Object statuses) {
+        out.printf("%-52s %8d %9.1f %9.2f %9.2f %9.2f %9.2f  %s%n", name, h.getTotalCount(),
+                h.getTotalCount() / seconds, h.getValueAtPercentile(50) / 1e6, h.getValueAtPercentile(99) / 1e6,
+                h.getValueAtPercentile(99.9) / 1e6, h.getMaxValue() / 1e6, statuses);
+    }
+
+    private static String fileName(Endpoint endpoint) {
+        return endpoint.name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,45 @@
+package com.securebank.loadtest;
+
+import com.securebank.transaction.repository.AccountRepository;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Wraps transaction-service's {@link AccountRepository} so every {@code findByIdWithLock}
+ * call adds its duration to the calling thread's lock-wait total.
+ */
+final class LockWaitRecorder implements BeanPostProcessor {
+
+    private static final ThreadLocal<long[]> WAIT_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    /** Returns and resets the lock-wait time accumulated by the current thread. */
+    static long drainCurrentThread() {
+        long[] total = WAIT_NANOS.get();
+        long nanos = total[0];
+        total[0] = 0;
+        return nanos;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof AccountRepository)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(bean);
+        proxyFactory.setInterfaces(AccountRepository.class);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            if (!"findByIdWithLock".equals(invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                WAIT_NANOS.get()[0] += System.nanoTime() - start;
+            }
+        });
+        return proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,91 @@
+package com.securebank.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Minimal JSON-over-HTTP client that times every call into a {@link LatencyReport}
+ * and unwraps the {@code data} field of the services' {@code ApiResponse} envelope.
+ */
+final class ServiceClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LatencyReport report;
+
+    ServiceClient(ObjectMapper objectMapper, LatencyReport report) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+        this.objectMapper = objectMapper;
+        this.report = report;
+    }
+
+    JsonNode post(Endpoint endpoint, String url, Object body, String token) {
+        try {
+            return call(endpoint, request(url, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build());
+        } catch (IOException ex) {
+            throw new CallFailedException(endpoint, -1, ex.getMessage());
+        }
+    }
+
+    JsonNode get(Endpoint endpoint, String url, String token) {
+        return call(endpoint, request(url, token).GET().build());
+    }
+
+    private HttpRequest.Builder request(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private JsonNode call(Endpoint endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException ex) {
+            report.record(endpoint, System.nanoTime() - start, -1);
+            throw new CallFailedException(endpoint, -1, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CallFailedException(endpoint, -1, "interrupted");
+        }
+        report.record(endpoint, System.nanoTime() - start, response.statusCode());
+
+        if (response.statusCode() >= 300) {
+            throw new CallFailedException(endpoint, response.statusCode(), new String(response.body()));
+        }
+        try {
+            return objectMapper.readTree(response.body()).path("data");
+        } catch (IOException ex) {
+            throw new CallFailedException(endpoint, response.statusCode(), "unreadable body: " + ex.getMessage());
+        }
+    }
+
+    static final class CallFailedException extends RuntimeException {
+
+        private final int status;
+
+        CallFailedException(Endpoint endpoint, int status, String message) {
+            super(endpoint + " failed with " + status + ": " + message);
+            this.status = status;
+        }
+
+        int status() {
+            return status;
+        }
+    }
+}
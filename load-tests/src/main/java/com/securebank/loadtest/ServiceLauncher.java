@@ -0,0 +1,84 @@
+package com.securebank.loadtest;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots a service in-process on a random port. Without a JDBC URL the service gets a
+ * private in-memory H2 database in PostgreSQL mode; otherwise it connects to the given
+ * database (for example a local PostgreSQL) and recreates its schema. The schema comes
+ * from Hibernate's {@code create-drop} rather than the services' Flyway migrations, so
+ * each run starts from empty tables; {@code load-tests-schema.sql} adds the sequence
+ * the migrations would have created.
+ * <p>
+ * Every service jar ships its own {@code application.properties} at the same classpath
+ * location, so only one of them would be visible here. The launcher therefore ignores
+ * them and passes every property the services need explicitly.
+ */
+final class ServiceLauncher {
+
+    static final String JWT_SECRET = "LoadTestSecretKeyForJwtTokensThatIsLongEnoughForHMACSHA256";
+
+    private ServiceLauncher() {}
+
+    static ConfigurableApplicationContext start(Class<?> application, String jdbcUrl, int poolSize,
+                                                List<String> extraProperties,
+                                                ApplicationContextInitializer<?>... initializers) {
+        List<String> properties = new ArrayList<>();
+        properties.add("server.port=0");
+        properties.add("spring.config.name=load-tests");
+        properties.add("spring.main.banner-mode=off");
+        if (jdbcUrl == null || jdbcUrl.isBlank()) {
+            properties.add("spring.datasource.url=jdbc:h2:mem:load-" + UUID.randomUUID()
+                    + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+            properties.add("spring.datasource.driver-class-name=org.h2.Driver");
+            properties.add("spring.datasource.username=sa");
+            properties.add("spring.datasource.password=");
+            properties.add("spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+            properties.add("account.number.next-block-sql=SELECT NEXT VALUE FOR account_number_block_seq");
+            properties.add("account.number.block-size-sql=SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES "
+                    + "WHERE SEQUENCE_NAME = 'ACCOUNT_NUMBER_BLOCK_SEQ'");
+        } else {
+            properties.add("spring.datasource.url=" + jdbcUrl);
+        }
+        properties.add("spring.datasource.hikari.maximum-pool-size=" + poolSize);
+        properties.add("spring.jpa.hibernate.ddl-auto=create-drop");
+        properties.add("spring.flyway.enabled=false");
+        properties.add("spring.sql.init.mode=always");
+        properties.add("spring.sql.init.schema-locations=classpath:load-tests-schema.sql");
+        properties.add("logging.level.com.securebank=WARN");
+        properties.add("jwt.secret=" + JWT_SECRET);
+        properties.add("account.status.feed.enabled=false");
+        properties.add("transaction.balance.feed.enabled=false");
+        properties.addAll(extraProperties);
+
+        return new SpringApplicationBuilder(application)
+                .initializers(initializers)
+                .properties(properties.toArray(new String[0]))
+                .run();
+    }
+
+    /**
+     * Reserves a free port up front, for services that need each other's URLs before
+     * either of them has started.
+     */
+    static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+    }
+}
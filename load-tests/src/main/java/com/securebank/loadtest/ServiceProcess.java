@@ -0,0 +1,124 @@
+package com.securebank.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A service started as its own OS process from build output, with stdout and stderr
+ * going to a log file. Used by the harnesses that measure startup, where an in-process
+ * launch would share the harness JVM's warm classes and JIT.
+ */
+final class ServiceProcess implements AutoCloseable {
+
+    private static final Pattern SPRING_STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private final Process process;
+    private final long startNanos;
+    private final int port;
+    private final Path log;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(500))
+            .build();
+
+    private ServiceProcess(Process process, long startNanos, int port, Path log) {
+        this.process = process;
+        this.startNanos = startNanos;
+        this.port = port;
+        this.log = log;
+    }
+
+    /**
+     * Launches {@code command} with {@code --server.port} set to a free port appended.
+     */
+    static ServiceProcess start(List<String> command, Path log) throws IOException {
+        int port = ServiceLauncher.freePort();
+        List<String> withPort = new ArrayList<>(command);
+        withPort.add("--server.port=" + port);
+        Files.createDirectories(log.toAbsolutePath().getParent());
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(withPort)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new ServiceProcess(process, start, port, log);
+    }
+
+    static void requireFile(Path path, String buildCommand) {
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalStateException(path + " not found; build it with " + buildCommand);
+        }
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    /**
+     * Polls {@code path} until it returns 200 and returns the nanoseconds since launch.
+     */
+    long awaitOk(String path, int timeoutSeconds) throws Exception {
+        long deadline = startNanos + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + path))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Process exited with status " + process.exitValue()
+                        + " before " + path + " returned 200; see " + log);
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime() - startNanos;
+                }
+            } catch (IOException notListeningYet) {
+                // connection refused until Tomcat binds
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException(path + " did not return 200 within " + timeoutSeconds + "s; see " + log);
+    }
+
+    /**
+     * Spring's own "Started ... in" figure in milliseconds, or -1 if not logged yet.
+     */
+    long springStartedMillis() throws IOException {
+        Matcher matcher = SPRING_STARTED.matcher(Files.readString(log));
+        return matcher.find() ? Math.round(Double.parseDouble(matcher.group(1)) * 1000) : -1;
+    }
+
+    /**
+     * A {@code kB} line from {@code /proc/<pid>/status}, or -1 where procfs is unavailable.
+     */
+    long procStatusKb(String field) throws IOException {
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        if (Files.isReadable(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(15, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+}
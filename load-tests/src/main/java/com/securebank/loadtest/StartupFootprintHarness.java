@@ -0,0 +1,165 @@
+package com.securebank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares startup time and memory of the JVM and native builds of each service.
+ * <p>
+ * Each service is launched as a separate process from its build output:
+ * {@code <service>/target/<service>-<version>-exec.jar} for {@code jvm} and
+ * {@code <service>/target/<service>} (built with {@code -Pnative}) for {@code native}.
+ * The harness polls {@code /actuator/health} until it returns 200. Time to ready runs
+ * from process launch to that first 200, so it includes JVM boot, which Spring's own
+ * "Started ... in" figure leaves out; both are reported. RSS is read from procfs once
+ * the process has been idle for {@code settleMillis} after ready, along with the peak
+ * (VmHWM) reached during startup.
+ * <p>
+ * The services connect to the databases in their {@code application.properties};
+ * {@code appArgs} ({@code ;}-separated) passes overrides such as another JDBC URL.
+ * <p>
+ * Options ({@code key=value}): {@code services}, {@code modes} (default
+ * {@code jvm,native}), {@code runs}, {@code settleMillis}, {@code timeoutSeconds},
+ * {@code root}, {@code version}, {@code javaOpts}, {@code appArgs}, {@code report}.
+ */
+public final class StartupFootprintHarness {
+
+    private final List<String> services;
+    private final List<String> modes;
+    private final int runs;
+    private final int settleMillis;
+    private final int timeoutSeconds;
+    private final Path root;
+    private final String version;
+    private final List<String> javaOpts;
+    private final List<String> appArgs;
+    private final Path report;
+
+    private StartupFootprintHarness(HarnessOptions options) {
+        services = List.of(options.string("services",
+                "user-service,account-service,transaction-service,notification-service").split(","));
+        modes = List.of(options.string("modes", "jvm,native").split(","));
+        runs = options.integer("runs", 5);
+        settleMillis = options.integer("settleMillis", 2000);
+        timeoutSeconds = options.integer("timeoutSeconds", 60);
+        root = Path.of(options.string("root", "."));
+        version = options.string("version", "1.0.0");
+        javaOpts = split(options.string("javaOpts", ""), " ");
+        appArgs = split(options.string("appArgs", ""), ";");
+        report = Path.of(options.string("report", "target/startup-footprint.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new StartupFootprintHarness(new HarnessOptions(args)).run();
+    }
+
+    private void run() throws Exception {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("runs", runs);
+        System.out.printf("%-22s %-7s %12s %12s %12s %12s %12s%n",
+                "service", "mode", "ready ms", "min ms", "spring s", "RSS MB", "peak RSS MB");
+        for (String service : services) {
+            Map<String, Object> byMode = new LinkedHashMap<>();
+            for (String mode : modes) {
+                byMode.put(mode.trim(), measure(service.trim(), mode.trim()));
+            }
+            json.put(service.trim(), byMode);
+        }
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), json);
+        System.out.println("Report written to " + report);
+    }
+
+    private Map<String, Object> measure(String service, String mode) throws Exception {
+        List<String> executable = executable(service, mode);
+        long[] readyMillis = new long[runs];
+        double[] springSeconds = new double[runs];
+        long[] rssKb = new long[runs];
+        long[] peakRssKb = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            Map<String, Long> sample = launch(service, mode, run, executable);
+            readyMillis[run] = sample.get("readyMillis");
+            springSeconds[run] = sample.get("springMillis") / 1000.0;
+            rssKb[run] = sample.get("rssKb");
+            peakRssKb[run] = sample.get("peakRssKb");
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("readyMillisMedian", median(readyMillis));
+        result.put("readyMillisMin", Arrays.stream(readyMillis).min().orElse(0));
+        result.put("springStartedSecondsMedian", median(springSeconds));
+        result.put("rssMbMedian", median(rssKb) / 1024.0);
+        result.put("peakRssMbMedian", median(peakRssKb) / 1024.0);
+        result.put("readyMillis", readyMillis);
+        System.out.printf("%-22s %-7s %12.0f %12d %12.2f %12.1f %12.1f%n", service, mode,
+                median(readyMillis), Arrays.stream(readyMillis).min().orElse(0), median(springSeconds),
+                median(rssKb) / 1024.0, median(peakRssKb) / 1024.0);
+        return result;
+    }
+
+    private Map<String, Long> launch(String service, String mode, int run, List<String> executable)
+            throws Exception {
+        List<String> command = new ArrayList<>(executable);
+        command.add("--reactive.read.port=0");
+        command.addAll(appArgs);
+
+        Path log = Path.of("target", "startup", service + "-" + mode + "-" + run + ".log");
+        try (ServiceProcess process = ServiceProcess.start(command, log)) {
+            long readyNanos = process.awaitOk("/actuator/health", timeoutSeconds);
+            Thread.sleep(settleMillis);
+
+            Map<String, Long> sample = new LinkedHashMap<>();
+            sample.put("readyMillis", TimeUnit.NANOSECONDS.toMillis(readyNanos));
+            sample.put("springMillis", process.springStartedMillis());
+            sample.put("rssKb", process.procStatusKb("VmRSS:"));
+            sample.put("peakRssKb", process.procStatusKb("VmHWM:"));
+            return sample;
+        }
+    }
+
+    private List<String> executable(String service, String mode) {
+        Path target = root.resolve(service).resolve("target");
+        List<String> command = new ArrayList<>();
+        switch (mode) {
+            case "jvm" -> {
+                Path jar = target.resolve(service + "-" + version + "-exec.jar");
+                ServiceProcess.requireFile(jar, "./mvnw -DskipTests package");
+                command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+                command.addAll(javaOpts);
+                command.add("-jar");
+                command.add(jar.toString());
+            }
+            case "native" -> {
+                Path binary = target.resolve(service);
+                ServiceProcess.requireFile(binary, "./mvnw -Pnative -DskipTests package");
+                command.add(binary.toString());
+            }
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        }
+        return command;
+    }
+
+    private static List<String> split(String value, String separator) {
+        return value.isBlank() ? List.of() : List.of(value.trim().split(separator));
+    }
+
+    private static double median(long[] values) {
+        return median(Arrays.stream(values).asDoubleStream().toArray());
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+}
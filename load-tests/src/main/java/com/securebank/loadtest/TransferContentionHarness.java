@@ -0,0 +1,313 @@
+package com.securebank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.securebank.transaction.TransactionServiceApplication;
+import com.securebank.transaction.dto.DepositRequest;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.dto.WithdrawRequest;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.service.TransactionService;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives concurrent deposits, withdrawals and transfers against an in-process
+ * transaction-service and reports throughput, latency percentiles, lock-acquire time,
+ * deadlock / serialization-failure counts and a final balance-conservation check.
+ * <p>
+ * Options ({@code key=value}): {@code threads}, {@code durationSeconds},
+ * {@code warmupSeconds}, {@code accounts}, {@code zipfExponent} (0 = uniform),
+ * {@code depositPct}, {@code withdrawPct} (remainder are transfers),
+ * {@code initialBalance}, {@code jdbcUrl} (default embedded H2), {@code report}.
+ */
+public final class TransferContentionHarness {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private enum Operation { DEPOSIT, WITHDRAW, TRANSFER }
+
+    private final int threads;
+    private final int durationSeconds;
+    private final int warmupSeconds;
+    private final int accounts;
+    private final double zipfExponent;
+    private final int depositPct;
+    private final int withdrawPct;
+    private final BigDecimal initialBalance;
+    private final String jdbcUrl;
+    private final Path report;
+
+    private TransactionService transactionService;
+    private UUID[] accountIds;
+    private ZipfSampler sampler;
+
+    private final AtomicLong netInflowCents = new AtomicLong();
+    private final Map<FailureKind, LongAdder> failures = new EnumMap<>(FailureKind.class);
+
+    private TransferContentionHarness(HarnessOptions options) {
+        threads = options.integer("threads", 32);
+        durationSeconds = options.integer("durationSeconds", 30);
+        warmupSeconds = options.integer("warmupSeconds", 5);
+        accounts = options.integer("accounts", 1000);
+        zipfExponent = options.decimal("zipfExponent", 1.0);
+        depositPct = options.integer("depositPct", 20);
+        withdrawPct = options.integer("withdrawPct", 20);
+        initialBalance = new BigDecimal(options.string("initialBalance", "100000.00"));
+        jdbcUrl = options.string("jdbcUrl", "");
+        report = Path.of(options.string("report", "target/contention-report.json"));
+        for (FailureKind kind : FailureKind.values()) {
+            failures.put(kind, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (!new TransferContentionHarness(new HarnessOptions(args)).run()) {
+            System.exit(2);
+        }
+    }
+
+    /**
+     * @return whether the total balance was conserved and no account went negative
+     */
+    private boolean run() throws Exception {
+        ConfigurableApplicationContext context = ServiceLauncher.start(
+                TransactionServiceApplication.class, jdbcUrl, threads + 2, List.of(),
+                (ConfigurableApplicationContext ctx) -> ctx.getBeanFactory().addBeanPostProcessor(new LockWaitRecorder()));
+        try {
+            transactionService = context.getBean(TransactionService.class);
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            seed(context.getBean(AccountRepository.class));
+            sampler = new ZipfSampler(accounts, zipfExponent);
+
+            BigDecimal before = totalBalance(jdbcTemplate);
+            System.out.printf("Seeded %d accounts, total %s; top 1%% of accounts take %.1f%% of picks%n",
+                    accounts, before, sampler.topShare(Math.max(1, accounts / 100)) * 100);
+
+            if (warmupSeconds > 0) {
+                drive(warmupSeconds, false);
+            }
+            netInflowCents.set(0);
+            failures.values().forEach(LongAdder::reset);
+            BigDecimal afterWarmup = totalBalance(jdbcTemplate);
+
+            Result result = drive(durationSeconds, true);
+
+            BigDecimal expected = afterWarmup.add(BigDecimal.valueOf(netInflowCents.get(), 2));
+            BigDecimal actual = totalBalance(jdbcTemplate);
+            Long negative = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM accounts WHERE balance < 0", Long.class);
+            print(result, expected, actual, negative == null ? 0 : negative);
+            writeReport(result, expected, actual, negative == null ? 0 : negative);
+
+            return expected.compareTo(actual) == 0 && (negative == null || negative == 0);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void seed(AccountRepository accountRepository) {
+        accountIds = new UUID[accounts];
+        List<Account> batch = new ArrayList<>(1000);
+        for (int i = 0; i < accounts; i++) {
+            Account account = new Account();
+            account.setId(UUID.randomUUID());
+            account.setAccountNumber(String.format("SB%010d", i));
+            account.setUserId(UUID.randomUUID());
+            account.setBalance(initialBalance);
+            accountIds[i] = account.getId();
+            batch.add(account);
+            if (batch.size() == 1000) {
+                accountRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+        accountRepository.saveAll(batch);
+    }
+
+    private Result drive(int seconds, boolean record) throws InterruptedException {
+        Result result = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(threads);
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Worker worker = new Worker(deadline, done);
+            workers.add(worker);
+            Thread thread = new Thread(worker, "contention-" + i);
+            thread.start();
+        }
+        long started = System.nanoTime();
+        done.await();
+        result.elapsedNanos = System.nanoTime() - started;
+        if (record) {
+            for (Worker worker : workers) {
+                worker.latencies.forEach((op, histogram) -> result.latencies.get(op).add(histogram));
+                result.lockWait.add(worker.lockWait);
+                result.completed += worker.completed;
+            }
+        }
+        return result;
+    }
+
+    private final class Worker implements Runnable {
+        private final long deadline;
+        private final CountDownLatch done;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Histogram lockWait = new Histogram(MAX_LATENCY_NANOS, 3);
+        private long completed;
+
+        private Worker(long deadline, CountDownLatch done) {
+            this.deadline = deadline;
+            this.done = done;
+            for (Operation op : Operation.values()) {
+                latencies.put(op, new Histogram(MAX_LATENCY_NANOS, 3));
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (System.nanoTime() < deadline) {
+                    Operation op = pickOperation();
+                    long start = System.nanoTime();
+                    boolean ok = execute(op);
+                    long elapsed = System.nanoTime() - start;
+                    latencies.get(op).recordValue(Math.min(elapsed, MAX_LATENCY_NANOS));
+                    lockWait.recordValue(Math.min(LockWaitRecorder.drainCurrentThread(), MAX_LATENCY_NANOS));
+                    if (ok) {
+                        completed++;
+                    }
+                }
+            } finally {
+                done.countDown();
+            }
+        }
+    }
+
+    private Operation pickOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < depositPct) {
+            return Operation.DEPOSIT;
+        }
+        return roll < depositPct + withdrawPct ? Operation.WITHDRAW : Operation.TRANSFER;
+    }
+
+    private boolean execute(Operation op) {
+        long cents = 100 + ThreadLocalRandom.current().nextLong(10_000);
+        BigDecimal amount = BigDecimal.valueOf(cents, 2);
+        try {
+            switch (op) {
+                case DEPOSIT -> {
+                    transactionService.deposit(new DepositRequest(accountIds[sampler.next()], amount, "load"));
+                    netInflowCents.addAndGet(cents);
+                }
+                case WITHDRAW -> {
+                    transactionService.withdraw(new WithdrawRequest(accountIds[sampler.next()], amount, "load"));
+                    netInflowCents.addAndGet(-cents);
+                }
+                case TRANSFER -> {
+                    int from = sampler.next();
+                    int to = sampler.next();
+                    while (to == from) {
+                        to = sampler.next();
+                    }
+                    transactionService.transfer(
+                            new TransferRequest(accountIds[from], accountIds[to], amount, "load"));
+                }
+            }
+            return true;
+        } catch (RuntimeException ex) {
+            failures.get(FailureKind.classify(ex)).increment();
+            return false;
+        }
+    }
+
+    private static BigDecimal totalBalance(JdbcTemplate jdbcTemplate) {
+        BigDecimal total = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(balance), 0) FROM accounts", BigDecimal.class);
+        return total == null ? BigDecimal.ZERO : total.setScale(2);
+    }
+
+    private void print(Result result, BigDecimal expected, BigDecimal actual, long negative) {
+        double seconds = result.elapsedNanos / 1e9;
+        System.out.printf("%nThreads: %d, accounts: %d, zipf: %.2f, duration: %.1fs%n",
+                threads, accounts, zipfExponent, seconds);
+        System.out.printf("Throughput: %.1f committed ops/s%n", result.completed / seconds);
+        System.out.printf("%-10s %10s %10s %10s %10s %10s%n", "op", "count", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        result.latencies.forEach((op, h) -> printRow(op.name(), h));
+        printRow("LOCK_WAIT", result.lockWait);
+        failures.forEach((kind, count) -> System.out.printf("%-22s %d%n", kind, count.sum()));
+        System.out.printf("Balance conservation: expected %s, actual %s -> %s; negative balances: %d%n",
+                expected, actual, expected.compareTo(actual) == 0 ? "OK" : "VIOLATED", negative);
+    }
+
+    private static void printRow(String name, Histogram h) {
+        System.out.printf("%-10s %10d %10.2f %10.2f %10.2f %10.2f%n", name, h.getTotalCount(),
+                h.getValueAtPercentile(50) / 1e6, h.getValueAtPercentile(99) / 1e6,
+                h.getValueAtPercentile(99.9) / 1e6, h.getMaxValue() / 1e6);
+    }
+
+    private void writeReport(Result result, BigDecimal expected, BigDecimal actual, long negative) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("threads", threads);
+        json.put("accounts", accounts);
+        json.put("zipfExponent", zipfExponent);
+        json.put("durationSeconds", result.elapsedNanos / 1e9);
+        json.put("throughputOpsPerSecond", result.completed / (result.elapsedNanos / 1e9));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        result.latencies.forEach((op, h) -> latency.put(op.name(), percentiles(h)));
+        latency.put("LOCK_WAIT", percentiles(result.lockWait));
+        json.put("latencyMillis", latency);
+        Map<String, Long> failureCounts = new LinkedHashMap<>();
+        failures.forEach((kind, count) -> failureCounts.put(kind.name(), count.sum()));
+        json.put("failures", failureCounts);
+        json.put("expectedTotalBalance", expected);
+        json.put("actualTotalBalance", actual);
+        json.put("negativeBalances", negative);
+        json.put("balanceConserved", expected.compareTo(actual) == 0);
+
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), json);
+        System.out.println("Report written to " + report);
+    }
+
+    private static Map<String, Object> percentiles(Histogram h) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("count", h.getTotalCount());
+        values.put("p50", h.getValueAtPercentile(50) / 1e6);
+        values.put("p99", h.getValueAtPercentile(99) / 1e6);
+        values.put("p999", h.getValueAtPercentile(99.9) / 1e6);
+        values.put("max", h.getMaxValue() / 1e6);
+        return values;
+    }
+
+    private static final class Result {
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Histogram lockWait = new Histogram(MAX_LATENCY_NANOS, 3);
+        private long elapsedNanos;
+        private long completed;
+
+        private Result() {
+            for (Operation op : Operation.values()) {
+                latencies.put(op, new Histogram(MAX_LATENCY_NANOS, 3));
+            }
+        }
+    }
+}
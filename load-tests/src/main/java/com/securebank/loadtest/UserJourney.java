@@ -0,0 +1,153 @@
+package com.securebank.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * One scripted customer: register, log in, open an account, deposit, transfer to a
+ * previous journey's account, read history, write and read the audit trail.
+ * <p>
+ * A new account reaches transaction-service through the account status feed, so the
+ * first deposit is retried on 404 until it lands; that wait is reported separately as
+ * replication latency rather than as deposit latency.
+ */
+final class UserJourney implements Runnable {
+
+    private static final String PASSWORD = "LoadTest#2024";
+
+    private final ServiceClient client;
+    private final LatencyReport report;
+    private final Urls urls;
+    private final Peers peers;
+    private final long replicationTimeoutNanos;
+    private final long intendedStart;
+
+    UserJourney(ServiceClient client, LatencyReport report, Urls urls, Peers peers,
+                long replicationTimeoutMs, long intendedStart) {
+        this.client = client;
+        this.report = report;
+        this.urls = urls;
+        this.peers = peers;
+        this.replicationTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(replicationTimeoutMs);
+        this.intendedStart = intendedStart;
+    }
+
+    @Override
+    public void run() {
+        boolean completed = false;
+        try {
+            execute();
+            completed = true;
+        } catch (ServiceClient.CallFailedException ex) {
+            if (ThreadLocalRandom.current().nextInt(100) == 0) {
+                System.err.println(ex.getMessage());
+            }
+        } finally {
+            report.journey(System.nanoTime() - intendedStart, completed);
+        }
+    }
+
+    private void execute() {
+        String email = "load-" + UUID.randomUUID() + "@securebank.test";
+        client.post(Endpoint.REGISTER, urls.user + "/api/v1/auth/register",
+                Map.of("email", email, "password", PASSWORD, "fullName", "Load Test"), null);
+
+        JsonNode auth = client.post(Endpoint.LOGIN, urls.user + "/api/v1/auth/login",
+                Map.of("email", email, "password", PASSWORD), null);
+        String token = auth.path("token").asText();
+        String userId = auth.path("user").path("id").asText();
+
+        JsonNode account = client.post(Endpoint.CREATE_ACCOUNT, urls.account + "/api/v1/accounts",
+                Map.of("userId", userId), token);
+        String accountId = account.path("id").asText();
+        long openedAt = System.nanoTime();
+
+        depositOnceReplicated(accountId, token, openedAt);
+
+        String peer = peers.pick();
+        if (peer != null) {
+            client.post(Endpoint.TRANSFER, urls.transaction + "/api/v1/transactions/transfer",
+                    Map.of("fromAccountId", accountId, "toAccountId", peer,
+                            "amount", amount(1, 50), "description", "load journey"), token);
+        }
+        peers.add(accountId);
+
+        client.get(Endpoint.HISTORY, urls.transaction + "/api/v1/transactions/account/" + accountId, token);
+
+        client.post(Endpoint.AUDIT_LOG, urls.notification + "/api/v1/notifications/log",
+                Map.of("eventType", "LOAD_JOURNEY", "accountId", accountId, "userId", userId,
+                        "message", "Load journey completed"), token);
+        client.get(Endpoint.AUDIT_READ, urls.notification + "/api/v1/notifications/account/" + accountId, token);
+    }
+
+    private void depositOnceReplicated(String accountId, String token, long openedAt) {
+        Map<String, Object> body = Map.of("accountId", accountId, "amount", amount(100, 500),
+                "description", "load journey");
+        long backoffMs = 20;
+        while (true) {
+            try {
+                client.post(Endpoint.DEPOSIT, urls.transaction + "/api/v1/transactions/deposit", body, token);
+                report.replication(System.nanoTime() - openedAt);
+                return;
+            } catch (ServiceClient.CallFailedException ex) {
+                if (ex.status() != 404 || System.nanoTime() - openedAt > replicationTimeoutNanos) {
+                    throw ex;
+                }
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServiceClient.CallFailedException(Endpoint.DEPOSIT, -1, "interrupted");
+            }
+            backoffMs = Math.min(backoffMs * 2, 250);
+        }
+    }
+
+    private static BigDecimal amount(int min, int max) {
+        return BigDecimal.valueOf(ThreadLocalRandom.current().nextLong(min * 100L, max * 100L), 2);
+    }
+
+    /** Base URLs of the four in-process services. */
+    static final class Urls {
+
+        private final String user;
+        private final String account;
+        private final String transaction;
+        private final String notification;
+
+        Urls(String user, String account, String transaction, String notification) {
+            this.user = user;
+            this.account = account;
+            this.transaction = transaction;
+            this.notification = notification;
+        }
+    }
+
+    /** Fixed-size ring of funded accounts that later journeys transfer to. */
+    static final class Peers {
+
+        private final AtomicReferenceArray<String> ring;
+        private final AtomicLong added = new AtomicLong();
+
+        Peers(int size) {
+            this.ring = new AtomicReferenceArray<>(size);
+        }
+
+        void add(String accountId) {
+            ring.set((int) (added.getAndIncrement() % ring.length()), accountId);
+        }
+
+        String pick() {
+            long count = Math.min(added.get(), ring.length());
+            return count == 0 ? null : ring.get(ThreadLocalRandom.current().nextInt((int) count));
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package com.securebank.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.securebank.common.security.JwtUtil;
+import com.securebank.transaction.TransactionServiceApplication;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.repository.AccountRepository;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compares transaction-service on Tomcat's platform-thread pool with
+ * {@code spring.threads.virtual.enabled=true} under blocking load.
+ * <p>
+ * For each concurrency level the harness holds a row lock on one account from its own
+ * connection, fires that many deposits to the account at once, and waits
+ * {@code holdMillis}. Every request that reaches the controller then blocks either on
+ * the row lock or waiting for a pooled connection. While they are blocked it samples
+ * how many requests are inside the servlet container and the process RSS. It then
+ * releases the lock and collects the outcomes.
+ * <p>
+ * The level is sustained when every deposit succeeds. Memory per in-flight request is
+ * the RSS growth over the idle baseline divided by the requests in flight. RSS is used
+ * because platform thread stacks are native memory, while virtual thread stacks live on
+ * the heap.
+ * <p>
+ * Options ({@code key=value}): {@code modes} (default {@code platform,virtual}),
+ * {@code levels}, {@code holdMillis}, {@code poolSize}, {@code tomcatThreads},
+ * {@code timeoutSeconds}, {@code jdbcUrl}, {@code report}. For clean memory numbers
+ * run one mode per process.
+ */
+public final class VirtualThreadCapacityHarness {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final List<String> modes;
+    private final int[] levels;
+    private final int holdMillis;
+    private final int poolSize;
+    private final int tomcatThreads;
+    private final int timeoutSeconds;
+    private final String jdbcUrl;
+    private final Path report;
+
+    private VirtualThreadCapacityHarness(HarnessOptions options) {
+        modes = List.of(options.string("modes", "platform,virtual").split(","));
+        levels = Arrays.stream(options.string("levels", "100,200,400,800,1600,3200").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        holdMillis = options.integer("holdMillis", 2000);
+        poolSize = options.integer("poolSize", 20);
+        tomcatThreads = options.integer("tomcatThreads", 200);
+        timeoutSeconds = options.integer("timeoutSeconds", 30);
+        jdbcUrl = options.string("jdbcUrl", "");
+        report = Path.of(options.string("report", "target/virtual-thread-capacity.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new VirtualThreadCapacityHarness(new HarnessOptions(args)).run();
+    }
+
+    private void run() throws Exception {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("holdMillis", holdMillis);
+        json.put("poolSize", poolSize);
+        json.put("tomcatThreads", tomcatThreads);
+        for (String mode : modes) {
+            json.put(mode, runMode(mode.trim()));
+        }
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), json);
+        System.out.println("Report written to " + report);
+    }
+
+    private Map<String, Object> runMode(String mode) throws Exception {
+        boolean virtual = switch (mode) {
+            case "platform" -> false;
+            case "virtual" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+        InFlightFilter inFlight = new InFlightFilter();
+        ConfigurableApplicationContext context = ServiceLauncher.start(
+                TransactionServiceApplication.class, jdbcUrl, poolSize,
+                List.of("spring.threads.virtual.enabled=" + virtual,
+                        "server.tomcat.threads.max=" + tomcatThreads,
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=20000",
+                        "spring.datasource.hikari.connection-timeout=" + TimeUnit.SECONDS.toMillis(timeoutSeconds)),
+                (ConfigurableApplicationContext ctx) -> ctx.getBeanFactory().registerSingleton("inFlightFilter", inFlight));
+        try {
+            UUID accountId = seedAccount(context.getBean(AccountRepository.class));
+            String token = context.getBean(JwtUtil.class)
+                    .generateToken(UUID.randomUUID(), "capacity@securebank.com", "CUSTOMER");
+            URI depositUri = URI.create("http://localhost:" + ServiceLauncher.port(context) + "/api/v1/transactions/deposit");
+            DataSource dataSource = context.getBean(DataSource.class);
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(timeoutSeconds))
+                    .build();
+
+            System.out.printf("%n%s threads (pool %d, tomcat max %d)%n", mode, poolSize, tomcatThreads);
+            System.out.printf("%8s %10s %10s %12s %10s %10s %10s %10s%n",
+                    "level", "in-flight", "ok", "failed", "KB/req", "p50 ms", "p99 ms", "max ms");
+            List<Map<String, Object>> rows = new ArrayList<>();
+            int sustained = 0;
+            for (int level : levels) {
+                Map<String, Object> row = runLevel(level, httpClient, depositUri, token, accountId, dataSource, inFlight);
+                rows.add(row);
+                if ((long) row.get("failed") == 0) {
+                    sustained = level;
+                }
+            }
+            System.out.printf("Max sustained concurrency (%s): %d%n", mode, sustained);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("maxSustainedConcurrency", sustained);
+            result.put("levels", rows);
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, Object> runLevel(int level, HttpClient httpClient, URI depositUri, String token,
+                                         UUID accountId, DataSource dataSource, InFlightFilter inFlight)
+            throws Exception {
+        System.gc();
+        long rssBefore = residentSetBytes();
+        long heapBefore = usedHeapBytes();
+
+        Histogram latency = new Histogram(MAX_LATENCY_NANOS, 3);
+        LongAdder ok = new LongAdder();
+        LongAdder failed = new LongAdder();
+        List<CompletableFuture<?>> calls = new ArrayList<>(level);
+        byte[] body = ("{\"accountId\":\"" + accountId + "\",\"amount\":1.00,\"description\":\"capacity\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        inFlight.resetPeak();
+
+        int peakInFlight;
+        long rssDuring;
+        long heapDuring;
+        try (Connection lock = dataSource.getConnection()) {
+            lock.setAutoCommit(false);
+            try (PreparedStatement select = lock.prepareStatement("SELECT id FROM accounts WHERE id = ? FOR UPDATE")) {
+                select.setObject(1, accountId);
+                try (ResultSet ignored = select.executeQuery()) {
+                    // the row lock is held until commit
+                }
+            }
+
+            for (int i = 0; i < level; i++) {
+                HttpRequest request = HttpRequest.newBuilder(depositUri)
+                        .timeout(Duration.ofSeconds(timeoutSeconds))
+                        .header("Authorization", "Bearer " + token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build();
+                long start = System.nanoTime();
+                calls.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            synchronized (latency) {
+                                latency.recordValue(Math.min(System.nanoTime() - start, MAX_LATENCY_NANOS));
+                            }
+                            if (error == null && response.statusCode() / 100 == 2) {
+                                ok.increment();
+                            } else {
+                                failed.increment();
+                            }
+                        }));
+            }
+
+            Thread.sleep(holdMillis);
+            peakInFlight = inFlight.peak();
+            rssDuring = residentSetBytes();
+            heapDuring = usedHeapBytes();
+            lock.commit();
+        }
+
+        try {
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture[0]))
+                    .get(timeoutSeconds + holdMillis / 1000 + 10L, TimeUnit.SECONDS);
+        } catch (Exception ex) {
+            // individual failures are already counted; a global timeout leaves them uncounted
+            failed.add(level - ok.sum() - failed.sum());
+        }
+
+        double kbPerRequest = peakInFlight == 0 ? 0 : (rssDuring - rssBefore) / 1024.0 / peakInFlight;
+        double heapKbPerRequest = peakInFlight == 0 ? 0 : (heapDuring - heapBefore) / 1024.0 / peakInFlight;
+        System.out.printf("%8d %10d %10d %12d %10.1f %10.1f %10.1f %10.1f%n", level, peakInFlight, ok.sum(),
+                failed.sum(), kbPerRequest, latency.getValueAtPercentile(50) / 1e6,
+                latency.getValueAtPercentile(99) / 1e6, latency.getMaxValue() / 1e6);
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("level", level);
+        row.put("peakInFlight", peakInFlight);
+        row.put("ok", ok.sum());
+        row.put("failed", failed.sum());
+        row.put("rssKbPerInFlightRequest", kbPerRequest);
+        row.put("heapKbPerInFlightRequest", heapKbPerRequest);
+        row.put("p50Millis", latency.getValueAtPercentile(50) / 1e6);
+        row.put("p99Millis", latency.getValueAtPercentile(99) / 1e6);
+        row.put("maxMillis", latency.getMaxValue() / 1e6);
+        return row;
+    }
+
+    private static UUID seedAccount(AccountRepository accountRepository) {
+        Account account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setAccountNumber("SB0000000018");
+        account.setUserId(UUID.randomUUID());
+        account.setBalance(BigDecimal.ZERO);
+        return accountRepository.save(account).getId();
+    }
+
+    /**
+     * VmRSS from {@code /proc/self/status}; falls back to committed heap plus non-heap
+     * where procfs is unavailable, which misses platform thread stacks.
+     */
+    private static long residentSetBytes() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (Files.isReadable(status)) {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getCommitted()
+                + ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage().getCommitted();
+    }
+
+    private static long usedHeapBytes() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Counts requests currently inside the servlet container, i.e. holding a request
+     * thread (platform) or running on their own virtual thread.
+     */
+    static final class InFlightFilter implements Filter {
+
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+
+        void resetPeak() {
+            peak.set(current.get());
+        }
+
+        int peak() {
+            return peak.get();
+        }
+    }
+}
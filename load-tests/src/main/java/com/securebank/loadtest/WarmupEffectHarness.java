@@ -0,0 +1,286 @@
+package com.securebank.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.securebank.common.security.JwtUtil;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Measures what the warm-up phase and the AppCDS archive buy a freshly started JVM:
+ * time to ready, and request latency in the first minute of traffic.
+ * <p>
+ * Each variant starts the service as its own process from the thin jar built with
+ * {@code -Pcds} ({@code target/<service>-<version>.jar} plus {@code target/lib}), so
+ * the classpath layout is the same for all of them:
+ * <ul>
+ *   <li>{@code cold}: {@code warmup.enabled=false}, no archive;</li>
+ *   <li>{@code warmup}: warm-up before readiness, no archive;</li>
+ *   <li>{@code cds}: {@code -XX:SharedArchiveFile=target/<service>.jsa}, no warm-up;</li>
+ *   <li>{@code cds+warmup}: both.</li>
+ * </ul>
+ * Time to ready is from launch to the first 200 from {@code /actuator/health/readiness}.
+ * From that moment the harness sends requests at a fixed {@code rate} for
+ * {@code durationSeconds}. Latency is measured from each request's scheduled start, so
+ * queueing behind slow early requests counts. The report shows p50/p99/p999/max for the
+ * whole period and p99 per {@code intervalSeconds}, which shows how long the tail takes
+ * to settle.
+ * <p>
+ * Traffic for {@code transaction-service} is transaction history for random accounts:
+ * JWT parse, the history query and {@code ApiResponse} serialization. For
+ * {@code user-service} it alternates login (BCrypt, JWT issue) and profile reads for a
+ * user registered just before the measured period.
+ * <p>
+ * Options ({@code key=value}): {@code service}, {@code variants}, {@code runs},
+ * {@code rate}, {@code durationSeconds}, {@code intervalSeconds}, {@code workers},
+ * {@code timeoutSeconds}, {@code root}, {@code version}, {@code jwtSecret},
+ * {@code javaOpts}, {@code appArgs}, {@code report}.
+ */
+public final class WarmupEffectHarness {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final String service;
+    private final List<String> variants;
+    private final int runs;
+    private final double rate;
+    private final int durationSeconds;
+    private final int intervalSeconds;
+    private final int workers;
+    private final int timeoutSeconds;
+    private final Path root;
+    private final String version;
+    private final String jwtSecret;
+    private final List<String> javaOpts;
+    private final List<String> appArgs;
+    private final Path report;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private WarmupEffectHarness(HarnessOptions options) {
+        service = options.string("service", "transaction-service");
+        variants = List.of(options.string("variants", "cold,warmup,cds,cds+warmup").split(","));
+        runs = options.integer("runs", 3);
+        rate = options.decimal("rate", 100);
+        durationSeconds = options.integer("durationSeconds", 60);
+        intervalSeconds = options.integer("intervalSeconds", 10);
+        workers = options.integer("workers", 64);
+        timeoutSeconds = options.integer("timeoutSeconds", 90);
+        root = Path.of(options.string("root", "."));
+        version = options.string("version", "1.0.0");
+        jwtSecret = options.string("jwtSecret", "SecureBankDefaultJwtSecretKeyThatIsAtLeast256BitsLong2024");
+        javaOpts = options.string("javaOpts", "").isBlank()
+                ? List.of() : List.of(options.string("javaOpts", "").trim().split(" "));
+        appArgs = options.string("appArgs", "").isBlank()
+                ? List.of() : List.of(options.string("appArgs", "").trim().split(";"));
+        report = Path.of(options.string("report", "target/warmup-effect.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new WarmupEffectHarness(new HarnessOptions(args)).run();
+    }
+
+    private void run() throws Exception {
+        Path target = root.resolve(service).resolve("target");
+        Path jar = target.resolve(service + "-" + version + ".jar");
+        ServiceProcess.requireFile(jar, "./mvnw -Pcds -DskipTests package");
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("service", service);
+        json.put("rate", rate);
+        json.put("durationSeconds", durationSeconds);
+        System.out.printf("%s, %.0f req/s for %ds after ready, median of %d runs%n",
+                service, rate, durationSeconds, runs);
+        System.out.printf("%-11s %12s %10s %10s %10s %10s  %s%n",
+                "variant", "ready ms", "p50 ms", "p99 ms", "p999 ms", "max ms", "p99 ms per interval");
+        for (String variant : variants) {
+            json.put(variant.trim(), measure(variant.trim(), jar, target));
+        }
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(report.toFile(), json);
+        System.out.println("Report written to " + report);
+    }
+
+    private Map<String, Object> measure(String variant, Path jar, Path target) throws Exception {
+        boolean cds = variant.startsWith("cds");
+        boolean warmup = variant.endsWith("warmup");
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(javaOpts);
+        if (cds) {
+            Path archive = target.resolve(service + ".jsa");
+            ServiceProcess.requireFile(archive, "./mvnw -Pcds -DskipTests package");
+            command.add("-XX:SharedArchiveFile=" + archive);
+        }
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--warmup.enabled=" + warmup);
+        command.add("--management.endpoint.health.probes.enabled=true");
+        command.add("--reactive.read.port=0");
+        command.add("--account.status.feed.enabled=false");
+        command.addAll(appArgs);
+
+        List<Map<String, Object>> samples = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            Path log = Path.of("target", "warmup-effect", service + "-" + variant + "-" + run + ".log");
+            try (ServiceProcess process = ServiceProcess.start(command, log)) {
+                long readyNanos = process.awaitOk("/actuator/health/readiness", timeoutSeconds);
+                samples.add(drive(process.baseUrl(), readyNanos));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("readyMillisMedian", median(samples, "readyMillis"));
+        result.put("p99MillisMedian", median(samples, "p99Millis"));
+        result.put("runs", samples);
+        Map<String, Object> middle = samples.stream()
+                .sorted((a, b) -> Double.compare((double) a.get("p99Millis"), (double) b.get("p99Millis")))
+                .toList()
+                .get(samples.size() / 2);
+        System.out.printf("%-11s %12.0f %10.1f %10.1f %10.1f %10.1f  %s%n", variant,
+                median(samples, "readyMillis"), (double) middle.get("p50Millis"), (double) middle.get("p99Millis"),
+                (double) middle.get("p999Millis"), (double) middle.get("maxMillis"), middle.get("intervalP99Millis"));
+        return result;
+    }
+
+    private Map<String, Object> drive(String baseUrl, long readyNanos) throws Exception {
+        Supplier<HttpRequest> requests = requests(baseUrl);
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        int intervals = (durationSeconds + intervalSeconds - 1) / intervalSeconds;
+        Histogram[] perInterval = new Histogram[intervals];
+        for (int i = 0; i < intervals; i++) {
+            perInterval[i] = new Histogram(MAX_LATENCY_NANOS, 3);
+        }
+        LongAdder errors = new LongAdder();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>());
+
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(durationSeconds);
+        double gapNanos = 1e9 / rate;
+        for (double next = start; next < end; next += gapNanos) {
+            long intended = (long) next;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int interval = (int) ((intended - start) / TimeUnit.SECONDS.toNanos(intervalSeconds));
+            HttpRequest request = requests.get();
+            executor.execute(() -> {
+                try {
+                    int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status >= 500) {
+                        errors.increment();
+                    }
+                } catch (Exception ex) {
+                    errors.increment();
+                }
+                long latency = Math.min(System.nanoTime() - intended, MAX_LATENCY_NANOS);
+                synchronized (total) {
+                    total.recordValue(latency);
+                    perInterval[interval].recordValue(latency);
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(timeoutSeconds, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> sample = new LinkedHashMap<>();
+        synchronized (total) {
+            sample.put("readyMillis", (double) TimeUnit.NANOSECONDS.toMillis(readyNanos));
+            sample.put("requests", total.getTotalCount());
+            sample.put("errors", errors.sum());
+            sample.put("p50Millis", total.getValueAtPercentile(50) / 1e6);
+            sample.put("p99Millis", total.getValueAtPercentile(99) / 1e6);
+            sample.put("p999Millis", total.getValueAtPercentile(99.9) / 1e6);
+            sample.put("maxMillis", total.getMaxValue() / 1e6);
+            sample.put("intervalP99Millis", Arrays.stream(perInterval)
+                    .map(h -> Math.round(h.getValueAtPercentile(99) / 1e5) / 10.0)
+                    .toList());
+        }
+        return sample;
+    }
+
+    private Supplier<HttpRequest> requests(String baseUrl) throws Exception {
+        return switch (service) {
+            case "transaction-service" -> {
+                String token = "Bearer " + new JwtUtil(jwtSecret)
+                        .generateToken(UUID.randomUUID(), "warmup-effect@securebank.com", "CUSTOMER");
+                List<UUID> accounts = new ArrayList<>();
+                for (int i = 0; i < 100; i++) {
+                    accounts.add(UUID.randomUUID());
+                }
+                yield () -> get(baseUrl + "/api/v1/transactions/account/"
+                        + accounts.get(ThreadLocalRandom.current().nextInt(accounts.size())), token);
+            }
+            case "user-service" -> {
+                String email = "warmup-effect-" + UUID.randomUUID() + "@securebank.com";
+                String credentials = objectMapper.writeValueAsString(Map.of("email", email, "password", "Str0ng!Pass"));
+                send(post(baseUrl + "/api/v1/auth/register", objectMapper.writeValueAsString(Map.of(
+                        "email", email, "password", "Str0ng!Pass", "fullName", "Warmup Effect", "phone", "+10000000000"))));
+                JsonNode login = objectMapper.readTree(send(post(baseUrl + "/api/v1/auth/login", credentials)));
+                String token = "Bearer " + login.path("data").path("token").asText();
+                HttpRequest loginRequest = post(baseUrl + "/api/v1/auth/login", credentials);
+                HttpRequest profileRequest = get(baseUrl + "/api/v1/users/profile", token);
+                yield () -> ThreadLocalRandom.current().nextBoolean() ? loginRequest : profileRequest;
+            }
+            default -> throw new IllegalArgumentException("No traffic defined for service: " + service);
+        };
+    }
+
+    private HttpRequest get(String url, String authorization) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(timeoutSeconds))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private String send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static double median(List<Map<String, Object>> samples, String key) {
+        double[] values = samples.stream().mapToDouble(sample -> (double) sample.get(key)).sorted().toArray();
+        int mid = values.length / 2;
+        return values.length % 2 == 1 ? values[mid] : (values[mid - 1] + values[mid]) / 2;
+    }
+}
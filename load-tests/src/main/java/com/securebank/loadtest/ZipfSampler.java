@@ -0,0 +1,44 @@
+package com.securebank.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples indexes in [0, n) with probability proportional to 1 / (rank + 1)^exponent.
+ * Exponent 0 is uniform; around 1 a small hot set receives most of the traffic.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Share of all draws that land on the {@code k} most popular indexes. */
+    double topShare(int k) {
+        return k <= 0 ? 0 : cumulative[Math.min(k, cumulative.length) - 1];
+    }
+}
@@ -0,0 +1,3 @@
+-- Database objects the services' Flyway migrations create that Hibernate's create-drop
+-- does not. Run by ServiceLauncher for every service; harmless where unused.
+CREATE SEQUENCE IF NOT EXISTS account_number_block_seq START WITH 1000 INCREMENT BY 1000;
@@ -0,0 +1,33 @@
+package com.securebank.notification.config;
+
+import com.securebank.common.aot.CommonRuntimeHints;
+import com.securebank.notification.dto.AuditLogResponse;
+import com.securebank.notification.dto.NotificationEvent;
+import com.securebank.notification.entity.AuditLog;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Native-image hints for notification-service: reflective access to the JPA entities and
+ * Jackson binding for the request and response DTOs. Only read when building a native
+ * image ({@code -Pnative}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.EntityHints.class)
+@RegisterReflectionForBinding({
+        AuditLogResponse.class,
+        NotificationEvent.class
+})
+public class NativeHintsConfig {
+
+    static class EntityHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            CommonRuntimeHints.registerEntities(hints, AuditLog.class);
+        }
+    }
+}
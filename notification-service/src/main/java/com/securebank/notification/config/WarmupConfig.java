@@ -0,0 +1,46 @@
+package com.securebank.notification.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.warmup.WarmupTask;
+import com.securebank.notification.dto.AuditLogResponse;
+import com.securebank.notification.dto.NotificationEvent;
+import com.securebank.notification.repository.AuditLogRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Warm-up tasks for notification-service, run by {@code WarmupRunner} before readiness.
+ * The history queries use random ids, so they compile Hibernate's plans without
+ * matching rows.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WarmupConfig {
+
+    @Bean
+    public WarmupTask auditHistoryWarmup(AuditLogRepository auditLogRepository) {
+        UUID id = UUID.randomUUID();
+        return WarmupTask.of("audit-history", 200, () -> {
+            auditLogRepository.findByAccountIdOrderByCreatedAtDesc(id);
+            auditLogRepository.findByUserIdOrderByCreatedAtDesc(id);
+        });
+    }
+
+    @Bean
+    public WarmupTask auditJsonWarmup(ObjectMapper objectMapper) throws JsonProcessingException {
+        UUID accountId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        List<AuditLogResponse> logs = List.of(new AuditLogResponse(UUID.randomUUID(), "DEPOSIT", accountId, userId,
+                "warm-up", LocalDateTime.now()));
+        byte[] event = objectMapper.writeValueAsBytes(new NotificationEvent("DEPOSIT", accountId, userId, "warm-up"));
+        return WarmupTask.of("audit-json", 2000, () -> {
+            objectMapper.readValue(event, NotificationEvent.class);
+            objectMapper.writeValueAsBytes(ApiResponse.success("Audit logs retrieved", logs));
+        });
+    }
+}
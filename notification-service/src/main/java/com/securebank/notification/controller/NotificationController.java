@@ -5,10 +5,12 @@ import com.securebank.notification.dto.AuditLogResponse;
 import com.securebank.notification.dto.NotificationEvent;
 import com.securebank.notification.service.NotificationService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -43,4 +45,12 @@ public class NotificationController {
         List<AuditLogResponse> logs = notificationService.getLogsByUser(userId);
         return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved", logs));
     }
+
+    @GetMapping("/events/{eventType}")
+    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getLogsByEventType(
+            @PathVariable String eventType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        List<AuditLogResponse> logs = notificationService.getLogsByEventType(eventType, since);
+        return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved", logs));
+    }
 }
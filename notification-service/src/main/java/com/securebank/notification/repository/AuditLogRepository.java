@@ -4,6 +4,7 @@ import com.securebank.notification.entity.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,4 +12,6 @@ import java.util.UUID;
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
     List<AuditLog> findByAccountIdOrderByCreatedAtDesc(UUID accountId);
     List<AuditLog> findByUserIdOrderByCreatedAtDesc(UUID userId);
+    List<AuditLog> findTop50ByEventTypeAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(String eventType,
+                                                                                      LocalDateTime since);
 }
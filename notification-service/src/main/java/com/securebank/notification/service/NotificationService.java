@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -56,6 +57,16 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    /** The first 50 events of {@code eventType} logged since {@code since}, oldest first. */
+    @Transactional(readOnly = true)
+    public List<AuditLogResponse> getLogsByEventType(String eventType, LocalDateTime since) {
+        log.debug("Fetching {} audit logs since {}", eventType, since);
+        return auditLogRepository.findTop50ByEventTypeAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc(eventType, since)
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     private AuditLogResponse mapToResponse(AuditLog auditLog) {
         return new AuditLogResponse(
                 auditLog.getId(),
@@ -0,0 +1,11 @@
+-- Baseline: the schema ddl-auto=update created. Existing databases are baselined at
+-- version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+CREATE TABLE IF NOT EXISTS audit_logs (
+    id          UUID          NOT NULL,
+    event_type  VARCHAR(50)   NOT NULL,
+    account_id  UUID,
+    user_id     UUID,
+    message     VARCHAR(1000),
+    created_at  TIMESTAMP(6)  NOT NULL,
+    CONSTRAINT audit_logs_pkey PRIMARY KEY (id)
+);
@@ -0,0 +1,5 @@
+-- GET /api/v1/notifications/account/{id}: AuditLogRepository.findByAccountIdOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_audit_logs_account_created ON audit_logs (account_id, created_at DESC);
+
+-- GET /api/v1/notifications/user/{id}: AuditLogRepository.findByUserIdOrderByCreatedAtDesc
+CREATE INDEX IF NOT EXISTS idx_audit_logs_user_created ON audit_logs (user_id, created_at DESC);
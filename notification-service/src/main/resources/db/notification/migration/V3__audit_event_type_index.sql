@@ -0,0 +1,2 @@
+-- GET /api/v1/notifications/events/{type}: AuditLogRepository.findTop50ByEventTypeAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc
+CREATE INDEX IF NOT EXISTS idx_audit_logs_event_type_created ON audit_logs (event_type, created_at);
@@ -92,4 +92,17 @@ class NotificationServiceTest {
 
         assertTrue(logs.isEmpty());
     }
+
+    @Test
+    @DisplayName("Get logs by event type since a time")
+    void getLogsByEventType_ShouldReturnList() {
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        when(auditLogRepository.findTop50ByEventTypeAndCreatedAtGreaterThanEqualOrderByCreatedAtAsc("DEPOSIT", since))
+                .thenReturn(List.of(testLog));
+
+        List<AuditLogResponse> logs = notificationService.getLogsByEventType("DEPOSIT", since);
+
+        assertEquals(1, logs.size());
+        assertEquals("Deposited $1000.00", logs.get(0).getMessage());
+    }
 }
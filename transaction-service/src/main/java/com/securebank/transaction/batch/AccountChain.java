@@ -0,0 +1,202 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.transaction.dto.LedgerDiscrepancy;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.service.LedgerChain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Replays one account's ledger rows in {@code (created_at, id)} order, checking each
+ * row's balance_after against the running balance and its hash against the chain.
+ * <p>
+ * Rows written by one transaction can share created_at, and their id order is random,
+ * so rows with the same timestamp are held back and chained in whichever order fits,
+ * by hash link first and balance second. A transfer row does not say which side it is;
+ * it fits if adding or subtracting its amount gives its balance_after. A row that fits
+ * nowhere is reported and the chain carries on from it, so one bad row is one
+ * discrepancy rather than one per row after it. Rows written before the hash chain
+ * have no hash and are checked by balance only.
+ */
+final class AccountChain {
+
+    private final UUID accountId;
+    private final LocalDateTime cutoff;
+    private final Consumer<LedgerDiscrepancy> discrepancies;
+    private final List<Entry> sameInstant = new ArrayList<>();
+
+    private BigDecimal balance;
+    private byte[] head;
+    private LocalDateTime verifiedThrough;
+    private BigDecimal verifiedBalance;
+    private byte[] verifiedHead;
+    private boolean clean = true;
+
+    /**
+     * @param opening     balance before the first row given: zero for the whole ledger, or
+     *                    the checkpointed balance when resuming after a verified row
+     * @param openingHead hash of the row before the first one given, null if none
+     * @param cutoff      rows from here on are checked but not checkpointed, as rows before
+     *                    them may still be committing
+     */
+    AccountChain(UUID accountId, BigDecimal opening, byte[] openingHead, LocalDateTime cutoff,
+                 Consumer<LedgerDiscrepancy> discrepancies) {
+        this.accountId = accountId;
+        this.balance = opening;
+        this.head = openingHead;
+        this.cutoff = cutoff;
+        this.discrepancies = discrepancies;
+    }
+
+    void add(Entry entry) {
+        if (!sameInstant.isEmpty() && !sameInstant.get(0).createdAt.equals(entry.createdAt)) {
+            settle();
+        }
+        sameInstant.add(entry);
+    }
+
+    /**
+     * Settles the rows held back and compares where the ledger ends with the account's
+     * balance and chain head.
+     */
+    void finish(BigDecimal accountBalance, byte[] accountHead) {
+        settle();
+        if (balance.compareTo(accountBalance) != 0) {
+            report(DiscrepancyKind.BALANCE_MISMATCH, null, balance, accountBalance,
+                    "ledger ends at " + balance + " but the account holds " + accountBalance);
+        }
+        if (!Arrays.equals(head, accountHead)) {
+            report(DiscrepancyKind.HASH_LINK_BROKEN, null, null, null, "ledger ends at hash "
+                    + LedgerChain.hex(head) + " but the account's head is " + LedgerChain.hex(accountHead));
+        }
+    }
+
+    BigDecimal balance() {
+        return balance;
+    }
+
+    /** False once any row broke the chain or the balance did not match. */
+    boolean isClean() {
+        return clean;
+    }
+
+    /** created_at of the last row before the cutoff, or null if there was none. */
+    LocalDateTime verifiedThrough() {
+        return verifiedThrough;
+    }
+
+    BigDecimal verifiedBalance() {
+        return verifiedBalance;
+    }
+
+    /** Chain head after the last row before the cutoff. */
+    byte[] verifiedHead() {
+        return verifiedHead;
+    }
+
+    private void settle() {
+        while (!sameInstant.isEmpty()) {
+            Entry next = sameInstant.get(0);
+            int best = -1;
+            for (Entry entry : sameInstant) {
+                int score = (links(entry) ? 2 : 0) + (fits(entry) ? 1 : 0);
+                if (score > best) {
+                    next = entry;
+                    best = score;
+                }
+            }
+            if (!fits(next)) {
+                report(DiscrepancyKind.CHAIN_BREAK, next.id, expected(next), next.balanceAfter,
+                        next.type + " of " + next.amount + " after a balance of " + balance);
+            }
+            if (!links(next)) {
+                report(DiscrepancyKind.HASH_LINK_BROKEN, next.id, null, null, "row links to "
+                        + LedgerChain.hex(next.prevHash) + " but the row before it is " + LedgerChain.hex(head));
+            }
+            if (next.hash != null && !Arrays.equals(next.hash, LedgerChain.hash(next.prevHash, accountId,
+                    next.targetAccountId, next.type, next.amount, next.balanceAfter, next.description,
+                    next.createdAt))) {
+                report(DiscrepancyKind.HASH_MISMATCH, next.id, null, next.amount,
+                        "row no longer matches its hash " + LedgerChain.hex(next.hash));
+            }
+            sameInstant.remove(next);
+            balance = next.balanceAfter != null ? next.balanceAfter : expected(next);
+            if (next.hash != null) {
+                head = next.hash;
+            }
+            if (next.createdAt.isBefore(cutoff)) {
+                verifiedThrough = next.createdAt;
+                verifiedBalance = balance;
+                verifiedHead = head;
+            }
+        }
+    }
+
+    private boolean links(Entry entry) {
+        return entry.hash == null || Arrays.equals(entry.prevHash, head);
+    }
+
+    private boolean fits(Entry entry) {
+        if (entry.balanceAfter == null) {
+            return false;
+        }
+        if (entry.type == TransactionType.TRANSFER) {
+            return entry.balanceAfter.compareTo(balance.add(entry.amount)) == 0
+                    || entry.balanceAfter.compareTo(balance.subtract(entry.amount)) == 0;
+        }
+        return entry.balanceAfter.compareTo(expected(entry)) == 0;
+    }
+
+    /** The balance the row should leave; for a transfer, the side closer to what it records. */
+    private BigDecimal expected(Entry entry) {
+        return switch (entry.type) {
+            case DEPOSIT, INTEREST -> balance.add(entry.amount);
+            case WITHDRAWAL, CAPTURE, FEE -> balance.subtract(entry.amount);
+            case TRANSFER -> {
+                BigDecimal credit = balance.add(entry.amount);
+                BigDecimal debit = balance.subtract(entry.amount);
+                yield entry.balanceAfter != null && entry.balanceAfter.subtract(credit).abs()
+                        .compareTo(entry.balanceAfter.subtract(debit).abs()) < 0 ? credit : debit;
+            }
+        };
+    }
+
+    private void report(DiscrepancyKind kind, UUID transactionId, BigDecimal expected, BigDecimal actual,
+                        String detail) {
+        clean = false;
+        discrepancies.accept(new LedgerDiscrepancy(accountId, kind.name(), transactionId, expected, actual, detail));
+    }
+
+    /** One ledger row of the account. */
+    static final class Entry {
+
+        private final UUID id;
+        private final UUID targetAccountId;
+        private final TransactionType type;
+        private final BigDecimal amount;
+        private final BigDecimal balanceAfter;
+        private final String description;
+        private final LocalDateTime createdAt;
+        private final byte[] prevHash;
+        private final byte[] hash;
+
+        Entry(UUID id, UUID targetAccountId, TransactionType type, BigDecimal amount, BigDecimal balanceAfter,
+              String description, LocalDateTime createdAt, byte[] prevHash, byte[] hash) {
+            this.id = id;
+            this.targetAccountId = targetAccountId;
+            this.type = type;
+            this.amount = amount;
+            this.balanceAfter = balanceAfter;
+            this.description = description;
+            this.createdAt = createdAt;
+            this.prevHash = prevHash;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.securebank.transaction.batch;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Interest and fee amounts for one account. Pure arithmetic, so it runs on the batch's
+ * fork-join workers without touching the database.
+ * <p>
+ * Daily interest is {@code balance * annualRate / daysInYear}, added to what is already
+ * accrued. Whole cents are posted; the rest stays accrued for the next day, so small
+ * balances still earn their interest over time.
+ */
+public class AccrualCalculator {
+
+    private static final int ACCRUAL_SCALE = 6;
+
+    private final BigDecimal annualRate;
+    private final BigDecimal monthlyFee;
+    private final BigDecimal feeWaiverBalance;
+
+    public AccrualCalculator(BigDecimal annualRate, BigDecimal monthlyFee, BigDecimal feeWaiverBalance) {
+        if (annualRate.signum() < 0 || monthlyFee.signum() < 0) {
+            throw new IllegalArgumentException("Interest rate and monthly fee must not be negative");
+        }
+        this.annualRate = annualRate;
+        this.monthlyFee = monthlyFee;
+        this.feeWaiverBalance = feeWaiverBalance;
+    }
+
+    /** One day of interest on {@code balance} for {@code day}, on top of {@code accrued}. */
+    public Interest interest(BigDecimal balance, BigDecimal accrued, LocalDate day) {
+        BigDecimal total = accrued;
+        if (balance.signum() > 0) {
+            total = total.add(balance.multiply(annualRate)
+                    .divide(BigDecimal.valueOf(day.lengthOfYear()), ACCRUAL_SCALE, RoundingMode.HALF_EVEN));
+        }
+        BigDecimal posted = total.setScale(2, RoundingMode.DOWN);
+        return new Interest(posted, total.subtract(posted).setScale(ACCRUAL_SCALE, RoundingMode.UNNECESSARY));
+    }
+
+    /**
+     * The monthly fee, zero when the balance is at or above the waiver threshold, and
+     * never more than the available balance.
+     */
+    public BigDecimal fee(BigDecimal balance, BigDecimal available) {
+        if (balance.compareTo(feeWaiverBalance) >= 0 || available.signum() <= 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return monthlyFee.min(available).setScale(2, RoundingMode.DOWN);
+    }
+
+    public static final class Interest {
+
+        private final BigDecimal posted;
+        private final BigDecimal accrued;
+
+        private Interest(BigDecimal posted, BigDecimal accrued) {
+            this.posted = posted;
+            this.accrued = accrued;
+        }
+
+        /** Whole cents to credit now. */
+        public BigDecimal posted() { return posted; }
+
+        /** Sub-cent remainder carried to the next day. */
+        public BigDecimal accrued() { return accrued; }
+    }
+}
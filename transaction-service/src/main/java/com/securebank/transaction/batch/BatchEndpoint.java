@@ -0,0 +1,44 @@
+package com.securebank.transaction.batch;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/batch}: state and report of the last interest or fee run.
+ * {@code POST /actuator/batch} with {@code {"job": "INTEREST", "date": "2025-01-31"}}
+ * starts a run in the background; the date defaults to yesterday for interest and last
+ * month for fees. Running a finished job again only picks up what is left.
+ */
+@Component
+@Endpoint(id = "batch")
+public class BatchEndpoint {
+
+    private final InterestAndFeeBatch batch;
+
+    public BatchEndpoint(InterestAndFeeBatch batch) {
+        this.batch = batch;
+    }
+
+    @ReadOperation
+    public Map<String, Object> batch() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("state", batch.state());
+        body.put("lastRun", batch.lastReport());
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> run(String job, @Nullable LocalDate date) {
+        BatchJob batchJob = BatchJob.valueOf(job.toUpperCase());
+        LocalDate day = date != null ? date
+                : batchJob == BatchJob.FEE ? LocalDate.now().minusMonths(1) : LocalDate.now().minusDays(1);
+        return Map.of("started", batch.start(batchJob, day), "state", batch.state());
+    }
+}
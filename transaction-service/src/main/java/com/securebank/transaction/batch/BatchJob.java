@@ -0,0 +1,17 @@
+package com.securebank.transaction.batch;
+
+import java.time.LocalDate;
+
+public enum BatchJob {
+
+    /** Daily interest, run nightly for the day just ended. */
+    INTEREST,
+
+    /** Monthly account fee, run once per calendar month. */
+    FEE;
+
+    /** The date a run for {@code day} is recorded under: the day itself, or the first of its month. */
+    public LocalDate period(LocalDate day) {
+        return this == FEE ? day.withDayOfMonth(1) : day;
+    }
+}
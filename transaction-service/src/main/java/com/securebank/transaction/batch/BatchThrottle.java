@@ -0,0 +1,95 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.common.dto.LatencySloReport;
+import com.securebank.common.latency.LatencySloTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Slows the batch down while interactive requests are missing their latency SLO.
+ * <p>
+ * At most every {@code batch.throttle.check-interval-ms} the worst burn rate over the
+ * last minute is read from the {@link LatencySloTracker}, over methods with at least
+ * {@code batch.throttle.min-requests} requests. Above {@code batch.throttle.max-burn-rate}
+ * the pause before each chunk doubles, up to {@code batch.throttle.max-pause-ms}; once
+ * the SLO recovers it halves back to zero. The tracker reports whole slots, so the
+ * batch reacts within one {@code slo.latency.slot-seconds}.
+ */
+@Component
+public class BatchThrottle {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchThrottle.class);
+
+    private final LatencySloTracker latencySloTracker;
+    private final double maxBurnRate;
+    private final long minRequests;
+    private final long minPauseMillis;
+    private final long maxPauseMillis;
+    private final long checkIntervalMillis;
+    private final AtomicLong pausedMillis = new AtomicLong();
+
+    private long pauseMillis;
+    private long checkedAt;
+
+    public BatchThrottle(LatencySloTracker latencySloTracker,
+                         @Value("${batch.throttle.max-burn-rate:2.0}") double maxBurnRate,
+                         @Value("${batch.throttle.min-requests:20}") long minRequests,
+                         @Value("${batch.throttle.min-pause-ms:50}") long minPauseMillis,
+                         @Value("${batch.throttle.max-pause-ms:5000}") long maxPauseMillis,
+                         @Value("${batch.throttle.check-interval-ms:1000}") long checkIntervalMillis) {
+        this.latencySloTracker = latencySloTracker;
+        this.maxBurnRate = maxBurnRate;
+        this.minRequests = minRequests;
+        this.minPauseMillis = minPauseMillis;
+        this.maxPauseMillis = maxPauseMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    /** Waits as long as the current latency calls for before the next chunk. */
+    public void pause() throws InterruptedException {
+        long pause = currentPause(System.currentTimeMillis());
+        if (pause > 0) {
+            pausedMillis.addAndGet(pause);
+            Thread.sleep(pause);
+        }
+    }
+
+    /** Total time spent paused since startup. */
+    public long pausedMillis() {
+        return pausedMillis.get();
+    }
+
+    synchronized long currentPause(long now) {
+        if (now - checkedAt < checkIntervalMillis) {
+            return pauseMillis;
+        }
+        checkedAt = now;
+        double burnRate = worstBurnRate();
+        long previous = pauseMillis;
+        if (burnRate > maxBurnRate) {
+            pauseMillis = Math.min(maxPauseMillis, Math.max(minPauseMillis, pauseMillis * 2));
+        } else {
+            pauseMillis = pauseMillis / 2 < minPauseMillis ? 0 : pauseMillis / 2;
+        }
+        if (pauseMillis != previous && (previous == 0 || pauseMillis == 0)) {
+            log.info("Batch throttle {}: SLO burn rate {}", pauseMillis > 0 ? "engaged" : "released",
+                    String.format("%.2f", burnRate));
+        }
+        return pauseMillis;
+    }
+
+    private double worstBurnRate() {
+        double worst = 0;
+        for (LatencySloReport.MethodSlo method : latencySloTracker.report().getMethods()) {
+            LatencySloReport.Window lastMinute = method.getWindows().get(0);
+            if (lastMinute.getCount() >= minRequests) {
+                worst = Math.max(worst, lastMinute.getBurnRate());
+            }
+        }
+        return worst;
+    }
+}
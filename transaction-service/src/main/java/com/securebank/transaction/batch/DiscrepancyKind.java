@@ -0,0 +1,25 @@
+package com.securebank.transaction.batch;
+
+public enum DiscrepancyKind {
+
+    /** A ledger row's balance_after does not follow from the row before it and its amount. */
+    CHAIN_BREAK,
+
+    /** The account's balance is not where its ledger ends. */
+    BALANCE_MISMATCH,
+
+    /** A ledger row's fields no longer hash to its stored hash. */
+    HASH_MISMATCH,
+
+    /**
+     * A ledger row does not link to the hash of the row before it, or the account's
+     * chain head is not its last row.
+     */
+    HASH_LINK_BROKEN,
+
+    /** A transfer leg with no counter-leg on the other account. */
+    UNPAIRED_TRANSFER,
+
+    /** Ledger rows of an account that does not exist on the shard. */
+    ORPHAN_LEDGER_ROWS
+}
@@ -0,0 +1,404 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.transaction.dto.BatchRunReport;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.service.LedgerChain;
+import com.securebank.transaction.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Nightly interest and monthly fees over every account, without going through
+ * per-account deposits and withdrawals.
+ * <p>
+ * The account id space is cut into {@code batch.chunks} fixed id ranges per shard. A
+ * fork-join pool of {@code batch.parallelism} workers splits the list of ranges down to
+ * single ranges. Each range is one transaction: lock its accounts in id order, compute
+ * the postings, then write the balance updates and ledger rows as JDBC batches.
+ * <p>
+ * The transaction first inserts the range's row in {@code batch_checkpoints}, so the
+ * checkpoint commits with the postings. A restarted run skips finished ranges, and a
+ * second instance running the same job blocks on the row and then skips the range.
+ * Each account also records the day or month it was last posted for, so it is never
+ * posted twice, even after a shard split moves it.
+ * <p>
+ * Before each range the {@link BatchThrottle} may pause the worker while interactive
+ * requests miss their latency SLO.
+ */
+@Service
+public class InterestAndFeeBatch {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAndFeeBatch.class);
+
+    private static final String CLAIM_SQL = "INSERT INTO batch_checkpoints "
+            + "(job, run_date, chunk, accounts, postings, amount, completed_at) VALUES (?, ?, ?, 0, 0, 0, ?)";
+    private static final String CHECKPOINT_SQL = "UPDATE batch_checkpoints SET accounts = ?, postings = ?, "
+            + "amount = ?, completed_at = ? WHERE job = ? AND run_date = ? AND chunk = ?";
+    private static final String LEDGER_SQL = "INSERT INTO transactions (id, account_id, type, amount, "
+            + "balance_after, description, created_at, prev_hash, hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INTEREST_SELECT = "SELECT id, balance, accrued_interest, ledger_hash FROM accounts "
+            + "WHERE status IN ('ACTIVE', 'FROZEN') AND (interest_accrued_on IS NULL OR interest_accrued_on < ?)";
+    private static final String INTEREST_POST_SQL = "UPDATE accounts SET balance = ?, accrued_interest = ?, "
+            + "interest_accrued_on = ?, ledger_hash = ?, balance_version = balance_version + 1, updated_at = ? "
+            + "WHERE id = ?";
+    private static final String INTEREST_ACCRUE_SQL =
+            "UPDATE accounts SET accrued_interest = ?, interest_accrued_on = ? WHERE id = ?";
+
+    private static final String FEE_SELECT = "SELECT id, balance, held_balance, ledger_hash FROM accounts "
+            + "WHERE status = 'ACTIVE' AND (fee_charged_on IS NULL OR fee_charged_on < ?)";
+    private static final String FEE_POST_SQL = "UPDATE accounts SET balance = ?, fee_charged_on = ?, "
+            + "ledger_hash = ?, balance_version = balance_version + 1, updated_at = ? WHERE id = ?";
+    private static final String FEE_WAIVE_SQL = "UPDATE accounts SET fee_charged_on = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final BatchThrottle throttle;
+    private final AccrualCalculator calculator;
+    private final int chunks;
+    private final int chunkBits;
+    private final ForkJoinPool pool;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "interest-fee-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<BatchJob, Counter> postings = new EnumMap<>(BatchJob.class);
+
+    private volatile String state = "idle";
+    private volatile BatchRunReport lastReport;
+
+    public InterestAndFeeBatch(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ShardRouter shardRouter,
+                               BatchThrottle throttle,
+                               MeterRegistry meterRegistry,
+                               @Value("${batch.interest.annual-rate:0.02}") BigDecimal annualRate,
+                               @Value("${batch.fee.monthly-amount:5.00}") BigDecimal monthlyFee,
+                               @Value("${batch.fee.waive-at-balance:1000.00}") BigDecimal feeWaiverBalance,
+                               @Value("${batch.chunks:1024}") int chunks,
+                               @Value("${batch.parallelism:4}") int parallelism) {
+        if (chunks <= 0 || Integer.bitCount(chunks) != 1) {
+            throw new IllegalArgumentException("batch.chunks must be a power of two: " + chunks);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.throttle = throttle;
+        this.calculator = new AccrualCalculator(annualRate, monthlyFee, feeWaiverBalance);
+        this.chunks = chunks;
+        this.chunkBits = Integer.numberOfTrailingZeros(chunks);
+        this.pool = new ForkJoinPool(parallelism, forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("interest-fee-batch-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        for (BatchJob job : BatchJob.values()) {
+            postings.put(job, Counter.builder("batch.postings")
+                    .description("Interest and fee ledger postings made by the batch")
+                    .tag("job", job.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Scheduled(cron = "${batch.interest.cron:-}")
+    public void nightlyInterest() {
+        start(BatchJob.INTEREST, LocalDate.now().minusDays(1));
+    }
+
+    @Scheduled(cron = "${batch.fee.cron:-}")
+    public void monthlyFees() {
+        start(BatchJob.FEE, LocalDate.now().minusMonths(1));
+    }
+
+    /** Starts a run in the background. Returns false if one is already running. */
+    public boolean start(BatchJob job, LocalDate day) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("{} run for {} not started: {}", job, day, state);
+            return false;
+        }
+        state = "running " + job + " " + job.period(day);
+        runner.submit(() -> {
+            try {
+                lastReport = run(job, day);
+                state = "done " + job + " " + job.period(day);
+            } catch (RuntimeException ex) {
+                log.error("{} run for {} failed; run it again to resume", job, day, ex);
+                state = "failed " + job + " " + job.period(day) + ": " + ex.getMessage();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public String state() {
+        return state;
+    }
+
+    public BatchRunReport lastReport() {
+        return lastReport;
+    }
+
+    /** Runs {@code job} for {@code day} on every shard, skipping ranges already done. */
+    public BatchRunReport run(BatchJob job, LocalDate day) {
+        long started = System.currentTimeMillis();
+        long pausedBefore = throttle.pausedMillis();
+        LocalDate period = job.period(day);
+        BatchRunReport report = new BatchRunReport(job.name(), period);
+
+        List<Chunk> pending = new ArrayList<>();
+        for (String shard : shardRouter.map().shards()) {
+            Set<Integer> done = new HashSet<>(shardRouter.onShard(shard, () -> jdbcTemplate.queryForList(
+                    "SELECT chunk FROM batch_checkpoints WHERE job = ? AND run_date = ?", Integer.class,
+                    job.name(), period)));
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                if (!done.contains(chunk)) {
+                    pending.add(new Chunk(shard, chunk));
+                }
+            }
+            report.setChunks(report.getChunks() + chunks);
+            report.setChunksAlreadyDone(report.getChunksAlreadyDone() + done.size());
+        }
+        log.info("{} run for {}: {} of {} id ranges to do", job, period, pending.size(), report.getChunks());
+
+        Totals totals = pending.isEmpty()
+                ? new Totals()
+                : pool.invoke(new ChunkTask(job, period, pending, 0, pending.size()));
+
+        report.setChunksFailed(totals.failed);
+        report.setAccounts(totals.accounts);
+        report.setPostings(totals.postings);
+        report.setAmount(totals.amount);
+        report.setThrottledMs(throttle.pausedMillis() - pausedBefore);
+        report.setDurationMs(System.currentTimeMillis() - started);
+        log.info("{} run for {} finished: {} accounts, {} postings totalling {}, {} ranges failed, "
+                        + "throttled {} ms, {} ms", job, period, report.getAccounts(), report.getPostings(),
+                report.getAmount(), report.getChunksFailed(), report.getThrottledMs(), report.getDurationMs());
+        return report;
+    }
+
+    /**
+     * One id range in one transaction. Returns empty totals if another run has already
+     * done the range.
+     */
+    Totals processChunk(BatchJob job, LocalDate period, Chunk chunk) {
+        UUID[] range = range(chunk.index, chunkBits);
+        try {
+            return shardRouter.onShard(chunk.shard, () -> transactionTemplate.execute(status -> {
+                LocalDateTime now = LedgerChain.now();
+                jdbcTemplate.update(CLAIM_SQL, job.name(), period, chunk.index, Timestamp.valueOf(now));
+                Totals totals = job == BatchJob.INTEREST
+                        ? accrueInterest(period, range, now)
+                        : chargeFees(period, range, now);
+                jdbcTemplate.update(CHECKPOINT_SQL, totals.accounts, totals.postings, totals.amount,
+                        Timestamp.valueOf(LocalDateTime.now()), job.name(), period, chunk.index);
+                return totals;
+            }));
+        } catch (DuplicateKeyException ex) {
+            return new Totals();
+        }
+    }
+
+    private Totals accrueInterest(LocalDate day, UUID[] range, LocalDateTime now) {
+        List<Object[]> posted = new ArrayList<>();
+        List<Object[]> accrued = new ArrayList<>();
+        List<Object[]> ledger = new ArrayList<>();
+        Totals totals = new Totals();
+        String description = "Interest " + day;
+        Timestamp at = Timestamp.valueOf(now);
+        for (Object[] row : lockAccounts(INTEREST_SELECT, day, range)) {
+            UUID id = (UUID) row[0];
+            AccrualCalculator.Interest interest = calculator.interest((BigDecimal) row[1], (BigDecimal) row[2], day);
+            if (interest.posted().signum() > 0) {
+                BigDecimal balance = ((BigDecimal) row[1]).add(interest.posted());
+                byte[] prevHash = (byte[]) row[3];
+                byte[] hash = LedgerChain.hash(prevHash, id, null, TransactionType.INTEREST, interest.posted(),
+                        balance, description, now);
+                posted.add(new Object[] {balance, interest.accrued(), day, hash, at, id});
+                ledger.add(new Object[] {UUID.randomUUID(), id, TransactionType.INTEREST.name(), interest.posted(),
+                        balance, description, at, prevHash, hash});
+                totals.add(interest.posted());
+            } else {
+                accrued.add(new Object[] {interest.accrued(), day, id});
+            }
+            totals.accounts++;
+        }
+        jdbcTemplate.batchUpdate(INTEREST_POST_SQL, posted);
+        jdbcTemplate.batchUpdate(INTEREST_ACCRUE_SQL, accrued);
+        jdbcTemplate.batchUpdate(LEDGER_SQL, ledger);
+        postings.get(BatchJob.INTEREST).increment(ledger.size());
+        return totals;
+    }
+
+    private Totals chargeFees(LocalDate month, UUID[] range, LocalDateTime now) {
+        List<Object[]> charged = new ArrayList<>();
+        List<Object[]> waived = new ArrayList<>();
+        List<Object[]> ledger = new ArrayList<>();
+        Totals totals = new Totals();
+        String description = "Monthly fee " + month.getYear() + "-" + String.format("%02d", month.getMonthValue());
+        Timestamp at = Timestamp.valueOf(now);
+        for (Object[] row : lockAccounts(FEE_SELECT, month, range)) {
+            UUID id = (UUID) row[0];
+            BigDecimal balance = (BigDecimal) row[1];
+            BigDecimal fee = calculator.fee(balance, balance.subtract((BigDecimal) row[2]));
+            if (fee.signum() > 0) {
+                BigDecimal newBalance = balance.subtract(fee);
+                byte[] prevHash = (byte[]) row[3];
+                byte[] hash = LedgerChain.hash(prevHash, id, null, TransactionType.FEE, fee, newBalance,
+                        description, now);
+                charged.add(new Object[] {newBalance, month, hash, at, id});
+                ledger.add(new Object[] {UUID.randomUUID(), id, TransactionType.FEE.name(), fee, newBalance,
+                        description, at, prevHash, hash});
+                totals.add(fee);
+            } else {
+                waived.add(new Object[] {month, id});
+            }
+            totals.accounts++;
+        }
+        jdbcTemplate.batchUpdate(FEE_POST_SQL, charged);
+        jdbcTemplate.batchUpdate(FEE_WAIVE_SQL, waived);
+        jdbcTemplate.batchUpdate(LEDGER_SQL, ledger);
+        postings.get(BatchJob.FEE).increment(ledger.size());
+        return totals;
+    }
+
+    /** Locks the range's accounts still due for {@code period}, in id order. */
+    private List<Object[]> lockAccounts(String select, LocalDate period, UUID[] range) {
+        List<Object> args = new ArrayList<>(List.of(period, range[0]));
+        String sql = select + " AND id >= ?";
+        if (range[1] != null) {
+            sql += " AND id < ?";
+            args.add(range[1]);
+        }
+        return jdbcTemplate.query(sql + " ORDER BY id FOR UPDATE",
+                (rs, rowNum) -> new Object[] {rs.getObject(1, UUID.class), rs.getBigDecimal(2), rs.getBigDecimal(3),
+                        rs.getBytes(4)},
+                args.toArray());
+    }
+
+    /**
+     * Bounds of id range {@code index} of {@code 2^bits}: the ranges split the uuid space
+     * on its leading bits, as the database orders it. The last range has no upper bound.
+     */
+    static UUID[] range(int index, int bits) {
+        UUID from = bits == 0 ? new UUID(0, 0) : new UUID((long) index << (64 - bits), 0);
+        UUID to = index == (1 << bits) - 1 ? null : new UUID((long) (index + 1) << (64 - bits), 0);
+        return new UUID[] {from, to};
+    }
+
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /** Splits the ranges in halves until one is left, which it processes. */
+    private final class ChunkTask extends RecursiveTask<Totals> {
+
+        private final BatchJob job;
+        private final LocalDate period;
+        private final List<Chunk> chunks;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(BatchJob job, LocalDate period, List<Chunk> chunks, int from, int to) {
+            this.job = job;
+            this.period = period;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                ChunkTask left = new ChunkTask(job, period, chunks, from, middle);
+                left.fork();
+                Totals right = new ChunkTask(job, period, chunks, middle, to).compute();
+                return right.merge(left.join());
+            }
+            Chunk chunk = chunks.get(from);
+            try {
+                throttle.pause();
+                return processChunk(job, period, chunk);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return Totals.failure();
+            } catch (RuntimeException ex) {
+                log.warn("{} for {}: range {} on {} failed, left for the next run: {}", job, period, chunk.index,
+                        chunk.shard, ex.getMessage());
+                return Totals.failure();
+            }
+        }
+    }
+
+    static final class Chunk {
+
+        private final String shard;
+        private final int index;
+
+        Chunk(String shard, int index) {
+            this.shard = shard;
+            this.index = index;
+        }
+    }
+
+    static final class Totals {
+
+        private long accounts;
+        private long postings;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private int failed;
+
+        private static Totals failure() {
+            Totals totals = new Totals();
+            totals.failed = 1;
+            return totals;
+        }
+
+        private void add(BigDecimal posting) {
+            postings++;
+            amount = amount.add(posting);
+        }
+
+        private Totals merge(Totals other) {
+            accounts += other.accounts;
+            postings += other.postings;
+            amount = amount.add(other.amount);
+            failed += other.failed;
+            return this;
+        }
+    }
+}
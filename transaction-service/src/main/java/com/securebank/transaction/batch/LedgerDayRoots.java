@@ -0,0 +1,339 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.transaction.dto.AuditLogEntry;
+import com.securebank.transaction.dto.LedgerDayReport;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.service.AuditLogClient;
+import com.securebank.transaction.service.LedgerChain;
+import com.securebank.transaction.shard.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Daily Merkle root of the hash-chained ledger, kept in notification-service's audit log.
+ * <p>
+ * A day is cut into {@code ledger.root.slices} equal time slices, read on
+ * {@code ledger.root.parallelism} threads (all cores by default). Each slice reads its
+ * chained rows from every shard, rehashes each one from its fields and prev_hash, and
+ * takes the Merkle root of those hashes in byte order. The day's root is the Merkle
+ * root of the slice roots in time order, so it does not depend on how rows are spread
+ * over shards, and any row changed since cannot give the same root. The slice count is
+ * kept with the root, so a day is always verified the way it was sealed.
+ * <p>
+ * Sealing stores the root in {@code ledger_day_roots} on the catalog shard and logs it
+ * to the audit log as a {@code LEDGER_DAY_ROOT} event; days the audit log missed are
+ * logged on the next run. Verifying recomputes the root and compares it with both; the
+ * audit log's copy is the one that counts, as whoever could rewrite the ledger could
+ * rewrite the local root too.
+ */
+@Service
+public class LedgerDayRoots {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerDayRoots.class);
+
+    static final String EVENT_TYPE = "LEDGER_DAY_ROOT";
+
+    private static final String SLICE_SQL = "SELECT t.account_id, t.target_account_id, t.type, t.amount, "
+            + "t.balance_after, t.description, t.created_at, t.prev_hash, t.hash FROM transactions t "
+            + "JOIN accounts a ON a.id = t.account_id WHERE a.status <> 'MOVED' AND t.hash IS NOT NULL "
+            + "AND t.created_at >= ? AND t.created_at < ?";
+    private static final String ROOT_SELECT_SQL = "SELECT ledger_day, slices, ledger_rows, root FROM ledger_day_roots "
+            + "WHERE ledger_day = ?";
+    private static final String ROOT_INSERT_SQL = "INSERT INTO ledger_day_roots "
+            + "(ledger_day, slices, ledger_rows, root, computed_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String UNPUBLISHED_SQL = "SELECT ledger_day, slices, ledger_rows, root FROM ledger_day_roots "
+            + "WHERE published_at IS NULL ORDER BY ledger_day";
+    private static final String PUBLISHED_SQL = "UPDATE ledger_day_roots SET published_at = ? WHERE ledger_day = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readTemplate;
+    private final ShardRouter shardRouter;
+    private final AuditLogClient auditLogClient;
+    private final int slices;
+    private final long settleMillis;
+    private final ExecutorService pool;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ledger-day-roots");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile String state = "idle";
+    private volatile LedgerDayReport lastReport;
+
+    public LedgerDayRoots(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          ShardRouter shardRouter,
+                          AuditLogClient auditLogClient,
+                          @Value("${ledger.root.slices:96}") int slices,
+                          @Value("${ledger.root.parallelism:0}") int parallelism,
+                          @Value("${ledger.root.fetch-size:1000}") int fetchSize,
+                          @Value("${reconciliation.settle-ms:300000}") long settleMillis) {
+        if (slices <= 0 || Duration.ofDays(1).toNanos() % slices != 0) {
+            throw new IllegalArgumentException("ledger.root.slices must divide a day evenly: " + slices);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.shardRouter = shardRouter;
+        this.auditLogClient = auditLogClient;
+        this.slices = slices;
+        this.settleMillis = settleMillis;
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), runnable -> {
+                    Thread thread = new Thread(runnable, "ledger-day-roots-" + threads.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Scheduled(cron = "${ledger.root.cron:-}")
+    public void daily() {
+        start("seal", () -> seal(LocalDate.now().minusDays(1)));
+    }
+
+    public boolean startSeal(LocalDate day) {
+        return start("seal " + day, () -> seal(day));
+    }
+
+    public boolean startVerify(LocalDate day) {
+        return start("verify " + day, () -> verify(day));
+    }
+
+    public String state() {
+        return state;
+    }
+
+    public LedgerDayReport lastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Computes and stores the day's root if it has none, then logs every root the audit
+     * log does not have yet. A sealed day is never recomputed here; use {@link #verify}.
+     */
+    public LedgerDayReport seal(LocalDate day) {
+        long started = System.currentTimeMillis();
+        if (day.plusDays(1).atStartOfDay().plus(Duration.ofMillis(settleMillis)).isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException(day + " is not over yet, or its last rows may still be committing");
+        }
+        LedgerDayReport report = sealed(day);
+        if (report == null) {
+            report = compute(day, slices);
+            jdbcTemplate.update(ROOT_INSERT_SQL, Date.valueOf(day), report.getSlices(), report.getLedgerRows(),
+                    root(report.getRoot()), Timestamp.valueOf(LocalDateTime.now()));
+            report.setSealedRoot(report.getRoot());
+            report.setStatus("SEALED");
+            log.info("Ledger of {} sealed: {} rows, root {}, {} hash mismatches", day, report.getLedgerRows(),
+                    report.getRoot(), report.getHashMismatches());
+        } else {
+            report.setStatus("ALREADY_SEALED");
+        }
+        publishPending();
+        report.setDurationMs(System.currentTimeMillis() - started);
+        return report;
+    }
+
+    /**
+     * Recomputes the day's root, with the slice count it was sealed with, and compares it
+     * with the sealed root and the one in the audit log.
+     */
+    public LedgerDayReport verify(LocalDate day) {
+        long started = System.currentTimeMillis();
+        LedgerDayReport sealed = sealed(day);
+        LedgerDayReport report = compute(day, sealed != null ? sealed.getSlices() : slices);
+        if (sealed == null) {
+            report.setStatus("NOT_SEALED");
+        } else {
+            report.setSealedRoot(sealed.getRoot());
+            report.setAuditedRoot(auditedRoot(day));
+            String root = rootText(report.getRoot());
+            if (report.getHashMismatches() > 0 || !root.equals(rootText(sealed.getRoot()))
+                    || (report.getAuditedRoot() != null && !root.equals(report.getAuditedRoot()))) {
+                report.setStatus("MISMATCH");
+            } else {
+                report.setStatus(report.getAuditedRoot() != null ? "VERIFIED" : "NOT_AUDITED");
+            }
+        }
+        report.setDurationMs(System.currentTimeMillis() - started);
+        log.info("Ledger of {} {}: root {}, sealed {}, audited {}, {} rows, {} hash mismatches, {} ms", day,
+                report.getStatus(), report.getRoot(), report.getSealedRoot(), report.getAuditedRoot(),
+                report.getLedgerRows(), report.getHashMismatches(), report.getDurationMs());
+        return report;
+    }
+
+    /** Logs the roots not in the audit log yet, oldest first; stops at the first failure. */
+    public void publishPending() {
+        List<Map<String, Object>> pending = jdbcTemplate.queryForList(UNPUBLISHED_SQL);
+        for (Map<String, Object> row : pending) {
+            LocalDate day = ((Date) row.get("ledger_day")).toLocalDate();
+            String message = "day=" + day + " slices=" + row.get("slices") + " rows=" + row.get("ledger_rows")
+                    + " root=" + rootText(LedgerChain.hex((byte[]) row.get("root")));
+            try {
+                auditLogClient.log(new AuditLogEntry(EVENT_TYPE, null, null, message));
+            } catch (RestClientException ex) {
+                log.warn("Ledger root of {} not logged, retrying on the next run: {}", day, ex.getMessage());
+                return;
+            }
+            jdbcTemplate.update(PUBLISHED_SQL, Timestamp.valueOf(LocalDateTime.now()), Date.valueOf(day));
+        }
+    }
+
+    /** The day's root and row count, hashed slice by slice on the pool. */
+    LedgerDayReport compute(LocalDate day, int sliceCount) {
+        LocalDateTime start = day.atStartOfDay();
+        Duration slice = Duration.ofDays(1).dividedBy(sliceCount);
+        Set<String> shards = shardRouter.map().shards();
+        List<Future<Slice>> scans = new ArrayList<>();
+        for (int i = 0; i < sliceCount; i++) {
+            LocalDateTime from = start.plus(slice.multipliedBy(i));
+            LocalDateTime until = start.plus(slice.multipliedBy(i + 1));
+            scans.add(pool.submit(() -> scanSlice(shards, from, until)));
+        }
+        LedgerDayReport report = new LedgerDayReport(day, sliceCount);
+        List<byte[]> sliceRoots = new ArrayList<>();
+        for (Future<Slice> scan : scans) {
+            try {
+                Slice done = scan.get();
+                report.setLedgerRows(report.getLedgerRows() + done.rows);
+                report.setHashMismatches(report.getHashMismatches() + done.mismatches);
+                if (done.root != null) {
+                    sliceRoots.add(done.root);
+                }
+            } catch (ExecutionException ex) {
+                throw new IllegalStateException("Ledger of " + day + " could not be read: "
+                        + ex.getCause().getMessage(), ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Ledger root interrupted", ex);
+            }
+        }
+        report.setRoot(LedgerChain.hex(LedgerChain.merkleRoot(sliceRoots)));
+        return report;
+    }
+
+    private Slice scanSlice(Set<String> shards, LocalDateTime from, LocalDateTime until) {
+        Slice slice = new Slice();
+        List<byte[]> leaves = new ArrayList<>();
+        for (String shard : shards) {
+            shardRouter.onShard(shard, () -> readTemplate.execute(status -> {
+                cursorJdbcTemplate.query(SLICE_SQL, rs -> {
+                    byte[] stored = rs.getBytes(9);
+                    byte[] hash = LedgerChain.hash(rs.getBytes(8), rs.getObject(1, UUID.class),
+                            rs.getObject(2, UUID.class), TransactionType.valueOf(rs.getString(3)),
+                            rs.getBigDecimal(4), rs.getBigDecimal(5), rs.getString(6),
+                            rs.getTimestamp(7).toLocalDateTime());
+                    if (!Arrays.equals(hash, stored)) {
+                        slice.mismatches++;
+                    }
+                    leaves.add(hash);
+                }, Timestamp.valueOf(from), Timestamp.valueOf(until));
+                return null;
+            }));
+        }
+        slice.rows = leaves.size();
+        LedgerChain.sort(leaves);
+        slice.root = LedgerChain.merkleRoot(leaves);
+        return slice;
+    }
+
+    private LedgerDayReport sealed(LocalDate day) {
+        List<LedgerDayReport> rows = jdbcTemplate.query(ROOT_SELECT_SQL, (rs, rowNum) -> {
+            LedgerDayReport report = new LedgerDayReport(day, rs.getInt(2));
+            report.setLedgerRows(rs.getLong(3));
+            report.setRoot(LedgerChain.hex(rs.getBytes(4)));
+            return report;
+        }, Date.valueOf(day));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /** The root first logged for the day, "none" for a day with no rows; null if not found. */
+    private String auditedRoot(LocalDate day) {
+        String prefix = "day=" + day + " ";
+        try {
+            for (AuditLogEntry entry : auditLogClient.find(EVENT_TYPE, day.plusDays(1).atStartOfDay())) {
+                String message = entry.getMessage();
+                if (message != null && message.startsWith(prefix) && message.contains(" root=")) {
+                    return message.substring(message.indexOf(" root=") + 6);
+                }
+            }
+        } catch (RestClientException ex) {
+            log.warn("Audit log unavailable, ledger root of {} not compared with it: {}", day, ex.getMessage());
+        }
+        return null;
+    }
+
+    private boolean start(String what, Supplier<LedgerDayReport> job) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Ledger root {} not started: {}", what, state);
+            return false;
+        }
+        state = "running " + what;
+        runner.submit(() -> {
+            try {
+                lastReport = job.get();
+                state = "done " + what;
+            } catch (RuntimeException ex) {
+                log.error("Ledger root {} failed", what, ex);
+                state = "failed " + what + ": " + ex.getMessage();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    private static byte[] root(String hex) {
+        return hex == null ? null : HexFormat.of().parseHex(hex);
+    }
+
+    private static String rootText(String hex) {
+        return hex == null ? "none" : hex;
+    }
+
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private static final class Slice {
+
+        private long rows;
+        private long mismatches;
+        private byte[] root;
+    }
+}
@@ -0,0 +1,43 @@
+package com.securebank.transaction.batch;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/ledger}: state and report of the last ledger root run.
+ * {@code POST /actuator/ledger} with {@code {"day": "2025-01-31"}} verifies that day's
+ * root in the background, and with {@code "seal": true} seals it if it is not sealed
+ * yet. The day defaults to yesterday.
+ */
+@Component
+@Endpoint(id = "ledger")
+public class LedgerEndpoint {
+
+    private final LedgerDayRoots dayRoots;
+
+    public LedgerEndpoint(LedgerDayRoots dayRoots) {
+        this.dayRoots = dayRoots;
+    }
+
+    @ReadOperation
+    public Map<String, Object> ledger() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("state", dayRoots.state());
+        body.put("lastRun", dayRoots.lastReport());
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> run(@Nullable LocalDate day, @Nullable Boolean seal) {
+        LocalDate ledgerDay = day != null ? day : LocalDate.now().minusDays(1);
+        boolean started = Boolean.TRUE.equals(seal) ? dayRoots.startSeal(ledgerDay) : dayRoots.startVerify(ledgerDay);
+        return Map.of("started", started, "state", dayRoots.state());
+    }
+}
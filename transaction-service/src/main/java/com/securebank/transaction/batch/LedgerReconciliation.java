@@ -0,0 +1,655 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.transaction.dto.LedgerDiscrepancy;
+import com.securebank.transaction.dto.ReconciliationReport;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.service.CrossShardTransferCoordinator;
+import com.securebank.transaction.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-of-day reconciliation of the ledger against itself and the account balances.
+ * <p>
+ * Each shard's accounts are cut into {@code reconciliation.chunks} id ranges, scanned on
+ * {@code reconciliation.parallelism} threads. A range is one read-only repeatable-read
+ * transaction (a replica when there is one) that streams its accounts joined to their
+ * ledger rows, ordered by account and created_at, through a server-side cursor of
+ * {@code reconciliation.fetch-size} rows. Only one account's chain is held at a time,
+ * so memory depends on the range, not on the ledger:
+ * <ul>
+ *   <li>{@link AccountChain} replays each account's running balance and hash chain
+ *       and checks they end at the account's balance and chain head.</li>
+ *   <li>{@link LegPairing} sums every transfer leg into fixed hash buckets shared by
+ *       all ranges and shards. Only when a bucket is left unbalanced are the transfer
+ *       rows read again, keeping just the legs of those buckets, to name the legs
+ *       with no counter-leg.</li>
+ * </ul>
+ * Only rows older than {@code reconciliation.settle-ms} before the start are paired and
+ * checkpointed, so transfers still committing are not reported as unpaired. Their
+ * counter-legs are still accepted within that much time either side of the window.
+ * <p>
+ * Discrepancies, capped per range, go to {@code reconciliation_discrepancies} on the
+ * account's shard under the run's id. A clean chain checkpoints the account's last
+ * verified row and chain head; an incremental run then looks only at accounts updated
+ * since the last completed run and replays and rehashes them from their checkpoint,
+ * so verifying the hash chain costs only the rows written since. A chain that broke
+ * keeps its old checkpoint, so it is reported again until fixed.
+ */
+@Service
+public class LedgerReconciliation {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerReconciliation.class);
+
+    private static final int SAMPLE_SIZE = 20;
+    private static final int REFS_PER_LEG = 10;
+
+    private static final String LAST_CUTOFF_SQL =
+            "SELECT MAX(cutoff) FROM reconciliation_runs WHERE status = 'COMPLETED'";
+    private static final String RUN_INSERT_SQL = "INSERT INTO reconciliation_runs "
+            + "(id, mode, status, window_start, cutoff, started_at) VALUES (?, ?, 'RUNNING', ?, ?, ?)";
+    private static final String RUN_FINISH_SQL = "UPDATE reconciliation_runs SET status = ?, accounts = ?, "
+            + "ledger_rows = ?, discrepancies = ?, finished_at = ? WHERE id = ?";
+    private static final String DISCREPANCY_SQL = "INSERT INTO reconciliation_discrepancies "
+            + "(id, run_id, account_id, kind, transaction_id, expected, actual, detail, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String CHECKPOINT_DELETE_SQL = "DELETE FROM reconciliation_checkpoints WHERE account_id = ?";
+    private static final String CHECKPOINT_INSERT_SQL = "INSERT INTO reconciliation_checkpoints "
+            + "(account_id, verified_through, balance, ledger_hash, run_id) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SCAN_COLUMNS = "a.id, a.balance, a.ledger_hash, c.verified_through, c.balance, "
+            + "c.ledger_hash, t.id, t.type, t.amount, t.balance_after, t.target_account_id, t.description, "
+            + "t.created_at, t.prev_hash, t.hash";
+    private static final String FULL_SCAN_SQL = "SELECT " + SCAN_COLUMNS + " FROM accounts a "
+            + "LEFT JOIN reconciliation_checkpoints c ON c.account_id = a.id "
+            + "LEFT JOIN transactions t ON t.account_id = a.id WHERE a.status <> 'MOVED' AND a.id >= ?";
+    // Rows after the checkpoint are chained; rows in the pairing window are paired.
+    private static final String INCREMENTAL_SCAN_SQL = "SELECT " + SCAN_COLUMNS + " FROM accounts a "
+            + "LEFT JOIN reconciliation_checkpoints c ON c.account_id = a.id "
+            + "LEFT JOIN transactions t ON t.account_id = a.id "
+            + "AND (c.verified_through IS NULL OR t.created_at > c.verified_through OR t.created_at >= ?) "
+            + "WHERE a.status <> 'MOVED' AND a.updated_at >= ? AND a.id >= ?";
+    private static final String ORPHANS_SQL = "SELECT t.account_id, COUNT(*) FROM transactions t "
+            + "WHERE NOT EXISTS (SELECT 1 FROM accounts a WHERE a.id = t.account_id) AND t.account_id >= ?";
+    private static final String TRANSFERS_SQL = "SELECT t.id, t.account_id, t.target_account_id, t.amount, "
+            + "t.description, t.created_at FROM transactions t JOIN accounts a ON a.id = t.account_id "
+            + "WHERE a.status <> 'MOVED' AND t.type = 'TRANSFER' AND t.target_account_id IS NOT NULL "
+            + "AND t.account_id >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final ShardRouter shardRouter;
+    private final int chunks;
+    private final int chunkBits;
+    private final long settleMillis;
+    private final int pairingBits;
+    private final int maxDiscrepanciesPerRange;
+    private final ExecutorService pool;
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ledger-reconciliation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<DiscrepancyKind, Counter> found = new EnumMap<>(DiscrepancyKind.class);
+
+    private volatile String state = "idle";
+    private volatile ReconciliationReport lastReport;
+
+    public LedgerReconciliation(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ShardRouter shardRouter,
+                                MeterRegistry meterRegistry,
+                                @Value("${reconciliation.chunks:1024}") int chunks,
+                                @Value("${reconciliation.parallelism:4}") int parallelism,
+                                @Value("${reconciliation.fetch-size:1000}") int fetchSize,
+                                @Value("${reconciliation.settle-ms:300000}") long settleMillis,
+                                @Value("${reconciliation.pairing-bits:16}") int pairingBits,
+                                @Value("${reconciliation.max-discrepancies-per-range:1000}") int maxDiscrepanciesPerRange) {
+        if (chunks <= 0 || Integer.bitCount(chunks) != 1) {
+            throw new IllegalArgumentException("reconciliation.chunks must be a power of two: " + chunks);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.readTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.chunks = chunks;
+        this.chunkBits = Integer.numberOfTrailingZeros(chunks);
+        this.settleMillis = settleMillis;
+        this.pairingBits = pairingBits;
+        this.maxDiscrepanciesPerRange = maxDiscrepanciesPerRange;
+        AtomicInteger threads = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "ledger-reconciliation-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (DiscrepancyKind kind : DiscrepancyKind.values()) {
+            found.put(kind, Counter.builder("reconciliation.discrepancies")
+                    .description("Ledger discrepancies found by reconciliation")
+                    .tag("kind", kind.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    @Scheduled(cron = "${reconciliation.cron:-}")
+    public void nightly() {
+        start(ReconciliationMode.INCREMENTAL);
+    }
+
+    @Scheduled(cron = "${reconciliation.full-cron:-}")
+    public void weekly() {
+        start(ReconciliationMode.FULL);
+    }
+
+    /** Starts a run in the background. Returns false if one is already running. */
+    public boolean start(ReconciliationMode mode) {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("{} reconciliation not started: {}", mode, state);
+            return false;
+        }
+        state = "running " + mode;
+        runner.submit(() -> {
+            try {
+                lastReport = run(mode);
+                state = "done " + mode;
+            } catch (RuntimeException ex) {
+                log.error("{} reconciliation failed", mode, ex);
+                state = "failed " + mode + ": " + ex.getMessage();
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public String state() {
+        return state;
+    }
+
+    public ReconciliationReport lastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Reconciles every shard. An incremental run with no completed run on some shard
+     * to start from (a first run, or a shard added by a split) runs in full instead.
+     */
+    public ReconciliationReport run(ReconciliationMode mode) {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> shards = shardRouter.map().shards();
+        LocalDateTime windowStart = mode == ReconciliationMode.INCREMENTAL ? lastCutoff(shards) : null;
+        Window window = new Window(windowStart, now.minus(Duration.ofMillis(settleMillis)), settleMillis);
+        ReconciliationMode effective = windowStart == null ? ReconciliationMode.FULL : mode;
+        UUID runId = UUID.randomUUID();
+        ReconciliationReport report = new ReconciliationReport(runId, effective.name(), windowStart, window.cutoff);
+
+        Map<String, Totals> byShard = new LinkedHashMap<>();
+        for (String shard : shards) {
+            shardRouter.onShard(shard, () -> jdbcTemplate.update(RUN_INSERT_SQL, runId, effective.name(),
+                    timestamp(windowStart), timestamp(window.cutoff), Timestamp.valueOf(now)));
+            byShard.put(shard, new Totals());
+        }
+        log.info("{} reconciliation {} of {} shards up to {}", effective, runId, shards.size(), window.cutoff);
+
+        LegPairing pairing = new LegPairing(pairingBits);
+        List<Future<RangeScan>> scans = new ArrayList<>();
+        for (String shard : shards) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int index = chunk;
+                scans.add(pool.submit(() -> scanRange(runId, shard, index, window, pairing)));
+            }
+        }
+        int failed = 0;
+        for (Future<RangeScan> scan : scans) {
+            try {
+                RangeScan done = scan.get();
+                byShard.get(done.shard).add(done);
+            } catch (ExecutionException ex) {
+                failed++;
+                log.warn("Reconciliation {}: range failed: {}", runId, ex.getCause().getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconciliation interrupted", ex);
+            }
+        }
+
+        // Legs of failed ranges are missing from the sums, which would look unpaired
+        if (failed == 0) {
+            List<Integer> unbalanced = pairing.unbalancedBuckets();
+            if (!unbalanced.isEmpty()) {
+                log.info("Reconciliation {}: {} pairing buckets unbalanced, finding the legs", runId, unbalanced.size());
+                failed += reportUnpaired(runId, shards, window, pairing, new HashSet<>(unbalanced), byShard);
+            }
+            report.setPairingChecked(failed == 0);
+        }
+
+        String status = failed == 0 ? "COMPLETED" : "FAILED";
+        Totals totals = new Totals();
+        for (Map.Entry<String, Totals> entry : byShard.entrySet()) {
+            Totals shardTotals = entry.getValue();
+            shardRouter.onShard(entry.getKey(), () -> jdbcTemplate.update(RUN_FINISH_SQL, status,
+                    shardTotals.accounts, shardTotals.rows, shardTotals.discrepancies,
+                    Timestamp.valueOf(LocalDateTime.now()), runId));
+            totals.merge(shardTotals);
+        }
+        totals.byKind.forEach((kind, count) -> found.get(kind).increment(count));
+
+        report.setStatus(status);
+        report.setRanges(scans.size());
+        report.setRangesFailed(failed);
+        report.setAccounts(totals.accounts);
+        report.setLedgerRows(totals.rows);
+        report.setDiscrepancies(totals.discrepancies);
+        totals.byKind.forEach((kind, count) -> report.getDiscrepanciesByKind().put(kind.name(), count));
+        report.setSample(totals.sample);
+        report.setDurationMs(System.currentTimeMillis() - started);
+        log.info("{} reconciliation {} {}: {} accounts, {} ledger rows, {} discrepancies {}, {} ranges failed, {} ms",
+                effective, runId, status, report.getAccounts(), report.getLedgerRows(), report.getDiscrepancies(),
+                report.getDiscrepanciesByKind(), failed, report.getDurationMs());
+        return report;
+    }
+
+    /** The earliest of the shards' last completed cutoffs, or null if a shard has none. */
+    private LocalDateTime lastCutoff(Set<String> shards) {
+        LocalDateTime earliest = null;
+        for (String shard : shards) {
+            Timestamp last = shardRouter.onShard(shard,
+                    () -> jdbcTemplate.queryForObject(LAST_CUTOFF_SQL, Timestamp.class));
+            if (last == null) {
+                log.info("No completed reconciliation on {}, reconciling in full", shard);
+                return null;
+            }
+            if (earliest == null || last.toLocalDateTime().isBefore(earliest)) {
+                earliest = last.toLocalDateTime();
+            }
+        }
+        return earliest;
+    }
+
+    /** Streams one id range in one snapshot, then writes what it found. */
+    RangeScan scanRange(UUID runId, String shard, int index, Window window, LegPairing pairing) {
+        UUID[] range = InterestAndFeeBatch.range(index, chunkBits);
+        RangeScan scan = new RangeScan(shard, runId, window, pairing);
+        shardRouter.onShard(shard, () -> readTemplate.execute(status -> {
+            List<Object> args = new ArrayList<>();
+            String sql;
+            if (window.start == null) {
+                sql = FULL_SCAN_SQL;
+            } else {
+                sql = INCREMENTAL_SCAN_SQL;
+                args.add(timestamp(window.start));
+                args.add(timestamp(window.start));
+            }
+            cursorJdbcTemplate.query(bounded(sql, "a.id", range, args) + " ORDER BY a.id, t.created_at, t.id",
+                    scan, args.toArray());
+            scan.finishAccount();
+            if (window.start == null) {
+                List<Object> orphanArgs = new ArrayList<>();
+                jdbcTemplate.query(bounded(ORPHANS_SQL, "t.account_id", range, orphanArgs) + " GROUP BY t.account_id",
+                        rs -> {
+                            scan.discrepancy(new LedgerDiscrepancy(rs.getObject(1, UUID.class),
+                                    DiscrepancyKind.ORPHAN_LEDGER_ROWS.name(), null, null, null,
+                                    rs.getLong(2) + " ledger rows with no account"));
+                        }, orphanArgs.toArray());
+            }
+            return null;
+        }));
+        shardRouter.onShard(shard, () -> writeTemplate.execute(status -> {
+            writeDiscrepancies(runId, scan.kept);
+            jdbcTemplate.batchUpdate(CHECKPOINT_DELETE_SQL,
+                    scan.checkpoints.stream().map(row -> new Object[] {row[0]}).toList());
+            jdbcTemplate.batchUpdate(CHECKPOINT_INSERT_SQL, scan.checkpoints);
+            return null;
+        }));
+        return scan;
+    }
+
+    /**
+     * Reads the transfer rows again, keeping the legs of the unbalanced buckets, and
+     * reports the in-window legs whose counter-leg is missing. Returns the number of
+     * ranges that failed.
+     */
+    private int reportUnpaired(UUID runId, Set<String> shards, Window window, LegPairing pairing,
+                               Set<Integer> buckets, Map<String, Totals> byShard) {
+        List<Future<Map<LegPairing.Leg, Tally>>> scans = new ArrayList<>();
+        for (String shard : shards) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                UUID[] range = InterestAndFeeBatch.range(chunk, chunkBits);
+                scans.add(pool.submit(() -> shardRouter.onShard(shard, () -> readTemplate.execute(
+                        status -> tallyLegs(shard, range, window, pairing, buckets)))));
+            }
+        }
+        Map<LegPairing.Leg, Tally> tallies = new HashMap<>();
+        int failed = 0;
+        for (Future<Map<LegPairing.Leg, Tally>> scan : scans) {
+            try {
+                scan.get().forEach((leg, tally) -> tallies.merge(leg, tally, Tally::merge));
+            } catch (ExecutionException ex) {
+                failed++;
+                log.warn("Reconciliation {}: transfer rescan failed: {}", runId, ex.getCause().getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconciliation interrupted", ex);
+            }
+        }
+        if (failed > 0) {
+            return failed;
+        }
+
+        Map<String, List<LedgerDiscrepancy>> unpaired = new LinkedHashMap<>();
+        tallies.forEach((leg, tally) -> {
+            if (tally.explained()) {
+                return;
+            }
+            String detail = "transfer of " + leg.amount() + " between " + leg.low() + " and " + leg.high() + ": "
+                    + Math.abs(tally.inWindow) + " leg(s) without a counter-leg";
+            for (Ref ref : tally.refs) {
+                unpaired.computeIfAbsent(ref.shard, shard -> new ArrayList<>()).add(new LedgerDiscrepancy(
+                        ref.accountId, DiscrepancyKind.UNPAIRED_TRANSFER.name(), ref.transactionId, null,
+                        leg.amount(), detail));
+            }
+        });
+        unpaired.forEach((shard, discrepancies) -> {
+            shardRouter.onShard(shard, () -> writeTemplate.execute(status -> {
+                writeDiscrepancies(runId, discrepancies);
+                return null;
+            }));
+            Totals totals = byShard.get(shard);
+            for (LedgerDiscrepancy discrepancy : discrepancies) {
+                totals.count(discrepancy);
+            }
+        });
+        return 0;
+    }
+
+    private Map<LegPairing.Leg, Tally> tallyLegs(String shard, UUID[] range, Window window, LegPairing pairing,
+                                                 Set<Integer> buckets) {
+        List<Object> args = new ArrayList<>();
+        String sql = bounded(TRANSFERS_SQL, "t.account_id", range, args);
+        if (window.start != null) {
+            sql += " AND t.created_at >= ?";
+            args.add(timestamp(window.graceStart()));
+        }
+        Map<LegPairing.Leg, Tally> tallies = new HashMap<>();
+        cursorJdbcTemplate.query(sql, rs -> {
+            UUID accountId = rs.getObject(2, UUID.class);
+            LegPairing.Leg leg = LegPairing.Leg.of(accountId, rs.getObject(3, UUID.class), rs.getBigDecimal(4),
+                    isReversal(rs.getString(5)));
+            long hash = leg.hash();
+            if (!buckets.contains(pairing.bucket(hash))) {
+                return;
+            }
+            Tally tally = tallies.computeIfAbsent(leg, key -> new Tally());
+            LocalDateTime createdAt = rs.getTimestamp(6).toLocalDateTime();
+            if (window.pairs(createdAt)) {
+                tally.inWindow += leg.count();
+                if (tally.refs.size() < REFS_PER_LEG) {
+                    tally.refs.add(new Ref(shard, accountId, rs.getObject(1, UUID.class)));
+                }
+            } else if (leg.count() > 0) {
+                tally.graceUp++;
+            } else {
+                tally.graceDown++;
+            }
+        }, args.toArray());
+        return tallies;
+    }
+
+    private void writeDiscrepancies(UUID runId, List<LedgerDiscrepancy> discrepancies) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(DISCREPANCY_SQL, discrepancies.stream().map(d -> new Object[] {
+                UUID.randomUUID(), runId, d.getAccountId(), d.getKind(), d.getTransactionId(), d.getExpected(),
+                d.getActual(), d.getDetail(), now}).toList());
+    }
+
+    /** Adds the range's bounds on {@code column} to {@code sql} and their values to {@code args}. */
+    private static String bounded(String sql, String column, UUID[] range, List<Object> args) {
+        args.add(range[0]);
+        if (range[1] == null) {
+            return sql;
+        }
+        args.add(range[1]);
+        return sql + " AND " + column + " < ?";
+    }
+
+    private static boolean isReversal(String description) {
+        return description != null && description.startsWith(CrossShardTransferCoordinator.REVERSAL_DESCRIPTION);
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+
+    @PreDestroy
+    void stop() {
+        runner.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    /** Ledger rows paired by a run: from {@code start} (null for all of them) until {@code cutoff}. */
+    static final class Window {
+
+        private final LocalDateTime start;
+        private final LocalDateTime cutoff;
+        private final long settleMillis;
+
+        Window(LocalDateTime start, LocalDateTime cutoff, long settleMillis) {
+            this.start = start;
+            this.cutoff = cutoff;
+            this.settleMillis = settleMillis;
+        }
+
+        boolean pairs(LocalDateTime createdAt) {
+            return (start == null || !createdAt.isBefore(start)) && createdAt.isBefore(cutoff);
+        }
+
+        /** Counter-legs are accepted from this far before the window and any time after it. */
+        LocalDateTime graceStart() {
+            return start.minus(Duration.ofMillis(settleMillis));
+        }
+    }
+
+    /** Streams a range's accounts and ledger rows, one account chain at a time. */
+    final class RangeScan implements RowCallbackHandler {
+
+        private final String shard;
+        private final UUID runId;
+        private final Window window;
+        private final LegPairing pairing;
+        private final List<LedgerDiscrepancy> kept = new ArrayList<>();
+        private final List<Object[]> checkpoints = new ArrayList<>();
+        private final Map<DiscrepancyKind, Long> byKind = new EnumMap<>(DiscrepancyKind.class);
+
+        private UUID accountId;
+        private BigDecimal accountBalance;
+        private byte[] accountHead;
+        private LocalDateTime checkpoint;
+        private AccountChain chain;
+        private long accounts;
+        private long rows;
+        private long discrepancies;
+
+        private RangeScan(String shard, UUID runId, Window window, LegPairing pairing) {
+            this.shard = shard;
+            this.runId = runId;
+            this.window = window;
+            this.pairing = pairing;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID id = rs.getObject(1, UUID.class);
+            if (!id.equals(accountId)) {
+                finishAccount();
+                accountId = id;
+                accountBalance = rs.getBigDecimal(2);
+                accountHead = rs.getBytes(3);
+                // A full run replays from the first row and ignores the checkpoint
+                Timestamp verifiedThrough = window.start == null ? null : rs.getTimestamp(4);
+                checkpoint = verifiedThrough == null ? null : verifiedThrough.toLocalDateTime();
+                chain = checkpoint == null
+                        ? new AccountChain(id, BigDecimal.ZERO, null, window.cutoff, this::discrepancy)
+                        : new AccountChain(id, rs.getBigDecimal(5), rs.getBytes(6), window.cutoff, this::discrepancy);
+                accounts++;
+            }
+            UUID transactionId = rs.getObject(7, UUID.class);
+            if (transactionId == null) {
+                return;
+            }
+            rows++;
+            TransactionType type = TransactionType.valueOf(rs.getString(8));
+            BigDecimal amount = rs.getBigDecimal(9);
+            LocalDateTime createdAt = rs.getTimestamp(13).toLocalDateTime();
+            UUID target = rs.getObject(11, UUID.class);
+            String description = rs.getString(12);
+            if (type == TransactionType.TRANSFER && target != null && window.pairs(createdAt)) {
+                pairing.add(LegPairing.Leg.of(id, target, amount, isReversal(description)));
+            }
+            if (checkpoint == null || createdAt.isAfter(checkpoint)) {
+                chain.add(new AccountChain.Entry(transactionId, target, type, amount, rs.getBigDecimal(10),
+                        description, createdAt, rs.getBytes(14), rs.getBytes(15)));
+            }
+        }
+
+        private void finishAccount() {
+            if (chain == null) {
+                return;
+            }
+            chain.finish(accountBalance, accountHead);
+            if (chain.isClean() && chain.verifiedThrough() != null) {
+                checkpoints.add(new Object[] {accountId, Timestamp.valueOf(chain.verifiedThrough()),
+                        chain.verifiedBalance(), chain.verifiedHead(), runId});
+            }
+            chain = null;
+        }
+
+        private void discrepancy(LedgerDiscrepancy discrepancy) {
+            discrepancies++;
+            byKind.merge(DiscrepancyKind.valueOf(discrepancy.getKind()), 1L, Long::sum);
+            if (kept.size() < maxDiscrepanciesPerRange) {
+                kept.add(discrepancy);
+            }
+        }
+    }
+
+    /** Net count of one leg's rows in the window, and its rows just outside it. */
+    private static final class Tally {
+
+        private long inWindow;
+        private long graceUp;
+        private long graceDown;
+        private final List<Ref> refs = new ArrayList<>();
+
+        /** Balanced in the window, or balanced by counter-legs committed either side of it. */
+        private boolean explained() {
+            return inWindow == 0 || (inWindow > 0 ? graceDown >= inWindow : graceUp >= -inWindow);
+        }
+
+        private Tally merge(Tally other) {
+            inWindow += other.inWindow;
+            graceUp += other.graceUp;
+            graceDown += other.graceDown;
+            for (Ref ref : other.refs) {
+                if (refs.size() < REFS_PER_LEG) {
+                    refs.add(ref);
+                }
+            }
+            return this;
+        }
+    }
+
+    private static final class Ref {
+
+        private final String shard;
+        private final UUID accountId;
+        private final UUID transactionId;
+
+        private Ref(String shard, UUID accountId, UUID transactionId) {
+            this.shard = shard;
+            this.accountId = accountId;
+            this.transactionId = transactionId;
+        }
+    }
+
+    private static final class Totals {
+
+        private long accounts;
+        private long rows;
+        private long discrepancies;
+        private final Map<DiscrepancyKind, Long> byKind = new EnumMap<>(DiscrepancyKind.class);
+        private final List<LedgerDiscrepancy> sample = new ArrayList<>();
+
+        private void add(RangeScan scan) {
+            accounts += scan.accounts;
+            rows += scan.rows;
+            discrepancies += scan.discrepancies;
+            scan.byKind.forEach((kind, count) -> byKind.merge(kind, count, Long::sum));
+            for (LedgerDiscrepancy discrepancy : scan.kept) {
+                if (sample.size() < SAMPLE_SIZE) {
+                    sample.add(discrepancy);
+                }
+            }
+        }
+
+        private void count(LedgerDiscrepancy discrepancy) {
+            discrepancies++;
+            byKind.merge(DiscrepancyKind.valueOf(discrepancy.getKind()), 1L, Long::sum);
+            if (sample.size() < SAMPLE_SIZE) {
+                sample.add(discrepancy);
+            }
+        }
+
+        private void merge(Totals other) {
+            accounts += other.accounts;
+            rows += other.rows;
+            discrepancies += other.discrepancies;
+            other.byKind.forEach((kind, count) -> byKind.merge(kind, count, Long::sum));
+            for (LedgerDiscrepancy discrepancy : other.sample) {
+                if (sample.size() < SAMPLE_SIZE) {
+                    sample.add(discrepancy);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.securebank.transaction.batch;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Checks that every transfer leg has a counter-leg, in memory that does not grow with
+ * the ledger.
+ * <p>
+ * A transfer between A and B writes one row on each account, each naming the other as
+ * its target, for the same amount. A row on A naming B counts +1 towards the
+ * {@link Leg} (A, B, amount) if A sorts before B and -1 if after, so a leg and its
+ * counter-leg cancel whichever way the money went. The credit that reverses a cancelled
+ * cross-shard transfer takes back the debit on the same account, so it counts the
+ * other way round.
+ * <p>
+ * Legs are not kept. Each hashes to 64 bits and to one of {@code 2^bits} buckets; a
+ * bucket holds the sum of its legs' hashes times their counts. A bucket whose legs all
+ * pair up sums to zero, and one with a leg left over is nonzero except with odds of
+ * 2^-64. The buckets are updated atomically and shared by all workers, so legs on
+ * different shards pair up. Only the legs of nonzero buckets are then looked at again.
+ */
+final class LegPairing {
+
+    private final int bits;
+    private final AtomicLongArray sums;
+
+    LegPairing(int bits) {
+        if (bits < 1 || bits > 24) {
+            throw new IllegalArgumentException("pairing bits must be between 1 and 24: " + bits);
+        }
+        this.bits = bits;
+        this.sums = new AtomicLongArray(1 << bits);
+    }
+
+    void add(Leg leg) {
+        long hash = leg.hash();
+        sums.addAndGet(bucket(hash), leg.count * hash);
+    }
+
+    int bucket(long hash) {
+        return (int) (hash >>> (64 - bits));
+    }
+
+    /** Buckets with a leg left over, in order. */
+    List<Integer> unbalancedBuckets() {
+        List<Integer> buckets = new ArrayList<>();
+        for (int i = 0; i < sums.length(); i++) {
+            if (sums.get(i) != 0) {
+                buckets.add(i);
+            }
+        }
+        return buckets;
+    }
+
+    /** The unordered account pair and amount of one transfer row, and how it counts. */
+    static final class Leg {
+
+        private final UUID low;
+        private final UUID high;
+        private final long cents;
+        private final int count;
+
+        private Leg(UUID low, UUID high, long cents, int count) {
+            this.low = low;
+            this.high = high;
+            this.cents = cents;
+            this.count = count;
+        }
+
+        /** The leg of a transfer row on {@code account} whose target is {@code counterparty}. */
+        static Leg of(UUID account, UUID counterparty, BigDecimal amount, boolean reversal) {
+            long cents = amount.movePointRight(2).longValueExact();
+            int count = reversal ? -1 : 1;
+            return account.compareTo(counterparty) < 0
+                    ? new Leg(account, counterparty, cents, count)
+                    : new Leg(counterparty, account, cents, -count);
+        }
+
+        int count() {
+            return count;
+        }
+
+        long hash() {
+            long hash = mix(low.getMostSignificantBits());
+            hash = mix(hash ^ low.getLeastSignificantBits());
+            hash = mix(hash ^ high.getMostSignificantBits());
+            hash = mix(hash ^ high.getLeastSignificantBits());
+            return mix(hash ^ cents);
+        }
+
+        UUID low() {
+            return low;
+        }
+
+        UUID high() {
+            return high;
+        }
+
+        BigDecimal amount() {
+            return BigDecimal.valueOf(cents, 2);
+        }
+
+        /** Equal for both legs of a transfer: the count is left out. */
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Leg leg && cents == leg.cents && low.equals(leg.low) && high.equals(leg.high);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(low, high, cents);
+        }
+
+        /** SplitMix64 finalizer. */
+        private static long mix(long z) {
+            z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+            z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
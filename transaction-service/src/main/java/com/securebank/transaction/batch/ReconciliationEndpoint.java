@@ -0,0 +1,42 @@
+package com.securebank.transaction.batch;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/reconciliation}: state and report of the last reconciliation.
+ * {@code POST /actuator/reconciliation} with {@code {"mode": "FULL"}} starts one in the
+ * background; the mode defaults to incremental. The discrepancies themselves are in
+ * {@code reconciliation_discrepancies} on each shard, under the report's run id.
+ */
+@Component
+@Endpoint(id = "reconciliation")
+public class ReconciliationEndpoint {
+
+    private final LedgerReconciliation reconciliation;
+
+    public ReconciliationEndpoint(LedgerReconciliation reconciliation) {
+        this.reconciliation = reconciliation;
+    }
+
+    @ReadOperation
+    public Map<String, Object> reconciliation() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("state", reconciliation.state());
+        body.put("lastRun", reconciliation.lastReport());
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> run(@Nullable String mode) {
+        ReconciliationMode reconciliationMode =
+                mode != null ? ReconciliationMode.valueOf(mode.toUpperCase()) : ReconciliationMode.INCREMENTAL;
+        return Map.of("started", reconciliation.start(reconciliationMode), "state", reconciliation.state());
+    }
+}
@@ -0,0 +1,10 @@
+package com.securebank.transaction.batch;
+
+public enum ReconciliationMode {
+
+    /** Every account, every ledger row. */
+    FULL,
+
+    /** Only accounts touched since the last completed run, from their last verified row. */
+    INCREMENTAL
+}
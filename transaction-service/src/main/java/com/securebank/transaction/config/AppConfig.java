@@ -1,5 +1,6 @@
 package com.securebank.transaction.config;
 
+import com.securebank.common.tracing.TracingClientInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -8,7 +9,9 @@ import org.springframework.web.client.RestTemplate;
 public class AppConfig {
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(TracingClientInterceptor tracingClientInterceptor) {
+        RestTemplate restTemplate = new RestTemplate();
+        restTemplate.getInterceptors().add(tracingClientInterceptor);
+        return restTemplate;
     }
 }
@@ -0,0 +1,78 @@
+package com.securebank.transaction.config;
+
+import com.securebank.common.aot.CommonRuntimeHints;
+import com.securebank.transaction.dto.AccountBalanceResponse;
+import com.securebank.transaction.dto.AuditLogEntry;
+import com.securebank.transaction.dto.AuthorizeHoldRequest;
+import com.securebank.transaction.dto.BatchCaptureRequest;
+import com.securebank.transaction.dto.BatchRunReport;
+import com.securebank.transaction.dto.CaptureHoldRequest;
+import com.securebank.transaction.dto.DepositRequest;
+import com.securebank.transaction.dto.HoldResponse;
+import com.securebank.transaction.dto.HotAccountResponse;
+import com.securebank.transaction.dto.HotAccountsReport;
+import com.securebank.transaction.dto.LedgerDayReport;
+import com.securebank.transaction.dto.LedgerDiscrepancy;
+import com.securebank.transaction.dto.ReconciliationReport;
+import com.securebank.transaction.dto.ScheduledTransferRequest;
+import com.securebank.transaction.dto.ScheduledTransferResponse;
+import com.securebank.transaction.dto.ShardSplitReport;
+import com.securebank.transaction.dto.TransactionResponse;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.dto.WithdrawRequest;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.Hold;
+import com.securebank.transaction.entity.HoldStatus;
+import com.securebank.transaction.entity.ScheduledTransfer;
+import com.securebank.transaction.entity.ScheduledTransferStatus;
+import com.securebank.transaction.entity.Transaction;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.entity.TransferIntent;
+import com.securebank.transaction.entity.TransferFrequency;
+import com.securebank.transaction.entity.TransferIntentState;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Native-image hints for transaction-service: reflective access to the JPA entities and
+ * Jackson binding for the request and response DTOs. Only read when building a native
+ * image ({@code -Pnative}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.EntityHints.class)
+@RegisterReflectionForBinding({
+        AccountBalanceResponse.class,
+        AuditLogEntry.class,
+        AuthorizeHoldRequest.class,
+        BatchCaptureRequest.class,
+        BatchRunReport.class,
+        CaptureHoldRequest.class,
+        DepositRequest.class,
+        HoldResponse.class,
+        HotAccountResponse.class,
+        HotAccountsReport.class,
+        LedgerDayReport.class,
+        LedgerDiscrepancy.class,
+        ReconciliationReport.class,
+        ScheduledTransferRequest.class,
+        ScheduledTransferResponse.class,
+        ShardSplitReport.class,
+        TransactionResponse.class,
+        TransferRequest.class,
+        WithdrawRequest.class
+})
+public class NativeHintsConfig {
+
+    static class EntityHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            CommonRuntimeHints.registerEntities(hints, Account.class, Hold.class, HoldStatus.class,
+                    ScheduledTransfer.class, ScheduledTransferStatus.class, Transaction.class, TransactionType.class,
+                    TransferFrequency.class, TransferIntent.class, TransferIntent.Key.class, TransferIntentState.class);
+        }
+    }
+}
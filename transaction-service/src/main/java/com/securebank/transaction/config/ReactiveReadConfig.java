@@ -0,0 +1,106 @@
+package com.securebank.transaction.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.common.security.JwtUtil;
+import com.securebank.transaction.controller.TransactionStreamRoutes;
+import com.securebank.transaction.repository.TransactionStreamRepository;
+import com.securebank.transaction.shard.ShardRouter;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Non-blocking read path: R2DBC connection pool, streaming history routes, and a
+ * Reactor Netty server on {@code reactive.read.port} that serves them next to Tomcat.
+ * <p>
+ * Writes stay on JPA and Tomcat. This path only reads, so it needs no reactive
+ * transaction manager; R2DBC auto-configuration is excluded in
+ * {@code TransactionServiceApplication} so the JPA transaction manager stays the only
+ * one. The R2DBC pool reuses the JDBC credentials.
+ * <p>
+ * With {@code sharding.enabled=true} there is one pool per shard, each taking its URL
+ * from {@code sharding.shard.<name>.r2dbc-url} and its credentials like the shard's
+ * JDBC pool, and each history is read from the shard that owns the account.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reactive.read.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ReadConnectionPools readConnectionPools(Environment environment,
+                                                   ShardRouter shardRouter,
+                                                   @Value("${sharding.shards:}") List<String> shards,
+                                                   @Value("${reactive.read.pool-size:20}") int poolSize) {
+        String username = environment.getProperty("spring.datasource.username", "");
+        String password = environment.getProperty("spring.datasource.password", "");
+        Map<String, ConnectionPool> byShard = new LinkedHashMap<>();
+        if (!shardRouter.isEnabled()) {
+            byShard.put(ShardRouter.SINGLE_SHARD, pool("transaction-read",
+                    environment.getRequiredProperty("reactive.read.r2dbc-url"), username, password, poolSize));
+            return new ReadConnectionPools(byShard);
+        }
+        for (String name : shards) {
+            String shard = name.trim();
+            String prefix = "sharding.shard." + shard + ".";
+            byShard.put(shard, pool("transaction-read-" + shard,
+                    environment.getRequiredProperty(prefix + "r2dbc-url"),
+                    environment.getProperty(prefix + "username", username),
+                    environment.getProperty(prefix + "password", password),
+                    poolSize));
+        }
+        return new ReadConnectionPools(byShard);
+    }
+
+    @Bean
+    public TransactionStreamRoutes transactionStreamRoutes(ReadConnectionPools readConnectionPools,
+                                                           ShardRouter shardRouter,
+                                                           JwtUtil jwtUtil,
+                                                           @Value("${reactive.read.fetch-size:256}") int fetchSize,
+                                                           @Value("${reactive.read.max-rows:100000}") int maxRows) {
+        TransactionStreamRepository repository = new TransactionStreamRepository(
+                accountId -> readConnectionPools.client(shardRouter.shardOf(accountId)), fetchSize);
+        return new TransactionStreamRoutes(repository, jwtUtil, maxRows);
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(TransactionStreamRoutes routes,
+                                                 ObjectMapper objectMapper,
+                                                 @Value("${reactive.read.host:0.0.0.0}") String host,
+                                                 @Value("${reactive.read.port:8093}") int port) {
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(routes.routes(), strategies);
+        return new ReactiveReadServer(httpHandler, host, port);
+    }
+
+    private static ConnectionPool pool(String name, String r2dbcUrl, String username, String password, int poolSize) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .name(name)
+                .maxSize(poolSize)
+                .build());
+    }
+}
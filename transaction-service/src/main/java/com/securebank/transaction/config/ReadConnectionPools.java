@@ -0,0 +1,36 @@
+package com.securebank.transaction.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * R2DBC pool per shard for the reactive read path, in configuration order; a single
+ * {@link com.securebank.transaction.shard.ShardRouter#SINGLE_SHARD} pool when sharding
+ * is off.
+ */
+public class ReadConnectionPools {
+
+    private final Map<String, ConnectionPool> pools;
+    private final Map<String, DatabaseClient> clients = new LinkedHashMap<>();
+
+    public ReadConnectionPools(Map<String, ConnectionPool> pools) {
+        this.pools = Collections.unmodifiableMap(new LinkedHashMap<>(pools));
+        this.pools.forEach((shard, pool) -> clients.put(shard, DatabaseClient.create(pool)));
+    }
+
+    public DatabaseClient client(String shard) {
+        DatabaseClient client = clients.get(shard);
+        if (client == null) {
+            throw new IllegalArgumentException("No R2DBC pool configured for shard " + shard);
+        }
+        return client;
+    }
+
+    public void dispose() {
+        pools.values().forEach(ConnectionPool::dispose);
+    }
+}
@@ -0,0 +1,109 @@
+package com.securebank.transaction.config;
+
+import com.securebank.transaction.shard.ShardDataSources;
+import com.securebank.transaction.shard.ShardMapStore;
+import com.securebank.transaction.shard.ShardRouter;
+import com.securebank.transaction.shard.ShardRoutingDataSource;
+import com.securebank.transaction.shard.ShardSplitter;
+import com.securebank.transaction.shard.ShardsEndpoint;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Account-id sharding across the databases in {@code sharding.shards}. Each shard
+ * {@code <name>} takes its JDBC URL from {@code sharding.shard.<name>.url}, and its
+ * credentials from {@code sharding.shard.<name>.username} / {@code .password}, falling
+ * back to {@code spring.datasource.*}. Pool settings come from {@code sharding.hikari.*}.
+ * <p>
+ * The service's {@code dataSource} becomes a {@link LazyConnectionDataSourceProxy} over
+ * a {@link ShardRoutingDataSource}, and Flyway migrates every shard. Replaces Boot's
+ * single data source. Startup fails with {@code replica.enabled} as well: the replica
+ * post-processor would put one replica set behind all shards and serve every shard's
+ * reads from it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    public ShardingConfig(@Value("${replica.enabled:false}") boolean replicasEnabled) {
+        if (replicasEnabled) {
+            throw new IllegalStateException("sharding.enabled=true cannot be combined with replica.enabled=true");
+        }
+    }
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(Environment environment,
+                                             @Value("${sharding.shards}") List<String> shards) {
+        Map<String, DataSource> byShard = new LinkedHashMap<>();
+        for (String name : shards) {
+            String shard = name.trim();
+            String prefix = "sharding.shard." + shard + ".";
+            DataSource dataSource = DataSourceBuilder.create()
+                    .url(environment.getRequiredProperty(prefix + "url"))
+                    .username(environment.getProperty(prefix + "username",
+                            environment.getProperty("spring.datasource.username", "")))
+                    .password(environment.getProperty(prefix + "password",
+                            environment.getProperty("spring.datasource.password", "")))
+                    .build();
+            Binder.get(environment).bind("sharding.hikari", Bindable.ofInstance(dataSource));
+            byShard.put(shard, dataSource);
+        }
+        return new ShardDataSources(byShard);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources) {
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shardDataSources));
+    }
+
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigration(ShardDataSources shardDataSources) {
+        return flyway -> shardDataSources.all().values().forEach(dataSource -> Flyway.configure()
+                .configuration(flyway.getConfiguration())
+                .dataSource(dataSource)
+                .load()
+                .migrate());
+    }
+
+    /**
+     * The map is seeded once, from {@code sharding.initial-shards} (default: all shards).
+     * Shards configured later join the map through a split.
+     */
+    @Bean
+    public ShardMapStore shardMapStore(ShardDataSources shardDataSources,
+                                       @Value("${sharding.initial-shards:${sharding.shards}}") List<String> initialShards,
+                                       @Value("${sharding.virtual-nodes:64}") int virtualNodes) {
+        return new ShardMapStore(shardDataSources.get(shardDataSources.catalog()),
+                initialShards.stream().map(String::trim).toList(), virtualNodes);
+    }
+
+    @Bean
+    public ShardSplitter shardSplitter(ShardRouter shardRouter,
+                                       ShardMapStore shardMapStore,
+                                       ShardDataSources shardDataSources,
+                                       @Value("${sharding.split.batch-size:500}") int batchSize,
+                                       @Value("${sharding.map-refresh-ms:5000}") long mapRefreshMs) {
+        return new ShardSplitter(shardRouter, shardMapStore, shardDataSources, batchSize, 2 * mapRefreshMs);
+    }
+
+    @Bean
+    public ShardsEndpoint shardsEndpoint(ShardRouter shardRouter, ShardSplitter shardSplitter) {
+        return new ShardsEndpoint(shardRouter, shardSplitter);
+    }
+}
@@ -0,0 +1,64 @@
+package com.securebank.transaction.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.warmup.WarmupTask;
+import com.securebank.transaction.dto.DepositRequest;
+import com.securebank.transaction.dto.TransactionResponse;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.repository.TransactionRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Warm-up tasks for transaction-service, run by {@code WarmupRunner} before readiness.
+ * The queries use a random account id, so they compile Hibernate's plans and exercise
+ * the JDBC path without matching or locking any row.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WarmupConfig {
+
+    @Bean
+    public WarmupTask lockQueryWarmup(AccountRepository accountRepository, TransactionTemplate transactionTemplate) {
+        UUID accountId = UUID.randomUUID();
+        return WarmupTask.of("find-by-id-with-lock", 200, () ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    accountRepository.findByIdWithLock(accountId);
+                    status.setRollbackOnly();
+                }));
+    }
+
+    @Bean
+    public WarmupTask historyQueryWarmup(TransactionRepository transactionRepository) {
+        UUID accountId = UUID.randomUUID();
+        return WarmupTask.of("history-query", 200, () ->
+                transactionRepository.findByAccountIdOrderByCreatedAtDesc(accountId));
+    }
+
+    @Bean
+    public WarmupTask transactionJsonWarmup(ObjectMapper objectMapper) throws JsonProcessingException {
+        UUID accountId = UUID.randomUUID();
+        List<TransactionResponse> history = List.of(
+                new TransactionResponse(UUID.randomUUID(), accountId, null, "DEPOSIT",
+                        new BigDecimal("100.00"), new BigDecimal("100.00"), "warm-up", LocalDateTime.now()),
+                new TransactionResponse(UUID.randomUUID(), accountId, UUID.randomUUID(), "TRANSFER",
+                        new BigDecimal("40.00"), new BigDecimal("60.00"), "warm-up", LocalDateTime.now()));
+        byte[] deposit = objectMapper.writeValueAsBytes(
+                new DepositRequest(accountId, new BigDecimal("100.00"), "warm-up"));
+        byte[] transfer = objectMapper.writeValueAsBytes(
+                new TransferRequest(accountId, UUID.randomUUID(), new BigDecimal("40.00"), "warm-up"));
+        return WarmupTask.of("transaction-json", 2000, () -> {
+            objectMapper.readValue(deposit, DepositRequest.class);
+            objectMapper.readValue(transfer, TransferRequest.class);
+            objectMapper.writeValueAsBytes(ApiResponse.success("Transaction history retrieved", history));
+        });
+    }
+}
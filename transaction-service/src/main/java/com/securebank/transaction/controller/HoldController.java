@@ -0,0 +1,63 @@
+package com.securebank.transaction.controller;
+
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.transaction.dto.AuthorizeHoldRequest;
+import com.securebank.transaction.dto.BatchCaptureRequest;
+import com.securebank.transaction.dto.CaptureHoldRequest;
+import com.securebank.transaction.dto.HoldResponse;
+import com.securebank.transaction.service.HoldService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/transactions/holds")
+public class HoldController {
+
+    private final HoldService holdService;
+
+    public HoldController(HoldService holdService) {
+        this.holdService = holdService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<HoldResponse>> authorize(
+            @Valid @RequestBody AuthorizeHoldRequest request) {
+        HoldResponse response = holdService.authorize(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Hold authorized", response));
+    }
+
+    @PostMapping("/{holdId}/capture")
+    public ResponseEntity<ApiResponse<HoldResponse>> capture(
+            @PathVariable UUID holdId,
+            @Valid @RequestBody(required = false) CaptureHoldRequest request) {
+        HoldResponse response = holdService.capture(holdId, request != null ? request.getAmount() : null);
+        return ResponseEntity.ok(ApiResponse.success("Hold captured", response));
+    }
+
+    @PostMapping("/capture")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    public ResponseEntity<ApiResponse<List<HoldResponse>>> captureBatch(
+            @Valid @RequestBody BatchCaptureRequest request) {
+        List<HoldResponse> response = holdService.captureAll(request.getCaptures());
+        return ResponseEntity.ok(ApiResponse.success("Holds captured", response));
+    }
+
+    @PostMapping("/{holdId}/void")
+    public ResponseEntity<ApiResponse<HoldResponse>> voidHold(@PathVariable UUID holdId) {
+        HoldResponse response = holdService.voidHold(holdId);
+        return ResponseEntity.ok(ApiResponse.success("Hold voided", response));
+    }
+
+    @GetMapping("/account/{accountId}")
+    public ResponseEntity<ApiResponse<List<HoldResponse>>> getOpenHolds(@PathVariable UUID accountId) {
+        List<HoldResponse> holds = holdService.getOpenHolds(accountId);
+        return ResponseEntity.ok(ApiResponse.success("Open holds retrieved", holds));
+    }
+}
@@ -0,0 +1,44 @@
+package com.securebank.transaction.controller;
+
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.transaction.dto.ScheduledTransferRequest;
+import com.securebank.transaction.dto.ScheduledTransferResponse;
+import com.securebank.transaction.service.ScheduledTransferService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/transactions/scheduled")
+public class ScheduledTransferController {
+
+    private final ScheduledTransferService scheduledTransferService;
+
+    public ScheduledTransferController(ScheduledTransferService scheduledTransferService) {
+        this.scheduledTransferService = scheduledTransferService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<ScheduledTransferResponse>> create(
+            @Valid @RequestBody ScheduledTransferRequest request) {
+        ScheduledTransferResponse response = scheduledTransferService.create(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Transfer scheduled", response));
+    }
+
+    @GetMapping("/account/{accountId}")
+    public ResponseEntity<ApiResponse<List<ScheduledTransferResponse>>> getForAccount(@PathVariable UUID accountId) {
+        List<ScheduledTransferResponse> schedules = scheduledTransferService.getForAccount(accountId);
+        return ResponseEntity.ok(ApiResponse.success("Scheduled transfers retrieved", schedules));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<ScheduledTransferResponse>> cancel(@PathVariable UUID id) {
+        ScheduledTransferResponse response = scheduledTransferService.cancel(id);
+        return ResponseEntity.ok(ApiResponse.success("Scheduled transfer cancelled", response));
+    }
+}
@@ -1,13 +1,18 @@
 package com.securebank.transaction.controller;
 
+import com.securebank.common.dto.AccountBalanceChange;
 import com.securebank.common.dto.ApiResponse;
 import com.securebank.transaction.dto.*;
+import com.securebank.transaction.service.HotAccountTracker;
 import com.securebank.transaction.service.TransactionService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,9 +21,11 @@ import java.util.UUID;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final HotAccountTracker hotAccountTracker;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, HotAccountTracker hotAccountTracker) {
         this.transactionService = transactionService;
+        this.hotAccountTracker = hotAccountTracker;
     }
 
     @PostMapping("/deposit")
@@ -51,4 +58,34 @@ public class TransactionController {
         List<TransactionResponse> history = transactionService.getTransactionHistory(accountId);
         return ResponseEntity.ok(ApiResponse.success("Transaction history retrieved", history));
     }
+
+    @GetMapping("/account/{accountId}/balance")
+    public ResponseEntity<ApiResponse<AccountBalanceResponse>> getBalance(@PathVariable UUID accountId) {
+        AccountBalanceResponse balance = transactionService.getBalance(accountId);
+        return ResponseEntity.ok(ApiResponse.success("Account balance retrieved", balance));
+    }
+
+    @GetMapping("/balance-feed")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SERVICE')")
+    public ResponseEntity<ApiResponse<List<AccountBalanceChange>>> getBalanceFeed(
+            @RequestParam(defaultValue = "1970-01-01T00:00:00")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "00000000-0000-0000-0000-000000000000") UUID afterId,
+            @RequestParam(defaultValue = "500") int limit) {
+        List<AccountBalanceChange> changes = transactionService.getBalanceChanges(since, afterId, Math.min(limit, 5000));
+        return ResponseEntity.ok(ApiResponse.success("Account balance changes retrieved", changes));
+    }
+
+    @GetMapping("/hot-accounts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<HotAccountsReport>> getHotAccounts(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "60") int windowSeconds) {
+        int boundedLimit = Math.max(1, Math.min(limit, 100));
+        HotAccountsReport report = new HotAccountsReport(
+                hotAccountTracker.effectiveWindowSeconds(windowSeconds),
+                hotAccountTracker.topByMutations(boundedLimit, windowSeconds),
+                hotAccountTracker.topByLockWait(boundedLimit, windowSeconds));
+        return ResponseEntity.ok(ApiResponse.success("Hot accounts retrieved", report));
+    }
 }
@@ -0,0 +1,91 @@
+package com.securebank.transaction.controller;
+
+import com.securebank.common.dto.ErrorResponse;
+import com.securebank.common.security.JwtUtil;
+import com.securebank.transaction.dto.TransactionResponse;
+import com.securebank.transaction.repository.TransactionStreamRepository;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Streaming variant of {@code GET /api/v1/transactions/account/{accountId}}, served by the
+ * reactive read server rather than Tomcat.
+ * <p>
+ * {@code GET /api/v1/transactions/stream/account/{accountId}} returns the account's
+ * history newest first, one JSON object per line ({@code application/x-ndjson}, the
+ * default) or as server-sent events when the client accepts {@code text/event-stream}.
+ * Same bearer-token requirement as the MVC endpoint; {@code limit} caps the rows.
+ */
+public class TransactionStreamRoutes {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final ParameterizedTypeReference<ServerSentEvent<TransactionResponse>> SSE_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final TransactionStreamRepository repository;
+    private final JwtUtil jwtUtil;
+    private final int maxRows;
+
+    public TransactionStreamRoutes(TransactionStreamRepository repository, JwtUtil jwtUtil, int maxRows) {
+        this.repository = repository;
+        this.jwtUtil = jwtUtil;
+        this.maxRows = maxRows;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/api/v1/transactions/stream/account/{accountId}", this::history)
+                .filter(authenticated())
+                .build();
+    }
+
+    Mono<ServerResponse> history(ServerRequest request) {
+        UUID accountId;
+        int limit;
+        try {
+            accountId = UUID.fromString(request.pathVariable("accountId"));
+            limit = request.queryParam("limit").map(Integer::parseInt).orElse(maxRows);
+        } catch (IllegalArgumentException ex) {
+            return error(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+        }
+        int boundedLimit = Math.max(1, Math.min(limit, maxRows));
+
+        if (request.headers().accept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(repository.streamByAccountId(accountId, boundedLimit)
+                            .map(row -> ServerSentEvent.builder(row).id(row.getId().toString()).build()), SSE_TYPE);
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(repository.streamByAccountId(accountId, boundedLimit), TransactionResponse.class);
+    }
+
+    private HandlerFilterFunction<ServerResponse, ServerResponse> authenticated() {
+        return (request, next) -> {
+            String authHeader = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)
+                    || !jwtUtil.isTokenValid(authHeader.substring(BEARER_PREFIX.length()))) {
+                return error(HttpStatus.UNAUTHORIZED, "Valid bearer token required", request);
+            }
+            return next.handle(request);
+        };
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message, ServerRequest request) {
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorResponse(status.value(), status.getReasonPhrase(), message, request.path()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.securebank.transaction.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Ledger balance, the part of it held by open authorizations, and what remains spendable. */
+public class AccountBalanceResponse {
+
+    private UUID accountId;
+    private BigDecimal ledgerBalance;
+    private BigDecimal heldBalance;
+    private BigDecimal availableBalance;
+
+    public AccountBalanceResponse() {}
+
+    public AccountBalanceResponse(UUID accountId, BigDecimal ledgerBalance, BigDecimal heldBalance,
+                                  BigDecimal availableBalance) {
+        this.accountId = accountId;
+        this.ledgerBalance = ledgerBalance;
+        this.heldBalance = heldBalance;
+        this.availableBalance = availableBalance;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public BigDecimal getLedgerBalance() { return ledgerBalance; }
+    public void setLedgerBalance(BigDecimal ledgerBalance) { this.ledgerBalance = ledgerBalance; }
+    public BigDecimal getHeldBalance() { return heldBalance; }
+    public void setHeldBalance(BigDecimal heldBalance) { this.heldBalance = heldBalance; }
+    public BigDecimal getAvailableBalance() { return availableBalance; }
+    public void setAvailableBalance(BigDecimal availableBalance) { this.availableBalance = availableBalance; }
+}
@@ -0,0 +1,40 @@
+package com.securebank.transaction.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class AuthorizeHoldRequest {
+
+    @NotNull(message = "Account ID is required")
+    private UUID accountId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Hold amount must be greater than zero")
+    private BigDecimal amount;
+
+    private String description;
+
+    @Min(value = 1, message = "Hold expiry must be at least one second")
+    private Long expiresInSeconds;
+
+    public AuthorizeHoldRequest() {}
+
+    public AuthorizeHoldRequest(UUID accountId, BigDecimal amount, String description, Long expiresInSeconds) {
+        this.accountId = accountId;
+        this.amount = amount;
+        this.description = description;
+        this.expiresInSeconds = expiresInSeconds;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public Long getExpiresInSeconds() { return expiresInSeconds; }
+    public void setExpiresInSeconds(Long expiresInSeconds) { this.expiresInSeconds = expiresInSeconds; }
+}
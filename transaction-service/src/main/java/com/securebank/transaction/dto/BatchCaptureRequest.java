@@ -0,0 +1,22 @@
+package com.securebank.transaction.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BatchCaptureRequest {
+
+    @NotEmpty(message = "At least one capture is required")
+    @Size(max = 1000, message = "At most 1000 captures per batch")
+    private List<@Valid CaptureHoldRequest> captures;
+
+    public BatchCaptureRequest() {}
+
+    public BatchCaptureRequest(List<CaptureHoldRequest> captures) {
+        this.captures = captures;
+    }
+
+    public List<CaptureHoldRequest> getCaptures() { return captures; }
+    public void setCaptures(List<CaptureHoldRequest> captures) { this.captures = captures; }
+}
@@ -0,0 +1,46 @@
+package com.securebank.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class BatchRunReport {
+
+    private String job;
+    private LocalDate runDate;
+    private int chunks;
+    private int chunksAlreadyDone;
+    private int chunksFailed;
+    private long accounts;
+    private long postings;
+    private BigDecimal amount = BigDecimal.ZERO;
+    private long throttledMs;
+    private long durationMs;
+
+    public BatchRunReport() {}
+
+    public BatchRunReport(String job, LocalDate runDate) {
+        this.job = job;
+        this.runDate = runDate;
+    }
+
+    public String getJob() { return job; }
+    public void setJob(String job) { this.job = job; }
+    public LocalDate getRunDate() { return runDate; }
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+    public int getChunks() { return chunks; }
+    public void setChunks(int chunks) { this.chunks = chunks; }
+    public int getChunksAlreadyDone() { return chunksAlreadyDone; }
+    public void setChunksAlreadyDone(int chunksAlreadyDone) { this.chunksAlreadyDone = chunksAlreadyDone; }
+    public int getChunksFailed() { return chunksFailed; }
+    public void setChunksFailed(int chunksFailed) { this.chunksFailed = chunksFailed; }
+    public long getAccounts() { return accounts; }
+    public void setAccounts(long accounts) { this.accounts = accounts; }
+    public long getPostings() { return postings; }
+    public void setPostings(long postings) { this.postings = postings; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public long getThrottledMs() { return throttledMs; }
+    public void setThrottledMs(long throttledMs) { this.throttledMs = throttledMs; }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
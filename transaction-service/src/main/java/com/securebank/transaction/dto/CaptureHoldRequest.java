@@ -0,0 +1,26 @@
+package com.securebank.transaction.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** Capture of one hold. Without an amount the full hold is captured. */
+public class CaptureHoldRequest {
+
+    private UUID holdId;
+
+    @DecimalMin(value = "0.01", message = "Capture amount must be greater than zero")
+    private BigDecimal amount;
+
+    public CaptureHoldRequest() {}
+
+    public CaptureHoldRequest(UUID holdId, BigDecimal amount) {
+        this.holdId = holdId;
+        this.amount = amount;
+    }
+
+    public UUID getHoldId() { return holdId; }
+    public void setHoldId(UUID holdId) { this.holdId = holdId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
@@ -0,0 +1,52 @@
+package com.securebank.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class HoldResponse {
+
+    private UUID id;
+    private UUID accountId;
+    private BigDecimal amount;
+    private BigDecimal capturedAmount;
+    private String status;
+    private String description;
+    private UUID transactionId;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+
+    public HoldResponse() {}
+
+    public HoldResponse(UUID id, UUID accountId, BigDecimal amount, BigDecimal capturedAmount, String status,
+                        String description, UUID transactionId, LocalDateTime expiresAt, LocalDateTime createdAt) {
+        this.id = id;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.capturedAmount = capturedAmount;
+        this.status = status;
+        this.description = description;
+        this.transactionId = transactionId;
+        this.expiresAt = expiresAt;
+        this.createdAt = createdAt;
+    }
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public BigDecimal getCapturedAmount() { return capturedAmount; }
+    public void setCapturedAmount(BigDecimal capturedAmount) { this.capturedAmount = capturedAmount; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
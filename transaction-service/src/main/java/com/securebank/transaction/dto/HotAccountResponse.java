@@ -0,0 +1,29 @@
+package com.securebank.transaction.dto;
+
+import java.util.UUID;
+
+public class HotAccountResponse {
+
+    private UUID accountId;
+    private long mutations;
+    private double mutationsPerSecond;
+    private double lockWaitMs;
+
+    public HotAccountResponse() {}
+
+    public HotAccountResponse(UUID accountId, long mutations, double mutationsPerSecond, double lockWaitMs) {
+        this.accountId = accountId;
+        this.mutations = mutations;
+        this.mutationsPerSecond = mutationsPerSecond;
+        this.lockWaitMs = lockWaitMs;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public long getMutations() { return mutations; }
+    public void setMutations(long mutations) { this.mutations = mutations; }
+    public double getMutationsPerSecond() { return mutationsPerSecond; }
+    public void setMutationsPerSecond(double mutationsPerSecond) { this.mutationsPerSecond = mutationsPerSecond; }
+    public double getLockWaitMs() { return lockWaitMs; }
+    public void setLockWaitMs(double lockWaitMs) { this.lockWaitMs = lockWaitMs; }
+}
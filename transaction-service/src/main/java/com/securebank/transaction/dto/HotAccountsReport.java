@@ -0,0 +1,26 @@
+package com.securebank.transaction.dto;
+
+import java.util.List;
+
+public class HotAccountsReport {
+
+    private int windowSeconds;
+    private List<HotAccountResponse> byMutations;
+    private List<HotAccountResponse> byLockWait;
+
+    public HotAccountsReport() {}
+
+    public HotAccountsReport(int windowSeconds, List<HotAccountResponse> byMutations,
+                             List<HotAccountResponse> byLockWait) {
+        this.windowSeconds = windowSeconds;
+        this.byMutations = byMutations;
+        this.byLockWait = byLockWait;
+    }
+
+    public int getWindowSeconds() { return windowSeconds; }
+    public void setWindowSeconds(int windowSeconds) { this.windowSeconds = windowSeconds; }
+    public List<HotAccountResponse> getByMutations() { return byMutations; }
+    public void setByMutations(List<HotAccountResponse> byMutations) { this.byMutations = byMutations; }
+    public List<HotAccountResponse> getByLockWait() { return byLockWait; }
+    public void setByLockWait(List<HotAccountResponse> byLockWait) { this.byLockWait = byLockWait; }
+}
@@ -0,0 +1,42 @@
+package com.securebank.transaction.dto;
+
+import java.time.LocalDate;
+
+public class LedgerDayReport {
+
+    private LocalDate day;
+    private String status;
+    private int slices;
+    private long ledgerRows;
+    private long hashMismatches;
+    private String root;
+    private String sealedRoot;
+    private String auditedRoot;
+    private long durationMs;
+
+    public LedgerDayReport() {}
+
+    public LedgerDayReport(LocalDate day, int slices) {
+        this.day = day;
+        this.slices = slices;
+    }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public int getSlices() { return slices; }
+    public void setSlices(int slices) { this.slices = slices; }
+    public long getLedgerRows() { return ledgerRows; }
+    public void setLedgerRows(long ledgerRows) { this.ledgerRows = ledgerRows; }
+    public long getHashMismatches() { return hashMismatches; }
+    public void setHashMismatches(long hashMismatches) { this.hashMismatches = hashMismatches; }
+    public String getRoot() { return root; }
+    public void setRoot(String root) { this.root = root; }
+    public String getSealedRoot() { return sealedRoot; }
+    public void setSealedRoot(String sealedRoot) { this.sealedRoot = sealedRoot; }
+    public String getAuditedRoot() { return auditedRoot; }
+    public void setAuditedRoot(String auditedRoot) { this.auditedRoot = auditedRoot; }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
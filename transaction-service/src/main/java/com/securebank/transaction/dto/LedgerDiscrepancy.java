@@ -0,0 +1,39 @@
+package com.securebank.transaction.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public class LedgerDiscrepancy {
+
+    private UUID accountId;
+    private String kind;
+    private UUID transactionId;
+    private BigDecimal expected;
+    private BigDecimal actual;
+    private String detail;
+
+    public LedgerDiscrepancy() {}
+
+    public LedgerDiscrepancy(UUID accountId, String kind, UUID transactionId,
+                             BigDecimal expected, BigDecimal actual, String detail) {
+        this.accountId = accountId;
+        this.kind = kind;
+        this.transactionId = transactionId;
+        this.expected = expected;
+        this.actual = actual;
+        this.detail = detail;
+    }
+
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+    public UUID getTransactionId() { return transactionId; }
+    public void setTransactionId(UUID transactionId) { this.transactionId = transactionId; }
+    public BigDecimal getExpected() { return expected; }
+    public void setExpected(BigDecimal expected) { this.expected = expected; }
+    public BigDecimal getActual() { return actual; }
+    public void setActual(BigDecimal actual) { this.actual = actual; }
+    public String getDetail() { return detail; }
+    public void setDetail(String detail) { this.detail = detail; }
+}
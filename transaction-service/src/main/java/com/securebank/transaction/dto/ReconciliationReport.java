@@ -0,0 +1,64 @@
+package com.securebank.transaction.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class ReconciliationReport {
+
+    private UUID runId;
+    private String mode;
+    private LocalDateTime windowStart;
+    private LocalDateTime cutoff;
+    private String status;
+    private int ranges;
+    private int rangesFailed;
+    private long accounts;
+    private long ledgerRows;
+    private long discrepancies;
+    private Map<String, Long> discrepanciesByKind = new LinkedHashMap<>();
+    private boolean pairingChecked;
+    private List<LedgerDiscrepancy> sample = new ArrayList<>();
+    private long durationMs;
+
+    public ReconciliationReport() {}
+
+    public ReconciliationReport(UUID runId, String mode, LocalDateTime windowStart, LocalDateTime cutoff) {
+        this.runId = runId;
+        this.mode = mode;
+        this.windowStart = windowStart;
+        this.cutoff = cutoff;
+    }
+
+    public UUID getRunId() { return runId; }
+    public void setRunId(UUID runId) { this.runId = runId; }
+    public String getMode() { return mode; }
+    public void setMode(String mode) { this.mode = mode; }
+    public LocalDateTime getWindowStart() { return windowStart; }
+    public void setWindowStart(LocalDateTime windowStart) { this.windowStart = windowStart; }
+    public LocalDateTime getCutoff() { return cutoff; }
+    public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public int getRanges() { return ranges; }
+    public void setRanges(int ranges) { this.ranges = ranges; }
+    public int getRangesFailed() { return rangesFailed; }
+    public void setRangesFailed(int rangesFailed) { this.rangesFailed = rangesFailed; }
+    public long getAccounts() { return accounts; }
+    public void setAccounts(long accounts) { this.accounts = accounts; }
+    public long getLedgerRows() { return ledgerRows; }
+    public void setLedgerRows(long ledgerRows) { this.ledgerRows = ledgerRows; }
+    public long getDiscrepancies() { return discrepancies; }
+    public void setDiscrepancies(long discrepancies) { this.discrepancies = discrepancies; }
+    public Map<String, Long> getDiscrepanciesByKind() { return discrepanciesByKind; }
+    public void setDiscrepanciesByKind(Map<String, Long> discrepanciesByKind) { this.discrepanciesByKind = discrepanciesByKind; }
+    public boolean isPairingChecked() { return pairingChecked; }
+    public void setPairingChecked(boolean pairingChecked) { this.pairingChecked = pairingChecked; }
+    public List<LedgerDiscrepancy> getSample() { return sample; }
+    public void setSample(List<LedgerDiscrepancy> sample) { this.sample = sample; }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
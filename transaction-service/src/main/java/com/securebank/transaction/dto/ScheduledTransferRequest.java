@@ -0,0 +1,59 @@
+package com.securebank.transaction.dto;
+
+import com.securebank.transaction.entity.TransferFrequency;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ScheduledTransferRequest {
+
+    @NotNull(message = "Source account ID is required")
+    private UUID fromAccountId;
+
+    @NotNull(message = "Target account ID is required")
+    private UUID toAccountId;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Transfer amount must be greater than zero")
+    private BigDecimal amount;
+
+    private String description;
+
+    @NotNull(message = "Frequency is required")
+    private TransferFrequency frequency;
+
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startAt;
+
+    private LocalDateTime endAt;
+
+    public ScheduledTransferRequest() {}
+
+    public ScheduledTransferRequest(UUID fromAccountId, UUID toAccountId, BigDecimal amount, String description,
+                                    TransferFrequency frequency, LocalDateTime startAt, LocalDateTime endAt) {
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.description = description;
+        this.frequency = frequency;
+        this.startAt = startAt;
+        this.endAt = endAt;
+    }
+
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public TransferFrequency getFrequency() { return frequency; }
+    public void setFrequency(TransferFrequency frequency) { this.frequency = frequency; }
+    public LocalDateTime getStartAt() { return startAt; }
+    public void setStartAt(LocalDateTime startAt) { this.startAt = startAt; }
+    public LocalDateTime getEndAt() { return endAt; }
+    public void setEndAt(LocalDateTime endAt) { this.endAt = endAt; }
+}
@@ -0,0 +1,65 @@
+package com.securebank.transaction.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ScheduledTransferResponse {
+
+    private UUID id;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private BigDecimal amount;
+    private String description;
+    private String frequency;
+    private String status;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime endAt;
+    private int runCount;
+    private LocalDateTime lastRunAt;
+    private String lastError;
+
+    public ScheduledTransferResponse() {}
+
+    public ScheduledTransferResponse(UUID id, UUID fromAccountId, UUID toAccountId, BigDecimal amount,
+                                     String description, String frequency, String status, LocalDateTime nextRunAt,
+                                     LocalDateTime endAt, int runCount, LocalDateTime lastRunAt, String lastError) {
+        this.id = id;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.description = description;
+        this.frequency = frequency;
+        this.status = status;
+        this.nextRunAt = nextRunAt;
+        this.endAt = endAt;
+        this.runCount = runCount;
+        this.lastRunAt = lastRunAt;
+        this.lastError = lastError;
+    }
+
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public String getFrequency() { return frequency; }
+    public void setFrequency(String frequency) { this.frequency = frequency; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public LocalDateTime getNextRunAt() { return nextRunAt; }
+    public void setNextRunAt(LocalDateTime nextRunAt) { this.nextRunAt = nextRunAt; }
+    public LocalDateTime getEndAt() { return endAt; }
+    public void setEndAt(LocalDateTime endAt) { this.endAt = endAt; }
+    public int getRunCount() { return runCount; }
+    public void setRunCount(int runCount) { this.runCount = runCount; }
+    public LocalDateTime getLastRunAt() { return lastRunAt; }
+    public void setLastRunAt(LocalDateTime lastRunAt) { this.lastRunAt = lastRunAt; }
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
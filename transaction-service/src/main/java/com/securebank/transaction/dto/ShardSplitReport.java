@@ -0,0 +1,37 @@
+package com.securebank.transaction.dto;
+
+public class ShardSplitReport {
+
+    private String source;
+    private String target;
+    private long mapVersion;
+    private int tokensMoved;
+    private long accountsMoved;
+    private long transactionsCopied;
+    private long stragglersMerged;
+    private long durationMs;
+
+    public ShardSplitReport() {}
+
+    public ShardSplitReport(String source, String target) {
+        this.source = source;
+        this.target = target;
+    }
+
+    public String getSource() { return source; }
+    public void setSource(String source) { this.source = source; }
+    public String getTarget() { return target; }
+    public void setTarget(String target) { this.target = target; }
+    public long getMapVersion() { return mapVersion; }
+    public void setMapVersion(long mapVersion) { this.mapVersion = mapVersion; }
+    public int getTokensMoved() { return tokensMoved; }
+    public void setTokensMoved(int tokensMoved) { this.tokensMoved = tokensMoved; }
+    public long getAccountsMoved() { return accountsMoved; }
+    public void setAccountsMoved(long accountsMoved) { this.accountsMoved = accountsMoved; }
+    public long getTransactionsCopied() { return transactionsCopied; }
+    public void setTransactionsCopied(long transactionsCopied) { this.transactionsCopied = transactionsCopied; }
+    public long getStragglersMerged() { return stragglersMerged; }
+    public void setStragglersMerged(long stragglersMerged) { this.stragglersMerged = stragglersMerged; }
+    public long getDurationMs() { return durationMs; }
+    public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+}
@@ -2,6 +2,7 @@ package com.securebank.transaction.entity;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -9,6 +10,9 @@ import java.util.UUID;
 @Table(name = "accounts")
 public class Account {
 
+    /** Status left on the old shard's row once a split has moved the account away. */
+    public static final String MOVED = "MOVED";
+
     @Id
     private UUID id;
 
@@ -18,6 +22,29 @@ public class Account {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    /** Sum of open holds. Ledger balance minus held is what can still be spent. */
+    @Column(name = "held_balance", nullable = false, precision = 15, scale = 2)
+    private BigDecimal heldBalance = BigDecimal.ZERO;
+
+    @Column(name = "balance_version", nullable = false, columnDefinition = "bigint default 0")
+    private long balanceVersion;
+
+    /** Interest accrued but not yet posted: the part below a cent. */
+    @Column(name = "accrued_interest", nullable = false, precision = 19, scale = 6)
+    private BigDecimal accruedInterest = BigDecimal.ZERO;
+
+    /** Last day interest was accrued for. */
+    @Column(name = "interest_accrued_on")
+    private LocalDate interestAccruedOn;
+
+    /** First day of the last month a fee was charged for. */
+    @Column(name = "fee_charged_on")
+    private LocalDate feeChargedOn;
+
+    /** Hash of the latest ledger row: the head of the account's chain (see LedgerChain). */
+    @Column(name = "ledger_hash", length = 32)
+    private byte[] ledgerHash;
+
     @Column(nullable = false, length = 20)
     private String status = "ACTIVE";
 
@@ -40,6 +67,19 @@ public class Account {
     public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public BigDecimal getHeldBalance() { return heldBalance; }
+    public void setHeldBalance(BigDecimal heldBalance) { this.heldBalance = heldBalance; }
+    public BigDecimal getAvailableBalance() { return balance.subtract(heldBalance); }
+    public long getBalanceVersion() { return balanceVersion; }
+    public void setBalanceVersion(long balanceVersion) { this.balanceVersion = balanceVersion; }
+    public BigDecimal getAccruedInterest() { return accruedInterest; }
+    public void setAccruedInterest(BigDecimal accruedInterest) { this.accruedInterest = accruedInterest; }
+    public LocalDate getInterestAccruedOn() { return interestAccruedOn; }
+    public void setInterestAccruedOn(LocalDate interestAccruedOn) { this.interestAccruedOn = interestAccruedOn; }
+    public LocalDate getFeeChargedOn() { return feeChargedOn; }
+    public void setFeeChargedOn(LocalDate feeChargedOn) { this.feeChargedOn = feeChargedOn; }
+    public byte[] getLedgerHash() { return ledgerHash; }
+    public void setLedgerHash(byte[] ledgerHash) { this.ledgerHash = ledgerHash; }
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
     public UUID getUserId() { return userId; }
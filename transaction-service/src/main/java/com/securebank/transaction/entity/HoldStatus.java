@@ -0,0 +1,8 @@
+package com.securebank.transaction.entity;
+
+public enum HoldStatus {
+    AUTHORIZED,
+    CAPTURED,
+    VOIDED,
+    EXPIRED
+}
@@ -0,0 +1,8 @@
+package com.securebank.transaction.entity;
+
+public enum ScheduledTransferStatus {
+    ACTIVE,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -35,9 +35,18 @@ public class Transaction {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /** Hash of the account's previous ledger row; null for its first chained row. */
+    @Column(name = "prev_hash", length = 32, updatable = false)
+    private byte[] prevHash;
+
+    @Column(length = 32, updatable = false)
+    private byte[] hash;
+
     @PrePersist
     protected void onCreate() {
-        this.createdAt = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
     }
 
     public Transaction() {}
@@ -68,4 +77,8 @@ public class Transaction {
     public void setDescription(String description) { this.description = description; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public byte[] getPrevHash() { return prevHash; }
+    public void setPrevHash(byte[] prevHash) { this.prevHash = prevHash; }
+    public byte[] getHash() { return hash; }
+    public void setHash(byte[] hash) { this.hash = hash; }
 }
@@ -3,5 +3,8 @@ package com.securebank.transaction.entity;
 public enum TransactionType {
     DEPOSIT,
     WITHDRAWAL,
-    TRANSFER
+    TRANSFER,
+    CAPTURE,
+    INTEREST,
+    FEE
 }
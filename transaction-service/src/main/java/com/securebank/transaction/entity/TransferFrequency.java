@@ -0,0 +1,24 @@
+package com.securebank.transaction.entity;
+
+import java.time.LocalDateTime;
+
+public enum TransferFrequency {
+    ONCE,
+    DAILY,
+    WEEKLY,
+    MONTHLY;
+
+    /**
+     * Due time of the {@code n}th execution (from 0), counted from the first one so
+     * month ends do not drift: a standing order from 31 January runs on 28 or 29
+     * February and again on 31 March.
+     */
+    public LocalDateTime occurrence(LocalDateTime start, int n) {
+        return switch (this) {
+            case ONCE -> start;
+            case DAILY -> start.plusDays(n);
+            case WEEKLY -> start.plusWeeks(n);
+            case MONTHLY -> start.plusMonths(n);
+        };
+    }
+}
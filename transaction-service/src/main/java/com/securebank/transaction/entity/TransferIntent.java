@@ -0,0 +1,129 @@
+package com.securebank.transaction.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One side of a cross-shard transfer, stored on the shard of that side's account.
+ * The source row goes RESERVED, then CONFIRMED or CANCELLED. The target row is written
+ * once: CREDITED when the credit was applied, or CANCELLED when recovery fenced the
+ * transfer off before the credit arrived.
+ * <p>
+ * Always inserted, never merged: a second row for the same transfer and role fails on
+ * the primary key. That conflict is what fences a late credit off from recovery.
+ */
+@Entity
+@Table(name = "transfer_intents")
+@IdClass(TransferIntent.Key.class)
+public class TransferIntent implements Persistable<TransferIntent.Key> {
+
+    public static final String SOURCE = "SOURCE";
+    public static final String TARGET = "TARGET";
+
+    @Id
+    @Column(name = "transfer_id")
+    private UUID transferId;
+
+    @Id
+    @Column(length = 10)
+    private String role;
+
+    @Column(name = "from_account_id", nullable = false)
+    private UUID fromAccountId;
+
+    @Column(name = "to_account_id", nullable = false)
+    private UUID toAccountId;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(length = 500)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TransferIntentState state;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public TransferIntent() {}
+
+    public TransferIntent(UUID transferId, String role, UUID fromAccountId, UUID toAccountId,
+                          BigDecimal amount, String description, TransferIntentState state) {
+        this.transferId = transferId;
+        this.role = role;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.description = description;
+        this.state = state;
+    }
+
+    @Override
+    public Key getId() { return new Key(transferId, role); }
+    @Override
+    public boolean isNew() { return createdAt == null; }
+    public UUID getTransferId() { return transferId; }
+    public void setTransferId(UUID transferId) { this.transferId = transferId; }
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+    public UUID getFromAccountId() { return fromAccountId; }
+    public void setFromAccountId(UUID fromAccountId) { this.fromAccountId = fromAccountId; }
+    public UUID getToAccountId() { return toAccountId; }
+    public void setToAccountId(UUID toAccountId) { this.toAccountId = toAccountId; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+    public TransferIntentState getState() { return state; }
+    public void setState(TransferIntentState state) { this.state = state; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public static class Key implements Serializable {
+
+        private UUID transferId;
+        private String role;
+
+        public Key() {}
+
+        public Key(UUID transferId, String role) {
+            this.transferId = transferId;
+            this.role = role;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Objects.equals(transferId, key.transferId)
+                    && Objects.equals(role, key.role);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(transferId, role);
+        }
+    }
+}
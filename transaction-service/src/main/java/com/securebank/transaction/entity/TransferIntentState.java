@@ -0,0 +1,8 @@
+package com.securebank.transaction.entity;
+
+public enum TransferIntentState {
+    RESERVED,
+    CREDITED,
+    CONFIRMED,
+    CANCELLED
+}
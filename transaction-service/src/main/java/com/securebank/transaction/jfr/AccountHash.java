@@ -0,0 +1,32 @@
+package com.securebank.transaction.jfr;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * Keyed 64-bit hash of an account id for JFR events. The key is random per JVM, so the
+ * same account correlates across all events of one recording, but a recording shipped
+ * off the host cannot be mapped back to account ids.
+ */
+final class AccountHash {
+
+    private static final long KEY = new SecureRandom().nextLong();
+
+    private AccountHash() {}
+
+    static long of(UUID accountId) {
+        if (accountId == null) {
+            return 0;
+        }
+        return mix(mix(accountId.getMostSignificantBits() ^ KEY) ^ accountId.getLeastSignificantBits());
+    }
+
+    private static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        x ^= x >>> 33;
+        return x;
+    }
+}
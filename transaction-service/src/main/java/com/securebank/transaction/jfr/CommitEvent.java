@@ -0,0 +1,37 @@
+package com.securebank.transaction.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Commit of a Spring-managed transaction, emitted by {@link JfrCommitListener}.
+ */
+@Name(CommitEvent.NAME)
+@Label("Transaction Commit")
+@Description("Database commit of a Spring-managed transaction")
+@Category({"SecureBank", "Transactions"})
+@StackTrace(false)
+public class CommitEvent extends Event {
+
+    static final String NAME = "com.securebank.Commit";
+
+    @Label("Transaction")
+    @Description("Name of the transaction, normally the @Transactional method")
+    private String transaction;
+
+    @Label("Succeeded")
+    private boolean succeeded;
+
+    public void complete(String transaction, boolean succeeded) {
+        end();
+        if (shouldCommit()) {
+            this.transaction = transaction;
+            this.succeeded = succeeded;
+            commit();
+        }
+    }
+}
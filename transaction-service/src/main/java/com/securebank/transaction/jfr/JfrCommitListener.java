@@ -0,0 +1,33 @@
+package com.securebank.transaction.jfr;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Emits a {@link CommitEvent} around every commit. When no recording has the event
+ * enabled, {@code beforeCommit} allocates nothing that escapes and records no state.
+ */
+@Component
+public class JfrCommitListener implements TransactionExecutionListener {
+
+    private static final ThreadLocal<CommitEvent> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        CommitEvent event = new CommitEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            CURRENT.set(event);
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        CommitEvent event = CURRENT.get();
+        if (event != null) {
+            CURRENT.remove();
+            event.complete(transaction.getTransactionName(), commitFailure == null);
+        }
+    }
+}
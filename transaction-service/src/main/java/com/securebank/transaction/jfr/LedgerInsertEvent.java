@@ -0,0 +1,41 @@
+package com.securebank.transaction.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * Hibernate flush of one operation's ledger rows together with the balance updates
+ * they belong to. Ledger ids are generated client-side, so nothing reaches the
+ * database until this flush.
+ */
+@Name(LedgerInsertEvent.NAME)
+@Label("Ledger Insert")
+@Description("Flush of ledger rows and balance updates before commit")
+@Category({"SecureBank", "Transactions"})
+@StackTrace(false)
+public class LedgerInsertEvent extends Event {
+
+    static final String NAME = "com.securebank.LedgerInsert";
+
+    @Label("Account")
+    @Description("Keyed hash of the account the operation was requested for")
+    private long account;
+
+    @Label("Ledger Rows")
+    private int rows;
+
+    public void complete(UUID accountId, int rows) {
+        end();
+        if (shouldCommit()) {
+            this.account = AccountHash.of(accountId);
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.securebank.transaction.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.UUID;
+
+/**
+ * One {@code AccountRepository.findByIdWithLock} call: the locking SELECT including any
+ * wait for another transaction to release the row.
+ */
+@Name(LockAcquireEvent.NAME)
+@Label("Account Lock Acquire")
+@Description("Pessimistic row lock on an account, including lock wait")
+@Category({"SecureBank", "Transactions"})
+@StackTrace(false)
+public class LockAcquireEvent extends Event {
+
+    static final String NAME = "com.securebank.LockAcquire";
+
+    @Label("Account")
+    @Description("Keyed hash of the account id")
+    private long account;
+
+    @Label("Found")
+    private boolean found;
+
+    public void complete(UUID accountId, boolean found) {
+        end();
+        if (shouldCommit()) {
+            this.account = AccountHash.of(accountId);
+            this.found = found;
+            commit();
+        }
+    }
+}
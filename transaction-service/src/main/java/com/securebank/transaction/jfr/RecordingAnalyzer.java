@@ -0,0 +1,219 @@
+package com.securebank.transaction.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline summary of a recording made with {@code securebank.jfc}: duration percentiles
+ * per event type, and for every transfer a breakdown into lock wait, ledger flush,
+ * commit and everything else, with the slowest transfers listed first.
+ * <p>
+ * Phases are attributed to a transfer by thread: lock and ledger events that start
+ * inside the transfer, and the first commit on the same thread after it ends.
+ * <pre>
+ * java -cp transaction-service.jar com.securebank.transaction.jfr.RecordingAnalyzer txn.jfr [top]
+ * </pre>
+ */
+public final class RecordingAnalyzer {
+
+    private static final List<String> PHASES = List.of(
+            TransferEvent.NAME, LockAcquireEvent.NAME, LedgerInsertEvent.NAME, CommitEvent.NAME);
+
+    private RecordingAnalyzer() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RecordingAnalyzer <recording.jfr> [top]");
+            System.exit(1);
+        }
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        analyze(Path.of(args[0])).print(System.out, top);
+    }
+
+    static Summary analyze(Path recording) throws IOException {
+        Map<String, List<Duration>> durations = new LinkedHashMap<>();
+        PHASES.forEach(name -> durations.put(name, new ArrayList<>()));
+        Map<Long, List<RecordedEvent>> byThread = new HashMap<>();
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(recording)) {
+            String name = event.getEventType().getName();
+            if (!durations.containsKey(name)) {
+                continue;
+            }
+            durations.get(name).add(event.getDuration());
+            RecordedThread thread = event.getThread();
+            long threadId = thread != null ? thread.getJavaThreadId() : -1;
+            byThread.computeIfAbsent(threadId, id -> new ArrayList<>()).add(event);
+        }
+
+        List<TransferBreakdown> transfers = new ArrayList<>();
+        for (List<RecordedEvent> events : byThread.values()) {
+            events.sort(Comparator.comparing(RecordedEvent::getStartTime));
+            for (int i = 0; i < events.size(); i++) {
+                if (events.get(i).getEventType().getName().equals(TransferEvent.NAME)) {
+                    transfers.add(breakdown(events, i));
+                }
+            }
+        }
+        transfers.sort(Comparator.comparing(TransferBreakdown::total).reversed());
+        return new Summary(durations, transfers);
+    }
+
+    private static TransferBreakdown breakdown(List<RecordedEvent> events, int transferIndex) {
+        RecordedEvent transfer = events.get(transferIndex);
+        Instant end = transfer.getEndTime();
+        Duration lock = Duration.ZERO;
+        Duration ledger = Duration.ZERO;
+        Duration commit = Duration.ZERO;
+
+        for (int i = transferIndex + 1; i < events.size(); i++) {
+            RecordedEvent event = events.get(i);
+            String name = event.getEventType().getName();
+            if (name.equals(TransferEvent.NAME)) {
+                break;
+            }
+            if (event.getStartTime().isBefore(end)) {
+                if (name.equals(LockAcquireEvent.NAME)) {
+                    lock = lock.plus(event.getDuration());
+                } else if (name.equals(LedgerInsertEvent.NAME)) {
+                    ledger = ledger.plus(event.getDuration());
+                }
+            } else if (name.equals(CommitEvent.NAME)) {
+                commit = event.getDuration();
+                break;
+            }
+        }
+        return new TransferBreakdown(transfer.getStartTime(), transfer.getDuration(), lock, ledger, commit,
+                transfer.getLong("fromAccount"), transfer.getLong("toAccount"), transfer.getDouble("amount"),
+                transfer.getBoolean("completed"));
+    }
+
+    static final class Summary {
+
+        private final Map<String, List<Duration>> durations;
+        private final List<TransferBreakdown> transfers;
+
+        private Summary(Map<String, List<Duration>> durations, List<TransferBreakdown> transfers) {
+            this.durations = durations;
+            this.transfers = transfers;
+            durations.values().forEach(list -> list.sort(Comparator.naturalOrder()));
+        }
+
+        int count(String eventName) {
+            return durations.getOrDefault(eventName, List.of()).size();
+        }
+
+        List<TransferBreakdown> transfers() {
+            return transfers;
+        }
+
+        void print(PrintStream out, int top) {
+            out.printf("%-30s %8s %12s %9s %9s %9s%n", "event", "count", "total ms", "p50 ms", "p99 ms", "max ms");
+            durations.forEach((name, list) -> out.printf("%-30s %8d %12.1f %9.2f %9.2f %9.2f%n", name, list.size(),
+                    millis(list.stream().reduce(Duration.ZERO, Duration::plus)),
+                    millis(percentile(list, 50)), millis(percentile(list, 99)), millis(percentile(list, 100))));
+
+            if (transfers.isEmpty()) {
+                return;
+            }
+            Duration lock = Duration.ZERO;
+            Duration ledger = Duration.ZERO;
+            Duration commit = Duration.ZERO;
+            Duration other = Duration.ZERO;
+            for (TransferBreakdown transfer : transfers) {
+                lock = lock.plus(transfer.lock);
+                ledger = ledger.plus(transfer.ledger);
+                commit = commit.plus(transfer.commit);
+                other = other.plus(transfer.other());
+            }
+            double all = millis(lock.plus(ledger).plus(commit).plus(other));
+            out.printf("%nWhere transfer time went (%d transfers, commit included):%n", transfers.size());
+            out.printf("  lock wait %5.1f%%   ledger flush %5.1f%%   commit %5.1f%%   other %5.1f%%%n",
+                    share(lock, all), share(ledger, all), share(commit, all), share(other, all));
+
+            out.printf("%nSlowest %d transfers:%n", Math.min(top, transfers.size()));
+            out.printf("%-30s %9s %9s %9s %9s %9s %17s %17s %12s%n", "start", "total ms", "lock ms",
+                    "ledger ms", "commit ms", "other ms", "from", "to", "amount");
+            transfers.stream().limit(top).forEach(t -> out.printf(
+                    "%-30s %9.2f %9.2f %9.2f %9.2f %9.2f %17x %17x %12.2f%s%n",
+                    t.start, millis(t.total()), millis(t.lock), millis(t.ledger), millis(t.commit),
+                    millis(t.other()), t.fromAccount, t.toAccount, t.amount, t.completed ? "" : "  (failed)"));
+        }
+
+        private static Duration percentile(List<Duration> sorted, double percentile) {
+            if (sorted.isEmpty()) {
+                return Duration.ZERO;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+        }
+
+        private static double share(Duration part, double allMillis) {
+            return allMillis == 0 ? 0 : millis(part) * 100 / allMillis;
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1e6;
+        }
+    }
+
+    static final class TransferBreakdown {
+
+        private final Instant start;
+        private final Duration method;
+        private final Duration lock;
+        private final Duration ledger;
+        private final Duration commit;
+        private final long fromAccount;
+        private final long toAccount;
+        private final double amount;
+        private final boolean completed;
+
+        private TransferBreakdown(Instant start, Duration method, Duration lock, Duration ledger, Duration commit,
+                                  long fromAccount, long toAccount, double amount, boolean completed) {
+            this.start = start;
+            this.method = method;
+            this.lock = lock;
+            this.ledger = ledger;
+            this.commit = commit;
+            this.fromAccount = fromAccount;
+            this.toAccount = toAccount;
+            this.amount = amount;
+            this.completed = completed;
+        }
+
+        Duration total() {
+            return method.plus(commit);
+        }
+
+        Duration lock() {
+            return lock;
+        }
+
+        Duration ledger() {
+            return ledger;
+        }
+
+        Duration commit() {
+            return commit;
+        }
+
+        Duration other() {
+            Duration other = method.minus(lock).minus(ledger);
+            return other.isNegative() ? Duration.ZERO : other;
+        }
+    }
+}
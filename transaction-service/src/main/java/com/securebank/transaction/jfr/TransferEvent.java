@@ -0,0 +1,51 @@
+package com.securebank.transaction.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * One call to {@code TransactionService.transfer}, from entry to return. The commit that
+ * follows is a separate {@link CommitEvent} on the same thread.
+ */
+@Name(TransferEvent.NAME)
+@Label("Transfer")
+@Description("Transfer between two accounts, excluding the commit")
+@Category({"SecureBank", "Transactions"})
+@StackTrace(false)
+public class TransferEvent extends Event {
+
+    static final String NAME = "com.securebank.Transfer";
+
+    @Label("From Account")
+    @Description("Keyed hash of the source account id")
+    private long fromAccount;
+
+    @Label("To Account")
+    @Description("Keyed hash of the target account id")
+    private long toAccount;
+
+    @Label("Amount")
+    private double amount;
+
+    @Label("Completed")
+    @Description("False if the transfer was rejected or failed")
+    private boolean completed;
+
+    public void complete(UUID fromAccountId, UUID toAccountId, BigDecimal amount, boolean completed) {
+        end();
+        if (shouldCommit()) {
+            this.fromAccount = AccountHash.of(fromAccountId);
+            this.toAccount = AccountHash.of(toAccountId);
+            this.amount = amount != null ? amount.doubleValue() : 0;
+            this.completed = completed;
+            commit();
+        }
+    }
+}
@@ -2,12 +2,17 @@ package com.securebank.transaction.repository;
 
 import com.securebank.transaction.entity.Account;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,4 +22,39 @@ public interface AccountRepository extends JpaRepository<Account, UUID> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT a FROM Account a WHERE a.id = :id")
     Optional<Account> findByIdWithLock(@Param("id") UUID id);
+
+    /**
+     * Keyset page of accounts changed after the (updatedAt, id) cursor, oldest first.
+     * Rows left behind on an old shard by a split are skipped.
+     */
+    @Query("SELECT a FROM Account a WHERE (a.updatedAt > :since OR (a.updatedAt = :since AND a.id > :afterId)) "
+            + "AND a.status <> 'MOVED' ORDER BY a.updatedAt, a.id")
+    List<Account> findChangedAfter(@Param("since") LocalDateTime since,
+                                   @Param("afterId") UUID afterId,
+                                   Pageable pageable);
+
+    /**
+     * Adds to the held balance if the account can spend {@code amount}, in one statement,
+     * so the row lock is held only for the rest of the authorizing transaction.
+     * Returns 0 when the account is missing, frozen, moved or short of funds.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.heldBalance = a.heldBalance + :amount WHERE a.id = :id "
+            + "AND a.status NOT IN ('FROZEN', 'MOVED') AND a.balance - a.heldBalance >= :amount")
+    int reserveFunds(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    /** Releases {@code amount} of the held balance, for holds voided or expired. */
+    @Modifying
+    @Query("UPDATE Account a SET a.heldBalance = a.heldBalance - :amount WHERE a.id = :id")
+    int releaseFunds(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    /**
+     * Sets only the status column, leaving balances and the ledger head untouched, so a
+     * status mirrored from account-service cannot overwrite a concurrent transfer.
+     * Rows a split has moved away keep their MOVED status.
+     */
+    @Modifying
+    @Query("UPDATE Account a SET a.status = :status, a.updatedAt = :now WHERE a.id = :id "
+            + "AND a.status <> 'MOVED' AND a.status <> :status")
+    int updateStatus(@Param("id") UUID id, @Param("status") String status, @Param("now") LocalDateTime now);
 }
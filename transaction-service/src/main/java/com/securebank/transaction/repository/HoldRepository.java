@@ -0,0 +1,44 @@
+package com.securebank.transaction.repository;
+
+import com.securebank.transaction.entity.Hold;
+import com.securebank.transaction.entity.HoldStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, UUID> {
+
+    /** Holds locked in id order, so concurrent batches touching the same holds cannot deadlock. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hold h WHERE h.id IN :ids ORDER BY h.id")
+    List<Hold> findAllForUpdate(@Param("ids") Collection<UUID> ids);
+
+    /** Pairs of (hold id, account id), to find the shard of each hold. */
+    @Query("SELECT h.id, h.accountId FROM Hold h WHERE h.id IN :ids")
+    List<Object[]> findAccountIds(@Param("ids") Collection<UUID> ids);
+
+    List<Hold> findByAccountIdAndStatusOrderByCreatedAtDesc(UUID accountId, HoldStatus status);
+
+    /**
+     * Holds in {@code status} past their expiry, oldest first. Rows another expirer has
+     * locked are skipped ({@code SKIP LOCKED}), so instances share the work.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT h FROM Hold h WHERE h.status = :status AND h.expiresAt < :now ORDER BY h.expiresAt")
+    List<Hold> findExpiredForUpdate(@Param("status") HoldStatus status,
+                                    @Param("now") LocalDateTime now,
+                                    Pageable pageable);
+}
@@ -0,0 +1,56 @@
+package com.securebank.transaction.repository;
+
+import com.securebank.transaction.entity.ScheduledTransfer;
+import com.securebank.transaction.entity.ScheduledTransferStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, UUID> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.id = :id")
+    Optional<ScheduledTransfer> findForUpdate(@Param("id") UUID id);
+
+    /**
+     * Executions due by {@code horizon} that no instance holds a live claim on, earliest
+     * first. Rows another instance is claiming right now are skipped
+     * ({@code SKIP LOCKED}), so instances claim disjoint batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.status = :status AND s.nextRunAt <= :horizon "
+            + "AND (s.claimedUntil IS NULL OR s.claimedUntil < :now) ORDER BY s.nextRunAt")
+    List<ScheduledTransfer> findClaimable(@Param("status") ScheduledTransferStatus status,
+                                          @Param("horizon") LocalDateTime horizon,
+                                          @Param("now") LocalDateTime now,
+                                          Pageable pageable);
+
+    /**
+     * Extends {@code owner}'s claims on {@code ids} to {@code until}. Claims that already
+     * last longer, or were lost to another instance, are left alone.
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.claimedUntil = :until WHERE s.id IN :ids AND s.claimedBy = :owner "
+            + "AND s.status = :status AND s.claimedUntil < :until")
+    int renewClaims(@Param("ids") Collection<UUID> ids,
+                    @Param("owner") String owner,
+                    @Param("status") ScheduledTransferStatus status,
+                    @Param("until") LocalDateTime until);
+
+    List<ScheduledTransfer> findByFromAccountIdOrderByNextRunAt(UUID fromAccountId);
+}
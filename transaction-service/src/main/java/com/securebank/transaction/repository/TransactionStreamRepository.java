@@ -0,0 +1,59 @@
+package com.securebank.transaction.repository;
+
+import com.securebank.transaction.dto.TransactionResponse;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Non-blocking read of the {@code transactions} table over R2DBC, for the streaming
+ * history endpoint. Rows are fetched from a server-side cursor {@code fetchSize} at a
+ * time and only as fast as the subscriber requests them, so a slow client holds back
+ * the query instead of buffering the whole history in memory.
+ * <p>
+ * Each account's history is read through the client of the shard that owns it.
+ */
+public class TransactionStreamRepository {
+
+    private static final String HISTORY_SQL =
+            "SELECT id, account_id, target_account_id, type, amount, balance_after, description, created_at "
+                    + "FROM transactions WHERE account_id = :accountId ORDER BY created_at DESC LIMIT :limit";
+
+    private final Function<UUID, DatabaseClient> clientForAccount;
+    private final int fetchSize;
+
+    public TransactionStreamRepository(DatabaseClient databaseClient, int fetchSize) {
+        this(accountId -> databaseClient, fetchSize);
+    }
+
+    public TransactionStreamRepository(Function<UUID, DatabaseClient> clientForAccount, int fetchSize) {
+        this.clientForAccount = clientForAccount;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<TransactionResponse> streamByAccountId(UUID accountId, int limit) {
+        return clientForAccount.apply(accountId).sql(HISTORY_SQL)
+                .bind("accountId", accountId)
+                .bind("limit", limit)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .map(TransactionStreamRepository::toResponse)
+                .all();
+    }
+
+    private static TransactionResponse toResponse(Readable row) {
+        return new TransactionResponse(
+                row.get("id", UUID.class),
+                row.get("account_id", UUID.class),
+                row.get("target_account_id", UUID.class),
+                row.get("type", String.class),
+                row.get("amount", BigDecimal.class),
+                row.get("balance_after", BigDecimal.class),
+                row.get("description", String.class),
+                row.get("created_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,31 @@
+package com.securebank.transaction.repository;
+
+import com.securebank.transaction.entity.TransferIntent;
+import com.securebank.transaction.entity.TransferIntentState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface TransferIntentRepository extends JpaRepository<TransferIntent, TransferIntent.Key> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM TransferIntent t WHERE t.transferId = :transferId AND t.role = :role")
+    Optional<TransferIntent> findForUpdate(@Param("transferId") UUID transferId, @Param("role") String role);
+
+    /** Source intents still RESERVED after {@code before}: transfers whose outcome is in doubt. */
+    @Query("SELECT t FROM TransferIntent t WHERE t.role = 'SOURCE' AND t.state = :state AND t.createdAt < :before "
+            + "ORDER BY t.createdAt")
+    List<TransferIntent> findInDoubt(@Param("state") TransferIntentState state,
+                                     @Param("before") LocalDateTime before,
+                                     Pageable pageable);
+}
@@ -0,0 +1,302 @@
+package com.securebank.transaction.schedule;
+
+import com.securebank.transaction.entity.ScheduledTransfer;
+import com.securebank.transaction.service.ScheduledTransferService;
+import com.securebank.transaction.service.ScheduledTransferService.Outcome;
+import com.securebank.transaction.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Executes scheduled transfers when they fall due.
+ * <ul>
+ *   <li>Every {@code load-interval-ms}, executions due within {@code lookahead-ms} are
+ *       claimed from each shard in batches ({@code SKIP LOCKED}, so instances take
+ *       disjoint sets) and filed in a {@link TimingWheel} under their due time. At most
+ *       {@code max-loaded} executions are held in memory.</li>
+ *   <li>Every {@code claim-renew-interval-ms}, the claims on executions still held are
+ *       extended by {@code claim-lease-ms}, in chunks of {@code claim-batch-size}.
+ *       Draining a peak can take far longer than one lease, and without renewal other
+ *       instances would claim the queued tail again and race this one for it.</li>
+ *   <li>A ticker advances the wheel every {@code tick-ms}. Due executions are handed out
+ *       in batches of {@code batch-size} to {@code parallelism} worker threads; each
+ *       transfer in a batch runs in its own transaction.</li>
+ * </ul>
+ * A peak such as a million standing orders at midnight is claimed during the minutes
+ * before, so at 00:00 the work is already in memory. It then drains at a rate bounded
+ * by {@code parallelism}, which also bounds the connections taken from the pool, so
+ * interactive requests keep theirs.
+ */
+@Component
+@ConditionalOnProperty(name = "scheduled-transfers.enabled", havingValue = "true")
+public class ScheduledTransferRunner implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTransferRunner.class);
+
+    private final ScheduledTransferService scheduledTransferService;
+    private final ShardRouter shardRouter;
+    private final String owner;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long lookaheadMillis;
+    private final long leaseMillis;
+    private final int claimBatchSize;
+    private final int maxLoaded;
+    private final int parallelism;
+    private final int batchSize;
+
+    /** Executions held in memory, waiting or running, with the shard they were claimed on. */
+    private final Map<UUID, String> loaded = new ConcurrentHashMap<>();
+    private final Queue<DueTransfer> ready = new ConcurrentLinkedQueue<>();
+    private final Map<Outcome, Counter> executions = new EnumMap<>(Outcome.class);
+    private final Semaphore permits;
+    /**
+     * Executions hold the read lock and each renewal chunk the write lock. An execution
+     * locks its schedule row in a repeatable-read transaction, and a renewal updating
+     * that row at the same time would make it fail with a serialization error.
+     */
+    private final ReadWriteLock renewal = new ReentrantReadWriteLock(true);
+
+    private TimingWheel<DueTransfer> wheel;
+    private ScheduledExecutorService ticker;
+    private ExecutorService workers;
+    private volatile boolean running;
+
+    public ScheduledTransferRunner(ScheduledTransferService scheduledTransferService,
+                                   ShardRouter shardRouter,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${spring.application.name:transaction-service}") String applicationName,
+                                   @Value("${scheduled-transfers.tick-ms:100}") long tickMillis,
+                                   @Value("${scheduled-transfers.wheel-size:512}") int wheelSize,
+                                   @Value("${scheduled-transfers.lookahead-ms:300000}") long lookaheadMillis,
+                                   @Value("${scheduled-transfers.claim-lease-ms:300000}") long leaseMillis,
+                                   @Value("${scheduled-transfers.claim-batch-size:2000}") int claimBatchSize,
+                                   @Value("${scheduled-transfers.max-loaded:500000}") int maxLoaded,
+                                   @Value("${scheduled-transfers.parallelism:4}") int parallelism,
+                                   @Value("${scheduled-transfers.batch-size:100}") int batchSize) {
+        this.scheduledTransferService = scheduledTransferService;
+        this.shardRouter = shardRouter;
+        this.owner = applicationName + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.lookaheadMillis = lookaheadMillis;
+        this.leaseMillis = leaseMillis;
+        this.claimBatchSize = claimBatchSize;
+        this.maxLoaded = maxLoaded;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.permits = new Semaphore(parallelism);
+        for (Outcome outcome : Outcome.values()) {
+            executions.put(outcome, Counter.builder("scheduled.transfers.executions")
+                    .description("Scheduled transfer executions by outcome")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("scheduled.transfers.loaded", loaded, Map::size)
+                .description("Claimed executions held in memory, waiting or running")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        workers = Executors.newFixedThreadPool(parallelism, new NamedThreadFactory("scheduled-transfer-"));
+        ticker = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("scheduled-transfer-ticker-"));
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Scheduled transfer runner {} started: parallelism {}, lookahead {} ms", owner, parallelism,
+                lookaheadMillis);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ticker.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Claims executions due within the lookahead window from every shard. */
+    @Scheduled(initialDelayString = "${scheduled-transfers.load-interval-ms:5000}",
+            fixedDelayString = "${scheduled-transfers.load-interval-ms:5000}")
+    public void load() {
+        if (!running) {
+            return;
+        }
+        LocalDateTime horizon = LocalDateTime.now().plusNanos(lookaheadMillis * 1_000_000);
+        int claimed = 0;
+        for (String shard : shardRouter.map().shards()) {
+            while (loaded.size() < maxLoaded) {
+                int limit = Math.min(claimBatchSize, maxLoaded - loaded.size());
+                List<ScheduledTransfer> batch =
+                        scheduledTransferService.claimDue(shard, owner, horizon, leaseMillis, limit);
+                batch.forEach(schedule -> schedule(shard, schedule));
+                claimed += batch.size();
+                if (batch.size() < limit) {
+                    break;
+                }
+            }
+        }
+        if (claimed > 0) {
+            log.info("Claimed {} scheduled transfer executions due by {}", claimed, horizon);
+        }
+    }
+
+    /** Extends the claims on executions still held, so no other instance takes them over. */
+    @Scheduled(initialDelayString = "${scheduled-transfers.claim-renew-interval-ms:60000}",
+            fixedDelayString = "${scheduled-transfers.claim-renew-interval-ms:60000}")
+    public void renew() {
+        if (!running) {
+            return;
+        }
+        Map<String, List<UUID>> byShard = new HashMap<>();
+        loaded.forEach((id, shard) -> byShard.computeIfAbsent(shard, s -> new ArrayList<>()).add(id));
+        byShard.forEach((shard, ids) -> {
+            int renewed = 0;
+            try {
+                for (int from = 0; from < ids.size() && running; from += claimBatchSize) {
+                    List<UUID> chunk = ids.subList(from, Math.min(from + claimBatchSize, ids.size()));
+                    renewal.writeLock().lock();
+                    try {
+                        renewed += scheduledTransferService.renewClaims(shard, owner, chunk, leaseMillis);
+                    } finally {
+                        renewal.writeLock().unlock();
+                    }
+                }
+                log.debug("Renewed {} of {} claims on shard {}", renewed, ids.size(), shard);
+            } catch (RuntimeException ex) {
+                log.warn("Renewing scheduled transfer claims on shard {} failed: {}", shard, ex.getMessage());
+            }
+        });
+    }
+
+    private void schedule(String shard, ScheduledTransfer schedule) {
+        if (loaded.putIfAbsent(schedule.getId(), shard) != null) {
+            return;
+        }
+        DueTransfer due = new DueTransfer(schedule.getId(), schedule.getFromAccountId(), schedule.getToAccountId(),
+                schedule.getNextRunAt());
+        long dueMillis = schedule.getNextRunAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        boolean filed;
+        synchronized (wheel) {
+            filed = wheel.add(due, dueMillis);
+        }
+        if (!filed) {
+            ready.add(due);
+        }
+    }
+
+    private void tick() {
+        try {
+            synchronized (wheel) {
+                wheel.advance(System.currentTimeMillis(), ready::add);
+            }
+            while (!ready.isEmpty() && permits.tryAcquire()) {
+                List<DueTransfer> batch = new ArrayList<>(batchSize);
+                DueTransfer due;
+                while (batch.size() < batchSize && (due = ready.poll()) != null) {
+                    batch.add(due);
+                }
+                workers.execute(() -> {
+                    try {
+                        run(batch);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Scheduled transfer tick failed: {}", ex.getMessage());
+        }
+    }
+
+    private void run(List<DueTransfer> batch) {
+        for (DueTransfer due : batch) {
+            Outcome outcome;
+            renewal.readLock().lock();
+            try {
+                outcome = scheduledTransferService.execute(due.id, due.fromAccountId, due.toAccountId, due.runAt);
+            } catch (RuntimeException ex) {
+                log.warn("Scheduled transfer {} due at {} not executed: {}", due.id, due.runAt, ex.getMessage());
+                outcome = Outcome.RETRY;
+            } finally {
+                renewal.readLock().unlock();
+                loaded.remove(due.id);
+            }
+            executions.get(outcome).increment();
+        }
+    }
+
+    private static final class DueTransfer {
+
+        private final UUID id;
+        private final UUID fromAccountId;
+        private final UUID toAccountId;
+        private final LocalDateTime runAt;
+
+        private DueTransfer(UUID id, UUID fromAccountId, UUID toAccountId, LocalDateTime runAt) {
+            this.id = id;
+            this.fromAccountId = fromAccountId;
+            this.toAccountId = toAccountId;
+            this.runAt = runAt;
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.securebank.transaction.schedule;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@code wheelSize} buckets of {@code tickMillis} each, with
+ * a coarser wheel for anything further out than one rotation. Adding an entry and
+ * firing it are O(1) whatever the number of pending entries. Entries in a coarse
+ * bucket cascade down a level when the bucket's time comes.
+ * <p>
+ * Due times are rounded up to the finest tick when added, so an entry never fires
+ * before it is due and at most one tick after. Not thread-safe.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long intervalMillis;
+    private final ArrayDeque<Entry<T>>[] buckets;
+    private final boolean finest;
+
+    private long currentTime;
+    private TimingWheel<T> overflow;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        this(tickMillis, wheelSize, startMillis, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private TimingWheel(long tickMillis, int wheelSize, long startMillis, boolean finest) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick and at least two buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.intervalMillis = tickMillis * wheelSize;
+        this.buckets = new ArrayDeque[wheelSize];
+        this.finest = finest;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+    }
+
+    /** Number of entries waiting to fire. */
+    public int size() {
+        return size;
+    }
+
+    /** Schedules {@code item} at {@code dueMillis}. Returns false, without adding it, if it is already due. */
+    public boolean add(T item, long dueMillis) {
+        if (!place(new Entry<>(item, Math.ceilDiv(dueMillis, tickMillis) * tickMillis))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /** Moves the wheel to {@code nowMillis}, passing every entry due by then to {@code fire}. */
+    public void advance(long nowMillis, Consumer<T> fire) {
+        advanceTo(nowMillis, this, entry -> {
+            size--;
+            fire.accept(entry.item);
+        });
+    }
+
+    private boolean place(Entry<T> entry) {
+        long slotTime = Math.floorDiv(entry.dueMillis, tickMillis) * tickMillis;
+        if (slotTime <= currentTime) {
+            return false;
+        }
+        if (slotTime < currentTime + intervalMillis) {
+            int index = (int) Math.floorMod(slotTime / tickMillis, (long) wheelSize);
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayDeque<>();
+            }
+            buckets[index].add(entry);
+            return true;
+        }
+        if (overflow == null) {
+            overflow = new TimingWheel<>(intervalMillis, wheelSize, currentTime, false);
+        }
+        return overflow.place(entry);
+    }
+
+    /**
+     * Steps this wheel a tick at a time. Coarser wheels step first, so entries they
+     * cascade down are placed before this wheel's bucket for the same time is drained.
+     */
+    private void advanceTo(long time, TimingWheel<T> root, Consumer<Entry<T>> fire) {
+        while (currentTime + tickMillis <= time) {
+            currentTime += tickMillis;
+            if (overflow != null) {
+                overflow.advanceTo(currentTime, root, fire);
+            }
+            int index = (int) Math.floorMod(currentTime / tickMillis, (long) wheelSize);
+            ArrayDeque<Entry<T>> bucket = buckets[index];
+            if (bucket == null || bucket.isEmpty()) {
+                continue;
+            }
+            buckets[index] = null;
+            for (Entry<T> entry : bucket) {
+                if (finest || !root.place(entry)) {
+                    fire.accept(entry);
+                }
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final T item;
+        /** Due time rounded up to the finest tick. */
+        private final long dueMillis;
+
+        private Entry(T item, long dueMillis) {
+            this.item = item;
+            this.dueMillis = dueMillis;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.dto.AccountStatusChange;
+import com.securebank.common.exception.AccountFrozenException;
+import com.securebank.common.exception.ResourceNotFoundException;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory replica of account-service's account statuses, used to reject requests
+ * for frozen or unknown accounts before any row lock is taken.
+ * <p>
+ * Holds the set of frozen account ids, the last applied status version of every
+ * account that has ever changed status, and a Bloom filter of all known account ids.
+ * Until the first full resync completes the directory is not ready and lets every
+ * request through to the lock-time checks. An id the filter has not seen may have been
+ * opened since the last sync, so it is looked up in the local {@code accounts} table
+ * before being rejected.
+ */
+@Component
+public class AccountStatusDirectory {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountStatusDirectory.class);
+
+    private static final String FROZEN = "FROZEN";
+
+    private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate lookupTemplate;
+    private final long expectedAccounts;
+    private final double falsePositiveRate;
+
+    private volatile State state;
+    private volatile boolean ready;
+
+    public AccountStatusDirectory(AccountRepository accountRepository,
+                                  ShardRouter shardRouter,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${account.status.directory.expected-accounts:1000000}") long expectedAccounts,
+                                  @Value("${account.status.directory.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.lookupTemplate = new TransactionTemplate(transactionManager);
+        this.lookupTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.lookupTemplate.setReadOnly(true);
+        this.expectedAccounts = expectedAccounts;
+        this.falsePositiveRate = falsePositiveRate;
+        this.state = new State(new KnownAccountsFilter(expectedAccounts, falsePositiveRate));
+    }
+
+    /**
+     * Throws if the account is known to be frozen, or is in neither the filter nor the
+     * local accounts table once the directory is ready. Otherwise returns and the caller
+     * proceeds to the database.
+     */
+    public void requireActive(UUID accountId) {
+        State current = state;
+        if (current.frozen.contains(accountId)) {
+            throw new AccountFrozenException("Account is frozen: " + accountId);
+        }
+        if (ready && !current.known.mightContain(accountId)) {
+            if (!existsLocally(accountId)) {
+                throw new ResourceNotFoundException("Account not found: " + accountId);
+            }
+            current.known.add(accountId);
+        }
+    }
+
+    /**
+     * Reads the account's row in a transaction of its own on the account's shard, as the
+     * caller's transaction has not bound its shard yet.
+     */
+    private boolean existsLocally(UUID accountId) {
+        return shardRouter.onShard(shardRouter.shardOf(accountId),
+                () -> Boolean.TRUE.equals(lookupTemplate.execute(status -> accountRepository.existsById(accountId))));
+    }
+
+    /**
+     * Applies one change from the incremental feed. Changes older than the last
+     * applied version of the same account are ignored.
+     */
+    public void apply(AccountStatusChange change) {
+        apply(state, change);
+    }
+
+    /**
+     * Starts a full resync. Changes are applied to the returned builder, which
+     * replaces the live directory atomically on {@link Resync#complete()}.
+     */
+    public Resync beginResync() {
+        return new Resync(new State(new KnownAccountsFilter(expectedAccounts, falsePositiveRate)));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int frozenCount() {
+        return state.frozen.size();
+    }
+
+    private static void apply(State target, AccountStatusChange change) {
+        UUID accountId = change.getAccountId();
+        target.known.add(accountId);
+        boolean frozen = FROZEN.equals(change.getStatus());
+        if (change.getStatusVersion() == 0 && !frozen && !target.versions.containsKey(accountId)) {
+            return;
+        }
+        target.versions.compute(accountId, (id, appliedVersion) -> {
+            if (appliedVersion != null && appliedVersion > change.getStatusVersion()) {
+                return appliedVersion;
+            }
+            if (frozen) {
+                target.frozen.add(id);
+            } else {
+                target.frozen.remove(id);
+            }
+            return change.getStatusVersion();
+        });
+    }
+
+    public final class Resync {
+
+        private final State building;
+        private long applied;
+
+        private Resync(State building) {
+            this.building = building;
+        }
+
+        public void apply(AccountStatusChange change) {
+            AccountStatusDirectory.apply(building, change);
+            applied++;
+        }
+
+        public void complete() {
+            state = building;
+            ready = true;
+            log.info("Account status directory resynced: {} accounts, {} frozen, filter {} KB",
+                    applied, building.frozen.size(), building.known.sizeInBytes() / 1024);
+        }
+    }
+
+    private static final class State {
+        private final KnownAccountsFilter known;
+        private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+        private final Set<UUID> frozen = ConcurrentHashMap.newKeySet();
+
+        private State(KnownAccountsFilter known) {
+            this.known = known;
+        }
+    }
+}
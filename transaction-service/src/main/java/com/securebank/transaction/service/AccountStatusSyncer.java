@@ -0,0 +1,197 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.dto.AccountStatusChange;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.security.JwtUtil;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Replicates account statuses from account-service into the {@link AccountStatusDirectory}
+ * and the local {@code accounts} table.
+ * <p>
+ * The feed is keyset-paged on (updatedAt, id). The first run, and every
+ * {@code resync-interval-ms} after it, rebuilds the directory from scratch; runs in
+ * between re-read from {@code overlap-ms} before the last cursor so changes committed
+ * out of order by concurrent account-service instances are not missed.
+ */
+@Component
+@ConditionalOnProperty(name = "account.status.feed.enabled", havingValue = "true")
+public class AccountStatusSyncer {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountStatusSyncer.class);
+
+    private static final UUID SERVICE_ID = UUID.nameUUIDFromBytes("transaction-service".getBytes(StandardCharsets.UTF_8));
+    private static final UUID NIL_ID = new UUID(0, 0);
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final ParameterizedTypeReference<ApiResponse<List<AccountStatusChange>>> FEED_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final AccountStatusDirectory directory;
+    private final AccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final RestTemplate restTemplate;
+    private final JwtUtil jwtUtil;
+    private final String feedUrl;
+    private final int pageSize;
+    private final long overlapMs;
+    private final long resyncIntervalMs;
+
+    private LocalDateTime cursor = EPOCH;
+    private long lastFullResync;
+
+    public AccountStatusSyncer(AccountStatusDirectory directory,
+                               AccountRepository accountRepository,
+                               ShardRouter shardRouter,
+                               PlatformTransactionManager transactionManager,
+                               RestTemplate restTemplate,
+                               JwtUtil jwtUtil,
+                               @Value("${account.service.url}") String accountServiceUrl,
+                               @Value("${account.status.feed.page-size:500}") int pageSize,
+                               @Value("${account.status.feed.overlap-ms:2000}") long overlapMs,
+                               @Value("${account.status.feed.resync-interval-ms:3600000}") long resyncIntervalMs) {
+        this.directory = directory;
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.restTemplate = restTemplate;
+        this.jwtUtil = jwtUtil;
+        this.feedUrl = accountServiceUrl + "/status-feed";
+        this.pageSize = pageSize;
+        this.overlapMs = overlapMs;
+        this.resyncIntervalMs = resyncIntervalMs;
+    }
+
+    @Scheduled(fixedDelayString = "${account.status.feed.poll-interval-ms:1000}")
+    public void sync() {
+        try {
+            if (!directory.isReady() || System.currentTimeMillis() - lastFullResync >= resyncIntervalMs) {
+                fullResync();
+            } else {
+                catchUp();
+            }
+        } catch (RestClientException ex) {
+            log.warn("Account status feed unavailable: {}", ex.getMessage());
+        }
+    }
+
+    private void fullResync() {
+        long started = System.currentTimeMillis();
+        AccountStatusDirectory.Resync resync = directory.beginResync();
+        cursor = readFrom(EPOCH, resync::apply);
+        resync.complete();
+        lastFullResync = started;
+    }
+
+    private void catchUp() {
+        cursor = readFrom(cursor.minus(Duration.ofMillis(overlapMs)), directory::apply);
+    }
+
+    private LocalDateTime readFrom(LocalDateTime since, Consumer<AccountStatusChange> sink) {
+        LocalDateTime pageSince = since;
+        UUID pageAfterId = NIL_ID;
+        LocalDateTime newest = cursor.isAfter(since) ? cursor : since;
+
+        List<AccountStatusChange> page;
+        do {
+            page = fetchPage(pageSince, pageAfterId);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(sink);
+            upsertLocalAccounts(page);
+
+            AccountStatusChange last = page.get(page.size() - 1);
+            pageSince = last.getUpdatedAt();
+            pageAfterId = last.getAccountId();
+            if (pageSince.isAfter(newest)) {
+                newest = pageSince;
+            }
+        } while (page.size() == pageSize);
+
+        return newest;
+    }
+
+    private List<AccountStatusChange> fetchPage(LocalDateTime since, UUID afterId) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(feedUrl)
+                .queryParam("since", since)
+                .queryParam("afterId", afterId)
+                .queryParam("limit", pageSize)
+                .build()
+                .toUri();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(SERVICE_ID, "transaction-service", "SERVICE"));
+
+        ApiResponse<List<AccountStatusChange>> response =
+                restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), FEED_TYPE).getBody();
+        return response != null && response.getData() != null ? response.getData() : List.of();
+    }
+
+    /**
+     * Mirrors status changes into the local accounts table so the lock-time check in
+     * {@link TransactionService} agrees with the directory, creating rows for accounts
+     * opened since the last sync. Each account's row lives on its shard; existing rows
+     * get a status-only UPDATE so balances written by concurrent transfers survive.
+     */
+    private void upsertLocalAccounts(List<AccountStatusChange> changes) {
+        Map<String, List<AccountStatusChange>> byShard = changes.stream()
+                .collect(Collectors.groupingBy(change -> shardRouter.shardOf(change.getAccountId())));
+        byShard.forEach((shard, shardChanges) -> shardRouter.onShard(shard, () -> {
+            upsertShardAccounts(shardChanges);
+            return null;
+        }));
+    }
+
+    private void upsertShardAccounts(List<AccountStatusChange> changes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<UUID> existing = accountRepository
+                    .findAllById(changes.stream().map(AccountStatusChange::getAccountId).toList())
+                    .stream()
+                    .map(Account::getId)
+                    .collect(Collectors.toCollection(HashSet::new));
+            LocalDateTime now = LocalDateTime.now();
+            for (AccountStatusChange change : changes) {
+                if (existing.contains(change.getAccountId())) {
+                    accountRepository.updateStatus(change.getAccountId(), change.getStatus(), now);
+                    continue;
+                }
+                Account account = new Account();
+                account.setId(change.getAccountId());
+                account.setAccountNumber(change.getAccountNumber());
+                account.setUserId(change.getUserId());
+                account.setStatus(change.getStatus());
+                accountRepository.save(account);
+                existing.add(account.getId());
+            }
+        });
+    }
+}
@@ -0,0 +1,67 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.security.JwtUtil;
+import com.securebank.transaction.dto.AuditLogEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes to and reads from notification-service's audit log, as transaction-service.
+ * Calls throw {@link org.springframework.web.client.RestClientException} when it is
+ * unavailable.
+ */
+@Component
+public class AuditLogClient {
+
+    private static final UUID SERVICE_ID = UUID.nameUUIDFromBytes("transaction-service".getBytes(StandardCharsets.UTF_8));
+    private static final ParameterizedTypeReference<ApiResponse<List<AuditLogEntry>>> ENTRIES_TYPE =
+            new ParameterizedTypeReference<>() {};
+
+    private final RestTemplate restTemplate;
+    private final JwtUtil jwtUtil;
+    private final String notificationServiceUrl;
+
+    public AuditLogClient(RestTemplate restTemplate,
+                          JwtUtil jwtUtil,
+                          @Value("${notification.service.url}") String notificationServiceUrl) {
+        this.restTemplate = restTemplate;
+        this.jwtUtil = jwtUtil;
+        this.notificationServiceUrl = notificationServiceUrl;
+    }
+
+    public void log(AuditLogEntry entry) {
+        restTemplate.exchange(notificationServiceUrl + "/log", HttpMethod.POST, new HttpEntity<>(entry, headers()),
+                Void.class);
+    }
+
+    /** The first entries of {@code eventType} logged since {@code since}, oldest first. */
+    public List<AuditLogEntry> find(String eventType, LocalDateTime since) {
+        URI uri = UriComponentsBuilder.fromHttpUrl(notificationServiceUrl)
+                .path("/events/{eventType}")
+                .queryParam("since", since)
+                .buildAndExpand(eventType)
+                .toUri();
+        ApiResponse<List<AuditLogEntry>> response =
+                restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers()), ENTRIES_TYPE).getBody();
+        return response != null && response.getData() != null ? response.getData() : List.of();
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(SERVICE_ID, "transaction-service", "SERVICE"));
+        return headers;
+    }
+}
@@ -0,0 +1,251 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.exception.AccountFrozenException;
+import com.securebank.common.exception.InsufficientBalanceException;
+import com.securebank.common.exception.ResourceNotFoundException;
+import com.securebank.common.exception.ServiceUnavailableException;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.Transaction;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.entity.TransferIntent;
+import com.securebank.transaction.entity.TransferIntentState;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.repository.TransactionRepository;
+import com.securebank.transaction.repository.TransferIntentRepository;
+import com.securebank.transaction.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Transfers between accounts on different shards, in three local transactions:
+ * <ol>
+ *   <li>reserve: on the source shard, debit the source account, write its ledger row
+ *       and a RESERVED source intent;</li>
+ *   <li>credit: on the target shard, credit the target account, write its ledger row
+ *       and a CREDITED target intent;</li>
+ *   <li>confirm: mark the source intent CONFIRMED.</li>
+ * </ol>
+ * If the credit is refused (the target is missing or frozen), the transfer is resolved
+ * right away. When the outcome is unknown (a crash, a lost connection), the source
+ * intent stays RESERVED. {@link #recoverInDoubt()} resolves it once it is older than
+ * {@code sharding.recovery.in-doubt-after-ms}, including after a restart.
+ * <p>
+ * To resolve a transfer, recovery first looks for the target intent under a row lock,
+ * and writes a CANCELLED one if there is none. A credit that arrives after that fails on
+ * the target intent's primary key and rolls back. So the credit either happened (the
+ * source is confirmed) or it never will (the source account is refunded).
+ */
+@Service
+public class CrossShardTransferCoordinator {
+
+    private static final Logger log = LoggerFactory.getLogger(CrossShardTransferCoordinator.class);
+
+    private static final int RECOVERY_BATCH = 100;
+
+    /** Description prefix of the credit that refunds a cancelled transfer's debit. */
+    public static final String REVERSAL_DESCRIPTION = "Reversal of transfer ";
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final TransferIntentRepository intentRepository;
+    private final ShardRouter shardRouter;
+    private final HotAccountTracker hotAccountTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final long inDoubtAfterMs;
+
+    public CrossShardTransferCoordinator(AccountRepository accountRepository,
+                                         TransactionRepository transactionRepository,
+                                         TransferIntentRepository intentRepository,
+                                         ShardRouter shardRouter,
+                                         HotAccountTracker hotAccountTracker,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${sharding.recovery.in-doubt-after-ms:60000}") long inDoubtAfterMs) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.intentRepository = intentRepository;
+        this.shardRouter = shardRouter;
+        this.hotAccountTracker = hotAccountTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.inDoubtAfterMs = inDoubtAfterMs;
+    }
+
+    /** Runs the transfer and returns the debit ledger row from the source shard. */
+    public Transaction transfer(TransferRequest request) {
+        UUID transferId = UUID.randomUUID();
+        String sourceShard = shardRouter.shardOf(request.getFromAccountId());
+        String targetShard = shardRouter.shardOf(request.getToAccountId());
+
+        String toAccountNumber = inTransaction(targetShard, () -> accountRepository.findById(request.getToAccountId())
+                .map(Account::getAccountNumber)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + request.getToAccountId())));
+        Reservation reservation = inTransaction(sourceShard, () -> reserve(transferId, request, toAccountNumber));
+        try {
+            inTransaction(targetShard, () -> credit(transferId, request, reservation));
+        } catch (ResourceNotFoundException | AccountFrozenException | ServiceUnavailableException ex) {
+            resolve(transferId, sourceShard, targetShard);
+            throw ex;
+        }
+        inTransaction(sourceShard, () -> {
+            intentRepository.findForUpdate(transferId, TransferIntent.SOURCE)
+                    .filter(intent -> intent.getState() == TransferIntentState.RESERVED)
+                    .ifPresent(intent -> intent.setState(TransferIntentState.CONFIRMED));
+            return null;
+        });
+        log.info("Cross-shard transfer {} completed: {} ({}) -> {} ({})", transferId,
+                request.getFromAccountId(), sourceShard, request.getToAccountId(), targetShard);
+        return reservation.debit;
+    }
+
+    /** Resolves source intents on every shard that have been RESERVED for too long. */
+    @Scheduled(initialDelayString = "${sharding.recovery.initial-delay-ms:10000}",
+            fixedDelayString = "${sharding.recovery.interval-ms:30000}")
+    public void recoverInDoubt() {
+        if (!shardRouter.isEnabled()) {
+            return;
+        }
+        LocalDateTime before = LocalDateTime.now().minusNanos(inDoubtAfterMs * 1_000_000);
+        for (String shard : shardRouter.map().shards()) {
+            List<TransferIntent> inDoubt = shardRouter.onShard(shard, () -> intentRepository.findInDoubt(
+                    TransferIntentState.RESERVED, before, PageRequest.of(0, RECOVERY_BATCH)));
+            for (TransferIntent intent : inDoubt) {
+                try {
+                    resolve(intent.getTransferId(), shard, shardRouter.shardOf(intent.getToAccountId()));
+                } catch (RuntimeException ex) {
+                    log.warn("In-doubt transfer {} not resolved yet: {}", intent.getTransferId(), ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private Reservation reserve(UUID transferId, TransferRequest request, String toAccountNumber) {
+        Account from = lock(request.getFromAccountId());
+        if (from.getAvailableBalance().compareTo(request.getAmount()) < 0) {
+            throw new InsufficientBalanceException("Insufficient balance. Available: " + from.getAvailableBalance()
+                    + ", Requested: " + request.getAmount());
+        }
+        BigDecimal newBalance = applyBalance(from, from.getBalance().subtract(request.getAmount()));
+        String description = request.getDescription() != null ? request.getDescription()
+                : "Transfer to " + toAccountNumber;
+        Transaction debit = transactionRepository.save(LedgerChain.append(from, new Transaction(
+                from.getId(), request.getToAccountId(), TransactionType.TRANSFER,
+                request.getAmount(), newBalance, description)));
+        intentRepository.save(new TransferIntent(transferId, TransferIntent.SOURCE, from.getId(),
+                request.getToAccountId(), request.getAmount(), description, TransferIntentState.RESERVED));
+        transactionRepository.flush();
+        return new Reservation(debit, from.getAccountNumber());
+    }
+
+    private Void credit(UUID transferId, TransferRequest request, Reservation reservation) {
+        Transaction debit = reservation.debit;
+        if (intentRepository.existsById(new TransferIntent.Key(transferId, TransferIntent.TARGET))) {
+            return null;
+        }
+        Account to = lock(request.getToAccountId());
+        BigDecimal newBalance = applyBalance(to, to.getBalance().add(request.getAmount()));
+        transactionRepository.save(LedgerChain.append(to, new Transaction(
+                to.getId(), debit.getAccountId(), TransactionType.TRANSFER,
+                request.getAmount(), newBalance, "Transfer from " + reservation.fromAccountNumber)));
+        intentRepository.save(new TransferIntent(transferId, TransferIntent.TARGET, debit.getAccountId(),
+                to.getId(), request.getAmount(), debit.getDescription(), TransferIntentState.CREDITED));
+        transactionRepository.flush();
+        return null;
+    }
+
+    /**
+     * Settles a RESERVED source intent. It is confirmed if the target was credited.
+     * Otherwise the target is fenced with a CANCELLED intent and the source is refunded.
+     */
+    void resolve(UUID transferId, String sourceShard, String targetShard) {
+        TransferIntent source = inTransaction(sourceShard, () ->
+                intentRepository.findById(new TransferIntent.Key(transferId, TransferIntent.SOURCE)).orElseThrow());
+        boolean credited = inTransaction(targetShard, () -> {
+            Optional<TransferIntent> target = intentRepository.findForUpdate(transferId, TransferIntent.TARGET);
+            if (target.isPresent()) {
+                return target.get().getState() == TransferIntentState.CREDITED;
+            }
+            intentRepository.save(new TransferIntent(transferId, TransferIntent.TARGET, source.getFromAccountId(),
+                    source.getToAccountId(), source.getAmount(), source.getDescription(),
+                    TransferIntentState.CANCELLED));
+            intentRepository.flush();
+            return false;
+        });
+        inTransaction(sourceShard, () -> {
+            TransferIntent intent = intentRepository.findForUpdate(transferId, TransferIntent.SOURCE).orElseThrow();
+            if (intent.getState() != TransferIntentState.RESERVED) {
+                return null;
+            }
+            if (credited) {
+                intent.setState(TransferIntentState.CONFIRMED);
+                return null;
+            }
+            Account from = accountRepository.findByIdWithLock(intent.getFromAccountId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + intent.getFromAccountId()));
+            BigDecimal newBalance = applyBalance(from, from.getBalance().add(intent.getAmount()));
+            transactionRepository.save(LedgerChain.append(from, new Transaction(
+                    from.getId(), intent.getToAccountId(), TransactionType.TRANSFER,
+                    intent.getAmount(), newBalance, REVERSAL_DESCRIPTION + transferId)));
+            intent.setState(TransferIntentState.CANCELLED);
+            return null;
+        });
+        log.warn("Cross-shard transfer {} resolved as {}", transferId, credited ? "confirmed" : "cancelled");
+    }
+
+    private Account lock(UUID accountId) {
+        long started = System.nanoTime();
+        Account account;
+        try {
+            account = accountRepository.findByIdWithLock(accountId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountId));
+        } finally {
+            hotAccountTracker.recordLockWait(accountId, System.nanoTime() - started);
+        }
+        if (Account.MOVED.equals(account.getStatus())) {
+            shardRouter.refresh();
+            throw new ServiceUnavailableException("Account is moving to another shard, retry: " + accountId);
+        }
+        if ("FROZEN".equals(account.getStatus())) {
+            throw new AccountFrozenException("Account is frozen: " + accountId);
+        }
+        return account;
+    }
+
+    private BigDecimal applyBalance(Account account, BigDecimal newBalance) {
+        account.setBalance(newBalance);
+        account.setBalanceVersion(account.getBalanceVersion() + 1);
+        accountRepository.save(account);
+        hotAccountTracker.recordMutation(account.getId());
+        return newBalance;
+    }
+
+    private <T> T inTransaction(String shard, Supplier<T> action) {
+        return shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> action.get()));
+    }
+
+    /** The debit written by the reserve step, and the source account number for the credit. */
+    private static final class Reservation {
+
+        private final Transaction debit;
+        private final String fromAccountNumber;
+
+        private Reservation(Transaction debit, String fromAccountNumber) {
+            this.debit = debit;
+            this.fromAccountNumber = fromAccountNumber;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.securebank.transaction.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding-window heavy hitters over account ids with a fixed memory footprint.
+ * <p>
+ * Time is split into {@code bucketCount} buckets of {@code bucketMillis}. Each bucket
+ * holds a count-min sketch ({@code depth} rows of {@code width} counters) updated with
+ * lock-free atomic adds, plus up to {@code candidates} ids whose estimate in that bucket
+ * was among the largest seen. Only updates that beat the bucket's smallest candidate
+ * take the bucket lock. A query over the last n buckets sums the sketch estimates of
+ * every candidate in those buckets; estimates never undercount and overcount by at most
+ * about {@code e / width} of the window's total weight. Each row hashes with its own
+ * seed, so two keys that collide in one row are no more likely to collide in another.
+ */
+class HeavyHitterSketch {
+
+    private final int width;
+    private final int depth;
+    private final int candidates;
+    private final long bucketMillis;
+    private final long[] seeds;
+    private final Bucket[] buckets;
+
+    HeavyHitterSketch(int width, int depth, int candidates, long bucketMillis, int bucketCount) {
+        this.width = width;
+        this.depth = depth;
+        this.candidates = candidates;
+        this.bucketMillis = bucketMillis;
+        this.seeds = new long[depth];
+        for (int row = 0; row < depth; row++) {
+            seeds[row] = mix(0x9E3779B97F4A7C15L * (row + 1));
+        }
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    void add(UUID key, long weight, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        Bucket bucket = buckets[(int) (epoch % buckets.length)];
+        if (bucket.epoch != epoch) {
+            bucket.reset(epoch);
+        }
+
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, bucket.counts.addAndGet(index(row, key), weight));
+        }
+        if (estimate > bucket.minCandidate || bucket.candidateCount < candidates) {
+            bucket.offer(key, estimate);
+        }
+    }
+
+    /**
+     * Largest estimates over the most recent {@code windowBuckets} buckets, biggest first.
+     */
+    List<Map.Entry<UUID, Long>> top(int limit, int windowBuckets, long nowMillis) {
+        List<Bucket> window = window(windowBuckets, nowMillis);
+        Set<UUID> keys = new HashSet<>();
+        for (Bucket bucket : window) {
+            synchronized (bucket) {
+                keys.addAll(bucket.candidates.keySet());
+            }
+        }
+        List<Map.Entry<UUID, Long>> result = new ArrayList<>(keys.size());
+        for (UUID key : keys) {
+            result.add(Map.entry(key, estimate(key, window)));
+        }
+        result.sort(Map.Entry.<UUID, Long>comparingByValue().reversed());
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    long estimate(UUID key, int windowBuckets, long nowMillis) {
+        return estimate(key, window(windowBuckets, nowMillis));
+    }
+
+    long windowMillis(int windowBuckets) {
+        return Math.min(windowBuckets, buckets.length) * bucketMillis;
+    }
+
+    int bucketCount() {
+        return buckets.length;
+    }
+
+    long sizeInBytes() {
+        return (long) buckets.length * width * depth * Long.BYTES;
+    }
+
+    private long estimate(UUID key, List<Bucket> window) {
+        int[] indexes = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            indexes[row] = index(row, key);
+        }
+        long total = 0;
+        for (Bucket bucket : window) {
+            long estimate = Long.MAX_VALUE;
+            for (int index : indexes) {
+                estimate = Math.min(estimate, bucket.counts.get(index));
+            }
+            total += estimate;
+        }
+        return total;
+    }
+
+    private List<Bucket> window(int windowBuckets, long nowMillis) {
+        long newest = nowMillis / bucketMillis;
+        long oldest = newest - Math.min(windowBuckets, buckets.length) + 1;
+        List<Bucket> window = new ArrayList<>();
+        for (Bucket bucket : buckets) {
+            long epoch = bucket.epoch;
+            if (epoch >= oldest && epoch <= newest) {
+                window.add(bucket);
+            }
+        }
+        return window;
+    }
+
+    private int index(int row, UUID key) {
+        long seed = seeds[row];
+        long hash = mix(key.getMostSignificantBits() ^ mix(key.getLeastSignificantBits() ^ seed) ^ seed);
+        return row * width + (int) Math.floorMod(hash, (long) width);
+    }
+
+    private static long mix(long x) {
+        x ^= x >>> 33;
+        x *= 0xFF51AFD7ED558CCDL;
+        x ^= x >>> 33;
+        x *= 0xC4CEB9FE1A85EC53L;
+        x ^= x >>> 33;
+        return x;
+    }
+
+    private final class Bucket {
+        private final AtomicLongArray counts = new AtomicLongArray(width * depth);
+        private final Map<UUID, Long> candidates = new HashMap<>();
+        private volatile long epoch = -1;
+        private volatile long minCandidate;
+        private volatile int candidateCount;
+
+        private synchronized void reset(long newEpoch) {
+            if (epoch == newEpoch) {
+                return;
+            }
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+            candidates.clear();
+            candidateCount = 0;
+            minCandidate = 0;
+            epoch = newEpoch;
+        }
+
+        private synchronized void offer(UUID key, long estimate) {
+            candidates.put(key, estimate);
+            if (candidates.size() > HeavyHitterSketch.this.candidates) {
+                UUID smallest = null;
+                long smallestValue = Long.MAX_VALUE;
+                for (Map.Entry<UUID, Long> entry : candidates.entrySet()) {
+                    if (entry.getValue() < smallestValue) {
+                        smallest = entry.getKey();
+                        smallestValue = entry.getValue();
+                    }
+                }
+                candidates.remove(smallest);
+            }
+            long min = Long.MAX_VALUE;
+            for (long value : candidates.values()) {
+                min = Math.min(min, value);
+            }
+            minCandidate = candidates.size() < HeavyHitterSketch.this.candidates ? 0 : min;
+            candidateCount = candidates.size();
+        }
+    }
+}
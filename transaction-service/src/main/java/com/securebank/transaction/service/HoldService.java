@@ -0,0 +1,325 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.exception.AccountFrozenException;
+import com.securebank.common.exception.BadRequestException;
+import com.securebank.common.exception.InsufficientBalanceException;
+import com.securebank.common.exception.ResourceNotFoundException;
+import com.securebank.common.exception.ServiceUnavailableException;
+import com.securebank.common.metrics.BankingMetrics;
+import com.securebank.transaction.dto.AuthorizeHoldRequest;
+import com.securebank.transaction.dto.CaptureHoldRequest;
+import com.securebank.transaction.dto.HoldResponse;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.Hold;
+import com.securebank.transaction.entity.HoldStatus;
+import com.securebank.transaction.entity.Transaction;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.repository.HoldRepository;
+import com.securebank.transaction.repository.TransactionRepository;
+import com.securebank.transaction.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Two-phase card-style payments: authorize now, capture or void later.
+ * <p>
+ * Authorize is a single conditional UPDATE that adds to the account's held balance
+ * only if enough is available, followed by the hold insert. There is no SELECT ... FOR
+ * UPDATE, so the row lock lasts only until that short transaction commits. The ledger
+ * balance does not change until capture.
+ * <p>
+ * Capture settles holds in batches: one transaction per shard, each account locked once
+ * for all of its holds in the batch, and the ledger rows inserted together. Void and the
+ * expirer only release held funds. The expirer picks stale holds with SKIP LOCKED, so
+ * several instances can run it side by side.
+ */
+@Service
+public class HoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldService.class);
+
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountStatusDirectory accountStatusDirectory;
+    private final BankingMetrics bankingMetrics;
+    private final HotAccountTracker hotAccountTracker;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final long defaultExpirySeconds;
+    private final long maxExpirySeconds;
+    private final int expiryBatchSize;
+
+    public HoldService(HoldRepository holdRepository,
+                       AccountRepository accountRepository,
+                       TransactionRepository transactionRepository,
+                       AccountStatusDirectory accountStatusDirectory,
+                       BankingMetrics bankingMetrics,
+                       HotAccountTracker hotAccountTracker,
+                       ShardRouter shardRouter,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${hold.default-expiry-seconds:604800}") long defaultExpirySeconds,
+                       @Value("${hold.max-expiry-seconds:2592000}") long maxExpirySeconds,
+                       @Value("${hold.expiry.batch-size:500}") int expiryBatchSize) {
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.accountStatusDirectory = accountStatusDirectory;
+        this.bankingMetrics = bankingMetrics;
+        this.hotAccountTracker = hotAccountTracker;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultExpirySeconds = defaultExpirySeconds;
+        this.maxExpirySeconds = maxExpirySeconds;
+        this.expiryBatchSize = expiryBatchSize;
+    }
+
+    @Transactional
+    public HoldResponse authorize(AuthorizeHoldRequest request) {
+        log.info("Authorizing hold of {} on account {}", request.getAmount(), request.getAccountId());
+        accountStatusDirectory.requireActive(request.getAccountId());
+        shardRouter.bind(request.getAccountId());
+
+        if (accountRepository.reserveFunds(request.getAccountId(), request.getAmount()) == 0) {
+            throw refusal(request.getAccountId(), request.getAmount());
+        }
+        hotAccountTracker.recordMutation(request.getAccountId());
+
+        long expiresIn = request.getExpiresInSeconds() != null
+                ? Math.min(request.getExpiresInSeconds(), maxExpirySeconds) : defaultExpirySeconds;
+        Hold hold = holdRepository.save(new Hold(request.getAccountId(), request.getAmount(),
+                request.getDescription() != null ? request.getDescription() : "Authorization",
+                LocalDateTime.now().plusSeconds(expiresIn)));
+        log.info("Hold {} authorized on account {}", hold.getId(), hold.getAccountId());
+        return mapToResponse(hold);
+    }
+
+    public HoldResponse capture(UUID holdId, BigDecimal amount) {
+        return captureAll(List.of(new CaptureHoldRequest(holdId, amount))).get(0);
+    }
+
+    /**
+     * Captures the holds, in one transaction per shard. Within a shard the batch is all
+     * or nothing: any hold that is missing, no longer authorized, expired or captured
+     * for more than it holds fails the shard's whole batch.
+     */
+    public List<HoldResponse> captureAll(List<CaptureHoldRequest> captures) {
+        Map<UUID, BigDecimal> amounts = new LinkedHashMap<>();
+        for (CaptureHoldRequest capture : captures) {
+            if (capture.getHoldId() == null) {
+                throw new BadRequestException("Hold ID is required");
+            }
+            if (amounts.containsKey(capture.getHoldId())) {
+                throw new BadRequestException("Hold listed twice in one batch: " + capture.getHoldId());
+            }
+            amounts.put(capture.getHoldId(), capture.getAmount());
+        }
+
+        Map<UUID, HoldResponse> captured = new HashMap<>();
+        holdsByShard(amounts.keySet()).forEach((shard, holdIds) -> captured.putAll(shardRouter.onShard(shard,
+                () -> transactionTemplate.execute(status -> captureOnShard(holdIds, amounts)))));
+        return amounts.keySet().stream().map(captured::get).collect(Collectors.toList());
+    }
+
+    public HoldResponse voidHold(UUID holdId) {
+        String shard = holdsByShard(Set.of(holdId)).keySet().iterator().next();
+        return shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+            Hold hold = lockHolds(List.of(holdId)).get(0);
+            requireAuthorized(hold);
+            hold.setStatus(HoldStatus.VOIDED);
+            accountRepository.releaseFunds(hold.getAccountId(), hold.getAmount());
+            hotAccountTracker.recordMutation(hold.getAccountId());
+            log.info("Hold {} voided, {} released on account {}", holdId, hold.getAmount(), hold.getAccountId());
+            return mapToResponse(hold);
+        }));
+    }
+
+    @Transactional(readOnly = true)
+    public List<HoldResponse> getOpenHolds(UUID accountId) {
+        shardRouter.bind(accountId);
+        return holdRepository.findByAccountIdAndStatusOrderByCreatedAtDesc(accountId, HoldStatus.AUTHORIZED).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Releases authorized holds past their expiry, {@code hold.expiry.batch-size} per
+     * transaction, with one held-balance update per account in each batch.
+     */
+    @Scheduled(initialDelayString = "${hold.expiry.initial-delay-ms:30000}",
+            fixedDelayString = "${hold.expiry.interval-ms:60000}")
+    public void expireHolds() {
+        long total = 0;
+        for (String shard : shardRouter.map().shards()) {
+            int expired;
+            do {
+                expired = shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> expireBatch()));
+                total += expired;
+            } while (expired == expiryBatchSize);
+        }
+        if (total > 0) {
+            log.info("Expired {} holds", total);
+        }
+    }
+
+    private int expireBatch() {
+        List<Hold> holds = holdRepository.findExpiredForUpdate(
+                HoldStatus.AUTHORIZED, LocalDateTime.now(), PageRequest.of(0, expiryBatchSize));
+        Map<UUID, BigDecimal> released = new TreeMap<>();
+        for (Hold hold : holds) {
+            hold.setStatus(HoldStatus.EXPIRED);
+            released.merge(hold.getAccountId(), hold.getAmount(), BigDecimal::add);
+        }
+        released.forEach(accountRepository::releaseFunds);
+        return holds.size();
+    }
+
+    private Map<UUID, HoldResponse> captureOnShard(List<UUID> holdIds, Map<UUID, BigDecimal> amounts) {
+        List<Hold> holds = lockHolds(holdIds);
+        LocalDateTime now = LocalDateTime.now();
+        for (Hold hold : holds) {
+            requireAuthorized(hold);
+            if (hold.getExpiresAt().isBefore(now)) {
+                throw new BadRequestException("Hold has expired: " + hold.getId());
+            }
+            BigDecimal amount = amounts.get(hold.getId());
+            if (amount != null && amount.compareTo(hold.getAmount()) > 0) {
+                throw new BadRequestException("Capture of " + amount + " exceeds hold " + hold.getId()
+                        + " of " + hold.getAmount());
+            }
+        }
+
+        // Lock each account once, in UUID order like transfers, to prevent deadlock
+        Map<UUID, List<Hold>> byAccount = holds.stream()
+                .collect(Collectors.groupingBy(Hold::getAccountId, TreeMap::new, Collectors.toList()));
+        List<Transaction> ledger = new ArrayList<>();
+        for (Map.Entry<UUID, List<Hold>> entry : byAccount.entrySet()) {
+            Account account = lockAccount(entry.getKey());
+            BigDecimal balance = account.getBalance();
+            BigDecimal held = account.getHeldBalance();
+            for (Hold hold : entry.getValue()) {
+                BigDecimal amount = amounts.get(hold.getId()) != null ? amounts.get(hold.getId()) : hold.getAmount();
+                balance = balance.subtract(amount);
+                held = held.subtract(hold.getAmount());
+                hold.setStatus(HoldStatus.CAPTURED);
+                hold.setCapturedAmount(amount);
+                ledger.add(LedgerChain.append(account, new Transaction(account.getId(), null,
+                        TransactionType.CAPTURE, amount, balance, hold.getDescription())));
+            }
+            account.setBalance(balance);
+            account.setHeldBalance(held);
+            account.setBalanceVersion(account.getBalanceVersion() + 1);
+            hotAccountTracker.recordMutation(account.getId());
+        }
+        transactionRepository.saveAll(ledger);
+        transactionRepository.flush();
+
+        Map<UUID, HoldResponse> captured = new HashMap<>();
+        int index = 0;
+        for (List<Hold> accountHolds : byAccount.values()) {
+            for (Hold hold : accountHolds) {
+                hold.setTransactionId(ledger.get(index++).getId());
+                bankingMetrics.capture(hold.getCapturedAmount());
+                captured.put(hold.getId(), mapToResponse(hold));
+            }
+        }
+        log.info("Captured {} holds on {} accounts", holds.size(), byAccount.size());
+        return captured;
+    }
+
+    /**
+     * Groups hold ids by the shard of their account. With sharding, each shard is asked
+     * which of the holds it has; a hold still present on the shard an account was moved
+     * away from is routed by its account, to the shard that now owns it.
+     */
+    private Map<String, List<UUID>> holdsByShard(Set<UUID> holdIds) {
+        if (!shardRouter.isEnabled()) {
+            return Map.of(ShardRouter.SINGLE_SHARD, new ArrayList<>(holdIds));
+        }
+        Map<UUID, UUID> accountIds = new HashMap<>();
+        for (String shard : shardRouter.map().shards()) {
+            for (Object[] row : shardRouter.onShard(shard, () -> holdRepository.findAccountIds(holdIds))) {
+                accountIds.put((UUID) row[0], (UUID) row[1]);
+            }
+        }
+        Set<UUID> missing = new HashSet<>(holdIds);
+        missing.removeAll(accountIds.keySet());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Hold not found: " + missing.iterator().next());
+        }
+        return accountIds.entrySet().stream().collect(Collectors.groupingBy(
+                entry -> shardRouter.shardOf(entry.getValue()),
+                Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+    }
+
+    private List<Hold> lockHolds(List<UUID> holdIds) {
+        List<Hold> holds = holdRepository.findAllForUpdate(holdIds);
+        if (holds.size() < holdIds.size()) {
+            Set<UUID> missing = new HashSet<>(holdIds);
+            holds.forEach(hold -> missing.remove(hold.getId()));
+            throw new ResourceNotFoundException("Hold not found: " + missing.iterator().next());
+        }
+        return holds;
+    }
+
+    private Account lockAccount(UUID accountId) {
+        Account account = accountRepository.findByIdWithLock(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountId));
+        if (Account.MOVED.equals(account.getStatus())) {
+            shardRouter.refresh();
+            throw new ServiceUnavailableException("Account is moving to another shard, retry: " + accountId);
+        }
+        if ("FROZEN".equals(account.getStatus())) {
+            throw new AccountFrozenException("Account is frozen: " + accountId);
+        }
+        return account;
+    }
+
+    /** Explains why {@link AccountRepository#reserveFunds} updated no row. */
+    private RuntimeException refusal(UUID accountId, BigDecimal amount) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountId));
+        if (Account.MOVED.equals(account.getStatus())) {
+            shardRouter.refresh();
+            return new ServiceUnavailableException("Account is moving to another shard, retry: " + accountId);
+        }
+        if ("FROZEN".equals(account.getStatus())) {
+            return new AccountFrozenException("Account is frozen: " + accountId);
+        }
+        return new InsufficientBalanceException(
+                "Insufficient balance. Available: " + account.getAvailableBalance() + ", Requested: " + amount);
+    }
+
+    private static void requireAuthorized(Hold hold) {
+        if (hold.getStatus() != HoldStatus.AUTHORIZED) {
+            throw new BadRequestException("Hold " + hold.getId() + " is already " + hold.getStatus());
+        }
+    }
+
+    private HoldResponse mapToResponse(Hold hold) {
+        return new HoldResponse(hold.getId(), hold.getAccountId(), hold.getAmount(), hold.getCapturedAmount(),
+                hold.getStatus().name(), hold.getDescription(), hold.getTransactionId(), hold.getExpiresAt(),
+                hold.getCreatedAt());
+    }
+}
@@ -0,0 +1,115 @@
+package com.securebank.transaction.service;
+
+import com.securebank.transaction.dto.HotAccountResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks which accounts are mutated most often and which accumulate the most row-lock
+ * wait, over a sliding window, in fixed memory.
+ * <p>
+ * {@link TransactionService} reports every balance change and every
+ * {@code findByIdWithLock} duration. {@link #isHot(UUID)} is the signal for other
+ * components (for example a different concurrency strategy for hot accounts);
+ * {@link #topByMutations} and {@link #topByLockWait} back the admin endpoint.
+ */
+@Component
+public class HotAccountTracker {
+
+    private final HeavyHitterSketch mutations;
+    private final HeavyHitterSketch lockWait;
+    private final int bucketSeconds;
+    private final int windowBuckets;
+    private final long hotThreshold;
+
+    public HotAccountTracker(MeterRegistry meterRegistry,
+                             @Value("${hot-accounts.sketch-width:512}") int width,
+                             @Value("${hot-accounts.sketch-depth:4}") int depth,
+                             @Value("${hot-accounts.candidates:64}") int candidates,
+                             @Value("${hot-accounts.bucket-seconds:10}") int bucketSeconds,
+                             @Value("${hot-accounts.buckets:30}") int buckets,
+                             @Value("${hot-accounts.window-seconds:60}") int windowSeconds,
+                             @Value("${hot-accounts.hot-mutations-per-window:600}") long hotThreshold) {
+        long bucketMillis = TimeUnit.SECONDS.toMillis(bucketSeconds);
+        this.mutations = new HeavyHitterSketch(width, depth, candidates, bucketMillis, buckets);
+        this.lockWait = new HeavyHitterSketch(width, depth, candidates, bucketMillis, buckets);
+        this.bucketSeconds = bucketSeconds;
+        this.windowBuckets = buckets(windowSeconds);
+        this.hotThreshold = hotThreshold;
+
+        Gauge.builder("transaction.hot.account.mutations", this, t -> t.topValue(t.mutations))
+                .description("Mutations of the most frequently changed account in the default window")
+                .register(meterRegistry);
+        Gauge.builder("transaction.hot.account.lock.wait", this,
+                        t -> t.topValue(t.lockWait) / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("Lock wait accumulated by the most contended account in the default window")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("transaction.hot.accounts", this, t -> t.hotCount(System.currentTimeMillis()))
+                .description("Accounts over hot-accounts.hot-mutations-per-window in the default window")
+                .register(meterRegistry);
+    }
+
+    public void recordMutation(UUID accountId) {
+        mutations.add(accountId, 1, System.currentTimeMillis());
+    }
+
+    public void recordLockWait(UUID accountId, long nanos) {
+        lockWait.add(accountId, Math.max(1, nanos), System.currentTimeMillis());
+    }
+
+    /**
+     * Whether the account was mutated at least {@code hot-mutations-per-window} times in
+     * the default window. Never false for an account that really is that hot.
+     */
+    public boolean isHot(UUID accountId) {
+        return mutations.estimate(accountId, windowBuckets, System.currentTimeMillis()) >= hotThreshold;
+    }
+
+    public List<HotAccountResponse> topByMutations(int limit, int windowSeconds) {
+        return top(mutations, limit, windowSeconds, System.currentTimeMillis());
+    }
+
+    public List<HotAccountResponse> topByLockWait(int limit, int windowSeconds) {
+        return top(lockWait, limit, windowSeconds, System.currentTimeMillis());
+    }
+
+    /** Window actually covered for a requested length, after clamping to the sketch span. */
+    public int effectiveWindowSeconds(int windowSeconds) {
+        return (int) TimeUnit.MILLISECONDS.toSeconds(mutations.windowMillis(buckets(windowSeconds)));
+    }
+
+    List<HotAccountResponse> top(HeavyHitterSketch sketch, int limit, int windowSeconds, long now) {
+        int window = buckets(windowSeconds);
+        double seconds = mutations.windowMillis(window) / 1000.0;
+        return sketch.top(limit, window, now).stream()
+                .map(entry -> {
+                    long count = mutations.estimate(entry.getKey(), window, now);
+                    return new HotAccountResponse(entry.getKey(), count, count / seconds,
+                            lockWait.estimate(entry.getKey(), window, now) / 1e6);
+                })
+                .toList();
+    }
+
+    private int buckets(int windowSeconds) {
+        return Math.max(1, Math.min(mutations.bucketCount(), windowSeconds / bucketSeconds));
+    }
+
+    private double topValue(HeavyHitterSketch sketch) {
+        List<Map.Entry<UUID, Long>> top = sketch.top(1, windowBuckets, System.currentTimeMillis());
+        return top.isEmpty() ? 0 : top.get(0).getValue();
+    }
+
+    private long hotCount(long now) {
+        return mutations.top(Integer.MAX_VALUE, windowBuckets, now).stream()
+                .filter(entry -> entry.getValue() >= hotThreshold)
+                .count();
+    }
+}
@@ -0,0 +1,142 @@
+package com.securebank.transaction.service;
+
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.Transaction;
+import com.securebank.transaction.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hash chain over each account's ledger rows, for tamper evidence.
+ * <p>
+ * A row's hash is SHA-256 over its fields and the hash of the account's previous row,
+ * so changing, removing or reordering a row breaks every link after it. The account
+ * row keeps the hash of its latest ledger row. Every ledger write already holds that
+ * row locked and updates its balance, so appending costs one SHA-256 and no extra
+ * statement. The row id is left out of the hash: it is generated on insert, and the
+ * chain already fixes each row's place.
+ */
+public final class LedgerChain {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    });
+    private static final byte[] GENESIS = new byte[32];
+    private static final byte NODE = 1;
+
+    private LedgerChain() {}
+
+    /**
+     * Links {@code transaction} to the head of {@code account}'s chain and makes it the
+     * new head. The account must be locked. Sets created_at now, to the microsecond
+     * the database keeps, so the stored row hashes the same.
+     */
+    public static Transaction append(Account account, Transaction transaction) {
+        if (transaction.getCreatedAt() == null) {
+            transaction.setCreatedAt(now());
+        }
+        byte[] hash = hash(account.getLedgerHash(), account.getId(), transaction.getTargetAccountId(),
+                transaction.getType(), transaction.getAmount(), transaction.getBalanceAfter(),
+                transaction.getDescription(), transaction.getCreatedAt());
+        transaction.setPrevHash(account.getLedgerHash());
+        transaction.setHash(hash);
+        account.setLedgerHash(hash);
+        return transaction;
+    }
+
+    /** The current time as the ledger stores it. */
+    public static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /** Hash of one ledger row; {@code prevHash} is null for an account's first chained row. */
+    public static byte[] hash(byte[] prevHash, UUID accountId, UUID targetAccountId, TransactionType type,
+                              BigDecimal amount, BigDecimal balanceAfter, String description,
+                              LocalDateTime createdAt) {
+        byte[] typeName = type.name().getBytes(StandardCharsets.US_ASCII);
+        byte[] text = description == null ? null : description.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(32 + 16 + 17 + 4 + typeName.length + 8 + 9 + 4
+                + (text == null ? 0 : text.length) + 12);
+        buffer.put(prevHash != null ? prevHash : GENESIS);
+        buffer.putLong(accountId.getMostSignificantBits()).putLong(accountId.getLeastSignificantBits());
+        if (targetAccountId != null) {
+            buffer.put((byte) 1).putLong(targetAccountId.getMostSignificantBits())
+                    .putLong(targetAccountId.getLeastSignificantBits());
+        } else {
+            buffer.put((byte) 0).putLong(0).putLong(0);
+        }
+        buffer.putInt(typeName.length).put(typeName);
+        buffer.putLong(cents(amount));
+        if (balanceAfter != null) {
+            buffer.put((byte) 1).putLong(cents(balanceAfter));
+        } else {
+            buffer.put((byte) 0).putLong(0);
+        }
+        if (text != null) {
+            buffer.putInt(text.length).put(text);
+        } else {
+            buffer.putInt(-1);
+        }
+        buffer.putLong(createdAt.toEpochSecond(ZoneOffset.UTC)).putInt(createdAt.getNano());
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return digest.digest(buffer.array());
+    }
+
+    /**
+     * Merkle root of {@code leaves}, in the order given: pairs are hashed level by level
+     * and an odd node out moves up as it is. Null if there are none.
+     */
+    public static byte[] merkleRoot(List<byte[]> leaves) {
+        if (leaves.isEmpty()) {
+            return null;
+        }
+        List<byte[]> level = leaves;
+        MessageDigest digest = SHA_256.get();
+        while (level.size() > 1) {
+            List<byte[]> next = new ArrayList<>((level.size() + 1) / 2);
+            for (int i = 0; i + 1 < level.size(); i += 2) {
+                digest.reset();
+                digest.update(NODE);
+                digest.update(level.get(i));
+                next.add(digest.digest(level.get(i + 1)));
+            }
+            if (level.size() % 2 == 1) {
+                next.add(level.get(level.size() - 1));
+            }
+            level = next;
+        }
+        return level.get(0);
+    }
+
+    /** Sorts hashes as unsigned byte strings, the order leaves go into a Merkle tree. */
+    public static void sort(List<byte[]> hashes) {
+        hashes.sort(Arrays::compareUnsigned);
+    }
+
+    public static String hex(byte[] hash) {
+        return hash == null ? null : HexFormat.of().formatHex(hash);
+    }
+
+    /** Amounts are stored with two decimals, rounded half up. */
+    private static long cents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
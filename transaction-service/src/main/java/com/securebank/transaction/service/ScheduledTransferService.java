@@ -0,0 +1,303 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.exception.AccountFrozenException;
+import com.securebank.common.exception.BadRequestException;
+import com.securebank.common.exception.InsufficientBalanceException;
+import com.securebank.common.exception.ResourceNotFoundException;
+import com.securebank.common.exception.ServiceUnavailableException;
+import com.securebank.transaction.dto.ScheduledTransferRequest;
+import com.securebank.transaction.dto.ScheduledTransferResponse;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.ScheduledTransfer;
+import com.securebank.transaction.entity.ScheduledTransferStatus;
+import com.securebank.transaction.entity.TransferFrequency;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.repository.ScheduledTransferRepository;
+import com.securebank.transaction.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Future-dated and recurring transfers. Each schedule row lives on the source account's
+ * shard and carries the due time of its next execution. The
+ * {@link com.securebank.transaction.schedule.ScheduledTransferRunner} claims executions
+ * ahead of time and calls {@link #execute} when they fall due.
+ * <p>
+ * An execution locks the schedule row and checks it is still due at the claimed time.
+ * Then it runs {@link TransactionService#transfer} and moves the schedule on, all in one
+ * transaction. A second instance that claims the same execution after a lost lease finds
+ * the time already moved and skips it, so each execution is paid once. A cross-shard
+ * transfer cannot share that transaction. Its schedule is moved on first, so a crash in
+ * between skips the execution instead of paying it twice.
+ * <p>
+ * A business refusal (insufficient funds, frozen or missing account) skips the
+ * execution. After {@code scheduled-transfers.max-failures} refusals in a row the schedule
+ * is FAILED. Any other error releases the claim and the execution is retried.
+ */
+@Service
+public class ScheduledTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledTransferService.class);
+
+    public enum Outcome {
+        EXECUTED,
+        FAILED,
+        RETRY,
+        SKIPPED
+    }
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionService transactionService;
+    private final AccountStatusDirectory accountStatusDirectory;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate transferTemplate;
+    private final int maxFailures;
+
+    public ScheduledTransferService(ScheduledTransferRepository scheduledTransferRepository,
+                                    AccountRepository accountRepository,
+                                    TransactionService transactionService,
+                                    AccountStatusDirectory accountStatusDirectory,
+                                    ShardRouter shardRouter,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${scheduled-transfers.max-failures:3}") int maxFailures) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.accountRepository = accountRepository;
+        this.transactionService = transactionService;
+        this.accountStatusDirectory = accountStatusDirectory;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transferTemplate = new TransactionTemplate(transactionManager);
+        this.transferTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.maxFailures = maxFailures;
+    }
+
+    @Transactional
+    public ScheduledTransferResponse create(ScheduledTransferRequest request) {
+        if (request.getFromAccountId().equals(request.getToAccountId())) {
+            throw new BadRequestException("Cannot transfer to the same account");
+        }
+        if (request.getStartAt().isBefore(LocalDateTime.now().minusMinutes(1))) {
+            throw new BadRequestException("Start time is in the past");
+        }
+        if (request.getEndAt() != null && request.getEndAt().isBefore(request.getStartAt())) {
+            throw new BadRequestException("End time is before start time");
+        }
+        accountStatusDirectory.requireActive(request.getFromAccountId());
+        accountStatusDirectory.requireActive(request.getToAccountId());
+        shardRouter.bind(request.getFromAccountId());
+
+        Account account = accountRepository.findById(request.getFromAccountId())
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + request.getFromAccountId()));
+        if (Account.MOVED.equals(account.getStatus())) {
+            shardRouter.refresh();
+            throw new ServiceUnavailableException("Account is moving to another shard, retry: " + account.getId());
+        }
+
+        ScheduledTransfer schedule = scheduledTransferRepository.save(new ScheduledTransfer(
+                request.getFromAccountId(), request.getToAccountId(), request.getAmount(), request.getDescription(),
+                request.getFrequency(), request.getStartAt(), request.getEndAt()));
+        log.info("Scheduled {} transfer {} of {} from {} to {}, first run at {}", schedule.getFrequency(),
+                schedule.getId(), schedule.getAmount(), schedule.getFromAccountId(), schedule.getToAccountId(),
+                schedule.getNextRunAt());
+        return mapToResponse(schedule);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduledTransferResponse> getForAccount(UUID accountId) {
+        shardRouter.bind(accountId);
+        return scheduledTransferRepository.findByFromAccountIdOrderByNextRunAt(accountId).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    public ScheduledTransferResponse cancel(UUID id) {
+        return shardRouter.onShard(locate(id), () -> transactionTemplate.execute(status -> {
+            ScheduledTransfer schedule = scheduledTransferRepository.findForUpdate(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Scheduled transfer not found: " + id));
+            if (schedule.getStatus() != ScheduledTransferStatus.ACTIVE) {
+                throw new BadRequestException("Scheduled transfer " + id + " is already " + schedule.getStatus());
+            }
+            schedule.setStatus(ScheduledTransferStatus.CANCELLED);
+            schedule.setClaimedBy(null);
+            schedule.setClaimedUntil(null);
+            log.info("Scheduled transfer {} cancelled", id);
+            return mapToResponse(schedule);
+        }));
+    }
+
+    /**
+     * Claims up to {@code limit} executions on {@code shard} due by {@code horizon} for
+     * {@code owner}. A claim lasts until {@code leaseMillis} after the due time, or longer
+     * if the owner {@linkplain #renewClaims renews} it; once it runs out, another instance
+     * may claim it.
+     */
+    public List<ScheduledTransfer> claimDue(String shard, String owner, LocalDateTime horizon,
+                                            long leaseMillis, int limit) {
+        return shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<ScheduledTransfer> due = scheduledTransferRepository.findClaimable(
+                    ScheduledTransferStatus.ACTIVE, horizon, now, PageRequest.of(0, limit));
+            for (ScheduledTransfer schedule : due) {
+                LocalDateTime from = schedule.getNextRunAt().isAfter(now) ? schedule.getNextRunAt() : now;
+                schedule.setClaimedBy(owner);
+                schedule.setClaimedUntil(from.plusNanos(leaseMillis * 1_000_000));
+            }
+            return due;
+        }));
+    }
+
+    /**
+     * Extends {@code owner}'s claims on the executions {@code ids} on {@code shard} to
+     * {@code leaseMillis} from now, so executions still queued behind a long backlog are
+     * not claimed again by another instance. Returns the number of claims extended.
+     */
+    public int renewClaims(String shard, String owner, Collection<UUID> ids, long leaseMillis) {
+        return shardRouter.onShard(shard, () -> transactionTemplate.execute(status ->
+                scheduledTransferRepository.renewClaims(ids, owner, ScheduledTransferStatus.ACTIVE,
+                        LocalDateTime.now().plusNanos(leaseMillis * 1_000_000))));
+    }
+
+    /** Runs the execution of schedule {@code id} due at {@code runAt}, if it has not run yet. */
+    public Outcome execute(UUID id, UUID fromAccountId, UUID toAccountId, LocalDateTime runAt) {
+        String shard = shardRouter.shardOf(fromAccountId);
+        if (shardRouter.isCrossShard(fromAccountId, toAccountId)) {
+            return executeCrossShard(id, shard, runAt);
+        }
+        try {
+            return shardRouter.onShard(shard, () -> transferTemplate.execute(status -> {
+                Optional<ScheduledTransfer> schedule = lockDue(id, runAt);
+                if (schedule.isEmpty()) {
+                    return Outcome.SKIPPED;
+                }
+                transactionService.transfer(transferRequest(schedule.get()));
+                schedule.get().setFailureCount(0);
+                schedule.get().setLastError(null);
+                advance(schedule.get());
+                return Outcome.EXECUTED;
+            }));
+        } catch (InsufficientBalanceException | AccountFrozenException | ResourceNotFoundException
+                 | BadRequestException ex) {
+            return shardRouter.onShard(shard, () -> transactionTemplate.execute(status ->
+                    lockDue(id, runAt).map(schedule -> refused(schedule, ex, true)).orElse(Outcome.SKIPPED)));
+        } catch (RuntimeException ex) {
+            log.warn("Scheduled transfer {} due at {} will be retried: {}", id, runAt, ex.getMessage());
+            shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+                lockDue(id, runAt).ifPresent(schedule -> {
+                    schedule.setClaimedBy(null);
+                    schedule.setClaimedUntil(null);
+                });
+                return null;
+            }));
+            return Outcome.RETRY;
+        }
+    }
+
+    private Outcome executeCrossShard(UUID id, String shard, LocalDateTime runAt) {
+        TransferRequest request = shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+            Optional<ScheduledTransfer> schedule = lockDue(id, runAt);
+            schedule.ifPresent(this::advance);
+            return schedule.map(this::transferRequest).orElse(null);
+        }));
+        if (request == null) {
+            return Outcome.SKIPPED;
+        }
+        try {
+            transactionService.transfer(request);
+        } catch (RuntimeException ex) {
+            return shardRouter.onShard(shard, () -> transactionTemplate.execute(status ->
+                    scheduledTransferRepository.findForUpdate(id)
+                            .map(schedule -> refused(schedule, ex, false))
+                            .orElse(Outcome.FAILED)));
+        }
+        shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> {
+            scheduledTransferRepository.findForUpdate(id).ifPresent(schedule -> {
+                schedule.setFailureCount(0);
+                schedule.setLastError(null);
+            });
+            return null;
+        }));
+        return Outcome.EXECUTED;
+    }
+
+    /** The schedule, locked, if it is still active and due at {@code runAt}. */
+    private Optional<ScheduledTransfer> lockDue(UUID id, LocalDateTime runAt) {
+        return scheduledTransferRepository.findForUpdate(id)
+                .filter(schedule -> schedule.getStatus() == ScheduledTransferStatus.ACTIVE)
+                .filter(schedule -> schedule.getNextRunAt().equals(runAt));
+    }
+
+    private Outcome refused(ScheduledTransfer schedule, RuntimeException ex, boolean skipExecution) {
+        String message = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+        log.warn("Scheduled transfer {} due at {} failed: {}", schedule.getId(), schedule.getNextRunAt(), message);
+        schedule.setFailureCount(schedule.getFailureCount() + 1);
+        schedule.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        if (skipExecution) {
+            advance(schedule);
+        }
+        if (schedule.getFrequency() == TransferFrequency.ONCE || schedule.getFailureCount() >= maxFailures) {
+            schedule.setStatus(ScheduledTransferStatus.FAILED);
+        }
+        return Outcome.FAILED;
+    }
+
+    /** Moves the schedule to its next execution, or completes it after the last one. */
+    private void advance(ScheduledTransfer schedule) {
+        schedule.setRunCount(schedule.getRunCount() + 1);
+        schedule.setLastRunAt(LocalDateTime.now());
+        schedule.setClaimedBy(null);
+        schedule.setClaimedUntil(null);
+        LocalDateTime next = schedule.getFrequency().occurrence(schedule.getStartAt(), schedule.getRunCount());
+        if (schedule.getFrequency() == TransferFrequency.ONCE
+                || (schedule.getEndAt() != null && next.isAfter(schedule.getEndAt()))) {
+            schedule.setStatus(ScheduledTransferStatus.COMPLETED);
+        } else {
+            schedule.setNextRunAt(next);
+        }
+    }
+
+    /**
+     * Shard holding the schedule. With sharding, a copy can also sit on the shard its
+     * account was moved away from; the live one is on the account's current shard.
+     */
+    private String locate(UUID id) {
+        if (!shardRouter.isEnabled()) {
+            return ShardRouter.SINGLE_SHARD;
+        }
+        for (String shard : shardRouter.map().shards()) {
+            Optional<ScheduledTransfer> found = shardRouter.onShard(shard, () -> scheduledTransferRepository.findById(id));
+            if (found.isPresent() && shardRouter.shardOf(found.get().getFromAccountId()).equals(shard)) {
+                return shard;
+            }
+        }
+        throw new ResourceNotFoundException("Scheduled transfer not found: " + id);
+    }
+
+    private TransferRequest transferRequest(ScheduledTransfer schedule) {
+        return new TransferRequest(schedule.getFromAccountId(), schedule.getToAccountId(), schedule.getAmount(),
+                schedule.getDescription() != null ? schedule.getDescription() : "Scheduled transfer " + schedule.getId());
+    }
+
+    private ScheduledTransferResponse mapToResponse(ScheduledTransfer schedule) {
+        return new ScheduledTransferResponse(schedule.getId(), schedule.getFromAccountId(), schedule.getToAccountId(),
+                schedule.getAmount(), schedule.getDescription(), schedule.getFrequency().name(),
+                schedule.getStatus().name(), schedule.getNextRunAt(), schedule.getEndAt(), schedule.getRunCount(),
+                schedule.getLastRunAt(), schedule.getLastError());
+    }
+}
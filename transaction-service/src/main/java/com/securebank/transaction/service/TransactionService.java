@@ -1,23 +1,35 @@
 package com.securebank.transaction.service;
 
+import com.securebank.common.dto.AccountBalanceChange;
 import com.securebank.common.exception.AccountFrozenException;
 import com.securebank.common.exception.BadRequestException;
 import com.securebank.common.exception.InsufficientBalanceException;
 import com.securebank.common.exception.ResourceNotFoundException;
+import com.securebank.common.exception.ServiceUnavailableException;
+import com.securebank.common.metrics.BankingMetrics;
 import com.securebank.transaction.dto.*;
 import com.securebank.transaction.entity.Account;
 import com.securebank.transaction.entity.Transaction;
 import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.jfr.LedgerInsertEvent;
+import com.securebank.transaction.jfr.LockAcquireEvent;
+import com.securebank.transaction.jfr.TransferEvent;
 import com.securebank.transaction.repository.AccountRepository;
 import com.securebank.transaction.repository.TransactionRepository;
+import com.securebank.transaction.shard.ShardRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -28,33 +40,51 @@ public class TransactionService {
 
     private final TransactionRepository transactionRepository;
     private final AccountRepository accountRepository;
+    private final AccountStatusDirectory accountStatusDirectory;
+    private final BankingMetrics bankingMetrics;
+    private final HotAccountTracker hotAccountTracker;
+    private final ShardRouter shardRouter;
+    private final CrossShardTransferCoordinator crossShardTransfers;
 
     public TransactionService(TransactionRepository transactionRepository,
-                              AccountRepository accountRepository) {
+                              AccountRepository accountRepository,
+                              AccountStatusDirectory accountStatusDirectory,
+                              BankingMetrics bankingMetrics,
+                              HotAccountTracker hotAccountTracker,
+                              ShardRouter shardRouter,
+                              CrossShardTransferCoordinator crossShardTransfers) {
         this.transactionRepository = transactionRepository;
         this.accountRepository = accountRepository;
+        this.accountStatusDirectory = accountStatusDirectory;
+        this.bankingMetrics = bankingMetrics;
+        this.hotAccountTracker = hotAccountTracker;
+        this.shardRouter = shardRouter;
+        this.crossShardTransfers = crossShardTransfers;
     }
 
     @Transactional
     public TransactionResponse deposit(DepositRequest request) {
         log.info("Processing deposit of {} to account {}", request.getAmount(), request.getAccountId());
+        accountStatusDirectory.requireActive(request.getAccountId());
+        shardRouter.bind(request.getAccountId());
 
-        Account account = accountRepository.findByIdWithLock(request.getAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + request.getAccountId()));
+        Account account = lockAccount(request.getAccountId());
 
         validateAccountActive(account);
 
         BigDecimal newBalance = account.getBalance().add(request.getAmount());
-        account.setBalance(newBalance);
+        applyBalance(account, newBalance);
         accountRepository.save(account);
 
-        Transaction transaction = new Transaction(
+        Transaction transaction = LedgerChain.append(account, new Transaction(
                 account.getId(), null, TransactionType.DEPOSIT,
                 request.getAmount(), newBalance,
                 request.getDescription() != null ? request.getDescription() : "Deposit"
-        );
+        ));
         Transaction savedTxn = transactionRepository.save(transaction);
+        flushLedger(account.getId(), 1);
 
+        bankingMetrics.deposit(request.getAmount());
         log.info("Deposit completed. Account: {}, New Balance: {}", account.getId(), newBalance);
         return mapToResponse(savedTxn);
     }
@@ -62,24 +92,27 @@ public class TransactionService {
     @Transactional
     public TransactionResponse withdraw(WithdrawRequest request) {
         log.info("Processing withdrawal of {} from account {}", request.getAmount(), request.getAccountId());
+        accountStatusDirectory.requireActive(request.getAccountId());
+        shardRouter.bind(request.getAccountId());
 
-        Account account = accountRepository.findByIdWithLock(request.getAccountId())
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + request.getAccountId()));
+        Account account = lockAccount(request.getAccountId());
 
         validateAccountActive(account);
         validateSufficientBalance(account, request.getAmount());
 
         BigDecimal newBalance = account.getBalance().subtract(request.getAmount());
-        account.setBalance(newBalance);
+        applyBalance(account, newBalance);
         accountRepository.save(account);
 
-        Transaction transaction = new Transaction(
+        Transaction transaction = LedgerChain.append(account, new Transaction(
                 account.getId(), null, TransactionType.WITHDRAWAL,
                 request.getAmount(), newBalance,
                 request.getDescription() != null ? request.getDescription() : "Withdrawal"
-        );
+        ));
         Transaction savedTxn = transactionRepository.save(transaction);
+        flushLedger(account.getId(), 1);
 
+        bankingMetrics.withdrawal(request.getAmount());
         log.info("Withdrawal completed. Account: {}, New Balance: {}", account.getId(), newBalance);
         return mapToResponse(savedTxn);
     }
@@ -87,15 +120,38 @@ public class TransactionService {
     /**
      * Concurrency-safe transfer using pessimistic locking.
      * Accounts are locked in UUID natural order to prevent deadlocks.
+     * Accounts on different shards are handed to {@link CrossShardTransferCoordinator}.
      */
     @Transactional(isolation = Isolation.REPEATABLE_READ)
     public TransactionResponse transfer(TransferRequest request) {
+        TransferEvent event = new TransferEvent();
+        event.begin();
+        boolean completed = false;
+        try {
+            TransactionResponse response = executeTransfer(request);
+            completed = true;
+            return response;
+        } finally {
+            event.complete(request.getFromAccountId(), request.getToAccountId(), request.getAmount(), completed);
+        }
+    }
+
+    private TransactionResponse executeTransfer(TransferRequest request) {
         log.info("Processing transfer of {} from {} to {}",
                 request.getAmount(), request.getFromAccountId(), request.getToAccountId());
 
         if (request.getFromAccountId().equals(request.getToAccountId())) {
             throw new BadRequestException("Cannot transfer to the same account");
         }
+        accountStatusDirectory.requireActive(request.getFromAccountId());
+        accountStatusDirectory.requireActive(request.getToAccountId());
+
+        if (shardRouter.isCrossShard(request.getFromAccountId(), request.getToAccountId())) {
+            Transaction debit = crossShardTransfers.transfer(request);
+            bankingMetrics.transfer(request.getAmount());
+            return mapToResponse(debit);
+        }
+        shardRouter.bind(request.getFromAccountId());
 
         // Lock accounts in deterministic order (by UUID) to prevent deadlock
         UUID firstId, secondId;
@@ -107,10 +163,8 @@ public class TransactionService {
             secondId = request.getFromAccountId();
         }
 
-        Account firstAccount = accountRepository.findByIdWithLock(firstId)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + firstId));
-        Account secondAccount = accountRepository.findByIdWithLock(secondId)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + secondId));
+        Account firstAccount = lockAccount(firstId);
+        Account secondAccount = lockAccount(secondId);
 
         // Map back to from/to
         Account fromAccount = firstId.equals(request.getFromAccountId()) ? firstAccount : secondAccount;
@@ -122,31 +176,33 @@ public class TransactionService {
 
         // Debit source
         BigDecimal fromNewBalance = fromAccount.getBalance().subtract(request.getAmount());
-        fromAccount.setBalance(fromNewBalance);
+        applyBalance(fromAccount, fromNewBalance);
         accountRepository.save(fromAccount);
 
         // Credit target
         BigDecimal toNewBalance = toAccount.getBalance().add(request.getAmount());
-        toAccount.setBalance(toNewBalance);
+        applyBalance(toAccount, toNewBalance);
         accountRepository.save(toAccount);
 
         // Record debit transaction
         String description = request.getDescription() != null ? request.getDescription()
                 : "Transfer to " + toAccount.getAccountNumber();
-        Transaction debitTxn = new Transaction(
+        Transaction debitTxn = LedgerChain.append(fromAccount, new Transaction(
                 fromAccount.getId(), toAccount.getId(), TransactionType.TRANSFER,
                 request.getAmount(), fromNewBalance, description
-        );
+        ));
         Transaction savedDebitTxn = transactionRepository.save(debitTxn);
 
         // Record credit transaction
-        Transaction creditTxn = new Transaction(
+        Transaction creditTxn = LedgerChain.append(toAccount, new Transaction(
                 toAccount.getId(), fromAccount.getId(), TransactionType.TRANSFER,
                 request.getAmount(), toNewBalance,
                 "Transfer from " + fromAccount.getAccountNumber()
-        );
+        ));
         transactionRepository.save(creditTxn);
+        flushLedger(fromAccount.getId(), 2);
 
+        bankingMetrics.transfer(request.getAmount());
         log.info("Transfer completed. From: {} (balance: {}), To: {} (balance: {})",
                 fromAccount.getId(), fromNewBalance, toAccount.getId(), toNewBalance);
 
@@ -156,21 +212,101 @@ public class TransactionService {
     @Transactional(readOnly = true)
     public List<TransactionResponse> getTransactionHistory(UUID accountId) {
         log.debug("Fetching transaction history for account: {}", accountId);
+        shardRouter.bind(accountId);
         return transactionRepository.findByAccountIdOrderByCreatedAtDesc(accountId).stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getBalance(UUID accountId) {
+        shardRouter.bind(accountId);
+        Account account = accountRepository.findById(accountId)
+                .filter(found -> !Account.MOVED.equals(found.getStatus()))
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountId));
+        return new AccountBalanceResponse(account.getId(), account.getBalance(), account.getHeldBalance(),
+                account.getAvailableBalance());
+    }
+
+    /**
+     * Balance feed consumed by account-service: current balance of every account
+     * changed after the given (updatedAt, id) cursor.
+     * <p>
+     * Not {@code @Transactional}: with sharding, each shard's page is read in its own
+     * read-only transaction and the pages are merged in cursor order.
+     */
+    public List<AccountBalanceChange> getBalanceChanges(LocalDateTime since, UUID afterId, int limit) {
+        List<Account> changed = new ArrayList<>();
+        for (String shard : shardRouter.map().shards()) {
+            changed.addAll(shardRouter.onShard(shard, () ->
+                    accountRepository.findChangedAfter(since, afterId, PageRequest.of(0, limit))));
+        }
+        return changed.stream()
+                .sorted(Comparator.comparing(Account::getUpdatedAt).thenComparing(Account::getId))
+                .limit(limit)
+                .map(account -> new AccountBalanceChange(
+                        account.getId(), account.getBalance(), account.getBalanceVersion(), account.getUpdatedAt()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Locks the account row, emitting a {@link LockAcquireEvent} and reporting to the
+     * {@link HotAccountTracker} the time spent, including any wait for a concurrent
+     * transaction holding the same row. A row a shard split has moved away is
+     * rejected as retryable; by the retry the router has the new shard map.
+     */
+    private Account lockAccount(UUID accountId) {
+        LockAcquireEvent event = new LockAcquireEvent();
+        event.begin();
+        long started = System.nanoTime();
+        Optional<Account> account = Optional.empty();
+        try {
+            account = accountRepository.findByIdWithLock(accountId);
+        } finally {
+            hotAccountTracker.recordLockWait(accountId, System.nanoTime() - started);
+            event.complete(accountId, account.isPresent());
+        }
+        Account locked = account.orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountId));
+        if (Account.MOVED.equals(locked.getStatus())) {
+            shardRouter.refresh();
+            throw new ServiceUnavailableException("Account is moving to another shard, retry: " + accountId);
+        }
+        return locked;
+    }
+
+    /**
+     * While a recording has {@link LedgerInsertEvent} enabled, flushes the balance updates
+     * and ledger rows before the commit so the INSERTs show up as their own event instead
+     * of inside the commit. Otherwise does nothing and they are written by the commit's
+     * own flush.
+     */
+    private void flushLedger(UUID accountId, int rows) {
+        LedgerInsertEvent event = new LedgerInsertEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.begin();
+        transactionRepository.flush();
+        event.complete(accountId, rows);
+    }
+
+    private void applyBalance(Account account, BigDecimal newBalance) {
+        account.setBalance(newBalance);
+        account.setBalanceVersion(account.getBalanceVersion() + 1);
+        hotAccountTracker.recordMutation(account.getId());
+    }
+
     private void validateAccountActive(Account account) {
         if ("FROZEN".equals(account.getStatus())) {
             throw new AccountFrozenException("Account is frozen: " + account.getId());
         }
     }
 
+    /** Funds held by open authorizations are not available; see {@link HoldService}. */
     private void validateSufficientBalance(Account account, BigDecimal amount) {
-        if (account.getBalance().compareTo(amount) < 0) {
+        if (account.getAvailableBalance().compareTo(amount) < 0) {
             throw new InsufficientBalanceException(
-                    "Insufficient balance. Available: " + account.getBalance() + ", Requested: " + amount);
+                    "Insufficient balance. Available: " + account.getAvailableBalance() + ", Requested: " + amount);
         }
     }
 
@@ -0,0 +1,48 @@
+package com.securebank.transaction.shard;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Connection pool per configured shard, in configuration order. The first shard is the
+ * catalog: it stores the shard map and serves connections taken outside any shard
+ * binding, such as schema validation at startup.
+ */
+public class ShardDataSources implements AutoCloseable {
+
+    private final Map<String, DataSource> byShard;
+
+    public ShardDataSources(Map<String, DataSource> byShard) {
+        if (byShard.isEmpty()) {
+            throw new IllegalArgumentException("sharding.enabled=true requires sharding.shards");
+        }
+        this.byShard = Collections.unmodifiableMap(new LinkedHashMap<>(byShard));
+    }
+
+    public Map<String, DataSource> all() {
+        return byShard;
+    }
+
+    public String catalog() {
+        return byShard.keySet().iterator().next();
+    }
+
+    public DataSource get(String shard) {
+        DataSource dataSource = byShard.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("No data source configured for shard " + shard);
+        }
+        return dataSource;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : byShard.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.securebank.transaction.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Consistent-hash ring from account id to shard. Each shard owns a set of tokens on a
+ * 64-bit ring. An account belongs to the shard of the first token at or after the
+ * hash of its id, wrapping around at the end.
+ * <p>
+ * Maps are immutable and versioned. {@link #split(String, String)} hands every second
+ * token of one shard to a new shard. Only accounts of the split shard move, about half
+ * of them, and every other account stays where it is.
+ */
+public final class ShardMap {
+
+    private final long version;
+    private final NavigableMap<Long, String> ring;
+
+    public ShardMap(long version, Map<Long, String> tokens) {
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Shard map needs at least one token");
+        }
+        this.version = version;
+        this.ring = Collections.unmodifiableNavigableMap(new TreeMap<>(tokens));
+    }
+
+    /** Version 1 map giving each shard {@code virtualNodes} tokens derived from its name. */
+    public static ShardMap uniform(List<String> shards, int virtualNodes) {
+        Map<Long, String> tokens = new TreeMap<>();
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                tokens.put(hash(UUID.nameUUIDFromBytes((shard + "#" + i).getBytes(StandardCharsets.UTF_8))), shard);
+            }
+        }
+        return new ShardMap(1, tokens);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public NavigableMap<Long, String> tokens() {
+        return ring;
+    }
+
+    public Set<String> shards() {
+        return new LinkedHashSet<>(ring.values());
+    }
+
+    public String shardFor(UUID accountId) {
+        return ring.get(tokenFor(accountId));
+    }
+
+    /** Token whose arc contains the account. */
+    public long tokenFor(UUID accountId) {
+        Long token = ring.ceilingKey(hash(accountId));
+        return token != null ? token : ring.firstKey();
+    }
+
+    /**
+     * Next version, with the tokens of {@code source} and {@code target} dealt out
+     * alternately between the two in ring order. For a new {@code target} this hands it
+     * every second token of {@code source}. For the target of an interrupted split it
+     * gives the same result again, so the split can resume.
+     */
+    public ShardMap split(String source, String target) {
+        if (!shards().contains(source)) {
+            throw new IllegalArgumentException("Unknown shard: " + source);
+        }
+        if (source.equals(target)) {
+            throw new IllegalArgumentException("Cannot split a shard into itself: " + source);
+        }
+        Map<Long, String> tokens = new TreeMap<>(ring);
+        int index = 0;
+        for (Map.Entry<Long, String> entry : ring.entrySet()) {
+            if (entry.getValue().equals(source) || entry.getValue().equals(target)) {
+                tokens.put(entry.getKey(), index++ % 2 == 0 ? source : target);
+            }
+        }
+        if (index < 2) {
+            throw new IllegalArgumentException("Shard " + source + " has a single token and cannot be split");
+        }
+        return new ShardMap(version + 1, tokens);
+    }
+
+    /** Next version, with one token reassigned. */
+    public ShardMap reassign(long token, String shard) {
+        if (!ring.containsKey(token)) {
+            throw new IllegalArgumentException("Unknown token: " + token);
+        }
+        Map<Long, String> tokens = new TreeMap<>(ring);
+        tokens.put(token, shard);
+        return new ShardMap(version + 1, tokens);
+    }
+
+    /** 64-bit finalizer of MurmurHash3 over the id's bits; random UUIDs are already uniform. */
+    static long hash(UUID id) {
+        long h = id.getMostSignificantBits() ^ Long.rotateLeft(id.getLeastSignificantBits(), 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
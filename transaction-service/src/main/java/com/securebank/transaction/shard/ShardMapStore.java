@@ -0,0 +1,85 @@
+package com.securebank.transaction.shard;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Persists the shard map in the catalog shard's {@code shard_map} table, one row per
+ * token. An empty table is seeded with {@link ShardMap#uniform(List, int)} over the
+ * configured shards, so every instance starts from the same ring. Later versions are
+ * only written by the split tool.
+ */
+public class ShardMapStore {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<String> initialShards;
+    private final int virtualNodes;
+
+    public ShardMapStore(DataSource catalog, List<String> initialShards, int virtualNodes) {
+        this.jdbcTemplate = new JdbcTemplate(catalog);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(catalog));
+        this.initialShards = List.copyOf(initialShards);
+        this.virtualNodes = virtualNodes;
+    }
+
+    public ShardMap load() {
+        ShardMap stored = read();
+        if (stored != null) {
+            return stored;
+        }
+        ShardMap initial = ShardMap.uniform(initialShards, virtualNodes);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM shard_map", Long.class) == 0) {
+                    insert(initial);
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // another instance seeded the same map concurrently
+        }
+        return read();
+    }
+
+    /**
+     * Replaces the stored map with {@code map}, which must be exactly one version ahead
+     * of the stored one; fails if another writer got there first.
+     */
+    public void save(ShardMap map) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Long> versions = jdbcTemplate.queryForList(
+                    "SELECT version FROM shard_map FOR UPDATE", Long.class);
+            long current = versions.stream().mapToLong(Long::longValue).max().orElse(0);
+            if (current != map.version() - 1) {
+                throw new IllegalStateException("Shard map is at version " + current
+                        + ", cannot store version " + map.version());
+            }
+            jdbcTemplate.update("DELETE FROM shard_map");
+            insert(map);
+        });
+    }
+
+    private ShardMap read() {
+        Map<Long, String> tokens = new TreeMap<>();
+        long[] version = {0};
+        jdbcTemplate.query("SELECT token, shard, version FROM shard_map", rs -> {
+            tokens.put(rs.getLong("token"), rs.getString("shard"));
+            version[0] = Math.max(version[0], rs.getLong("version"));
+        });
+        return tokens.isEmpty() ? null : new ShardMap(version[0], tokens);
+    }
+
+    private void insert(ShardMap map) {
+        List<Object[]> rows = map.tokens().entrySet().stream()
+                .map(entry -> new Object[] {entry.getKey(), entry.getValue(), map.version()})
+                .toList();
+        jdbcTemplate.batchUpdate("INSERT INTO shard_map (token, shard, version) VALUES (?, ?, ?)", rows);
+    }
+}
@@ -0,0 +1,131 @@
+package com.securebank.transaction.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard serves an account and binds that shard to the current thread
+ * for {@link ShardRoutingDataSource}.
+ * <p>
+ * With {@code sharding.enabled=false} (the default) there is a single shard and binding
+ * is a no-op for routing. Otherwise the map comes from {@link ShardMapStore} and is
+ * re-read every {@code sharding.map-refresh-ms}, and right away when a write runs into
+ * an account that a split has moved away.
+ */
+@Component
+public class ShardRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardRouter.class);
+
+    public static final String SINGLE_SHARD = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final boolean enabled;
+    private final ObjectProvider<ShardMapStore> store;
+
+    private volatile ShardMap map;
+
+    public ShardRouter(@Value("${sharding.enabled:false}") boolean enabled,
+                       ObjectProvider<ShardMapStore> store) {
+        this.enabled = enabled;
+        this.store = store;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ShardMap map() {
+        ShardMap current = map;
+        if (current == null) {
+            synchronized (this) {
+                if (map == null) {
+                    map = enabled ? store.getObject().load() : ShardMap.uniform(List.of(SINGLE_SHARD), 1);
+                }
+                current = map;
+            }
+        }
+        return current;
+    }
+
+    public String shardOf(UUID accountId) {
+        return map().shardFor(accountId);
+    }
+
+    public boolean isCrossShard(UUID first, UUID second) {
+        return enabled && !shardOf(first).equals(shardOf(second));
+    }
+
+    /**
+     * Binds the account's shard for the rest of the current transaction. Must be called
+     * before the transaction's first statement.
+     */
+    public void bind(UUID accountId) {
+        if (!enabled) {
+            return;
+        }
+        String previous = CURRENT.get();
+        CURRENT.set(shardOf(accountId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    restore(previous);
+                }
+            });
+        }
+    }
+
+    /** Runs {@code action} with {@code shard} bound; the action starts its own transactions. */
+    public <T> T onShard(String shard, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(enabled ? shard : null);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static String currentShard() {
+        return CURRENT.get();
+    }
+
+    @Scheduled(fixedDelayString = "${sharding.map-refresh-ms:5000}")
+    public void refresh() {
+        if (!enabled || map == null) {
+            return;
+        }
+        ShardMap latest = store.getObject().load();
+        if (latest.version() > map.version()) {
+            install(latest);
+        }
+    }
+
+    /** Switches to a newer map, loaded from the store or just written by the split tool. */
+    public synchronized void install(ShardMap latest) {
+        if (map == null || latest.version() > map.version()) {
+            log.info("Shard map version {} installed: {}", latest.version(), latest.shards());
+            map = latest;
+        }
+    }
+
+    private static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
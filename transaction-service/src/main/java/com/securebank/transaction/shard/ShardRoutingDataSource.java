@@ -0,0 +1,28 @@
+package com.securebank.transaction.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the shard bound to the current thread by
+ * {@link ShardRouter}, or from the catalog shard when none is bound. Sits behind a
+ * {@code LazyConnectionDataSourceProxy}, so a transaction can bind its shard after it
+ * has started, as long as it does so before the first statement.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(ShardDataSources shards) {
+        Map<Object, Object> targets = new HashMap<>(shards.all());
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(shards.catalog()));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardRouter.currentShard();
+    }
+}
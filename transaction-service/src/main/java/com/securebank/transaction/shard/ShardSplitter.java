@@ -0,0 +1,348 @@
+package com.securebank.transaction.shard;
+
+import com.securebank.transaction.dto.ShardSplitReport;
+import com.securebank.transaction.entity.Account;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Online split of one shard into two, while both keep serving traffic.
+ * <ol>
+ *   <li>Plan: {@link ShardMap#split(String, String)} picks the tokens that move to the
+ *       target shard.</li>
+ *   <li>Bulk copy: accounts in the moving arcs, their ledger rows, holds, scheduled
+ *       transfers and transfer intents are copied to the target without locks.</li>
+ *   <li>Cutover, one token at a time: lock the token's accounts on the source and copy
+ *       anything written since the bulk copy. Then mark the source rows MOVED, commit,
+ *       and store the map with the token reassigned. Writes that were waiting on the
+ *       locks see MOVED and get a retryable error. The retry refreshes the map and
+ *       lands on the target. A token whose accounts have cross-shard transfers in flight
+ *       is retried a little later.</li>
+ *   <li>Sweep: after every instance has had time to load the new map, accounts created on
+ *       the source from a stale map are merged into the target. Then the ledger rows of
+ *       moved accounts are deleted from the source. The MOVED account rows stay as a
+ *       fence against stale writers.</li>
+ * </ol>
+ * Every step can be repeated, so a split that was interrupted is resumed by running it
+ * again.
+ */
+public class ShardSplitter {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSplitter.class);
+
+    private static final String ACCOUNT_COLUMNS = "id, account_number, balance, held_balance, balance_version, "
+            + "accrued_interest, interest_accrued_on, fee_charged_on, ledger_hash, status, user_id, updated_at";
+    private static final String TRANSACTION_COLUMNS = "id, account_id, target_account_id, type, amount, "
+            + "balance_after, description, created_at, prev_hash, hash";
+    private static final String INTENT_COLUMNS =
+            "transfer_id, role, from_account_id, to_account_id, amount, description, state, created_at, updated_at";
+    private static final String HOLD_COLUMNS = "id, account_id, amount, captured_amount, status, description, "
+            + "transaction_id, expires_at, created_at, updated_at";
+    private static final String SCHEDULE_COLUMNS = "id, from_account_id, to_account_id, amount, description, "
+            + "frequency, start_at, end_at, next_run_at, run_count, status, claimed_by, claimed_until, last_run_at, "
+            + "failure_count, last_error, created_at, updated_at";
+    private static final int CUTOVER_ATTEMPTS = 20;
+
+    private final ShardRouter router;
+    private final ShardMapStore store;
+    private final ShardDataSources shards;
+    private final int batchSize;
+    private final long settleMillis;
+
+    public ShardSplitter(ShardRouter router, ShardMapStore store, ShardDataSources shards,
+                         int batchSize, long settleMillis) {
+        this.router = router;
+        this.store = store;
+        this.shards = shards;
+        this.batchSize = batchSize;
+        this.settleMillis = settleMillis;
+    }
+
+    public ShardSplitReport split(String source, String target) throws InterruptedException {
+        long started = System.currentTimeMillis();
+        ShardSplitReport report = new ShardSplitReport(source, target);
+        Side from = new Side(shards.get(source));
+        Side to = new Side(shards.get(target));
+
+        ShardMap current = router.map();
+        ShardMap planned = current.split(source, target);
+        Set<Long> moving = new HashSet<>();
+        for (Map.Entry<Long, String> entry : current.tokens().entrySet()) {
+            if (entry.getValue().equals(source) && planned.tokens().get(entry.getKey()).equals(target)) {
+                moving.add(entry.getKey());
+            }
+        }
+        log.info("Splitting {} into {}: {} of {} tokens move", source, target, moving.size(),
+                current.tokens().values().stream().filter(source::equals).count());
+
+        Map<Long, List<UUID>> accountsByToken = new TreeMap<>();
+        for (UUID id : scanAccountIds(from, false)) {
+            long token = current.tokenFor(id);
+            if (moving.contains(token)) {
+                accountsByToken.computeIfAbsent(token, t -> new ArrayList<>()).add(id);
+            }
+        }
+        for (List<UUID> ids : accountsByToken.values()) {
+            for (List<UUID> chunk : chunks(ids)) {
+                report.setTransactionsCopied(report.getTransactionsCopied()
+                        + to.transactionTemplate.execute(status -> copy(from, to, chunk)));
+            }
+        }
+
+        ShardMap map = current;
+        for (long token : moving) {
+            List<UUID> ids = accountsByToken.getOrDefault(token, List.of());
+            report.setTransactionsCopied(report.getTransactionsCopied() + cutover(from, to, ids));
+            report.setAccountsMoved(report.getAccountsMoved() + ids.size());
+            map = map.reassign(token, target);
+            store.save(map);
+            router.install(map);
+            report.setTokensMoved(report.getTokensMoved() + 1);
+        }
+        report.setMapVersion(map.version());
+
+        Thread.sleep(settleMillis);
+        report.setStragglersMerged(sweep(from, to, map, target));
+        report.setDurationMs(System.currentTimeMillis() - started);
+        log.info("Split of {} into {} finished: {} tokens, {} accounts, {} ledger rows, {} stragglers in {} ms",
+                source, target, report.getTokensMoved(), report.getAccountsMoved(), report.getTransactionsCopied(),
+                report.getStragglersMerged(), report.getDurationMs());
+        return report;
+    }
+
+    /**
+     * Locks the token's accounts on the source, copies them once more and marks them
+     * MOVED. The target commits first, so a failure leaves the source authoritative.
+     */
+    private long cutover(Side from, Side to, List<UUID> ids) throws InterruptedException {
+        long copied = 0;
+        for (List<UUID> chunk : chunks(ids)) {
+            for (int attempt = 1; ; attempt++) {
+                Long rows = from.transactionTemplate.execute(status -> {
+                    from.jdbc.queryForList("SELECT id FROM accounts WHERE id IN (" + placeholders(chunk) + ") FOR UPDATE",
+                            UUID.class, chunk.toArray());
+                    Long inFlight = from.jdbc.queryForObject("SELECT COUNT(*) FROM transfer_intents WHERE role = 'SOURCE' "
+                            + "AND state = 'RESERVED' AND from_account_id IN (" + placeholders(chunk) + ")",
+                            Long.class, chunk.toArray());
+                    if (inFlight != null && inFlight > 0) {
+                        return null;
+                    }
+                    long count = to.transactionTemplate.execute(inner -> copy(from, to, chunk));
+                    List<Object> args = new ArrayList<>();
+                    args.add(Account.MOVED);
+                    args.addAll(chunk);
+                    from.jdbc.update("UPDATE accounts SET status = ? WHERE id IN (" + placeholders(chunk) + ")",
+                            args.toArray());
+                    return count;
+                });
+                if (rows != null) {
+                    copied += rows;
+                    break;
+                }
+                if (attempt == CUTOVER_ATTEMPTS) {
+                    throw new IllegalStateException("Cross-shard transfers still in flight for accounts being moved");
+                }
+                Thread.sleep(500);
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Moves accounts the source created from a stale map after their token was cut over.
+     * Their balances are added to any row the target has created since. Both rows
+     * started from a new account's zero balance. Their two ledgers stay separate running
+     * balances and hash chains, so reconciliation reports the account for review. Then the
+     * moved accounts' ledger rows and intents are removed from the source.
+     */
+    private long sweep(Side from, Side to, ShardMap map, String target) {
+        List<UUID> stragglers = new ArrayList<>();
+        for (UUID id : scanAccountIds(from, false)) {
+            if (map.shardFor(id).equals(target)) {
+                stragglers.add(id);
+            }
+        }
+        for (List<UUID> chunk : chunks(stragglers)) {
+            from.transactionTemplate.executeWithoutResult(status -> {
+                List<Map<String, Object>> rows = from.jdbc.queryForList("SELECT " + ACCOUNT_COLUMNS
+                        + " FROM accounts WHERE id IN (" + placeholders(chunk) + ") FOR UPDATE", chunk.toArray());
+                to.transactionTemplate.executeWithoutResult(inner -> {
+                    for (Map<String, Object> row : rows) {
+                        int merged = to.jdbc.update("UPDATE accounts SET balance = balance + ?, "
+                                        + "held_balance = held_balance + ?, balance_version = balance_version + ?, "
+                                        + "accrued_interest = accrued_interest + ? WHERE id = ?",
+                                row.get("balance"), row.get("held_balance"), row.get("balance_version"),
+                                row.get("accrued_interest"), row.get("id"));
+                        if (merged == 0) {
+                            insertAccount(to, row);
+                        }
+                    }
+                    copyLedger(from, to, chunk);
+                });
+                List<Object> args = new ArrayList<>();
+                args.add(Account.MOVED);
+                args.addAll(chunk);
+                from.jdbc.update("UPDATE accounts SET status = ? WHERE id IN (" + placeholders(chunk) + ")",
+                        args.toArray());
+            });
+        }
+        for (List<UUID> chunk : chunks(scanAccountIds(from, true))) {
+            from.transactionTemplate.executeWithoutResult(status -> {
+                from.jdbc.update("DELETE FROM transactions WHERE account_id IN (" + placeholders(chunk) + ")",
+                        chunk.toArray());
+                from.jdbc.update("DELETE FROM holds WHERE account_id IN (" + placeholders(chunk) + ")",
+                        chunk.toArray());
+                from.jdbc.update("DELETE FROM scheduled_transfers WHERE from_account_id IN ("
+                        + placeholders(chunk) + ")", chunk.toArray());
+                List<Object> args = new ArrayList<>(chunk);
+                args.addAll(chunk);
+                from.jdbc.update("DELETE FROM transfer_intents WHERE (role = 'SOURCE' AND from_account_id IN ("
+                        + placeholders(chunk) + ")) OR (role = 'TARGET' AND to_account_id IN ("
+                        + placeholders(chunk) + "))", args.toArray());
+            });
+        }
+        return stragglers.size();
+    }
+
+    /**
+     * Copies the accounts (except rows already MOVED, whose copy is on the target) and
+     * any of their ledger rows and intents the target does not have yet. Holds and
+     * scheduled transfers are copied over the target's rows, since they change in place.
+     */
+    private long copy(Side from, Side to, List<UUID> ids) {
+        List<Map<String, Object>> accounts = from.jdbc.queryForList("SELECT " + ACCOUNT_COLUMNS
+                + " FROM accounts WHERE status <> 'MOVED' AND id IN (" + placeholders(ids) + ")", ids.toArray());
+        for (Map<String, Object> row : accounts) {
+            int updated = to.jdbc.update("UPDATE accounts SET account_number = ?, balance = ?, held_balance = ?, "
+                            + "balance_version = ?, accrued_interest = ?, interest_accrued_on = ?, fee_charged_on = ?, "
+                            + "ledger_hash = ?, status = ?, user_id = ?, updated_at = ? WHERE id = ?",
+                    row.get("account_number"), row.get("balance"), row.get("held_balance"),
+                    row.get("balance_version"), row.get("accrued_interest"), row.get("interest_accrued_on"),
+                    row.get("fee_charged_on"), row.get("ledger_hash"), row.get("status"), row.get("user_id"),
+                    row.get("updated_at"), row.get("id"));
+            if (updated == 0) {
+                insertAccount(to, row);
+            }
+        }
+        return copyLedger(from, to, ids);
+    }
+
+    private long copyLedger(Side from, Side to, List<UUID> ids) {
+        String in = placeholders(ids);
+        List<String> columns = List.of(TRANSACTION_COLUMNS.split(", "));
+        Set<Object> present = new HashSet<>(to.jdbc.queryForList(
+                "SELECT id FROM transactions WHERE account_id IN (" + in + ")", Object.class, ids.toArray()));
+        List<Object[]> missing = new ArrayList<>();
+        for (Map<String, Object> row : from.jdbc.queryForList("SELECT " + TRANSACTION_COLUMNS
+                + " FROM transactions WHERE account_id IN (" + in + ")", ids.toArray())) {
+            if (!present.contains(row.get("id"))) {
+                missing.add(columns.stream().map(row::get).toArray());
+            }
+        }
+        to.jdbc.batchUpdate("INSERT INTO transactions (" + TRANSACTION_COLUMNS + ") VALUES ("
+                + placeholders(columns) + ")", missing);
+
+        List<Object> args = new ArrayList<>(ids);
+        args.addAll(ids);
+        String intentFilter = " FROM transfer_intents WHERE (role = 'SOURCE' AND from_account_id IN (" + in
+                + ")) OR (role = 'TARGET' AND to_account_id IN (" + in + "))";
+        Set<String> presentIntents = new HashSet<>();
+        to.jdbc.query("SELECT transfer_id, role" + intentFilter,
+                rs -> { presentIntents.add(rs.getObject("transfer_id") + "/" + rs.getString("role")); },
+                args.toArray());
+        List<Object[]> missingIntents = new ArrayList<>();
+        for (Map<String, Object> row : from.jdbc.queryForList("SELECT " + INTENT_COLUMNS + intentFilter,
+                args.toArray())) {
+            if (!presentIntents.contains(row.get("transfer_id") + "/" + row.get("role"))) {
+                missingIntents.add(new Object[] {row.get("transfer_id"), row.get("role"), row.get("from_account_id"),
+                        row.get("to_account_id"), row.get("amount"), row.get("description"), row.get("state"),
+                        row.get("created_at"), row.get("updated_at")});
+            }
+        }
+        to.jdbc.batchUpdate("INSERT INTO transfer_intents (" + INTENT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                missingIntents);
+
+        replaceRows(from, to, "holds", HOLD_COLUMNS, "account_id", ids);
+        replaceRows(from, to, "scheduled_transfers", SCHEDULE_COLUMNS, "from_account_id", ids);
+        return missing.size();
+    }
+
+    /**
+     * Copies the accounts' rows of a table whose rows change after insert (holds,
+     * schedules), overwriting the target's copy of each row.
+     */
+    private static void replaceRows(Side from, Side to, String table, String columns, String accountColumn,
+                                    List<UUID> ids) {
+        List<String> names = List.of(columns.split(", "));
+        List<Object[]> rowIds = new ArrayList<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (Map<String, Object> row : from.jdbc.queryForList("SELECT " + columns + " FROM " + table + " WHERE "
+                + accountColumn + " IN (" + placeholders(ids) + ")", ids.toArray())) {
+            rowIds.add(new Object[] {row.get("id")});
+            rows.add(names.stream().map(row::get).toArray());
+        }
+        to.jdbc.batchUpdate("DELETE FROM " + table + " WHERE id = ?", rowIds);
+        to.jdbc.batchUpdate("INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders(names) + ")", rows);
+    }
+
+    private static void insertAccount(Side to, Map<String, Object> row) {
+        List<String> names = List.of(ACCOUNT_COLUMNS.split(", "));
+        to.jdbc.update("INSERT INTO accounts (" + ACCOUNT_COLUMNS + ") VALUES (" + placeholders(names) + ")",
+                names.stream().map(row::get).toArray());
+    }
+
+    /** Keyset scan of account ids on a shard, either the live rows or the MOVED ones. */
+    private List<UUID> scanAccountIds(Side side, boolean moved) {
+        List<UUID> ids = new ArrayList<>();
+        UUID after = new UUID(0, 0);
+        String condition = moved ? "status = 'MOVED'" : "status <> 'MOVED'";
+        while (true) {
+            List<UUID> page = side.jdbc.queryForList("SELECT id FROM accounts WHERE " + condition
+                    + " AND id > ? ORDER BY id FETCH FIRST " + batchSize + " ROWS ONLY", UUID.class, after);
+            ids.addAll(page);
+            if (page.size() < batchSize) {
+                return ids;
+            }
+            after = page.get(page.size() - 1);
+        }
+    }
+
+    private List<List<UUID>> chunks(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += batchSize) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + batchSize)));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(List<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+
+    private static final class Side {
+
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate transactionTemplate;
+
+        private Side(DataSource dataSource) {
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        }
+    }
+}
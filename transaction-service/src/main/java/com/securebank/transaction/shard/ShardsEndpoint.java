@@ -0,0 +1,81 @@
+package com.securebank.transaction.shard;
+
+import com.securebank.transaction.dto.ShardSplitReport;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code GET /actuator/shards}: shard map version, tokens per shard and the state of the
+ * last split. {@code POST /actuator/shards} with {@code {"source": "...", "target": "..."}}
+ * starts an online split in the background; only one runs at a time.
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardsEndpoint.class);
+
+    private final ShardRouter router;
+    private final ShardSplitter splitter;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "shard-split");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile String state = "idle";
+    private volatile ShardSplitReport lastReport;
+
+    public ShardsEndpoint(ShardRouter router, ShardSplitter splitter) {
+        this.router = router;
+        this.splitter = splitter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        ShardMap map = router.map();
+        Map<String, Long> tokens = new TreeMap<>();
+        map.tokens().values().forEach(shard -> tokens.merge(shard, 1L, Long::sum));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("version", map.version());
+        body.put("tokens", tokens);
+        body.put("split", state);
+        body.put("lastSplit", lastReport);
+        return body;
+    }
+
+    @WriteOperation
+    public Map<String, Object> split(String source, String target) {
+        if (!running.compareAndSet(false, true)) {
+            return Map.of("started", false, "split", state);
+        }
+        state = "running " + source + " -> " + target;
+        executor.submit(() -> {
+            try {
+                lastReport = splitter.split(source, target);
+                state = "done " + source + " -> " + target;
+            } catch (Exception ex) {
+                log.error("Split of {} into {} failed; run it again to resume", source, target, ex);
+                state = "failed " + source + " -> " + target + ": " + ex.getMessage();
+            } finally {
+                running.set(false);
+            }
+        });
+        return Map.of("started", true, "split", state);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+}
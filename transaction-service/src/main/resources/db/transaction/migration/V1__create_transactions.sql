@@ -0,0 +1,28 @@
+-- Baseline: the schema ddl-auto=update created. Existing databases are baselined at
+-- version 1 (spring.flyway.baseline-on-migrate) and skip this script, so anything added
+-- since goes in a later version.
+
+-- Replica of account-service's accounts, kept current by the account status feed
+CREATE TABLE IF NOT EXISTS accounts (
+    id              UUID           NOT NULL,
+    account_number  VARCHAR(20)    NOT NULL,
+    balance         NUMERIC(15, 2) NOT NULL,
+    status          VARCHAR(20)    NOT NULL,
+    user_id         UUID           NOT NULL,
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT accounts_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_accounts_account_number UNIQUE (account_number)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id                UUID           NOT NULL,
+    account_id        UUID           NOT NULL,
+    target_account_id UUID,
+    type              VARCHAR(20)    NOT NULL,
+    amount            NUMERIC(15, 2) NOT NULL,
+    balance_after     NUMERIC(15, 2),
+    description       VARCHAR(500),
+    created_at        TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT transactions_pkey PRIMARY KEY (id),
+    CONSTRAINT transactions_type_check CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER'))
+);
@@ -0,0 +1,7 @@
+-- History: TransactionRepository.findByAccountIdOrderByCreatedAtDesc and the streaming
+-- read path. Matches the sort, so rows come off the index in order with no sort step.
+CREATE INDEX IF NOT EXISTS idx_transactions_account_created ON transactions (account_id, created_at DESC);
+
+-- Balance feed keyset (AccountRepository.findChangedAfter): WHERE updated_at > ? OR
+-- (updated_at = ? AND id > ?) ORDER BY updated_at, id
+CREATE INDEX IF NOT EXISTS idx_accounts_updated_at_id ON accounts (updated_at, id);
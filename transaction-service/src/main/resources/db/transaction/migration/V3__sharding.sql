@@ -0,0 +1,27 @@
+-- Cross-shard transfers: one intent row per side, on the shard of that side's account.
+-- The (transfer_id, role) key lets recovery fence off a credit that has not arrived.
+CREATE TABLE IF NOT EXISTS transfer_intents (
+    transfer_id     UUID           NOT NULL,
+    role            VARCHAR(10)    NOT NULL,
+    from_account_id UUID           NOT NULL,
+    to_account_id   UUID           NOT NULL,
+    amount          NUMERIC(15, 2) NOT NULL,
+    description     VARCHAR(500),
+    state           VARCHAR(20)    NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT transfer_intents_pkey PRIMARY KEY (transfer_id, role),
+    CONSTRAINT transfer_intents_role_check CHECK (role IN ('SOURCE', 'TARGET')),
+    CONSTRAINT transfer_intents_state_check CHECK (state IN ('RESERVED', 'CREDITED', 'CONFIRMED', 'CANCELLED'))
+);
+
+-- In-doubt scan: RESERVED source intents, oldest first
+CREATE INDEX IF NOT EXISTS idx_transfer_intents_state_created ON transfer_intents (state, created_at);
+
+-- Consistent-hash shard map; only read and written on the catalog (first) shard
+CREATE TABLE IF NOT EXISTS shard_map (
+    token   BIGINT      NOT NULL,
+    shard   VARCHAR(64) NOT NULL,
+    version BIGINT      NOT NULL,
+    CONSTRAINT shard_map_pkey PRIMARY KEY (token)
+);
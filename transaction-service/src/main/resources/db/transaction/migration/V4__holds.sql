@@ -0,0 +1,29 @@
+-- Two-phase holds: authorize reserves funds, capture settles them to the ledger.
+-- Available balance = balance - held_balance; held_balance is the sum of AUTHORIZED holds.
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS held_balance NUMERIC(15, 2) DEFAULT 0 NOT NULL;
+
+CREATE TABLE IF NOT EXISTS holds (
+    id              UUID           NOT NULL,
+    account_id      UUID           NOT NULL,
+    amount          NUMERIC(15, 2) NOT NULL,
+    captured_amount NUMERIC(15, 2),
+    status          VARCHAR(20)    NOT NULL,
+    description     VARCHAR(500),
+    transaction_id  UUID,
+    expires_at      TIMESTAMP(6)   NOT NULL,
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT holds_pkey PRIMARY KEY (id),
+    CONSTRAINT holds_status_check CHECK (status IN ('AUTHORIZED', 'CAPTURED', 'VOIDED', 'EXPIRED'))
+);
+
+-- Open holds of an account (HoldRepository.findByAccountIdAndStatusOrderByCreatedAtDesc)
+CREATE INDEX IF NOT EXISTS idx_holds_account_status ON holds (account_id, status);
+
+-- Expirer: AUTHORIZED holds past expires_at, oldest first
+CREATE INDEX IF NOT EXISTS idx_holds_status_expires ON holds (status, expires_at);
+
+-- Captures are their own ledger entry type
+ALTER TABLE transactions DROP CONSTRAINT transactions_type_check;
+ALTER TABLE transactions ADD CONSTRAINT transactions_type_check
+    CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'CAPTURE'));
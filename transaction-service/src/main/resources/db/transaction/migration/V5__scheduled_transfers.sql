@@ -0,0 +1,30 @@
+-- Future-dated and recurring transfers, on the shard of the source account
+CREATE TABLE IF NOT EXISTS scheduled_transfers (
+    id              UUID           NOT NULL,
+    from_account_id UUID           NOT NULL,
+    to_account_id   UUID           NOT NULL,
+    amount          NUMERIC(15, 2) NOT NULL,
+    description     VARCHAR(500),
+    frequency       VARCHAR(20)    NOT NULL,
+    start_at        TIMESTAMP(6)   NOT NULL,
+    end_at          TIMESTAMP(6),
+    next_run_at     TIMESTAMP(6)   NOT NULL,
+    run_count       INTEGER        DEFAULT 0 NOT NULL,
+    status          VARCHAR(20)    NOT NULL,
+    claimed_by      VARCHAR(64),
+    claimed_until   TIMESTAMP(6),
+    last_run_at     TIMESTAMP(6),
+    failure_count   INTEGER        DEFAULT 0 NOT NULL,
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMP(6)   NOT NULL,
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT scheduled_transfers_pkey PRIMARY KEY (id),
+    CONSTRAINT scheduled_transfers_frequency_check CHECK (frequency IN ('ONCE', 'DAILY', 'WEEKLY', 'MONTHLY')),
+    CONSTRAINT scheduled_transfers_status_check CHECK (status IN ('ACTIVE', 'COMPLETED', 'CANCELLED', 'FAILED'))
+);
+
+-- Claim scan (ScheduledTransferRepository.findClaimable): ACTIVE rows by due time
+CREATE INDEX IF NOT EXISTS idx_scheduled_transfers_status_next_run ON scheduled_transfers (status, next_run_at);
+
+-- Schedules of an account
+CREATE INDEX IF NOT EXISTS idx_scheduled_transfers_from_account ON scheduled_transfers (from_account_id);
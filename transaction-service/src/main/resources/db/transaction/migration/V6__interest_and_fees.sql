@@ -0,0 +1,23 @@
+-- Nightly interest and monthly fees (InterestAndFeeBatch).
+-- accrued_interest carries the sub-cent part of daily interest to the next night;
+-- interest_accrued_on and fee_charged_on make a re-run skip accounts already posted.
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS accrued_interest NUMERIC(19, 6) DEFAULT 0 NOT NULL;
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS interest_accrued_on DATE;
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS fee_charged_on DATE;
+
+-- One row per finished id-range chunk of a run, committed with the chunk's postings
+CREATE TABLE IF NOT EXISTS batch_checkpoints (
+    job          VARCHAR(20)    NOT NULL,
+    run_date     DATE           NOT NULL,
+    chunk        INTEGER        NOT NULL,
+    accounts     INTEGER        NOT NULL,
+    postings     INTEGER        NOT NULL,
+    amount       NUMERIC(19, 2) NOT NULL,
+    completed_at TIMESTAMP(6)   NOT NULL,
+    CONSTRAINT batch_checkpoints_pkey PRIMARY KEY (job, run_date, chunk)
+);
+
+-- Interest and fees are their own ledger entry types
+ALTER TABLE transactions DROP CONSTRAINT transactions_type_check;
+ALTER TABLE transactions ADD CONSTRAINT transactions_type_check
+    CHECK (type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'CAPTURE', 'INTEREST', 'FEE'));
@@ -0,0 +1,43 @@
+-- End-of-day ledger reconciliation (LedgerReconciliation). Each shard keeps its own part
+-- of a run: the run row, the discrepancies found on its accounts and its checkpoints.
+CREATE TABLE IF NOT EXISTS reconciliation_runs (
+    id            UUID         NOT NULL,
+    mode          VARCHAR(20)  NOT NULL,
+    status        VARCHAR(20)  NOT NULL,
+    window_start  TIMESTAMP(6),
+    cutoff        TIMESTAMP(6) NOT NULL,
+    accounts      BIGINT       DEFAULT 0 NOT NULL,
+    ledger_rows   BIGINT       DEFAULT 0 NOT NULL,
+    discrepancies BIGINT       DEFAULT 0 NOT NULL,
+    started_at    TIMESTAMP(6) NOT NULL,
+    finished_at   TIMESTAMP(6),
+    CONSTRAINT reconciliation_runs_pkey PRIMARY KEY (id)
+);
+
+-- Incremental mode starts from the cutoff of the last completed run
+CREATE INDEX IF NOT EXISTS idx_reconciliation_runs_status_cutoff ON reconciliation_runs (status, cutoff);
+
+CREATE TABLE IF NOT EXISTS reconciliation_discrepancies (
+    id             UUID         NOT NULL,
+    run_id         UUID         NOT NULL,
+    account_id     UUID         NOT NULL,
+    kind           VARCHAR(30)  NOT NULL,
+    transaction_id UUID,
+    expected       NUMERIC(15, 2),
+    actual         NUMERIC(15, 2),
+    detail         VARCHAR(500),
+    created_at     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT reconciliation_discrepancies_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_reconciliation_discrepancies_run ON reconciliation_discrepancies (run_id, account_id);
+
+-- Last ledger row of each account verified by a clean chain, and the balance after it.
+-- Incremental runs replay only the rows after it.
+CREATE TABLE IF NOT EXISTS reconciliation_checkpoints (
+    account_id       UUID           NOT NULL,
+    verified_through TIMESTAMP(6)   NOT NULL,
+    balance          NUMERIC(15, 2) NOT NULL,
+    run_id           UUID           NOT NULL,
+    CONSTRAINT reconciliation_checkpoints_pkey PRIMARY KEY (account_id)
+);
@@ -0,0 +1,21 @@
+-- Hash chain over each account's ledger rows (LedgerChain). A row's hash covers its
+-- fields and prev_hash, the hash of the account's row before it; the account keeps the
+-- hash of its latest row. Rows written before this migration have no hash.
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS ledger_hash BYTEA;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS prev_hash BYTEA;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS hash BYTEA;
+
+-- Chain head at the checkpoint, so incremental reconciliation rehashes only newer rows
+ALTER TABLE reconciliation_checkpoints ADD COLUMN IF NOT EXISTS ledger_hash BYTEA;
+
+-- Daily Merkle roots of the whole ledger (LedgerDayRoots); only read and written on the
+-- catalog (first) shard. published_at is set once notification-service has the root.
+CREATE TABLE IF NOT EXISTS ledger_day_roots (
+    ledger_day   DATE         NOT NULL,
+    slices       INTEGER      NOT NULL,
+    ledger_rows  BIGINT       NOT NULL,
+    root         BYTEA,
+    computed_at  TIMESTAMP(6) NOT NULL,
+    published_at TIMESTAMP(6),
+    CONSTRAINT ledger_day_roots_pkey PRIMARY KEY (ledger_day)
+);
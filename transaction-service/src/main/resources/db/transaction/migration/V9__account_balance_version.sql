@@ -0,0 +1,3 @@
+-- Bumped with every balance change and published on the balance feed, so account-service's
+-- projection (BalanceProjectionSyncer) skips stale rows. Existing rows start at 0.
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS balance_version BIGINT DEFAULT 0 NOT NULL;
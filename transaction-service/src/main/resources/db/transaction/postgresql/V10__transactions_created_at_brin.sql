@@ -0,0 +1,4 @@
+-- A day's rows are read by time slice for its Merkle root (V8). BRIN stays tiny and
+-- costs next to nothing on insert, as rows arrive in created_at order. PostgreSQL only,
+-- so it lives in the vendor location.
+CREATE INDEX IF NOT EXISTS idx_transactions_created_at_brin ON transactions USING BRIN (created_at);
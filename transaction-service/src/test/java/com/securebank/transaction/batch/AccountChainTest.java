@@ -0,0 +1,185 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.transaction.dto.LedgerDiscrepancy;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.service.LedgerChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountChainTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 14, 9, 0);
+    private static final LocalDateTime CUTOFF = T0.plusHours(1);
+
+    private final UUID accountId = UUID.randomUUID();
+    private final List<LedgerDiscrepancy> found = new ArrayList<>();
+
+    @Test
+    @DisplayName("Chain - consistent rows verify and checkpoint the last row")
+    void finish_ShouldBeClean_WhenRowsChain() {
+        AccountChain chain = chain(BigDecimal.ZERO);
+        chain.add(entry(TransactionType.DEPOSIT, "100.00", "100.00", T0));
+        chain.add(entry(TransactionType.TRANSFER, "30.00", "70.00", T0.plusMinutes(1)));
+        chain.add(entry(TransactionType.TRANSFER, "5.00", "75.00", T0.plusMinutes(2)));
+        chain.add(entry(TransactionType.FEE, "5.00", "70.00", T0.plusMinutes(3)));
+
+        chain.finish(new BigDecimal("70.00"), null);
+
+        assertTrue(found.isEmpty());
+        assertTrue(chain.isClean());
+        assertEquals(T0.plusMinutes(3), chain.verifiedThrough());
+        assertEquals(new BigDecimal("70.00"), chain.verifiedBalance());
+    }
+
+    @Test
+    @DisplayName("Chain - rows sharing a timestamp chained in whichever order fits")
+    void finish_ShouldReorderRows_WhenTimestampsEqual() {
+        AccountChain chain = chain(new BigDecimal("50.00"));
+        chain.add(entry(TransactionType.WITHDRAWAL, "20.00", "80.00", T0));
+        chain.add(entry(TransactionType.DEPOSIT, "50.00", "100.00", T0));
+
+        chain.finish(new BigDecimal("80.00"), null);
+
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Chain - a bad row reported once, the chain carries on from it")
+    void finish_ShouldReportBreakOnce_WhenRowDoesNotFit() {
+        AccountChain chain = chain(BigDecimal.ZERO);
+        chain.add(entry(TransactionType.DEPOSIT, "100.00", "100.00", T0));
+        AccountChain.Entry bad = entry(TransactionType.DEPOSIT, "50.00", "160.00", T0.plusMinutes(1));
+        chain.add(bad);
+        chain.add(entry(TransactionType.WITHDRAWAL, "10.00", "150.00", T0.plusMinutes(2)));
+
+        chain.finish(new BigDecimal("150.00"), null);
+
+        assertEquals(1, found.size());
+        assertEquals("CHAIN_BREAK", found.get(0).getKind());
+        assertEquals(new BigDecimal("150.00"), found.get(0).getExpected());
+        assertEquals(new BigDecimal("160.00"), found.get(0).getActual());
+        assertFalse(chain.isClean());
+    }
+
+    @Test
+    @DisplayName("Chain - account balance not where the ledger ends")
+    void finish_ShouldReportMismatch_WhenBalanceDiffers() {
+        AccountChain chain = chain(BigDecimal.ZERO);
+        chain.add(entry(TransactionType.DEPOSIT, "40.00", "40.00", T0));
+
+        chain.finish(new BigDecimal("50.00"), null);
+
+        assertEquals(1, found.size());
+        assertEquals("BALANCE_MISMATCH", found.get(0).getKind());
+        assertEquals(new BigDecimal("40.00"), found.get(0).getExpected());
+        assertEquals(new BigDecimal("50.00"), found.get(0).getActual());
+    }
+
+    @Test
+    @DisplayName("Chain - rows after the cutoff checked but not checkpointed")
+    void verifiedThrough_ShouldStopAtCutoff() {
+        AccountChain chain = chain(BigDecimal.ZERO);
+        chain.add(entry(TransactionType.DEPOSIT, "10.00", "10.00", T0));
+        chain.add(entry(TransactionType.DEPOSIT, "5.00", "15.00", CUTOFF.plusSeconds(1)));
+
+        chain.finish(new BigDecimal("15.00"), null);
+
+        assertTrue(found.isEmpty());
+        assertEquals(T0, chain.verifiedThrough());
+        assertEquals(new BigDecimal("10.00"), chain.verifiedBalance());
+    }
+
+    @Test
+    @DisplayName("Chain - hashed rows linking to each other verify and checkpoint the head")
+    void finish_ShouldBeClean_WhenHashesLink() {
+        AccountChain.Entry first = sealed(null, TransactionType.DEPOSIT, "100.00", "100.00", T0);
+        byte[] head = hashAfter(null, TransactionType.DEPOSIT, "100.00", "100.00", T0);
+        AccountChain.Entry second = sealed(head, TransactionType.WITHDRAWAL, "40.00", "60.00", T0.plusMinutes(1));
+        byte[] last = hashAfter(head, TransactionType.WITHDRAWAL, "40.00", "60.00", T0.plusMinutes(1));
+        AccountChain chain = chain(BigDecimal.ZERO);
+        chain.add(first);
+        chain.add(second);
+
+        chain.finish(new BigDecimal("60.00"), last);
+
+        assertTrue(found.isEmpty());
+        assertArrayEquals(last, chain.verifiedHead());
+    }
+
+    @Test
+    @DisplayName("Chain - a row changed after it was hashed reported as a hash mismatch")
+    void finish_ShouldReportHashMismatch_WhenRowChanged() {
+        byte[] hash = hashAfter(null, TransactionType.DEPOSIT, "100.00", "100.00", T0);
+        // Amount and balance rewritten consistently: only the hash gives it away
+        AccountChain.Entry tampered = new AccountChain.Entry(UUID.randomUUID(), null, TransactionType.DEPOSIT,
+                new BigDecimal("900.00"), new BigDecimal("900.00"), null, T0, null, hash);
+        AccountChain chain = chain(BigDecimal.ZERO);
+        chain.add(tampered);
+
+        chain.finish(new BigDecimal("900.00"), hash);
+
+        assertEquals(1, found.size());
+        assertEquals("HASH_MISMATCH", found.get(0).getKind());
+        assertFalse(chain.isClean());
+    }
+
+    @Test
+    @DisplayName("Chain - a deleted row breaks the next row's link")
+    void finish_ShouldReportBrokenLink_WhenRowDeleted() {
+        byte[] first = hashAfter(null, TransactionType.DEPOSIT, "100.00", "100.00", T0);
+        byte[] second = hashAfter(first, TransactionType.DEPOSIT, "50.00", "150.00", T0.plusMinutes(1));
+        AccountChain chain = chain(BigDecimal.ZERO);
+        chain.add(sealed(null, TransactionType.DEPOSIT, "100.00", "100.00", T0));
+        chain.add(sealed(second, TransactionType.WITHDRAWAL, "10.00", "140.00", T0.plusMinutes(2)));
+
+        chain.finish(new BigDecimal("140.00"),
+                hashAfter(second, TransactionType.WITHDRAWAL, "10.00", "140.00", T0.plusMinutes(2)));
+
+        assertTrue(found.stream().anyMatch(d -> d.getKind().equals("HASH_LINK_BROKEN")));
+        assertTrue(found.stream().anyMatch(d -> d.getKind().equals("CHAIN_BREAK")));
+    }
+
+    @Test
+    @DisplayName("Chain - account head not where the ledger's hashes end")
+    void finish_ShouldReportBrokenLink_WhenAccountHeadDiffers() {
+        AccountChain chain = chain(BigDecimal.ZERO);
+        chain.add(sealed(null, TransactionType.DEPOSIT, "10.00", "10.00", T0));
+
+        chain.finish(new BigDecimal("10.00"), new byte[32]);
+
+        assertEquals(1, found.size());
+        assertEquals("HASH_LINK_BROKEN", found.get(0).getKind());
+        assertNull(found.get(0).getTransactionId());
+    }
+
+    private AccountChain chain(BigDecimal opening) {
+        return new AccountChain(accountId, opening, null, CUTOFF, found::add);
+    }
+
+    private static AccountChain.Entry entry(TransactionType type, String amount, String balanceAfter,
+                                            LocalDateTime createdAt) {
+        return new AccountChain.Entry(UUID.randomUUID(), null, type, new BigDecimal(amount),
+                new BigDecimal(balanceAfter), null, createdAt, null, null);
+    }
+
+    private AccountChain.Entry sealed(byte[] prevHash, TransactionType type, String amount, String balanceAfter,
+                                      LocalDateTime createdAt) {
+        return new AccountChain.Entry(UUID.randomUUID(), null, type, new BigDecimal(amount),
+                new BigDecimal(balanceAfter), null, createdAt, prevHash,
+                hashAfter(prevHash, type, amount, balanceAfter, createdAt));
+    }
+
+    private byte[] hashAfter(byte[] prevHash, TransactionType type, String amount, String balanceAfter,
+                             LocalDateTime createdAt) {
+        return LedgerChain.hash(prevHash, accountId, null, type, new BigDecimal(amount), new BigDecimal(balanceAfter),
+                null, createdAt);
+    }
+}
@@ -0,0 +1,66 @@
+package com.securebank.transaction.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccrualCalculatorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    private final AccrualCalculator calculator =
+            new AccrualCalculator(new BigDecimal("0.02"), new BigDecimal("5.00"), new BigDecimal("1000.00"));
+
+    @Test
+    @DisplayName("Interest - whole cents posted, remainder carried")
+    void interest_ShouldPostWholeCentsAndCarryRest() {
+        AccrualCalculator.Interest interest = calculator.interest(new BigDecimal("10000.00"), BigDecimal.ZERO, DAY);
+
+        assertEquals(new BigDecimal("0.54"), interest.posted());
+        assertEquals(new BigDecimal("0.007945"), interest.accrued());
+    }
+
+    @Test
+    @DisplayName("Interest - small balance accrues until it reaches a cent")
+    void interest_ShouldAccumulateSubCentInterest() {
+        BigDecimal accrued = BigDecimal.ZERO;
+        int days = 0;
+        AccrualCalculator.Interest interest;
+        do {
+            interest = calculator.interest(new BigDecimal("10.00"), accrued, DAY.plusDays(days++));
+            accrued = interest.accrued();
+        } while (interest.posted().signum() == 0);
+
+        assertEquals(19, days);
+        assertEquals(new BigDecimal("0.01"), interest.posted());
+        assertEquals(new BigDecimal("0.000412"), interest.accrued());
+    }
+
+    @Test
+    @DisplayName("Interest - none on a zero or negative balance")
+    void interest_ShouldBeZero_WhenBalanceNotPositive() {
+        AccrualCalculator.Interest interest =
+                calculator.interest(new BigDecimal("-50.00"), new BigDecimal("0.004000"), DAY);
+
+        assertEquals(new BigDecimal("0.00"), interest.posted());
+        assertEquals(new BigDecimal("0.004000"), interest.accrued());
+    }
+
+    @Test
+    @DisplayName("Fee - waived at the threshold balance")
+    void fee_ShouldBeWaived_WhenBalanceAtThreshold() {
+        assertEquals(new BigDecimal("0.00"), calculator.fee(new BigDecimal("1000.00"), new BigDecimal("1000.00")));
+    }
+
+    @Test
+    @DisplayName("Fee - capped at the available balance")
+    void fee_ShouldBeCapped_WhenAvailableBelowFee() {
+        assertEquals(new BigDecimal("5.00"), calculator.fee(new BigDecimal("100.00"), new BigDecimal("100.00")));
+        assertEquals(new BigDecimal("3.20"), calculator.fee(new BigDecimal("100.00"), new BigDecimal("3.20")));
+        assertEquals(new BigDecimal("0.00"), calculator.fee(new BigDecimal("100.00"), new BigDecimal("-1.00")));
+    }
+}
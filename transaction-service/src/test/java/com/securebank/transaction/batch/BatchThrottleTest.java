@@ -0,0 +1,81 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.common.dto.LatencySloReport;
+import com.securebank.common.latency.LatencySloTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchThrottleTest {
+
+    @Mock
+    private LatencySloTracker latencySloTracker;
+
+    private BatchThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        throttle = new BatchThrottle(latencySloTracker, 2.0, 20, 50, 400, 1000);
+    }
+
+    @Test
+    @DisplayName("Throttle - no pause while the SLO holds")
+    void currentPause_ShouldBeZero_WhenBurnRateLow() {
+        when(latencySloTracker.report()).thenReturn(report(100, 0.5));
+
+        assertEquals(0, throttle.currentPause(1_000));
+    }
+
+    @Test
+    @DisplayName("Throttle - pause doubles while the SLO burns, up to the cap")
+    void currentPause_ShouldBackOff_WhenBurnRateHigh() {
+        when(latencySloTracker.report()).thenReturn(report(100, 5.0));
+
+        assertEquals(50, throttle.currentPause(1_000));
+        assertEquals(50, throttle.currentPause(1_500));
+        assertEquals(100, throttle.currentPause(2_000));
+        assertEquals(200, throttle.currentPause(3_000));
+        assertEquals(400, throttle.currentPause(4_000));
+        assertEquals(400, throttle.currentPause(5_000));
+        verify(latencySloTracker, times(5)).report();
+    }
+
+    @Test
+    @DisplayName("Throttle - pause halves back to zero once latency recovers")
+    void currentPause_ShouldRelease_WhenBurnRateRecovers() {
+        when(latencySloTracker.report()).thenReturn(report(100, 5.0), report(100, 5.0), report(100, 0.0));
+        throttle.currentPause(1_000);
+        throttle.currentPause(2_000);
+
+        assertEquals(50, throttle.currentPause(3_000));
+        assertEquals(0, throttle.currentPause(4_000));
+    }
+
+    @Test
+    @DisplayName("Throttle - methods with too few requests ignored")
+    void currentPause_ShouldIgnoreMethods_WhenTooFewRequests() {
+        when(latencySloTracker.report()).thenReturn(report(3, 100.0));
+
+        assertEquals(0, throttle.currentPause(1_000));
+    }
+
+    private static LatencySloReport report(long count, double burnRate) {
+        LatencySloReport.Window lastMinute = new LatencySloReport.Window();
+        lastMinute.setMinutes(1);
+        lastMinute.setCount(count);
+        lastMinute.setBurnRate(burnRate);
+        LatencySloReport.Window lastFiveMinutes = new LatencySloReport.Window();
+        lastFiveMinutes.setMinutes(5);
+        return new LatencySloReport(0.99, 60, List.of(new LatencySloReport.MethodSlo(
+                "TransactionController.transfer", 500, List.of(lastMinute, lastFiveMinutes))));
+    }
+}
@@ -0,0 +1,168 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.common.latency.LatencySloTracker;
+import com.securebank.transaction.dto.BatchRunReport;
+import com.securebank.transaction.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterestAndFeeBatchTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private InterestAndFeeBatch batch;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE accounts (id UUID PRIMARY KEY, account_number VARCHAR(20), "
+                + "balance DECIMAL(15,2) NOT NULL, held_balance DECIMAL(15,2) DEFAULT 0 NOT NULL, "
+                + "balance_version BIGINT DEFAULT 0 NOT NULL, accrued_interest DECIMAL(19,6) DEFAULT 0 NOT NULL, "
+                + "interest_accrued_on DATE, fee_charged_on DATE, status VARCHAR(20) NOT NULL, user_id UUID, "
+                + "updated_at TIMESTAMP, ledger_hash VARBINARY(32))");
+        jdbcTemplate.execute("CREATE TABLE transactions (id UUID PRIMARY KEY, account_id UUID NOT NULL, "
+                + "target_account_id UUID, type VARCHAR(20) NOT NULL, amount DECIMAL(15,2) NOT NULL, "
+                + "balance_after DECIMAL(15,2), description VARCHAR(500), created_at TIMESTAMP NOT NULL, "
+                + "prev_hash VARBINARY(32), hash VARBINARY(32))");
+        jdbcTemplate.execute("CREATE TABLE batch_checkpoints (job VARCHAR(20) NOT NULL, run_date DATE NOT NULL, "
+                + "chunk INTEGER NOT NULL, accounts INTEGER NOT NULL, postings INTEGER NOT NULL, "
+                + "amount DECIMAL(19,2) NOT NULL, completed_at TIMESTAMP NOT NULL, PRIMARY KEY (job, run_date, chunk))");
+
+        BatchThrottle throttle = new BatchThrottle(
+                new LatencySloTracker(new MockEnvironment(), 60, 250, 0.99, 4), 2.0, 20, 50, 5000, 1000);
+        batch = new InterestAndFeeBatch(jdbcTemplate, new DataSourceTransactionManager(database),
+                new ShardRouter(false, null), throttle, new SimpleMeterRegistry(), new BigDecimal("0.02"),
+                new BigDecimal("5.00"), new BigDecimal("1000.00"), 8, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Interest - every account credited once across all id ranges")
+    void run_ShouldPostInterestToEveryAccount() {
+        for (int i = 0; i < 40; i++) {
+            account(new BigDecimal("10000.00"), "ACTIVE");
+        }
+        UUID small = account(new BigDecimal("10.00"), "ACTIVE");
+        UUID moved = account(new BigDecimal("10000.00"), "MOVED");
+
+        BatchRunReport report = batch.run(BatchJob.INTEREST, DAY);
+
+        assertEquals(8, report.getChunks());
+        assertEquals(0, report.getChunksFailed());
+        assertEquals(41, report.getAccounts());
+        assertEquals(40, report.getPostings());
+        assertEquals(new BigDecimal("21.60"), report.getAmount());
+        assertEquals(40, count("SELECT COUNT(*) FROM accounts WHERE balance = 10000.54 AND balance_version = 1"));
+        assertEquals(40, count("SELECT COUNT(*) FROM transactions WHERE type = 'INTEREST' AND amount = 0.54 "
+                + "AND balance_after = 10000.54"));
+        assertEquals(40, count("SELECT COUNT(*) FROM transactions t JOIN accounts a ON a.id = t.account_id "
+                + "WHERE t.prev_hash IS NULL AND t.hash = a.ledger_hash"));
+        assertEquals(0, new BigDecimal("0.000548").compareTo(jdbcTemplate.queryForObject(
+                "SELECT accrued_interest FROM accounts WHERE id = ?", BigDecimal.class, small)));
+        assertEquals(0, new BigDecimal("10000.00").compareTo(jdbcTemplate.queryForObject(
+                "SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, moved)));
+    }
+
+    @Test
+    @DisplayName("Interest - second run for the same day skips every range")
+    void run_ShouldSkipFinishedRanges_WhenRunAgain() {
+        for (int i = 0; i < 10; i++) {
+            account(new BigDecimal("10000.00"), "ACTIVE");
+        }
+        batch.run(BatchJob.INTEREST, DAY);
+
+        BatchRunReport again = batch.run(BatchJob.INTEREST, DAY);
+
+        assertEquals(8, again.getChunksAlreadyDone());
+        assertEquals(0, again.getPostings());
+        assertEquals(10, count("SELECT COUNT(*) FROM transactions"));
+        assertEquals(10, count("SELECT SUM(accounts) FROM batch_checkpoints WHERE job = 'INTEREST'"));
+    }
+
+    @Test
+    @DisplayName("Interest - account already posted for the day not posted again")
+    void run_ShouldSkipAccount_WhenAlreadyAccruedForDay() {
+        UUID id = account(new BigDecimal("10000.00"), "ACTIVE");
+        jdbcTemplate.update("UPDATE accounts SET interest_accrued_on = ? WHERE id = ?", DAY, id);
+
+        BatchRunReport report = batch.run(BatchJob.INTEREST, DAY);
+
+        assertEquals(0, report.getAccounts());
+        assertEquals(0, count("SELECT COUNT(*) FROM transactions"));
+    }
+
+    @Test
+    @DisplayName("Fees - charged below the waiver balance, within the available balance")
+    void run_ShouldChargeFees() {
+        UUID charged = account(new BigDecimal("100.00"), "ACTIVE");
+        UUID waived = account(new BigDecimal("5000.00"), "ACTIVE");
+        UUID held = account(new BigDecimal("100.00"), "ACTIVE");
+        jdbcTemplate.update("UPDATE accounts SET held_balance = 98.00 WHERE id = ?", held);
+        UUID frozen = account(new BigDecimal("100.00"), "FROZEN");
+
+        BatchRunReport report = batch.run(BatchJob.FEE, DAY);
+
+        assertEquals(LocalDate.of(2025, 3, 1), report.getRunDate());
+        assertEquals(3, report.getAccounts());
+        assertEquals(2, report.getPostings());
+        assertEquals(new BigDecimal("7.00"), report.getAmount());
+        assertEquals(0, new BigDecimal("95.00").compareTo(balance(charged)));
+        assertEquals(0, new BigDecimal("5000.00").compareTo(balance(waived)));
+        assertEquals(0, new BigDecimal("98.00").compareTo(balance(held)));
+        assertEquals(0, new BigDecimal("100.00").compareTo(balance(frozen)));
+        assertEquals(3, count("SELECT COUNT(*) FROM accounts WHERE fee_charged_on = DATE '2025-03-01'"));
+        assertEquals(2, count("SELECT COUNT(*) FROM transactions WHERE type = 'FEE'"));
+    }
+
+    @Test
+    @DisplayName("Id ranges - split the uuid space on its leading bits")
+    void range_ShouldCoverUuidSpace() {
+        UUID[] first = InterestAndFeeBatch.range(0, 2);
+        UUID[] third = InterestAndFeeBatch.range(2, 2);
+        UUID[] last = InterestAndFeeBatch.range(3, 2);
+
+        assertEquals(UUID.fromString("00000000-0000-0000-0000-000000000000"), first[0]);
+        assertEquals(UUID.fromString("40000000-0000-0000-0000-000000000000"), first[1]);
+        assertEquals(UUID.fromString("80000000-0000-0000-0000-000000000000"), third[0]);
+        assertEquals(UUID.fromString("c0000000-0000-0000-0000-000000000000"), last[0]);
+        assertNull(last[1]);
+        assertNull(InterestAndFeeBatch.range(0, 0)[1]);
+    }
+
+    private UUID account(BigDecimal balance, String status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, account_number, balance, status, user_id) VALUES (?, ?, ?, ?, ?)",
+                id, "SB" + id.toString().substring(0, 10), balance, status, UUID.randomUUID());
+        return id;
+    }
+
+    private BigDecimal balance(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, id);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
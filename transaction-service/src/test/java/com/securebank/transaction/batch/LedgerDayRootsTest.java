@@ -0,0 +1,180 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.transaction.dto.AuditLogEntry;
+import com.securebank.transaction.dto.LedgerDayReport;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.service.AuditLogClient;
+import com.securebank.transaction.service.LedgerChain;
+import com.securebank.transaction.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LedgerDayRootsTest {
+
+    private static final LocalDate DAY = LocalDate.now().minusDays(10);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogClient auditLogClient;
+    private LedgerDayRoots dayRoots;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE accounts (id UUID PRIMARY KEY, balance DECIMAL(15,2) NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, ledger_hash VARBINARY(32))");
+        jdbcTemplate.execute("CREATE TABLE transactions (id UUID PRIMARY KEY, account_id UUID NOT NULL, "
+                + "target_account_id UUID, type VARCHAR(20) NOT NULL, amount DECIMAL(15,2) NOT NULL, "
+                + "balance_after DECIMAL(15,2), description VARCHAR(500), created_at TIMESTAMP NOT NULL, "
+                + "prev_hash VARBINARY(32), hash VARBINARY(32))");
+        jdbcTemplate.execute("CREATE TABLE ledger_day_roots (ledger_day DATE PRIMARY KEY, slices INTEGER NOT NULL, "
+                + "ledger_rows BIGINT NOT NULL, root VARBINARY(32), computed_at TIMESTAMP NOT NULL, "
+                + "published_at TIMESTAMP)");
+
+        auditLogClient = mock(AuditLogClient.class);
+        dayRoots = new LedgerDayRoots(jdbcTemplate, new DataSourceTransactionManager(database),
+                new ShardRouter(false, null), auditLogClient, 24, 4, 100, 300_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dayRoots.stop();
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Seal - day's chained rows rooted, stored and logged to the audit log")
+    void seal_ShouldStoreAndLogRoot() {
+        UUID a = account("ACTIVE");
+        UUID moved = account("MOVED");
+        ledger(a, "DEPOSIT", "100.00", "100.00", DAY.atTime(0, 0));
+        ledger(a, "WITHDRAWAL", "30.00", "70.00", DAY.atTime(13, 5));
+        ledger(a, "DEPOSIT", "5.00", "75.00", DAY.atTime(23, 59, 59));
+        ledger(a, "DEPOSIT", "5.00", "80.00", DAY.plusDays(1).atStartOfDay());
+        ledger(moved, "DEPOSIT", "10.00", "10.00", DAY.atTime(12, 0));
+        legacy(a, DAY.atTime(6, 0));
+
+        LedgerDayReport report = dayRoots.seal(DAY);
+
+        assertEquals("SEALED", report.getStatus());
+        assertEquals(24, report.getSlices());
+        assertEquals(3, report.getLedgerRows());
+        assertEquals(0, report.getHashMismatches());
+        assertEquals(64, report.getRoot().length());
+        ArgumentCaptor<AuditLogEntry> logged = ArgumentCaptor.forClass(AuditLogEntry.class);
+        verify(auditLogClient).log(logged.capture());
+        assertEquals("LEDGER_DAY_ROOT", logged.getValue().getEventType());
+        assertEquals("day=" + DAY + " slices=24 rows=3 root=" + report.getRoot(), logged.getValue().getMessage());
+        assertEquals(1, count("SELECT COUNT(*) FROM ledger_day_roots WHERE published_at IS NOT NULL"));
+
+        LedgerDayReport again = dayRoots.seal(DAY);
+
+        assertEquals("ALREADY_SEALED", again.getStatus());
+        assertEquals(report.getRoot(), again.getRoot());
+        verify(auditLogClient, times(1)).log(any());
+    }
+
+    @Test
+    @DisplayName("Seal - root not depending on slice thread timing or row order")
+    void compute_ShouldBeDeterministic() {
+        UUID a = account("ACTIVE");
+        UUID b = account("ACTIVE");
+        for (int i = 0; i < 50; i++) {
+            ledger(i % 2 == 0 ? a : b, "DEPOSIT", "1.00", String.valueOf(i / 2 + 1) + ".00", DAY.atTime(i % 24, i));
+        }
+
+        assertEquals(dayRoots.compute(DAY, 24).getRoot(), dayRoots.compute(DAY, 24).getRoot());
+        assertEquals(50, dayRoots.compute(DAY, 24).getLedgerRows());
+        assertNotEquals(dayRoots.compute(DAY, 24).getRoot(), dayRoots.compute(DAY, 48).getRoot());
+    }
+
+    @Test
+    @DisplayName("Verify - matches the sealed and audited root until a row is changed")
+    void verify_ShouldReportMismatch_WhenRowChanged() {
+        UUID a = account("ACTIVE");
+        ledger(a, "DEPOSIT", "100.00", "100.00", DAY.atTime(9, 0));
+        UUID changed = ledger(a, "WITHDRAWAL", "30.00", "70.00", DAY.atTime(10, 0));
+        LedgerDayReport sealed = dayRoots.seal(DAY);
+        AuditLogEntry audited = new AuditLogEntry(LedgerDayRoots.EVENT_TYPE, null, null,
+                "day=" + DAY + " slices=24 rows=2 root=" + sealed.getRoot());
+        when(auditLogClient.find(eq(LedgerDayRoots.EVENT_TYPE), any())).thenReturn(List.of(audited));
+
+        LedgerDayReport verified = dayRoots.verify(DAY);
+        jdbcTemplate.update("UPDATE transactions SET amount = 3.00 WHERE id = ?", changed);
+        LedgerDayReport tampered = dayRoots.verify(DAY);
+
+        assertEquals("VERIFIED", verified.getStatus());
+        assertEquals(sealed.getRoot(), verified.getAuditedRoot());
+        assertEquals("MISMATCH", tampered.getStatus());
+        assertEquals(1, tampered.getHashMismatches());
+        assertNotEquals(sealed.getRoot(), tampered.getRoot());
+    }
+
+    @Test
+    @DisplayName("Seal - root the audit log missed is logged on the next run")
+    void seal_ShouldRetryPublishing_WhenAuditLogUnavailable() {
+        doThrow(new ResourceAccessException("connection refused")).doNothing().when(auditLogClient).log(any());
+
+        dayRoots.seal(DAY.minusDays(1));
+        assertEquals(1, count("SELECT COUNT(*) FROM ledger_day_roots WHERE published_at IS NULL"));
+        dayRoots.seal(DAY);
+
+        assertEquals(0, count("SELECT COUNT(*) FROM ledger_day_roots WHERE published_at IS NULL"));
+        verify(auditLogClient, times(3)).log(any());
+    }
+
+    @Test
+    @DisplayName("Seal - day not over yet rejected")
+    void seal_ShouldReject_WhenDayNotOver() {
+        assertThrows(IllegalArgumentException.class, () -> dayRoots.seal(LocalDate.now()));
+    }
+
+    private UUID account(String status) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, balance, status) VALUES (?, 0, ?)", id, status);
+        return id;
+    }
+
+    /** A ledger row chained to the account's head, as LedgerChain.append would write it. */
+    private UUID ledger(UUID accountId, String type, String amount, String balanceAfter, LocalDateTime createdAt) {
+        byte[] prevHash = jdbcTemplate.queryForObject("SELECT ledger_hash FROM accounts WHERE id = ?", byte[].class,
+                accountId);
+        byte[] hash = LedgerChain.hash(prevHash, accountId, null, TransactionType.valueOf(type), new BigDecimal(amount),
+                new BigDecimal(balanceAfter), null, createdAt);
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, account_id, type, amount, balance_after, created_at, "
+                        + "prev_hash, hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, accountId, type, new BigDecimal(amount), new BigDecimal(balanceAfter), createdAt, prevHash, hash);
+        jdbcTemplate.update("UPDATE accounts SET ledger_hash = ? WHERE id = ?", hash, accountId);
+        return id;
+    }
+
+    private void legacy(UUID accountId, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO transactions (id, account_id, type, amount, balance_after, created_at) "
+                + "VALUES (?, ?, 'DEPOSIT', 1.00, 1.00, ?)", UUID.randomUUID(), accountId, createdAt);
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
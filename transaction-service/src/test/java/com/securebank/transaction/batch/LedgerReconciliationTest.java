@@ -0,0 +1,251 @@
+package com.securebank.transaction.batch;
+
+import com.securebank.transaction.dto.ReconciliationReport;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.service.LedgerChain;
+import com.securebank.transaction.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerReconciliationTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.now().minusDays(10).withNano(0);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private LedgerReconciliation reconciliation;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE accounts (id UUID PRIMARY KEY, balance DECIMAL(15,2) NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, updated_at TIMESTAMP, ledger_hash VARBINARY(32))");
+        jdbcTemplate.execute("CREATE TABLE transactions (id UUID PRIMARY KEY, account_id UUID NOT NULL, "
+                + "target_account_id UUID, type VARCHAR(20) NOT NULL, amount DECIMAL(15,2) NOT NULL, "
+                + "balance_after DECIMAL(15,2), description VARCHAR(500), created_at TIMESTAMP NOT NULL, "
+                + "prev_hash VARBINARY(32), hash VARBINARY(32))");
+        jdbcTemplate.execute("CREATE TABLE reconciliation_runs (id UUID PRIMARY KEY, mode VARCHAR(20) NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, window_start TIMESTAMP, cutoff TIMESTAMP NOT NULL, "
+                + "accounts BIGINT DEFAULT 0 NOT NULL, ledger_rows BIGINT DEFAULT 0 NOT NULL, "
+                + "discrepancies BIGINT DEFAULT 0 NOT NULL, started_at TIMESTAMP NOT NULL, finished_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE reconciliation_discrepancies (id UUID PRIMARY KEY, run_id UUID NOT NULL, "
+                + "account_id UUID NOT NULL, kind VARCHAR(30) NOT NULL, transaction_id UUID, "
+                + "expected DECIMAL(15,2), actual DECIMAL(15,2), detail VARCHAR(500), created_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE reconciliation_checkpoints (account_id UUID PRIMARY KEY, "
+                + "verified_through TIMESTAMP NOT NULL, balance DECIMAL(15,2) NOT NULL, ledger_hash VARBINARY(32), "
+                + "run_id UUID NOT NULL)");
+
+        reconciliation = new LedgerReconciliation(jdbcTemplate, new DataSourceTransactionManager(database),
+                new ShardRouter(false, null), new SimpleMeterRegistry(), 8, 2, 100, 300_000, 8, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Full - consistent ledger has no discrepancies and checkpoints every account")
+    void run_ShouldFindNothing_WhenLedgerConsistent() {
+        UUID a = account("70.00", DAY);
+        UUID b = account("20.00", DAY);
+        UUID moved = account("0.00", DAY);
+        jdbcTemplate.update("UPDATE accounts SET status = 'MOVED' WHERE id = ?", moved);
+        ledger(a, null, "DEPOSIT", "100.00", "100.00", null, DAY);
+        ledger(a, b, "TRANSFER", "30.00", "70.00", null, DAY.plusHours(1));
+        ledger(b, a, "TRANSFER", "30.00", "30.00", null, DAY.plusHours(1));
+        ledger(b, null, "WITHDRAWAL", "10.00", "20.00", null, DAY.plusHours(2));
+
+        ReconciliationReport report = reconciliation.run(ReconciliationMode.FULL);
+
+        assertEquals("COMPLETED", report.getStatus());
+        assertEquals("FULL", report.getMode());
+        assertEquals(8, report.getRanges());
+        assertEquals(2, report.getAccounts());
+        assertEquals(4, report.getLedgerRows());
+        assertEquals(0, report.getDiscrepancies());
+        assertTrue(report.isPairingChecked());
+        assertEquals(2, count("SELECT COUNT(*) FROM reconciliation_checkpoints"));
+        assertEquals(1, count("SELECT COUNT(*) FROM reconciliation_runs WHERE status = 'COMPLETED' AND accounts = 2"));
+    }
+
+    @Test
+    @DisplayName("Full - broken chain and balance mismatch reported, no checkpoint for them")
+    void run_ShouldReportChainBreakAndMismatch() {
+        UUID broken = account("160.00", DAY);
+        UUID drifted = account("50.00", DAY);
+        ledger(broken, null, "DEPOSIT", "100.00", "100.00", null, DAY);
+        UUID bad = ledger(broken, null, "DEPOSIT", "50.00", "160.00", null, DAY.plusHours(1));
+        ledger(drifted, null, "DEPOSIT", "40.00", "40.00", null, DAY);
+
+        ReconciliationReport report = reconciliation.run(ReconciliationMode.FULL);
+
+        assertEquals(2, report.getDiscrepancies());
+        assertEquals(1L, report.getDiscrepanciesByKind().get("CHAIN_BREAK"));
+        assertEquals(1L, report.getDiscrepanciesByKind().get("BALANCE_MISMATCH"));
+        assertEquals(1, count("SELECT COUNT(*) FROM reconciliation_discrepancies WHERE kind = 'CHAIN_BREAK' "
+                + "AND transaction_id = '" + bad + "' AND expected = 150.00 AND actual = 160.00"));
+        assertEquals(1, count("SELECT COUNT(*) FROM reconciliation_discrepancies WHERE kind = 'BALANCE_MISMATCH' "
+                + "AND account_id = '" + drifted + "'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM reconciliation_checkpoints"));
+    }
+
+    @Test
+    @DisplayName("Full - transfer leg with no counter-leg reported once settled")
+    void run_ShouldReportUnpairedLeg() {
+        UUID a = account("75.00", DAY);
+        UUID b = account("0.00", DAY);
+        ledger(a, null, "DEPOSIT", "100.00", "100.00", null, DAY);
+        UUID leg = ledger(a, b, "TRANSFER", "25.00", "75.00", null, DAY.plusHours(1));
+
+        ReconciliationReport report = reconciliation.run(ReconciliationMode.FULL);
+
+        assertEquals(1, report.getDiscrepancies());
+        assertTrue(report.isPairingChecked());
+        assertEquals(1, count("SELECT COUNT(*) FROM reconciliation_discrepancies WHERE kind = 'UNPAIRED_TRANSFER' "
+                + "AND transaction_id = '" + leg + "' AND actual = 25.00"));
+    }
+
+    @Test
+    @DisplayName("Full - reversed cross-shard debit and recent legs are not unpaired")
+    void run_ShouldNotReport_WhenLegReversedOrStillSettling() {
+        LocalDateTime now = LocalDateTime.now();
+        UUID a = account("70.00", now);
+        UUID b = account("0.00", now);
+        ledger(a, null, "DEPOSIT", "100.00", "100.00", null, DAY);
+        ledger(a, b, "TRANSFER", "20.00", "80.00", null, DAY.plusHours(1));
+        ledger(a, b, "TRANSFER", "20.00", "100.00", "Reversal of transfer " + UUID.randomUUID(), DAY.plusHours(2));
+        ledger(a, b, "TRANSFER", "30.00", "70.00", null, now);
+
+        ReconciliationReport report = reconciliation.run(ReconciliationMode.FULL);
+
+        assertEquals(0, report.getDiscrepancies());
+        assertTrue(report.isPairingChecked());
+    }
+
+    @Test
+    @DisplayName("Incremental - without a completed run it reconciles in full")
+    void run_ShouldFallBackToFull_WhenNoCompletedRun() {
+        account("0.00", DAY);
+
+        ReconciliationReport report = reconciliation.run(ReconciliationMode.INCREMENTAL);
+
+        assertEquals("FULL", report.getMode());
+        assertEquals(1, report.getAccounts());
+    }
+
+    @Test
+    @DisplayName("Incremental - only touched accounts, replayed from their checkpoint")
+    void run_ShouldCheckTouchedAccountsFromCheckpoint() {
+        UUID touched = account("100.00", DAY);
+        UUID untouched = account("10.00", DAY);
+        ledger(touched, null, "DEPOSIT", "100.00", "100.00", null, DAY);
+        ledger(untouched, null, "DEPOSIT", "10.00", "10.00", null, DAY);
+        reconciliation.run(ReconciliationMode.FULL);
+        jdbcTemplate.update("UPDATE reconciliation_runs SET cutoff = ?", DAY.plusDays(1));
+
+        // The checkpoint is the only place the opening balance of 100.00 can come from
+        jdbcTemplate.update("DELETE FROM transactions WHERE account_id = ?", touched);
+        UUID bad = ledger(touched, null, "WITHDRAWAL", "20.00", "90.00", null, DAY.plusDays(2));
+        jdbcTemplate.update("UPDATE accounts SET balance = 90.00, updated_at = ? WHERE id = ?", DAY.plusDays(2), touched);
+        jdbcTemplate.update("UPDATE accounts SET balance = 999.00 WHERE id = ?", untouched);
+
+        ReconciliationReport report = reconciliation.run(ReconciliationMode.INCREMENTAL);
+
+        assertEquals("INCREMENTAL", report.getMode());
+        assertEquals(DAY.plusDays(1), report.getWindowStart());
+        assertEquals(1, report.getAccounts());
+        assertEquals(1, report.getDiscrepancies());
+        assertEquals(1, count("SELECT COUNT(*) FROM reconciliation_discrepancies WHERE kind = 'CHAIN_BREAK' "
+                + "AND transaction_id = '" + bad + "' AND expected = 80.00"));
+    }
+
+    @Test
+    @DisplayName("Full - row rewritten after it was hashed reported as a hash mismatch")
+    void run_ShouldReportHashMismatch_WhenRowRewritten() {
+        UUID a = account("150.00", DAY);
+        sealed(a, "DEPOSIT", "100.00", "100.00", DAY);
+        UUID rewritten = sealed(a, "DEPOSIT", "50.00", "150.00", DAY.plusHours(1));
+        jdbcTemplate.update("UPDATE transactions SET amount = 60.00, balance_after = 160.00 WHERE id = ?", rewritten);
+        jdbcTemplate.update("UPDATE accounts SET balance = 160.00 WHERE id = ?", a);
+
+        ReconciliationReport report = reconciliation.run(ReconciliationMode.FULL);
+
+        assertEquals(1, report.getDiscrepancies());
+        assertEquals(1, count("SELECT COUNT(*) FROM reconciliation_discrepancies WHERE kind = 'HASH_MISMATCH' "
+                + "AND transaction_id = '" + rewritten + "'"));
+    }
+
+    @Test
+    @DisplayName("Incremental - resumes the hash chain from the checkpointed head")
+    void run_ShouldLinkNewRowsToCheckpointedHead() {
+        UUID a = account("100.00", DAY);
+        sealed(a, "DEPOSIT", "100.00", "100.00", DAY);
+        reconciliation.run(ReconciliationMode.FULL);
+        jdbcTemplate.update("UPDATE reconciliation_runs SET cutoff = ?", DAY.plusDays(1));
+        assertEquals(1, count("SELECT COUNT(*) FROM reconciliation_checkpoints c JOIN accounts a "
+                + "ON a.id = c.account_id WHERE c.ledger_hash = a.ledger_hash"));
+
+        sealed(a, "WITHDRAWAL", "30.00", "70.00", DAY.plusDays(2));
+        jdbcTemplate.update("UPDATE accounts SET balance = 70.00, updated_at = ? WHERE id = ?", DAY.plusDays(2), a);
+        ReconciliationReport clean = reconciliation.run(ReconciliationMode.INCREMENTAL);
+        jdbcTemplate.update("UPDATE reconciliation_checkpoints SET ledger_hash = ?", (Object) new byte[32]);
+        jdbcTemplate.update("UPDATE reconciliation_runs SET cutoff = ?", DAY.plusDays(1));
+        ReconciliationReport broken = reconciliation.run(ReconciliationMode.INCREMENTAL);
+
+        assertEquals("INCREMENTAL", clean.getMode());
+        assertEquals(0, clean.getDiscrepancies());
+        assertEquals(1, broken.getDiscrepancies());
+        assertEquals(1L, broken.getDiscrepanciesByKind().get("HASH_LINK_BROKEN"));
+    }
+
+    private UUID account(String balance, LocalDateTime updatedAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO accounts (id, balance, status, updated_at) VALUES (?, ?, 'ACTIVE', ?)",
+                id, new BigDecimal(balance), updatedAt);
+        return id;
+    }
+
+    private UUID ledger(UUID accountId, UUID targetId, String type, String amount, String balanceAfter,
+                        String description, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, account_id, target_account_id, type, amount, "
+                        + "balance_after, description, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, accountId, targetId, type, new BigDecimal(amount), new BigDecimal(balanceAfter), description,
+                createdAt);
+        return id;
+    }
+
+    /** A ledger row chained to the account's head, as LedgerChain.append would write it. */
+    private UUID sealed(UUID accountId, String type, String amount, String balanceAfter, LocalDateTime createdAt) {
+        byte[] prevHash = jdbcTemplate.queryForObject("SELECT ledger_hash FROM accounts WHERE id = ?", byte[].class,
+                accountId);
+        byte[] hash = LedgerChain.hash(prevHash, accountId, null, TransactionType.valueOf(type), new BigDecimal(amount),
+                new BigDecimal(balanceAfter), null, createdAt);
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transactions (id, account_id, type, amount, balance_after, created_at, "
+                        + "prev_hash, hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                id, accountId, type, new BigDecimal(amount), new BigDecimal(balanceAfter), createdAt, prevHash, hash);
+        jdbcTemplate.update("UPDATE accounts SET ledger_hash = ? WHERE id = ?", hash, accountId);
+        return id;
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
@@ -0,0 +1,63 @@
+package com.securebank.transaction.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegPairingTest {
+
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final BigDecimal amount = new BigDecimal("25.00");
+
+    @Test
+    @DisplayName("Pairing - both legs of transfers either way cancel out")
+    void unbalancedBuckets_ShouldBeEmpty_WhenLegsPaired() {
+        LegPairing pairing = new LegPairing(8);
+        pairing.add(LegPairing.Leg.of(a, b, amount, false));
+        pairing.add(LegPairing.Leg.of(b, a, amount, false));
+        pairing.add(LegPairing.Leg.of(b, a, amount, false));
+        pairing.add(LegPairing.Leg.of(a, b, amount, false));
+
+        assertTrue(pairing.unbalancedBuckets().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Pairing - a leg without its counter-leg leaves its bucket unbalanced")
+    void unbalancedBuckets_ShouldFlagBucket_WhenLegMissing() {
+        LegPairing pairing = new LegPairing(8);
+        LegPairing.Leg leg = LegPairing.Leg.of(a, b, amount, false);
+        pairing.add(leg);
+        pairing.add(LegPairing.Leg.of(a, b, new BigDecimal("10.00"), false));
+        pairing.add(LegPairing.Leg.of(b, a, new BigDecimal("10.00"), false));
+
+        assertEquals(List.of(pairing.bucket(leg.hash())), pairing.unbalancedBuckets());
+    }
+
+    @Test
+    @DisplayName("Pairing - a reversal cancels the debit on the same account")
+    void unbalancedBuckets_ShouldBeEmpty_WhenDebitReversed() {
+        LegPairing pairing = new LegPairing(8);
+        pairing.add(LegPairing.Leg.of(a, b, amount, false));
+        pairing.add(LegPairing.Leg.of(a, b, amount, true));
+
+        assertTrue(pairing.unbalancedBuckets().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Leg - both legs of a transfer are the same leg")
+    void of_ShouldMatchCounterLeg() {
+        LegPairing.Leg debit = LegPairing.Leg.of(a, b, amount, false);
+        LegPairing.Leg credit = LegPairing.Leg.of(b, a, amount, false);
+
+        assertEquals(debit, credit);
+        assertEquals(debit.hash(), credit.hash());
+        assertEquals(-debit.count(), credit.count());
+        assertNotEquals(debit, LegPairing.Leg.of(a, b, new BigDecimal("25.01"), false));
+    }
+}
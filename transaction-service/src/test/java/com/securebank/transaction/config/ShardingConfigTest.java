@@ -0,0 +1,25 @@
+package com.securebank.transaction.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardingConfigTest {
+
+    @Test
+    @DisplayName("Startup - sharding with read replicas rejected")
+    void startup_ShouldFail_WhenReplicasAlsoEnabled() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(ShardingConfig.class)
+                .withPropertyValues("sharding.enabled=true", "replica.enabled=true")
+                .run(context -> {
+                    Throwable failure = context.getStartupFailure();
+                    assertInstanceOf(BeanCreationException.class, failure);
+                    assertInstanceOf(IllegalStateException.class, NestedExceptionUtils.getMostSpecificCause(failure));
+                });
+    }
+}
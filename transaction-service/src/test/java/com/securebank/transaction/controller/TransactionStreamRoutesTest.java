@@ -0,0 +1,144 @@
+package com.securebank.transaction.controller;
+
+import com.securebank.common.security.JwtUtil;
+import com.securebank.transaction.dto.TransactionResponse;
+import com.securebank.transaction.repository.TransactionStreamRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionStreamRoutesTest {
+
+    private static final String SECRET = "TestSecretKeyForJwtTokensThatIsLongEnoughForHMACSHA256";
+
+    private WebTestClient client;
+    private DatabaseClient databaseClient;
+    private UUID accountId;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = shardDatabase();
+
+        accountId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        Flux.range(0, 5)
+                .concatMap(i -> databaseClient.sql("INSERT INTO transactions (id, account_id, type, amount, "
+                                + "balance_after, description, created_at) VALUES (:id, :accountId, 'DEPOSIT', "
+                                + ":amount, :amount, 'seed', :createdAt)")
+                        .bind("id", UUID.randomUUID())
+                        .bind("accountId", accountId)
+                        .bind("amount", BigDecimal.valueOf(i + 1))
+                        .bind("createdAt", start.plusMinutes(i))
+                        .then())
+                .blockLast();
+
+        JwtUtil jwtUtil = new JwtUtil(SECRET);
+        token = jwtUtil.generateToken(UUID.randomUUID(), "stream@securebank.com", "CUSTOMER");
+        TransactionStreamRoutes routes =
+                new TransactionStreamRoutes(new TransactionStreamRepository(databaseClient, 2), jwtUtil, 1000);
+        client = WebTestClient.bindToRouterFunction(routes.routes()).build();
+    }
+
+    @Test
+    @DisplayName("Stream history - NDJSON rows newest first")
+    void history_ShouldStreamNdjsonNewestFirst() {
+        List<TransactionResponse> rows = client.get()
+                .uri("/api/v1/transactions/stream/account/{accountId}", accountId)
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(TransactionResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertNotNull(rows);
+        assertEquals(5, rows.size());
+        assertEquals(0, new BigDecimal("5.00").compareTo(rows.get(0).getAmount()));
+        assertEquals("DEPOSIT", rows.get(0).getType());
+        assertEquals(accountId, rows.get(4).getAccountId());
+    }
+
+    @Test
+    @DisplayName("Stream history - limit caps the rows")
+    void history_ShouldHonourLimit() {
+        client.get()
+                .uri("/api/v1/transactions/stream/account/{accountId}?limit=2", accountId)
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(TransactionResponse.class).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Stream history - server-sent events when requested")
+    void history_ShouldStreamServerSentEvents() {
+        client.get()
+                .uri("/api/v1/transactions/stream/account/{accountId}", accountId)
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM);
+    }
+
+    @Test
+    @DisplayName("Stream history - missing token rejected")
+    void history_ShouldReturn401_WhenTokenMissing() {
+        client.get()
+                .uri("/api/v1/transactions/stream/account/{accountId}", accountId)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Stream history - malformed account id rejected")
+    void history_ShouldReturn400_WhenAccountIdInvalid() {
+        client.get()
+                .uri("/api/v1/transactions/stream/account/not-a-uuid")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("Stream history - read from the shard that owns the account")
+    void history_ShouldReadFromOwningShard() {
+        DatabaseClient otherShard = shardDatabase();
+        UUID otherAccountId = UUID.randomUUID();
+        TransactionStreamRepository repository = new TransactionStreamRepository(
+                id -> id.equals(accountId) ? databaseClient : otherShard, 2);
+
+        assertEquals(5, repository.streamByAccountId(accountId, 100).count().block());
+        assertEquals(0, repository.streamByAccountId(otherAccountId, 100).count().block());
+    }
+
+    private static DatabaseClient shardDatabase() {
+        ConnectionFactory connectionFactory =
+                ConnectionFactories.get("r2dbc:h2:mem:///stream-" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1");
+        DatabaseClient shard = DatabaseClient.create(connectionFactory);
+        shard.sql("CREATE TABLE transactions (id UUID PRIMARY KEY, account_id UUID NOT NULL, "
+                        + "target_account_id UUID, type VARCHAR(20) NOT NULL, amount DECIMAL(15,2) NOT NULL, "
+                        + "balance_after DECIMAL(15,2), description VARCHAR(500), created_at TIMESTAMP NOT NULL)")
+                .then()
+                .block();
+        return shard;
+    }
+}
@@ -0,0 +1,76 @@
+package com.securebank.transaction.jfr;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordingAnalyzerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Analyzer - transfer time attributed to lock, ledger and commit phases")
+    void analyze_ShouldAttributePhasesToTransfer() throws Exception {
+        UUID from = UUID.randomUUID();
+        UUID to = UUID.randomUUID();
+        Path file = tempDir.resolve("txn.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(TransferEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(LockAcquireEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(LedgerInsertEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(CommitEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            TransferEvent transfer = new TransferEvent();
+            transfer.begin();
+            LockAcquireEvent lock = new LockAcquireEvent();
+            lock.begin();
+            Thread.sleep(30);
+            lock.complete(from, true);
+            LedgerInsertEvent ledger = new LedgerInsertEvent();
+            ledger.begin();
+            Thread.sleep(5);
+            ledger.complete(from, 2);
+            transfer.complete(from, to, new BigDecimal("25.00"), true);
+
+            CommitEvent commit = new CommitEvent();
+            commit.begin();
+            Thread.sleep(10);
+            commit.complete("TransactionService.transfer", true);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        RecordingAnalyzer.Summary summary = RecordingAnalyzer.analyze(file);
+
+        assertEquals(1, summary.count(TransferEvent.NAME));
+        assertEquals(1, summary.count(LockAcquireEvent.NAME));
+        assertEquals(1, summary.transfers().size());
+        RecordingAnalyzer.TransferBreakdown breakdown = summary.transfers().get(0);
+        assertTrue(breakdown.lock().toMillis() >= 30);
+        assertTrue(breakdown.ledger().toMillis() >= 5);
+        assertTrue(breakdown.commit().toMillis() >= 10);
+        assertTrue(breakdown.total().compareTo(breakdown.lock().plus(breakdown.commit())) >= 0);
+    }
+
+    @Test
+    @DisplayName("Account hash - stable per account and distinct between accounts")
+    void accountHash_ShouldBeStableAndDistinct() {
+        UUID accountId = UUID.randomUUID();
+
+        assertEquals(AccountHash.of(accountId), AccountHash.of(accountId));
+        assertNotEquals(AccountHash.of(accountId), AccountHash.of(UUID.randomUUID()));
+        assertNotEquals(accountId.getMostSignificantBits(), AccountHash.of(accountId));
+    }
+}
@@ -0,0 +1,182 @@
+package com.securebank.transaction.schedule;
+
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.ScheduledTransfer;
+import com.securebank.transaction.entity.ScheduledTransferStatus;
+import com.securebank.transaction.entity.TransferFrequency;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.repository.ScheduledTransferRepository;
+import com.securebank.transaction.service.AccountStatusDirectory;
+import com.securebank.transaction.service.ScheduledTransferService;
+import com.securebank.transaction.service.ScheduledTransferService.Outcome;
+import com.securebank.transaction.service.TransactionService;
+import com.securebank.transaction.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two runners over one database, as two instances would be. Executions are slowed down
+ * so draining them takes several claim leases.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ScheduledTransferRunnerTest {
+
+    private static final int SCHEDULES = 40;
+    private static final long LEASE_MILLIS = 300;
+    private static final long EXECUTE_MILLIS = 25;
+
+    @Autowired
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountStatusDirectory accountStatusDirectory;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<UUID, List<Outcome>> outcomes = new ConcurrentHashMap<>();
+    private final List<ScheduledTransferRunner> runners = new ArrayList<>();
+    private ScheduledExecutorService scheduler;
+    private ScheduledTransferService service;
+    private Account source;
+    private Account target;
+    private List<UUID> scheduleIds;
+
+    @BeforeEach
+    void setUp() {
+        source = account(new BigDecimal("10000.00"));
+        target = account(BigDecimal.ZERO);
+        accountRepository.saveAll(List.of(source, target));
+
+        LocalDateTime due = LocalDateTime.now().plusSeconds(1).truncatedTo(ChronoUnit.MILLIS);
+        List<ScheduledTransfer> schedules = new ArrayList<>();
+        for (int i = 0; i < SCHEDULES; i++) {
+            schedules.add(new ScheduledTransfer(source.getId(), target.getId(), BigDecimal.TEN, "Standing order " + i,
+                    TransferFrequency.ONCE, due, null));
+        }
+        scheduleIds = scheduledTransferRepository.saveAll(schedules).stream().map(ScheduledTransfer::getId).toList();
+
+        service = new ScheduledTransferService(scheduledTransferRepository, accountRepository, transactionService,
+                accountStatusDirectory, shardRouter, transactionManager, 3) {
+            @Override
+            public Outcome execute(UUID id, UUID fromAccountId, UUID toAccountId, LocalDateTime runAt) {
+                try {
+                    Thread.sleep(EXECUTE_MILLIS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                Outcome outcome = super.execute(id, fromAccountId, toAccountId, runAt);
+                outcomes.computeIfAbsent(id, key -> new CopyOnWriteArrayList<>()).add(outcome);
+                return outcome;
+            }
+        };
+        scheduler = Executors.newScheduledThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        runners.stream().filter(ScheduledTransferRunner::isRunning).forEach(ScheduledTransferRunner::stop);
+    }
+
+    @Test
+    @DisplayName("Scheduled runner - queued claims are renewed, so a second instance never runs them again")
+    void renew_ShouldKeepQueuedExecutions_WhenDrainOutlastsLease() throws Exception {
+        ScheduledTransferRunner first = runner();
+        ScheduledTransferRunner second = runner();
+        first.load();
+        drive(first);
+        drive(second);
+
+        awaitCompleted();
+
+        for (UUID id : scheduleIds) {
+            assertEquals(List.of(Outcome.EXECUTED), outcomes.get(id), "execution of " + id);
+        }
+        assertEquals(0, new BigDecimal("400.00").compareTo(
+                accountRepository.findById(target.getId()).orElseThrow().getBalance()));
+    }
+
+    @Test
+    @DisplayName("Scheduled runner - claims of a stopped instance run out and are executed once elsewhere")
+    void load_ShouldTakeOverExecutions_WhenOwnerStopsRenewing() throws Exception {
+        ScheduledTransferRunner first = runner();
+        first.load();
+        first.stop();
+        ScheduledTransferRunner second = runner();
+        drive(second);
+
+        awaitCompleted();
+
+        for (UUID id : scheduleIds) {
+            assertEquals(List.of(Outcome.EXECUTED), outcomes.get(id), "execution of " + id);
+        }
+    }
+
+    /** Stands in for the {@code @Scheduled} load and renew calls of one instance. */
+    private void drive(ScheduledTransferRunner runner) {
+        scheduler.scheduleWithFixedDelay(runner::load, 0, 50, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(runner::renew, LEASE_MILLIS / 3, LEASE_MILLIS / 3, TimeUnit.MILLISECONDS);
+    }
+
+    private ScheduledTransferRunner runner() {
+        ScheduledTransferRunner runner = new ScheduledTransferRunner(service, shardRouter, new SimpleMeterRegistry(),
+                "transaction-service-test", 10, 64, 60_000, LEASE_MILLIS, 1000, 1000, 1, 1);
+        runner.start();
+        runners.add(runner);
+        return runner;
+    }
+
+    private void awaitCompleted() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (System.currentTimeMillis() < deadline) {
+            long completed = scheduledTransferRepository.findAllById(scheduleIds).stream()
+                    .filter(schedule -> schedule.getStatus() == ScheduledTransferStatus.COMPLETED)
+                    .count();
+            if (completed == SCHEDULES) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+        fail("Scheduled transfers not completed in time");
+    }
+
+    private static Account account(BigDecimal balance) {
+        Account account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setAccountNumber("SB" + UUID.randomUUID().toString().substring(0, 10));
+        account.setUserId(UUID.randomUUID());
+        account.setBalance(balance);
+        return account;
+    }
+}
@@ -0,0 +1,76 @@
+package com.securebank.transaction.schedule;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Timing wheel - entry fires on its tick, never before")
+    void advance_ShouldFireEntry_WhenDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        List<String> fired = new ArrayList<>();
+        assertTrue(wheel.add("a", 250));
+
+        wheel.advance(200, fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(300, fired::add);
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Timing wheel - entry beyond one rotation cascades down and fires")
+    void advance_ShouldCascadeFromOverflowWheel() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 0);
+        List<String> fired = new ArrayList<>();
+        assertTrue(wheel.add("far", 5_050));
+        assertEquals(1, wheel.size());
+
+        wheel.advance(5_000, fired::add);
+        assertTrue(fired.isEmpty());
+
+        wheel.advance(5_100, fired::add);
+        assertEquals(List.of("far"), fired);
+    }
+
+    @Test
+    @DisplayName("Timing wheel - entry already due is refused")
+    void add_ShouldReturnFalse_WhenAlreadyDue() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 8, 1_000);
+
+        assertFalse(wheel.add("late", 900));
+        assertFalse(wheel.add("now", 1_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Timing wheel - many entries fire in due order")
+    void advance_ShouldFireAllEntriesInOrder() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 16, 0);
+        for (long due = 20_000; due > 0; due -= 7) {
+            assertTrue(wheel.add(due, due));
+        }
+        List<Long> fired = new ArrayList<>();
+
+        for (long now = 0; now <= 20_020; now += 35) {
+            long tick = now;
+            wheel.advance(now, due -> {
+                assertTrue(due <= tick);
+                fired.add(due);
+            });
+        }
+
+        assertEquals(0, wheel.size());
+        assertEquals(2_858, fired.size());
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(Math.ceilDiv(fired.get(i - 1), 10) <= Math.ceilDiv(fired.get(i), 10));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.dto.AccountStatusChange;
+import com.securebank.common.exception.AccountFrozenException;
+import com.securebank.common.exception.ResourceNotFoundException;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AccountStatusDirectoryTest {
+
+    private AccountRepository accountRepository;
+    private AccountStatusDirectory directory;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        accountRepository = mock(AccountRepository.class);
+        directory = new AccountStatusDirectory(accountRepository, new ShardRouter(false, null),
+                mock(PlatformTransactionManager.class), 1000, 0.01);
+        accountId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Require active - unknown accounts pass until first resync")
+    void requireActive_ShouldPass_WhenNotReady() {
+        assertFalse(directory.isReady());
+        assertDoesNotThrow(() -> directory.requireActive(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("Require active - account in neither filter nor local table rejected after resync")
+    void requireActive_ShouldThrowNotFound_WhenUnknownAfterResync() {
+        AccountStatusDirectory.Resync resync = directory.beginResync();
+        resync.apply(change("ACTIVE", 0));
+        resync.complete();
+
+        assertDoesNotThrow(() -> directory.requireActive(accountId));
+        assertThrows(ResourceNotFoundException.class, () -> directory.requireActive(UUID.randomUUID()));
+        verify(accountRepository, never()).existsById(accountId);
+    }
+
+    @Test
+    @DisplayName("Require active - account opened since the resync found in the local table")
+    void requireActive_ShouldFallBackToLocalRow_WhenMissingFromFilter() {
+        directory.beginResync().complete();
+        UUID opened = UUID.randomUUID();
+        when(accountRepository.existsById(opened)).thenReturn(true);
+
+        assertDoesNotThrow(() -> directory.requireActive(opened));
+        assertDoesNotThrow(() -> directory.requireActive(opened));
+
+        verify(accountRepository, times(1)).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Apply - frozen account rejected, unfrozen account passes")
+    void apply_ShouldTrackFreezeAndUnfreeze() {
+        directory.apply(change("FROZEN", 1));
+        assertThrows(AccountFrozenException.class, () -> directory.requireActive(accountId));
+
+        directory.apply(change("ACTIVE", 2));
+        assertDoesNotThrow(() -> directory.requireActive(accountId));
+        assertEquals(0, directory.frozenCount());
+    }
+
+    @Test
+    @DisplayName("Apply - stale version is ignored")
+    void apply_ShouldIgnoreOlderVersion() {
+        directory.apply(change("ACTIVE", 2));
+        directory.apply(change("FROZEN", 1));
+
+        assertDoesNotThrow(() -> directory.requireActive(accountId));
+    }
+
+    @Test
+    @DisplayName("Known accounts filter - no false negatives")
+    void knownAccountsFilter_ShouldContainEveryAddedId() {
+        KnownAccountsFilter filter = new KnownAccountsFilter(10_000, 0.01);
+        UUID[] ids = new UUID[10_000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = UUID.randomUUID();
+            filter.add(ids[i]);
+        }
+
+        for (UUID id : ids) {
+            assertTrue(filter.mightContain(id));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+
+    private AccountStatusChange change(String status, long version) {
+        return new AccountStatusChange(accountId, UUID.randomUUID(), "SB0000000018", status, version,
+                LocalDateTime.now());
+    }
+}
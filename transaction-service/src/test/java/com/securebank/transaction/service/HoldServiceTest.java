@@ -0,0 +1,212 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.exception.AccountFrozenException;
+import com.securebank.common.exception.BadRequestException;
+import com.securebank.common.exception.InsufficientBalanceException;
+import com.securebank.common.metrics.BankingMetrics;
+import com.securebank.transaction.dto.AuthorizeHoldRequest;
+import com.securebank.transaction.dto.CaptureHoldRequest;
+import com.securebank.transaction.dto.HoldResponse;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.Hold;
+import com.securebank.transaction.entity.HoldStatus;
+import com.securebank.transaction.entity.Transaction;
+import com.securebank.transaction.entity.TransactionType;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.repository.HoldRepository;
+import com.securebank.transaction.repository.TransactionRepository;
+import com.securebank.transaction.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceTest {
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountStatusDirectory accountStatusDirectory;
+
+    @Mock
+    private BankingMetrics bankingMetrics;
+
+    @Mock
+    private HotAccountTracker hotAccountTracker;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HoldService holdService;
+    private Account account;
+    private UUID accountId;
+
+    @BeforeEach
+    void setUp() {
+        holdService = new HoldService(holdRepository, accountRepository, transactionRepository,
+                accountStatusDirectory, bankingMetrics, hotAccountTracker, new ShardRouter(false, null),
+                transactionManager, 3600, 86400, 500);
+
+        accountId = UUID.randomUUID();
+        account = new Account();
+        account.setId(accountId);
+        account.setAccountNumber("SB0000000001");
+        account.setBalance(new BigDecimal("100.00"));
+        account.setStatus("ACTIVE");
+        account.setUserId(UUID.randomUUID());
+    }
+
+    @Test
+    @DisplayName("Authorize - funds held with a single conditional update")
+    void authorize_ShouldHoldFunds() {
+        when(accountRepository.reserveFunds(accountId, new BigDecimal("40.00"))).thenReturn(1);
+        when(holdRepository.save(any(Hold.class))).thenAnswer(invocation -> {
+            Hold hold = invocation.getArgument(0);
+            hold.setId(UUID.randomUUID());
+            return hold;
+        });
+
+        HoldResponse response = holdService.authorize(
+                new AuthorizeHoldRequest(accountId, new BigDecimal("40.00"), "Hotel", null));
+
+        assertEquals("AUTHORIZED", response.getStatus());
+        assertEquals("Hotel", response.getDescription());
+        assertTrue(response.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(59)));
+        verify(accountRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    @DisplayName("Authorize - held funds are not available again")
+    void authorize_ShouldThrowInsufficientBalance_WhenAvailableTooLow() {
+        account.setHeldBalance(new BigDecimal("80.00"));
+        when(accountRepository.reserveFunds(accountId, new BigDecimal("40.00"))).thenReturn(0);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+
+        InsufficientBalanceException ex = assertThrows(InsufficientBalanceException.class, () -> holdService.authorize(
+                new AuthorizeHoldRequest(accountId, new BigDecimal("40.00"), null, null)));
+        assertTrue(ex.getMessage().contains("Available: 20.00"));
+        verify(holdRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Authorize - frozen account rejected")
+    void authorize_ShouldThrowFrozen_WhenAccountFrozen() {
+        account.setStatus("FROZEN");
+        when(accountRepository.reserveFunds(accountId, BigDecimal.TEN)).thenReturn(0);
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+
+        assertThrows(AccountFrozenException.class, () -> holdService.authorize(
+                new AuthorizeHoldRequest(accountId, BigDecimal.TEN, null, null)));
+    }
+
+    @Test
+    @DisplayName("Capture - batch locks each account once and settles every hold")
+    void captureAll_ShouldSettleHoldsWithOneLockPerAccount() {
+        account.setHeldBalance(new BigDecimal("70.00"));
+        Hold first = hold(new BigDecimal("40.00"));
+        Hold second = hold(new BigDecimal("30.00"));
+        when(holdRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(first, second));
+        when(accountRepository.findByIdWithLock(accountId)).thenReturn(Optional.of(account));
+
+        List<HoldResponse> responses = holdService.captureAll(List.of(
+                new CaptureHoldRequest(first.getId(), new BigDecimal("25.00")),
+                new CaptureHoldRequest(second.getId(), null)));
+
+        assertEquals(2, responses.size());
+        assertEquals(new BigDecimal("25.00"), responses.get(0).getCapturedAmount());
+        assertEquals(new BigDecimal("30.00"), responses.get(1).getCapturedAmount());
+        assertEquals(new BigDecimal("45.00"), account.getBalance());
+        assertEquals(new BigDecimal("0.00"), account.getHeldBalance());
+        assertEquals(1, account.getBalanceVersion());
+        verify(accountRepository, times(1)).findByIdWithLock(accountId);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> ledger = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(ledger.capture());
+        assertEquals(2, ledger.getValue().size());
+        assertEquals(TransactionType.CAPTURE, ledger.getValue().get(0).getType());
+        assertEquals(new BigDecimal("45.00"), ledger.getValue().get(1).getBalanceAfter());
+        assertEquals(HoldStatus.CAPTURED, first.getStatus());
+    }
+
+    @Test
+    @DisplayName("Capture - more than the hold rejected")
+    void capture_ShouldThrow_WhenAmountExceedsHold() {
+        Hold hold = hold(new BigDecimal("40.00"));
+        when(holdRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(hold));
+
+        assertThrows(BadRequestException.class, () -> holdService.capture(hold.getId(), new BigDecimal("40.01")));
+        verify(accountRepository, never()).findByIdWithLock(any());
+    }
+
+    @Test
+    @DisplayName("Capture - hold already captured rejected")
+    void capture_ShouldThrow_WhenHoldNotAuthorized() {
+        Hold hold = hold(new BigDecimal("40.00"));
+        hold.setStatus(HoldStatus.CAPTURED);
+        when(holdRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(hold));
+
+        assertThrows(BadRequestException.class, () -> holdService.capture(hold.getId(), null));
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Void - held funds released")
+    void voidHold_ShouldReleaseFunds() {
+        Hold hold = hold(new BigDecimal("40.00"));
+        when(holdRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(hold));
+
+        HoldResponse response = holdService.voidHold(hold.getId());
+
+        assertEquals("VOIDED", response.getStatus());
+        verify(accountRepository).releaseFunds(accountId, new BigDecimal("40.00"));
+        verify(transactionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Expirer - stale holds released with one update per account")
+    void expireHolds_ShouldReleaseFundsPerAccount() {
+        UUID otherAccountId = UUID.randomUUID();
+        Hold first = hold(new BigDecimal("10.00"));
+        Hold second = hold(new BigDecimal("15.00"));
+        Hold other = hold(new BigDecimal("5.00"));
+        other.setAccountId(otherAccountId);
+        when(holdRepository.findExpiredForUpdate(eq(HoldStatus.AUTHORIZED), any(), any()))
+                .thenReturn(List.of(first, second, other));
+
+        holdService.expireHolds();
+
+        verify(accountRepository).releaseFunds(accountId, new BigDecimal("25.00"));
+        verify(accountRepository).releaseFunds(otherAccountId, new BigDecimal("5.00"));
+        assertEquals(HoldStatus.EXPIRED, first.getStatus());
+        assertEquals(HoldStatus.EXPIRED, other.getStatus());
+    }
+
+    private Hold hold(BigDecimal amount) {
+        Hold hold = new Hold(accountId, amount, "Hotel", LocalDateTime.now().plusHours(1));
+        hold.setId(UUID.randomUUID());
+        return hold;
+    }
+}
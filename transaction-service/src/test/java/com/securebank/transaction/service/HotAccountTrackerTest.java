@@ -0,0 +1,91 @@
+package com.securebank.transaction.service;
+
+import com.securebank.transaction.dto.HotAccountResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotAccountTrackerTest {
+
+    private static final long BUCKET_MILLIS = 10_000;
+
+    @Test
+    @DisplayName("Heavy hitters - hot accounts found among uniform background traffic")
+    void top_ShouldFindHeavyHitters() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(512, 4, 64, BUCKET_MILLIS, 6);
+        Random random = new Random(42);
+        UUID hot = new UUID(random.nextLong(), random.nextLong());
+        UUID warm = new UUID(random.nextLong(), random.nextLong());
+        UUID[] background = new UUID[10_000];
+        for (int i = 0; i < background.length; i++) {
+            background[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+
+        for (int i = 0; i < 50_000; i++) {
+            long now = i;
+            sketch.add(background[random.nextInt(background.length)], 1, now);
+            if (i % 10 == 0) {
+                sketch.add(hot, 1, now);
+            }
+            if (i % 25 == 0) {
+                sketch.add(warm, 1, now);
+            }
+        }
+
+        List<Map.Entry<UUID, Long>> top = sketch.top(2, 6, 50_000);
+        assertEquals(hot, top.get(0).getKey());
+        assertEquals(warm, top.get(1).getKey());
+        assertTrue(top.get(0).getValue() >= 5_000);
+        assertTrue(top.get(0).getValue() < 5_000 + 50_000 * 3 / 512);
+    }
+
+    @Test
+    @DisplayName("Heavy hitters - counts expire as the window slides")
+    void top_ShouldForgetOldBuckets() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(256, 4, 16, BUCKET_MILLIS, 6);
+        UUID early = UUID.randomUUID();
+        UUID late = UUID.randomUUID();
+
+        for (int i = 0; i < 100; i++) {
+            sketch.add(early, 1, 0);
+        }
+        for (int i = 0; i < 10; i++) {
+            sketch.add(late, 1, 3 * BUCKET_MILLIS);
+        }
+
+        assertEquals(100, sketch.estimate(early, 6, 3 * BUCKET_MILLIS));
+        assertEquals(0, sketch.estimate(early, 2, 3 * BUCKET_MILLIS));
+        assertEquals(late, sketch.top(1, 6, 7 * BUCKET_MILLIS).get(0).getKey());
+        assertTrue(sketch.top(5, 6, 20 * BUCKET_MILLIS).stream().allMatch(e -> e.getValue() == 0));
+    }
+
+    @Test
+    @DisplayName("Hot account tracker - lock wait ranked separately from mutation rate")
+    void tracker_ShouldRankByLockWait() {
+        HotAccountTracker tracker = new HotAccountTracker(new SimpleMeterRegistry(), 512, 4, 64, 10, 6, 60, 50);
+        UUID busy = UUID.randomUUID();
+        UUID contended = UUID.randomUUID();
+
+        for (int i = 0; i < 100; i++) {
+            tracker.recordMutation(busy);
+            tracker.recordLockWait(busy, 1_000);
+        }
+        tracker.recordMutation(contended);
+        tracker.recordLockWait(contended, 500_000_000);
+
+        List<HotAccountResponse> byMutations = tracker.topByMutations(1, 60);
+        List<HotAccountResponse> byLockWait = tracker.topByLockWait(1, 60);
+        assertEquals(busy, byMutations.get(0).getAccountId());
+        assertEquals(contended, byLockWait.get(0).getAccountId());
+        assertEquals(500.0, byLockWait.get(0).getLockWaitMs(), 1.0);
+        assertTrue(tracker.isHot(busy));
+        assertFalse(tracker.isHot(contended));
+    }
+}
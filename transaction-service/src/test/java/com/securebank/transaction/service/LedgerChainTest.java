@@ -0,0 +1,101 @@
+package com.securebank.transaction.service;
+
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.Transaction;
+import com.securebank.transaction.entity.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerChainTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2025, 3, 14, 9, 0, 0, 123_456_000);
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Hash - same fields give the same hash, any field changed gives another")
+    void hash_ShouldDependOnEveryField() {
+        byte[] prev = hash(null, "DEPOSIT", "100.00", "100.00", "salary", AT);
+
+        assertArrayEquals(hash(prev, "WITHDRAWAL", "10.00", "90.00", "rent", AT),
+                hash(prev, "WITHDRAWAL", "10.00", "90.00", "rent", AT));
+        assertArrayEquals(hash(prev, "WITHDRAWAL", "10.00", "90.00", "rent", AT),
+                hash(prev, "WITHDRAWAL", "10.0", "90.000", "rent", AT));
+        List<byte[]> variants = List.of(
+                hash(null, "WITHDRAWAL", "10.00", "90.00", "rent", AT),
+                hash(prev, "FEE", "10.00", "90.00", "rent", AT),
+                hash(prev, "WITHDRAWAL", "10.01", "90.00", "rent", AT),
+                hash(prev, "WITHDRAWAL", "10.00", "90.01", "rent", AT),
+                hash(prev, "WITHDRAWAL", "10.00", "90.00", "rent!", AT),
+                hash(prev, "WITHDRAWAL", "10.00", "90.00", null, AT),
+                hash(prev, "WITHDRAWAL", "10.00", "90.00", "rent", AT.plusNanos(1000)));
+        byte[] original = hash(prev, "WITHDRAWAL", "10.00", "90.00", "rent", AT);
+        for (byte[] variant : variants) {
+            assertFalse(MessageDigest.isEqual(original, variant));
+        }
+    }
+
+    @Test
+    @DisplayName("Append - links the row to the account's head and moves the head")
+    void append_ShouldChainRowsOfAnAccount() {
+        Account account = new Account();
+        account.setId(accountId);
+        Transaction first = transaction(TransactionType.DEPOSIT, "100.00", "100.00");
+        Transaction second = transaction(TransactionType.WITHDRAWAL, "40.00", "60.00");
+
+        LedgerChain.append(account, first);
+        LedgerChain.append(account, second);
+
+        assertNull(first.getPrevHash());
+        assertEquals(32, first.getHash().length);
+        assertArrayEquals(first.getHash(), second.getPrevHash());
+        assertArrayEquals(second.getHash(), account.getLedgerHash());
+        assertEquals(0, second.getCreatedAt().getNano() % 1000);
+        assertArrayEquals(second.getHash(), LedgerChain.hash(first.getHash(), accountId, null,
+                TransactionType.WITHDRAWAL, new BigDecimal("40.00"), new BigDecimal("60.00"), null,
+                second.getCreatedAt()));
+    }
+
+    @Test
+    @DisplayName("Merkle root - order matters, odd leaf moves up, no leaves no root")
+    void merkleRoot_ShouldCombineLeavesPairwise() {
+        byte[] a = hash(null, "DEPOSIT", "1.00", "1.00", null, AT);
+        byte[] b = hash(null, "DEPOSIT", "2.00", "2.00", null, AT);
+        byte[] c = hash(null, "DEPOSIT", "3.00", "3.00", null, AT);
+
+        assertNull(LedgerChain.merkleRoot(List.of()));
+        assertArrayEquals(a, LedgerChain.merkleRoot(List.of(a)));
+        assertFalse(MessageDigest.isEqual(LedgerChain.merkleRoot(List.of(a, b)), LedgerChain.merkleRoot(List.of(b, a))));
+        assertArrayEquals(LedgerChain.merkleRoot(List.of(LedgerChain.merkleRoot(List.of(a, b)), c)),
+                LedgerChain.merkleRoot(List.of(a, b, c)));
+
+        List<byte[]> shuffled = new ArrayList<>(List.of(c, a, b));
+        List<byte[]> other = new ArrayList<>(List.of(b, c, a));
+        LedgerChain.sort(shuffled);
+        LedgerChain.sort(other);
+        assertArrayEquals(LedgerChain.merkleRoot(shuffled), LedgerChain.merkleRoot(other));
+    }
+
+    private byte[] hash(byte[] prev, String type, String amount, String balanceAfter, String description,
+                        LocalDateTime createdAt) {
+        return LedgerChain.hash(prev, accountId, null, TransactionType.valueOf(type), new BigDecimal(amount),
+                new BigDecimal(balanceAfter), description, createdAt);
+    }
+
+    private static Transaction transaction(TransactionType type, String amount, String balanceAfter) {
+        Transaction transaction = new Transaction();
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setBalanceAfter(new BigDecimal(balanceAfter));
+        return transaction;
+    }
+}
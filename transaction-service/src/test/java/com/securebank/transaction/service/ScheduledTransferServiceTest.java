@@ -0,0 +1,169 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.exception.BadRequestException;
+import com.securebank.common.exception.InsufficientBalanceException;
+import com.securebank.transaction.dto.ScheduledTransferRequest;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.entity.ScheduledTransfer;
+import com.securebank.transaction.entity.ScheduledTransferStatus;
+import com.securebank.transaction.entity.TransferFrequency;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.repository.ScheduledTransferRepository;
+import com.securebank.transaction.service.ScheduledTransferService.Outcome;
+import com.securebank.transaction.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransferServiceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 31, 0, 0);
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private AccountStatusDirectory accountStatusDirectory;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ScheduledTransferService scheduledTransferService;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+
+    @BeforeEach
+    void setUp() {
+        scheduledTransferService = new ScheduledTransferService(scheduledTransferRepository, accountRepository,
+                transactionService, accountStatusDirectory, new ShardRouter(false, null), transactionManager, 3);
+        fromAccountId = UUID.randomUUID();
+        toAccountId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Execute - transfer made and monthly schedule moved on")
+    void execute_ShouldTransferAndAdvance_WhenDue() {
+        ScheduledTransfer schedule = schedule(TransferFrequency.MONTHLY);
+        when(scheduledTransferRepository.findForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+
+        Outcome outcome = scheduledTransferService.execute(schedule.getId(), fromAccountId, toAccountId, START);
+
+        assertEquals(Outcome.EXECUTED, outcome);
+        ArgumentCaptor<TransferRequest> request = ArgumentCaptor.forClass(TransferRequest.class);
+        verify(transactionService).transfer(request.capture());
+        assertEquals(new BigDecimal("1000.00"), request.getValue().getAmount());
+        assertEquals(1, schedule.getRunCount());
+        assertEquals(LocalDateTime.of(2025, 2, 28, 0, 0), schedule.getNextRunAt());
+        assertEquals(ScheduledTransferStatus.ACTIVE, schedule.getStatus());
+        assertNull(schedule.getClaimedBy());
+    }
+
+    @Test
+    @DisplayName("Execute - execution already run elsewhere skipped")
+    void execute_ShouldSkip_WhenNextRunMovedOn() {
+        ScheduledTransfer schedule = schedule(TransferFrequency.MONTHLY);
+        schedule.setNextRunAt(START.plusMonths(1));
+        when(scheduledTransferRepository.findForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+
+        Outcome outcome = scheduledTransferService.execute(schedule.getId(), fromAccountId, toAccountId, START);
+
+        assertEquals(Outcome.SKIPPED, outcome);
+        verify(transactionService, never()).transfer(any());
+    }
+
+    @Test
+    @DisplayName("Execute - insufficient funds skips the execution and counts the failure")
+    void execute_ShouldRecordFailure_WhenFundsInsufficient() {
+        ScheduledTransfer schedule = schedule(TransferFrequency.WEEKLY);
+        when(scheduledTransferRepository.findForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(transactionService.transfer(any())).thenThrow(new InsufficientBalanceException("Insufficient balance"));
+
+        Outcome outcome = scheduledTransferService.execute(schedule.getId(), fromAccountId, toAccountId, START);
+
+        assertEquals(Outcome.FAILED, outcome);
+        assertEquals(1, schedule.getFailureCount());
+        assertEquals("Insufficient balance", schedule.getLastError());
+        assertEquals(START.plusWeeks(1), schedule.getNextRunAt());
+        assertEquals(ScheduledTransferStatus.ACTIVE, schedule.getStatus());
+    }
+
+    @Test
+    @DisplayName("Execute - schedule failed after too many refusals in a row")
+    void execute_ShouldFailSchedule_WhenMaxFailuresReached() {
+        ScheduledTransfer schedule = schedule(TransferFrequency.DAILY);
+        schedule.setFailureCount(2);
+        when(scheduledTransferRepository.findForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(transactionService.transfer(any())).thenThrow(new InsufficientBalanceException("Insufficient balance"));
+
+        scheduledTransferService.execute(schedule.getId(), fromAccountId, toAccountId, START);
+
+        assertEquals(ScheduledTransferStatus.FAILED, schedule.getStatus());
+    }
+
+    @Test
+    @DisplayName("Execute - one-off transfer completed after its run")
+    void execute_ShouldComplete_WhenOnce() {
+        ScheduledTransfer schedule = schedule(TransferFrequency.ONCE);
+        when(scheduledTransferRepository.findForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+
+        scheduledTransferService.execute(schedule.getId(), fromAccountId, toAccountId, START);
+
+        assertEquals(ScheduledTransferStatus.COMPLETED, schedule.getStatus());
+        assertEquals(START, schedule.getNextRunAt());
+    }
+
+    @Test
+    @DisplayName("Execute - unexpected error releases the claim for a retry")
+    void execute_ShouldReleaseClaim_WhenTransferErrors() {
+        ScheduledTransfer schedule = schedule(TransferFrequency.MONTHLY);
+        schedule.setClaimedBy("instance-1");
+        schedule.setClaimedUntil(START.plusMinutes(5));
+        when(scheduledTransferRepository.findForUpdate(schedule.getId())).thenReturn(Optional.of(schedule));
+        when(transactionService.transfer(any())).thenThrow(new IllegalStateException("connection reset"));
+
+        Outcome outcome = scheduledTransferService.execute(schedule.getId(), fromAccountId, toAccountId, START);
+
+        assertEquals(Outcome.RETRY, outcome);
+        assertNull(schedule.getClaimedBy());
+        assertEquals(START, schedule.getNextRunAt());
+        assertEquals(0, schedule.getFailureCount());
+    }
+
+    @Test
+    @DisplayName("Create - same source and target rejected")
+    void create_ShouldThrow_WhenSameAccount() {
+        ScheduledTransferRequest request = new ScheduledTransferRequest(fromAccountId, fromAccountId,
+                BigDecimal.TEN, null, TransferFrequency.DAILY, LocalDateTime.now().plusDays(1), null);
+
+        assertThrows(BadRequestException.class, () -> scheduledTransferService.create(request));
+        verify(scheduledTransferRepository, never()).save(any());
+    }
+
+    private ScheduledTransfer schedule(TransferFrequency frequency) {
+        ScheduledTransfer schedule = new ScheduledTransfer(fromAccountId, toAccountId, new BigDecimal("1000.00"),
+                "Rent", frequency, START, null);
+        schedule.setId(UUID.randomUUID());
+        return schedule;
+    }
+}
@@ -0,0 +1,79 @@
+package com.securebank.transaction.service;
+
+import com.securebank.common.jdbc.StatementStats;
+import com.securebank.common.jdbc.StatementTracker;
+import com.securebank.transaction.dto.DepositRequest;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class TransactionServiceStatementCountTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private Account source;
+    private Account target;
+
+    @BeforeEach
+    void setUp() {
+        source = account(new BigDecimal("500.00"));
+        target = account(new BigDecimal("100.00"));
+        accountRepository.saveAll(List.of(source, target));
+    }
+
+    @Test
+    @DisplayName("Statement count - deposit locks, updates and inserts once")
+    void deposit_ShouldIssueThreeStatements() {
+        StatementStats stats = StatementTracker.measure(() ->
+                transactionService.deposit(new DepositRequest(source.getId(), BigDecimal.TEN, "test")));
+
+        assertEquals(1, stats.queries());
+        assertEquals(2, stats.updates());
+        stats.assertStatements(3);
+    }
+
+    @Test
+    @DisplayName("Statement count - transfer issues two lock selects, two updates and two inserts")
+    void transfer_ShouldIssueSixStatements() {
+        StatementStats stats = StatementTracker.measure(() -> transactionService.transfer(
+                new TransferRequest(source.getId(), target.getId(), BigDecimal.TEN, "test")));
+
+        assertEquals(2, stats.queries());
+        assertEquals(4, stats.updates());
+        stats.assertStatements(6);
+    }
+
+    @Test
+    @DisplayName("Statement count - assertion reports actual counts on mismatch")
+    void assertStatements_ShouldFail_WhenCountDiffers() {
+        AssertionError error = assertThrows(AssertionError.class, () -> StatementTracker.assertStatements(1, () ->
+                transactionService.deposit(new DepositRequest(source.getId(), BigDecimal.ONE, "test"))));
+
+        assertTrue(error.getMessage().contains("statements=3"));
+    }
+
+    private static Account account(BigDecimal balance) {
+        Account account = new Account();
+        account.setId(UUID.randomUUID());
+        account.setAccountNumber("SB" + UUID.randomUUID().toString().substring(0, 10));
+        account.setUserId(UUID.randomUUID());
+        account.setBalance(balance);
+        return account;
+    }
+}
@@ -1,22 +1,28 @@
 package com.securebank.transaction.service;
 
+import com.securebank.common.dto.AccountBalanceChange;
 import com.securebank.common.exception.AccountFrozenException;
 import com.securebank.common.exception.BadRequestException;
 import com.securebank.common.exception.InsufficientBalanceException;
 import com.securebank.common.exception.ResourceNotFoundException;
+import com.securebank.common.exception.ServiceUnavailableException;
+import com.securebank.common.metrics.BankingMetrics;
 import com.securebank.transaction.dto.*;
 import com.securebank.transaction.entity.Account;
 import com.securebank.transaction.entity.Transaction;
 import com.securebank.transaction.entity.TransactionType;
 import com.securebank.transaction.repository.AccountRepository;
 import com.securebank.transaction.repository.TransactionRepository;
+import com.securebank.transaction.shard.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -37,6 +43,21 @@ class TransactionServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private AccountStatusDirectory accountStatusDirectory;
+
+    @Mock
+    private BankingMetrics bankingMetrics;
+
+    @Mock
+    private HotAccountTracker hotAccountTracker;
+
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(false, null);
+
+    @Mock
+    private CrossShardTransferCoordinator crossShardTransfers;
+
     @InjectMocks
     private TransactionService transactionService;
 
@@ -84,6 +105,8 @@ class TransactionServiceTest {
         assertNotNull(response);
         assertEquals("DEPOSIT", response.getType());
         assertEquals(BigDecimal.valueOf(6000.00), response.getBalanceAfter());
+        assertEquals(1, sourceAccount.getBalanceVersion());
+        verify(bankingMetrics).deposit(BigDecimal.valueOf(1000.00));
     }
 
     @Test
@@ -105,6 +128,29 @@ class TransactionServiceTest {
         assertThrows(AccountFrozenException.class, () -> transactionService.deposit(request));
     }
 
+    @Test
+    @DisplayName("Deposit - account moved by a shard split is retryable")
+    void deposit_ShouldThrowServiceUnavailable_WhenAccountMoved() {
+        sourceAccount.setStatus(Account.MOVED);
+        DepositRequest request = new DepositRequest(sourceAccountId, BigDecimal.valueOf(100.00), null);
+        when(accountRepository.findByIdWithLock(sourceAccountId)).thenReturn(Optional.of(sourceAccount));
+
+        assertThrows(ServiceUnavailableException.class, () -> transactionService.deposit(request));
+        verify(shardRouter).refresh();
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Deposit - frozen in status directory rejected before locking")
+    void deposit_ShouldRejectBeforeLock_WhenDirectoryReportsFrozen() {
+        DepositRequest request = new DepositRequest(sourceAccountId, BigDecimal.valueOf(100.00), null);
+        doThrow(new AccountFrozenException("Account is frozen: " + sourceAccountId))
+                .when(accountStatusDirectory).requireActive(sourceAccountId);
+
+        assertThrows(AccountFrozenException.class, () -> transactionService.deposit(request));
+        verify(accountRepository, never()).findByIdWithLock(any());
+    }
+
     @Test
     @DisplayName("Withdraw - success")
     void withdraw_ShouldDecreaseBalance() {
@@ -133,6 +179,18 @@ class TransactionServiceTest {
         when(accountRepository.findByIdWithLock(sourceAccountId)).thenReturn(Optional.of(sourceAccount));
 
         assertThrows(InsufficientBalanceException.class, () -> transactionService.withdraw(request));
+        verify(bankingMetrics, never()).withdrawal(any());
+    }
+
+    @Test
+    @DisplayName("Withdraw - funds held by an authorization are not available")
+    void withdraw_ShouldThrowException_WhenFundsHeld() {
+        sourceAccount.setHeldBalance(BigDecimal.valueOf(4500.00));
+        WithdrawRequest request = new WithdrawRequest(sourceAccountId, BigDecimal.valueOf(1000.00), null);
+        when(accountRepository.findByIdWithLock(sourceAccountId)).thenReturn(Optional.of(sourceAccount));
+
+        assertThrows(InsufficientBalanceException.class, () -> transactionService.withdraw(request));
+        verify(accountRepository, never()).save(any());
     }
 
     @Test
@@ -163,6 +221,27 @@ class TransactionServiceTest {
         assertEquals("TRANSFER", response.getType());
         verify(accountRepository, times(2)).save(any(Account.class));
         verify(transactionRepository, times(2)).save(any(Transaction.class));
+        verify(hotAccountTracker).recordMutation(sourceAccountId);
+        verify(hotAccountTracker).recordMutation(targetAccountId);
+        verify(hotAccountTracker, times(2)).recordLockWait(any(UUID.class), anyLong());
+    }
+
+    @Test
+    @DisplayName("Transfer - accounts on different shards use the cross-shard protocol")
+    void transfer_ShouldDelegateToCoordinator_WhenAccountsOnDifferentShards() {
+        TransferRequest request = new TransferRequest(
+                sourceAccountId, targetAccountId, BigDecimal.valueOf(2000.00), "Rent payment");
+        Transaction debit = new Transaction(sourceAccountId, targetAccountId, TransactionType.TRANSFER,
+                BigDecimal.valueOf(2000.00), BigDecimal.valueOf(3000.00), "Rent payment");
+        debit.setId(UUID.randomUUID());
+        doReturn(true).when(shardRouter).isCrossShard(sourceAccountId, targetAccountId);
+        when(crossShardTransfers.transfer(request)).thenReturn(debit);
+
+        TransactionResponse response = transactionService.transfer(request);
+
+        assertEquals(debit.getId(), response.getId());
+        verify(accountRepository, never()).findByIdWithLock(any());
+        verify(bankingMetrics).transfer(BigDecimal.valueOf(2000.00));
     }
 
     @Test
@@ -210,6 +289,19 @@ class TransactionServiceTest {
         assertThrows(AccountFrozenException.class, () -> transactionService.transfer(request));
     }
 
+    @Test
+    @DisplayName("Transfer - unknown target in status directory rejected before locking")
+    void transfer_ShouldRejectBeforeLock_WhenDirectoryReportsUnknown() {
+        TransferRequest request = new TransferRequest(
+                sourceAccountId, targetAccountId, BigDecimal.valueOf(100.00), null);
+        doNothing().when(accountStatusDirectory).requireActive(sourceAccountId);
+        doThrow(new ResourceNotFoundException("Account not found: " + targetAccountId))
+                .when(accountStatusDirectory).requireActive(eq(targetAccountId));
+
+        assertThrows(ResourceNotFoundException.class, () -> transactionService.transfer(request));
+        verify(accountRepository, never()).findByIdWithLock(any());
+    }
+
     @Test
     @DisplayName("Get transaction history")
     void getTransactionHistory_ShouldReturnList() {
@@ -226,4 +318,21 @@ class TransactionServiceTest {
         assertEquals(1, history.size());
         assertEquals("DEPOSIT", history.get(0).getType());
     }
+
+    @Test
+    @DisplayName("Get balance changes - maps balance and version")
+    void getBalanceChanges_ShouldReturnFeedEntries() {
+        sourceAccount.setBalanceVersion(4);
+        sourceAccount.setUpdatedAt(LocalDateTime.now());
+        LocalDateTime since = LocalDateTime.of(1970, 1, 1, 0, 0);
+        UUID afterId = new UUID(0, 0);
+        when(accountRepository.findChangedAfter(eq(since), eq(afterId), any(Pageable.class)))
+                .thenReturn(List.of(sourceAccount));
+
+        List<AccountBalanceChange> changes = transactionService.getBalanceChanges(since, afterId, 500);
+
+        assertEquals(1, changes.size());
+        assertEquals(BigDecimal.valueOf(5000.00), changes.get(0).getBalance());
+        assertEquals(4, changes.get(0).getBalanceVersion());
+    }
 }
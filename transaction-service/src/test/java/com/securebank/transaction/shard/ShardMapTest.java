@@ -0,0 +1,88 @@
+package com.securebank.transaction.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardMapTest {
+
+    private static final List<UUID> ACCOUNTS =
+            IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID()).toList();
+
+    @Test
+    @DisplayName("Shard map - same account always maps to the same shard")
+    void shardFor_ShouldBeDeterministic() {
+        ShardMap first = ShardMap.uniform(List.of("shard-0", "shard-1"), 64);
+        ShardMap second = ShardMap.uniform(List.of("shard-0", "shard-1"), 64);
+
+        ACCOUNTS.forEach(id -> assertEquals(first.shardFor(id), second.shardFor(id)));
+        assertEquals(1, first.version());
+    }
+
+    @Test
+    @DisplayName("Shard map - accounts spread over every shard")
+    void shardFor_ShouldSpreadAccounts() {
+        ShardMap map = ShardMap.uniform(List.of("shard-0", "shard-1", "shard-2"), 64);
+
+        Map<String, Integer> counts = new HashMap<>();
+        ACCOUNTS.forEach(id -> counts.merge(map.shardFor(id), 1, Integer::sum));
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > ACCOUNTS.size() / 6, "unbalanced: " + counts));
+    }
+
+    @Test
+    @DisplayName("Shard map - split moves about half of the source shard and nothing else")
+    void split_ShouldMoveOnlySourceAccounts() {
+        ShardMap map = ShardMap.uniform(List.of("shard-0", "shard-1"), 64);
+        ShardMap split = map.split("shard-0", "shard-2");
+
+        int onSource = 0;
+        int moved = 0;
+        for (UUID id : ACCOUNTS) {
+            String before = map.shardFor(id);
+            String after = split.shardFor(id);
+            if (before.equals("shard-1")) {
+                assertEquals("shard-1", after);
+            } else {
+                onSource++;
+                if (after.equals("shard-2")) {
+                    moved++;
+                }
+            }
+        }
+        assertEquals(2, split.version());
+        assertTrue(moved > onSource / 4 && moved < onSource * 3 / 4, moved + " of " + onSource + " moved");
+    }
+
+    @Test
+    @DisplayName("Shard map - interrupted split resumes to the same map")
+    void split_ShouldBeResumable() {
+        ShardMap map = ShardMap.uniform(List.of("shard-0", "shard-1"), 64);
+        ShardMap full = map.split("shard-0", "shard-2");
+        long firstMoved = full.tokens().entrySet().stream()
+                .filter(entry -> entry.getValue().equals("shard-2"))
+                .findFirst().orElseThrow().getKey();
+
+        ShardMap resumed = map.reassign(firstMoved, "shard-2").split("shard-0", "shard-2");
+
+        assertEquals(full.tokens(), resumed.tokens());
+        assertEquals(full.tokens(), full.split("shard-0", "shard-2").tokens());
+    }
+
+    @Test
+    @DisplayName("Shard map - split of an unknown shard rejected")
+    void split_ShouldThrow_WhenSourceUnknown() {
+        ShardMap map = ShardMap.uniform(List.of("shard-0"), 8);
+
+        assertThrows(IllegalArgumentException.class, () -> map.split("shard-9", "shard-1"));
+        assertThrows(IllegalArgumentException.class, () -> map.split("shard-0", "shard-0"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.securebank.transaction.shard;
+
+import com.securebank.common.exception.ServiceUnavailableException;
+import com.securebank.transaction.dto.DepositRequest;
+import com.securebank.transaction.dto.ShardSplitReport;
+import com.securebank.transaction.dto.TransferRequest;
+import com.securebank.transaction.entity.Account;
+import com.securebank.transaction.entity.TransferIntent;
+import com.securebank.transaction.repository.AccountRepository;
+import com.securebank.transaction.service.CrossShardTransferCoordinator;
+import com.securebank.transaction.service.TransactionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sharded service over separate in-memory H2 databases, migrated by Flyway. shard-0 and
+ * shard-1 are in the initial map; shard-2 only joins through a split.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "sharding.enabled=true",
+        "sharding.shards=shard-0,shard-1,shard-2",
+        "sharding.initial-shards=shard-0,shard-1",
+        "sharding.shard.shard-0.url=jdbc:h2:mem:shard0;MODE=PostgreSQL;LOCK_TIMEOUT=500;DB_CLOSE_DELAY=-1",
+        "sharding.shard.shard-1.url=jdbc:h2:mem:shard1;MODE=PostgreSQL;LOCK_TIMEOUT=500;DB_CLOSE_DELAY=-1",
+        "sharding.shard.shard-2.url=jdbc:h2:mem:shard2;MODE=PostgreSQL;LOCK_TIMEOUT=500;DB_CLOSE_DELAY=-1",
+        "sharding.map-refresh-ms=3600000",
+        "sharding.recovery.initial-delay-ms=3600000",
+        "sharding.recovery.in-doubt-after-ms=0",
+        "spring.flyway.enabled=true",
+        "spring.flyway.locations=classpath:db/transaction/migration,classpath:db/transaction/{vendor}",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+class ShardedTransferTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CrossShardTransferCoordinator coordinator;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardMapStore shardMapStore;
+
+    @Autowired
+    private ShardDataSources shardDataSources;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    @DisplayName("Cross-shard transfer - debit, credit and both intents land on their own shards")
+    void transfer_ShouldMoveMoneyAcrossShards() {
+        Account source = account("shard-0", new BigDecimal("500.00"));
+        Account target = account("shard-1", new BigDecimal("100.00"));
+
+        transactionService.transfer(new TransferRequest(source.getId(), target.getId(), new BigDecimal("75.00"), null));
+
+        assertBalance(source, "425.00");
+        assertBalance(target, "175.00");
+        assertEquals("CONFIRMED", intentState("shard-0", source.getId(), "SOURCE"));
+        assertEquals("CREDITED", intentState("shard-1", target.getId(), "TARGET"));
+        assertEquals(List.of("Transfer to " + target.getAccountNumber()), descriptions(source));
+        assertEquals(List.of("Transfer from " + source.getAccountNumber()), descriptions(target));
+    }
+
+    @Test
+    @DisplayName("Cross-shard transfer - a credit that never commits is cancelled by recovery and the debit refunded")
+    void recoverInDoubt_ShouldRefundSource_WhenCrashedAfterReserve() throws Exception {
+        Account source = account("shard-0", new BigDecimal("500.00"));
+        Account target = account("shard-1", new BigDecimal("100.00"));
+
+        try (Connection blocker = shardDataSources.get("shard-1").getConnection()) {
+            blocker.setAutoCommit(false);
+            try (PreparedStatement lock = blocker.prepareStatement("SELECT balance FROM accounts WHERE id = ? FOR UPDATE")) {
+                lock.setObject(1, target.getId());
+                lock.executeQuery().close();
+            }
+            assertThrows(RuntimeException.class, () -> transactionService.transfer(
+                    new TransferRequest(source.getId(), target.getId(), new BigDecimal("75.00"), "Rent")));
+            blocker.rollback();
+        }
+        assertBalance(source, "425.00");
+        assertEquals("RESERVED", intentState("shard-0", source.getId(), "SOURCE"));
+
+        coordinator.recoverInDoubt();
+
+        assertBalance(source, "500.00");
+        assertBalance(target, "100.00");
+        assertEquals("CANCELLED", intentState("shard-0", source.getId(), "SOURCE"));
+        assertEquals("CANCELLED", intentState("shard-1", target.getId(), "TARGET"));
+        assertTrue(descriptions(source).stream()
+                .anyMatch(d -> d.startsWith(CrossShardTransferCoordinator.REVERSAL_DESCRIPTION)));
+        assertTrue(descriptions(target).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Cross-shard transfer - a credit that committed before the crash is confirmed by recovery")
+    void recoverInDoubt_ShouldConfirm_WhenCrashedAfterCredit() {
+        Account source = account("shard-0", new BigDecimal("500.00"));
+        Account target = account("shard-1", new BigDecimal("100.00"));
+        transactionService.transfer(new TransferRequest(source.getId(), target.getId(), new BigDecimal("75.00"), null));
+        jdbc("shard-0").update("UPDATE transfer_intents SET state = 'RESERVED' WHERE from_account_id = ? "
+                + "AND role = 'SOURCE'", source.getId());
+
+        coordinator.recoverInDoubt();
+
+        assertEquals("CONFIRMED", intentState("shard-0", source.getId(), "SOURCE"));
+        assertBalance(source, "425.00");
+        assertBalance(target, "175.00");
+    }
+
+    @Test
+    @DisplayName("Shard split - a stale instance writing to a moved account gets 503, the retry lands on the new shard")
+    void split_ShouldFenceMovedAccounts_WhenRouterIsStale() throws Exception {
+        ShardMap planned = shardRouter.map().split("shard-0", "shard-2");
+        Account moving = account(id -> shardRouter.shardOf(id).equals("shard-0")
+                && planned.shardFor(id).equals("shard-2"), new BigDecimal("300.00"));
+        Account staying = account(id -> shardRouter.shardOf(id).equals("shard-0")
+                && planned.shardFor(id).equals("shard-0"), new BigDecimal("200.00"));
+        transactionService.deposit(new DepositRequest(moving.getId(), new BigDecimal("20.00"), "Before split"));
+
+        // The split runs on another instance; this one still holds the old map.
+        ShardRouter splittingRouter = new ShardRouter(true, applicationContext.getBeanProvider(ShardMapStore.class));
+        ShardSplitReport report = new ShardSplitter(splittingRouter, shardMapStore, shardDataSources, 100, 0)
+                .split("shard-0", "shard-2");
+
+        assertTrue(report.getAccountsMoved() >= 1);
+        assertEquals("MOVED", jdbc("shard-0").queryForObject("SELECT status FROM accounts WHERE id = ?",
+                String.class, moving.getId()));
+        assertEquals(0, new BigDecimal("320.00").compareTo(jdbc("shard-2").queryForObject(
+                "SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, moving.getId())));
+        assertEquals("shard-0", shardRouter.shardOf(moving.getId()));
+
+        DepositRequest deposit = new DepositRequest(moving.getId(), new BigDecimal("5.00"), "After split");
+        assertThrows(ServiceUnavailableException.class, () -> transactionService.deposit(deposit));
+        assertEquals("shard-2", shardRouter.shardOf(moving.getId()));
+
+        transactionService.deposit(deposit);
+        transactionService.deposit(new DepositRequest(staying.getId(), new BigDecimal("5.00"), "After split"));
+
+        assertEquals(0, new BigDecimal("325.00").compareTo(jdbc("shard-2").queryForObject(
+                "SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, moving.getId())));
+        assertEquals(0, new BigDecimal("205.00").compareTo(jdbc("shard-0").queryForObject(
+                "SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, staying.getId())));
+        assertEquals(List.of("After split", "Before split"), descriptions(moving));
+    }
+
+    private Account account(String shard, BigDecimal balance) {
+        return account(id -> shardRouter.shardOf(id).equals(shard), balance);
+    }
+
+    private Account account(Predicate<UUID> placement, BigDecimal balance) {
+        UUID id = UUID.randomUUID();
+        while (!placement.test(id)) {
+            id = UUID.randomUUID();
+        }
+        Account account = new Account();
+        account.setId(id);
+        account.setAccountNumber("SB" + UUID.randomUUID().toString().substring(0, 10));
+        account.setUserId(UUID.randomUUID());
+        account.setBalance(balance);
+        return shardRouter.onShard(shardRouter.shardOf(id), () -> accountRepository.save(account));
+    }
+
+    private void assertBalance(Account account, String expected) {
+        BigDecimal balance = jdbc(shardRouter.shardOf(account.getId())).queryForObject(
+                "SELECT balance FROM accounts WHERE id = ?", BigDecimal.class, account.getId());
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), "balance " + balance);
+    }
+
+    private String intentState(String shard, UUID accountId, String role) {
+        String column = TransferIntent.SOURCE.equals(role) ? "from_account_id" : "to_account_id";
+        return jdbc(shard).queryForObject("SELECT state FROM transfer_intents WHERE role = ? AND " + column + " = ?",
+                String.class, role, accountId);
+    }
+
+    private List<String> descriptions(Account account) {
+        return jdbc(shardRouter.shardOf(account.getId())).queryForList(
+                "SELECT description FROM transactions WHERE account_id = ? ORDER BY description",
+                String.class, account.getId());
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        DataSource dataSource = shardDataSources.get(shard);
+        return new JdbcTemplate(dataSource);
+    }
+}
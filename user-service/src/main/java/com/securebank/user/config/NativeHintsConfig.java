@@ -0,0 +1,38 @@
+package com.securebank.user.config;
+
+import com.securebank.common.aot.CommonRuntimeHints;
+import com.securebank.user.dto.AuthResponse;
+import com.securebank.user.dto.LoginRequest;
+import com.securebank.user.dto.RegisterRequest;
+import com.securebank.user.dto.UserResponse;
+import com.securebank.user.entity.Role;
+import com.securebank.user.entity.User;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Native-image hints for user-service: reflective access to the JPA entities and
+ * Jackson binding for the request and response DTOs. Only read when building a native
+ * image ({@code -Pnative}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.EntityHints.class)
+@RegisterReflectionForBinding({
+        AuthResponse.class,
+        LoginRequest.class,
+        RegisterRequest.class,
+        UserResponse.class
+})
+public class NativeHintsConfig {
+
+    static class EntityHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            CommonRuntimeHints.registerEntities(hints, User.class, Role.class);
+        }
+    }
+}
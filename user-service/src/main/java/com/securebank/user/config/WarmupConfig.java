@@ -0,0 +1,52 @@
+package com.securebank.user.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.securebank.common.dto.ApiResponse;
+import com.securebank.common.warmup.WarmupTask;
+import com.securebank.user.dto.AuthResponse;
+import com.securebank.user.dto.LoginRequest;
+import com.securebank.user.dto.RegisterRequest;
+import com.securebank.user.dto.UserResponse;
+import com.securebank.user.repository.UserRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Warm-up tasks for user-service, run by {@code WarmupRunner} before readiness. BCrypt
+ * dominates login latency and is deliberately slow, so it gets only a few iterations.
+ */
+@Configuration(proxyBeanMethods = false)
+public class WarmupConfig {
+
+    @Bean
+    public WarmupTask bcryptWarmup(PasswordEncoder passwordEncoder) {
+        String hash = passwordEncoder.encode("Warm-up!Pass1");
+        return WarmupTask.of("bcrypt", 10, () -> passwordEncoder.matches("Warm-up!Pass1", hash));
+    }
+
+    @Bean
+    public WarmupTask userLookupWarmup(UserRepository userRepository) {
+        String email = "warmup-" + UUID.randomUUID() + "@securebank.com";
+        return WarmupTask.of("find-by-email", 200, () -> userRepository.findByEmail(email));
+    }
+
+    @Bean
+    public WarmupTask userJsonWarmup(ObjectMapper objectMapper) throws JsonProcessingException {
+        UserResponse user = new UserResponse(UUID.randomUUID(), "warmup@securebank.com", "Warm Up",
+                "+10000000000", "CUSTOMER", LocalDateTime.now());
+        AuthResponse auth = new AuthResponse("header.payload.signature", user);
+        byte[] login = objectMapper.writeValueAsBytes(new LoginRequest("warmup@securebank.com", "Warm-up!Pass1"));
+        byte[] register = objectMapper.writeValueAsBytes(
+                new RegisterRequest("warmup@securebank.com", "Warm-up!Pass1", "Warm Up", "+10000000000"));
+        return WarmupTask.of("user-json", 2000, () -> {
+            objectMapper.readValue(login, LoginRequest.class);
+            objectMapper.readValue(register, RegisterRequest.class);
+            objectMapper.writeValueAsBytes(ApiResponse.success("Login successful", auth));
+        });
+    }
+}
@@ -0,0 +1,15 @@
+-- Baseline: the schema ddl-auto=update created. Existing databases are baselined at
+-- version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+CREATE TABLE IF NOT EXISTS users (
+    id          UUID         NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    password    VARCHAR(255) NOT NULL,
+    full_name   VARCHAR(255) NOT NULL,
+    phone       VARCHAR(20),
+    role        VARCHAR(20)  NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT users_role_check CHECK (role IN ('ADMIN', 'CUSTOMER'))
+);